@@ -1,5 +1,6 @@
 package com.app.risk.audit;
 
+import com.app.risk.jfr.AuditFlushedEvent;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
@@ -241,9 +242,12 @@ public class AuditLogService {
      * Internal method to log audit entries as JSON
      */
     private void logAudit(AuditLog auditLog) {
+        AuditFlushedEvent event = new AuditFlushedEvent();
+        event.begin();
         try {
             String jsonLog = objectMapper.writeValueAsString(auditLog);
             log.info("AUDIT: {}", jsonLog);
+            commitFlushed(event, auditLog, "INFO", jsonLog.length());
         } catch (JsonProcessingException e) {
             log.error("Failed to serialize audit log", e);
             log.info("AUDIT: eventType={}, action={}, resource={}, resourceId={}, status={}",
@@ -256,9 +260,12 @@ public class AuditLogService {
      * Log audit warnings
      */
     private void logAuditWarning(AuditLog auditLog) {
+        AuditFlushedEvent event = new AuditFlushedEvent();
+        event.begin();
         try {
             String jsonLog = objectMapper.writeValueAsString(auditLog);
             log.warn("AUDIT_WARNING: {}", jsonLog);
+            commitFlushed(event, auditLog, "WARN", jsonLog.length());
         } catch (JsonProcessingException e) {
             log.error("Failed to serialize audit log", e);
             log.warn("AUDIT_WARNING: eventType={}, action={}, resource={}, resourceId={}, status={}",
@@ -271,9 +278,12 @@ public class AuditLogService {
      * Log audit errors
      */
     private void logAuditError(AuditLog auditLog) {
+        AuditFlushedEvent event = new AuditFlushedEvent();
+        event.begin();
         try {
             String jsonLog = objectMapper.writeValueAsString(auditLog);
             log.error("AUDIT_ERROR: {}", jsonLog);
+            commitFlushed(event, auditLog, "ERROR", jsonLog.length());
         } catch (JsonProcessingException e) {
             log.error("Failed to serialize audit log", e);
             log.error("AUDIT_ERROR: eventType={}, action={}, resource={}, resourceId={}, status={}, error={}",
@@ -282,6 +292,20 @@ public class AuditLogService {
         }
     }
 
+    /**
+     * Emit the JFR event covering serialization and logging of an audit entry
+     */
+    private void commitFlushed(AuditFlushedEvent event, AuditLog auditLog, String level, int chars) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.eventType = auditLog.getEventType();
+            event.resourceId = auditLog.getResourceId() != null ? auditLog.getResourceId() : 0L;
+            event.level = level;
+            event.chars = chars;
+            event.commit();
+        }
+    }
+
     /**
      * Helper method to get stack trace as string
      */
@@ -0,0 +1,72 @@
+package com.app.risk.bulkhead;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Replaces the single Hikari pool with one pool per {@link Lane}, plus one for history lookups,
+ * routed by the calling thread. Every pool takes {@code spring.datasource.*} and
+ * {@code spring.datasource.hikari.*}; only their size comes from {@code app.bulkhead.<lane>.connections}.
+ * History lookups run for scoring, so their {@code app.degraded-scoring.lookup-threads} connections
+ * are taken out of the scoring lane's: the instance opens no more connections than the lanes add up to.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.bulkhead", name = "enabled", havingValue = "true")
+public class BulkheadDataSourceConfig {
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource scoringDataSource(DataSourceProperties properties, BulkheadProperties bulkhead,
+                                              Environment environment,
+                                              @Value("${app.degraded-scoring.lookup-threads:4}") int lookupThreads) {
+        int connections = bulkhead.lane(Lane.SCORING).getConnections() - lookupThreads;
+        if (connections < 1) {
+            throw new IllegalStateException("app.bulkhead.scoring.connections must exceed app.degraded-scoring.lookup-threads ("
+                    + lookupThreads + "), which are taken from it");
+        }
+        return pool(Lane.SCORING.tag(), connections, properties, environment);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource readDataSource(DataSourceProperties properties, BulkheadProperties bulkhead,
+                                           Environment environment) {
+        return pool(Lane.READ.tag(), bulkhead.lane(Lane.READ).getConnections(), properties, environment);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource lookupDataSource(DataSourceProperties properties, Environment environment,
+                                             @Value("${app.degraded-scoring.lookup-threads:4}") int lookupThreads) {
+        return pool(LaneRoutingDataSource.LOOKUPS, lookupThreads, properties, environment);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource scoringDataSource, HikariDataSource readDataSource,
+                                 HikariDataSource lookupDataSource) {
+        LaneRoutingDataSource routing = new LaneRoutingDataSource();
+        routing.setTargetDataSources(Map.of(Lane.SCORING, scoringDataSource, Lane.READ, readDataSource,
+                LaneRoutingDataSource.LOOKUPS, lookupDataSource));
+        routing.setDefaultTargetDataSource(scoringDataSource);
+        return routing;
+    }
+
+    private static HikariDataSource pool(String name, int connections, DataSourceProperties properties,
+                                         Environment environment) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName("risk-" + name);
+        pool.setMaximumPoolSize(connections);
+        pool.setMinimumIdle(Math.min(pool.getMinimumIdle(), connections));
+        return pool;
+    }
+}
@@ -0,0 +1,40 @@
+package com.app.risk.bulkhead;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Lane capacities, bound from {@code app.bulkhead.*}
+ */
+@Data
+@ConfigurationProperties(prefix = "app.bulkhead")
+public class BulkheadProperties {
+
+    /** Run scoring and reads on separate executors and connection pools */
+    private boolean enabled = false;
+
+    private LaneSettings scoring = new LaneSettings(8, 200, 12);
+
+    private LaneSettings read = new LaneSettings(4, 100, 8);
+
+    public LaneSettings lane(Lane lane) {
+        return lane == Lane.SCORING ? scoring : read;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LaneSettings {
+
+        /** Worker threads; more than the lane's connections only adds waiting */
+        private int threads;
+
+        /** Calls waiting for a worker before the lane rejects as OVERLOADED */
+        private int queueCapacity;
+
+        /** Connections in the lane's Hikari pool; for scoring this includes the history lookup connections */
+        private int connections;
+    }
+}
@@ -0,0 +1,30 @@
+package com.app.risk.bulkhead;
+
+/**
+ * Execution lanes kept apart so a burst in one cannot take threads or connections from the other.
+ * Lane threads carry their lane for the life of the thread, which is how
+ * {@link LaneRoutingDataSource} picks a connection pool.
+ */
+public enum Lane {
+    /** Real-time scoring mutations */
+    SCORING,
+    /** Dashboard and analyst listing queries */
+    READ;
+
+    private static final ThreadLocal<Lane> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Lane of the calling thread, or null outside the lane executors
+     */
+    public static Lane current() {
+        return CURRENT.get();
+    }
+
+    static void bind(Lane lane) {
+        CURRENT.set(lane);
+    }
+
+    public String tag() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,124 @@
+package com.app.risk.bulkhead;
+
+import com.app.risk.exception.OverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * One bounded executor per {@link Lane}. Resolvers hand their work to a lane and return the future,
+ * so the servlet thread is released and the work runs, and takes its connection, inside the lane's
+ * budget. A full lane rejects with {@link OverloadedException} without affecting the other one.
+ * With {@code app.bulkhead.enabled=false} work runs inline on the calling thread.
+ */
+@Component
+@Slf4j
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class LaneExecutors implements DisposableBean {
+
+    private final boolean enabled;
+    private final long retryAfterMillis;
+    private final Map<Lane, ThreadPoolExecutor> executors = new EnumMap<>(Lane.class);
+    private final Map<Lane, LongAdder> rejections = new EnumMap<>(Lane.class);
+
+    public LaneExecutors(BulkheadProperties properties,
+                         @Value("${app.bulkhead.retry-after:1s}") Duration retryAfter,
+                         MeterRegistry registry) {
+        this.enabled = properties.isEnabled();
+        this.retryAfterMillis = retryAfter.toMillis();
+        if (!enabled) {
+            return;
+        }
+        for (Lane lane : Lane.values()) {
+            BulkheadProperties.LaneSettings settings = properties.lane(lane);
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    settings.getThreads(), settings.getThreads(), 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(settings.getQueueCapacity()), threadFactory(lane));
+            executors.put(lane, executor);
+            rejections.put(lane, new LongAdder());
+            register(registry, lane, executor, settings);
+            log.info("Lane {}: {} threads, {} queued, {} connections", lane.tag(),
+                    settings.getThreads(), settings.getQueueCapacity(), settings.getConnections());
+        }
+    }
+
+    /**
+     * Run {@code work} on {@code lane}; the future completes with its result or exception
+     */
+    public <T> CompletableFuture<T> submit(Lane lane, Supplier<T> work) {
+        if (!enabled) {
+            return CompletableFuture.completedFuture(work.get());
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executors.get(lane).execute(() -> {
+                try {
+                    future.complete(work.get());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejections.get(lane).increment();
+            throw new OverloadedException("The " + lane.tag() + " lane is saturated, retry shortly", retryAfterMillis);
+        }
+        return future;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void destroy() {
+        executors.values().forEach(ThreadPoolExecutor::shutdown);
+    }
+
+    private void register(MeterRegistry registry, Lane lane, ThreadPoolExecutor executor,
+                          BulkheadProperties.LaneSettings settings) {
+        Tags tags = Tags.of("lane", lane.tag());
+        // executor.active, executor.queued, executor.completed, ... tagged name=lane-<lane>
+        new ExecutorServiceMetrics(executor, "lane-" + lane.tag(), tags).bindTo(registry);
+        double capacity = settings.getThreads() + settings.getQueueCapacity();
+        Gauge.builder("risk.lane.saturation", executor, e -> (e.getActiveCount() + e.getQueue().size()) / capacity)
+                .description("Busy workers plus queued calls as a fraction of the lane's capacity")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("risk.lane.rejections", rejections.get(lane), LongAdder::sum)
+                .description("Calls rejected because the lane was saturated")
+                .tags(tags)
+                .register(registry);
+    }
+
+    private static ThreadFactory threadFactory(Lane lane) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(() -> {
+                Lane.bind(lane);
+                runnable.run();
+            }, "risk-lane-" + lane.tag() + "-" + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.app.risk.bulkhead;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Hands out connections from the calling thread's lane pool.
+ * Threads outside the lane executors (startup, submission workers, write-behind) use the default
+ * target, the scoring pool, since what they do is writes. History lookup threads use their own
+ * pool, since the scoring threads they answer already hold a scoring connection each.
+ */
+public class LaneRoutingDataSource extends AbstractRoutingDataSource {
+
+    /** Routing key of the history lookup pool */
+    public static final String LOOKUPS = "lookups";
+
+    private static final ThreadLocal<Boolean> LOOKUP_THREAD = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * Route the calling thread to the history lookup pool for the life of the thread
+     */
+    public static void bindLookups() {
+        LOOKUP_THREAD.set(true);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return LOOKUP_THREAD.get() ? LOOKUPS : Lane.current();
+    }
+}
@@ -1,13 +1,19 @@
 package com.app.risk.config;
 
+import com.app.risk.metrics.ScoringMetrics;
 import graphql.language.StringValue;
 import graphql.schema.Coercing;
 import graphql.schema.GraphQLScalarType;
 import graphql.schema.idl.RuntimeWiring;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.graphql.autoconfigure.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
 
 @Configuration
+@EnableConfigurationProperties(QueryLimitsProperties.class)
 public class GraphQLConfig implements RuntimeWiringConfigurer {
 
     @Override
@@ -36,4 +42,17 @@ public class GraphQLConfig implements RuntimeWiringConfigurer {
                 .build();
         builder.scalar(longScalar);
     }
+
+    @Bean
+    public GraphQLDocumentCache graphQLDocumentCache(
+            @Value("${app.graphql.document-cache.maximum-size:500}") long maximumDocuments,
+            @Value("${app.graphql.persisted-queries.maximum-size:1000}") long maximumPersistedQueries,
+            ScoringMetrics scoringMetrics) {
+        return new GraphQLDocumentCache(maximumDocuments, maximumPersistedQueries, scoringMetrics);
+    }
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer documentCacheCustomizer(GraphQLDocumentCache documentCache) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentCache));
+    }
 }
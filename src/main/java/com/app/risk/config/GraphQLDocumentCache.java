@@ -0,0 +1,93 @@
+package com.app.risk.config;
+
+import com.app.risk.metrics.ScoringMetrics;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of parsed and validated GraphQL documents.
+ * Plain requests are keyed by their query text; requests carrying the Apollo
+ * {@code persistedQuery} extension are keyed by its SHA-256 hash, so clients can send the hash
+ * alone once the query has been registered. Documents with errors are never cached.
+ */
+public class GraphQLDocumentCache implements PreparsedDocumentProvider {
+
+    private static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+
+    private final Cache<String, PreparsedDocumentEntry> documents;
+    private final ScoringMetrics.CacheCounters documentCounters;
+    private final PreparsedDocumentProvider persistedQueries;
+
+    public GraphQLDocumentCache(long maximumDocuments, long maximumPersistedQueries, ScoringMetrics scoringMetrics) {
+        this.documents = Caffeine.newBuilder().maximumSize(maximumDocuments).build();
+        this.documentCounters = scoringMetrics.cache("graphql-document");
+        this.persistedQueries = new ApolloPersistedQuerySupport(
+                new BoundedPersistedQueryCache(maximumPersistedQueries, scoringMetrics.cache("graphql-persisted-query")));
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+            ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate) {
+        if (executionInput.getExtensions().containsKey(PERSISTED_QUERY_EXTENSION)) {
+            return persistedQueries.getDocumentAsync(executionInput, parseAndValidate);
+        }
+
+        String query = executionInput.getQuery();
+        PreparsedDocumentEntry entry = documents.getIfPresent(query);
+        if (entry != null) {
+            documentCounters.hit();
+            return CompletableFuture.completedFuture(entry);
+        }
+        documentCounters.miss();
+        entry = parseAndValidate.apply(executionInput);
+        if (!entry.hasErrors()) {
+            documents.put(query, entry);
+        }
+        return CompletableFuture.completedFuture(entry);
+    }
+
+    private static final class BoundedPersistedQueryCache implements PersistedQueryCache {
+
+        private final Cache<Object, PreparsedDocumentEntry> entries;
+        private final ScoringMetrics.CacheCounters counters;
+
+        BoundedPersistedQueryCache(long maximumSize, ScoringMetrics.CacheCounters counters) {
+            this.entries = Caffeine.newBuilder().maximumSize(maximumSize).build();
+            this.counters = counters;
+        }
+
+        @Override
+        public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(
+                Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss)
+                throws PersistedQueryNotFound {
+            PreparsedDocumentEntry entry = entries.getIfPresent(persistedQueryId);
+            if (entry != null) {
+                counters.hit();
+                return CompletableFuture.completedFuture(entry);
+            }
+            counters.miss();
+
+            // A hash-only request for an unknown query asks the client to resend it with the full text
+            String query = executionInput.getQuery();
+            if (query == null || query.isBlank() || query.equals(PersistedQuerySupport.PERSISTED_QUERY_MARKER)) {
+                throw new PersistedQueryNotFound(persistedQueryId);
+            }
+            entry = onCacheMiss.apply(query);
+            if (!entry.hasErrors()) {
+                entries.put(persistedQueryId, entry);
+            }
+            return CompletableFuture.completedFuture(entry);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.app.risk.config;
+
+import graphql.ExecutionResult;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.normalized.ExecutableNormalizedField;
+import graphql.normalized.ExecutableNormalizedOperation;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+/**
+ * Rejects operations that exceed {@link QueryLimitsProperties} before any data fetcher runs.
+ * Cost is the estimated number of objects resolved: list fields multiply their subtree by the
+ * requested page size ({@code size}/{@code first}, applied to the lists directly under the paged
+ * field), by the length of their {@code ids} argument when they take one, or by the default list
+ * size otherwise; scalar fields are free.
+ * Rejections are counted as {@code risk.graphql.rejections} by reason.
+ */
+@Component
+@Slf4j
+public class QueryLimitsInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final List<String> PAGE_SIZE_ARGUMENTS = List.of("size", "first");
+    private static final String IDS_ARGUMENT = "ids";
+
+    private final QueryLimitsProperties limits;
+    private final Counter pageSizeRejections;
+    private final Counter depthRejections;
+    private final Counter costRejections;
+
+    public QueryLimitsInstrumentation(QueryLimitsProperties limits, MeterRegistry registry) {
+        this.limits = limits;
+        this.pageSizeRejections = rejectionCounter(registry, "page-size");
+        this.depthRejections = rejectionCounter(registry, "depth");
+        this.costRejections = rejectionCounter(registry, "cost");
+    }
+
+    private static Counter rejectionCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("risk.graphql.rejections")
+                .description("GraphQL operations rejected by query limits")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        ExecutableNormalizedOperation operation = executionContext.getNormalizedQueryTree().get();
+
+        if (operation.getOperationDepth() > limits.getMaxDepth()) {
+            depthRejections.increment();
+            throw reject("Query depth " + operation.getOperationDepth() + " exceeds the maximum of "
+                    + limits.getMaxDepth());
+        }
+
+        GraphQLSchema schema = executionContext.getGraphQLSchema();
+        long cost = 0;
+        for (ExecutableNormalizedField field : operation.getTopLevelFields()) {
+            cost += cost(field, schema, limits.getDefaultListSize());
+        }
+        if (cost > limits.getMaxCost()) {
+            costRejections.increment();
+            throw reject("Query cost " + cost + " exceeds the maximum of " + limits.getMaxCost());
+        }
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    private long cost(ExecutableNormalizedField field, GraphQLSchema schema, int listSize) {
+        if (!field.hasChildren()) {
+            return 0;
+        }
+        int childListSize = pageSize(field, schema).orElse(limits.getDefaultListSize());
+        long childrenCost = 1;
+        for (ExecutableNormalizedField child : field.getChildren()) {
+            childrenCost += cost(child, schema, childListSize);
+        }
+        boolean list = GraphQLTypeUtil.unwrapNonNull(field.getType(schema)) instanceof GraphQLList;
+        return list ? idCount(field).orElse(listSize) * childrenCost : childrenCost;
+    }
+
+    /**
+     * Length of the field's {@code ids} argument, repeats included, since every id is resolved
+     */
+    private static OptionalInt idCount(ExecutableNormalizedField field) {
+        return field.getResolvedArguments().get(IDS_ARGUMENT) instanceof List<?> ids
+                ? OptionalInt.of(ids.size())
+                : OptionalInt.empty();
+    }
+
+    private OptionalInt pageSize(ExecutableNormalizedField field, GraphQLSchema schema) {
+        GraphQLFieldDefinition definition = field.getFieldDefinitions(schema).get(0);
+        for (String argument : PAGE_SIZE_ARGUMENTS) {
+            if (definition.getArgument(argument) == null) {
+                continue;
+            }
+            Object value = field.getResolvedArguments().get(argument);
+            if (value == null) {
+                return OptionalInt.of(limits.getDefaultPageSize());
+            }
+            int size = ((Number) value).intValue();
+            if (size > limits.getMaxPageSize()) {
+                pageSizeRejections.increment();
+                throw reject("Page size " + size + " for " + field.getName() + " exceeds the maximum of "
+                        + limits.getMaxPageSize());
+            }
+            return OptionalInt.of(Math.max(size, 1));
+        }
+        return OptionalInt.empty();
+    }
+
+    private static AbortExecutionException reject(String message) {
+        log.warn("Rejected GraphQL operation: {}", message);
+        return new AbortExecutionException(message);
+    }
+}
@@ -0,0 +1,37 @@
+package com.app.risk.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits protecting the GraphQL listing path, bound from {@code app.limits.*}
+ */
+@Data
+@ConfigurationProperties(prefix = "app.limits")
+public class QueryLimitsProperties {
+
+    /** Page size used when a listing query does not pass one */
+    private int defaultPageSize = 10;
+
+    /** Largest page a listing query may request */
+    private int maxPageSize = 100;
+
+    /** Deepest field nesting allowed in one operation */
+    private int maxDepth = 8;
+
+    /** Largest estimated number of objects one operation may resolve */
+    private int maxCost = 5000;
+
+    /** Assumed length of list fields that are not paginated, for cost estimation */
+    private int defaultListSize = 20;
+
+    /**
+     * Requested page size clamped to {@code [1, maxPageSize]}, or the default when absent
+     */
+    public int clampPageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        return Math.max(1, Math.min(size, maxPageSize));
+    }
+}
@@ -1,22 +1,36 @@
 package com.app.risk.controller;
 
+import com.app.risk.bulkhead.Lane;
+import com.app.risk.bulkhead.LaneExecutors;
+import com.app.risk.dto.CustomerConnection;
 import com.app.risk.entity.Customer;
 import com.app.risk.service.CustomerService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.stereotype.Controller;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequiredArgsConstructor
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final LaneExecutors lanes;
 
     @QueryMapping
-    public List<Customer> customers() {
-        return customerService.findAll();
+    public CompletableFuture<List<Customer>> customers() {
+        return lanes.submit(Lane.READ, customerService::findAll);
     }
-}
 
+    @QueryMapping
+    public CompletableFuture<CustomerConnection> customersConnection(
+            @Argument Integer first,
+            @Argument String after,
+            @Argument String riskProfile,
+            @Argument String country) {
+        return lanes.submit(Lane.READ, () -> customerService.findConnection(first, after, riskProfile, country));
+    }
+}
@@ -0,0 +1,20 @@
+package com.app.risk.controller;
+
+import com.app.risk.dto.LatencyReport;
+import com.app.risk.metrics.LatencyRecorders;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+@Controller
+@RequiredArgsConstructor
+public class LatencyController {
+
+    private final LatencyRecorders latencyRecorders;
+
+    @QueryMapping
+    public LatencyReport scoringLatency(@Argument String window) {
+        return latencyRecorders.report(window);
+    }
+}
@@ -1,39 +1,97 @@
 package com.app.risk.controller;
 
+import com.app.risk.bulkhead.Lane;
+import com.app.risk.bulkhead.LaneExecutors;
 import com.app.risk.dto.TransactionDTO;
+import com.app.risk.dto.TransactionDecision;
 import com.app.risk.dto.TransactionInput;
 import com.app.risk.dto.TransactionPage;
+import com.app.risk.dto.TransactionResult;
+import com.app.risk.dto.SubmissionTicket;
+import com.app.risk.service.AdaptiveConcurrencyLimiter;
+import com.app.risk.service.AsyncSubmissionQueue;
+import com.app.risk.service.IdempotencyWindow;
 import com.app.risk.service.TransactionService;
+import com.app.risk.trace.EvaluationTrace;
+import com.app.risk.writebehind.WriteBehindWriter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.ContextValue;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
 import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequiredArgsConstructor
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final AsyncSubmissionQueue asyncSubmissionQueue;
+    private final AdaptiveConcurrencyLimiter submissionLimiter;
+    private final WriteBehindWriter writeBehindWriter;
+    private final LaneExecutors lanes;
+    private final IdempotencyWindow idempotencyWindow;
 
     @QueryMapping
-    public TransactionPage transactions(
+    public CompletableFuture<TransactionPage> transactions(
             @Argument Integer page,
             @Argument Integer size,
             @Argument String status,
-            @Argument String searchQuery) {
-        return transactionService.getTransactions(page, size, status, searchQuery);
+            @Argument String searchQuery,
+            @ContextValue(name = EvaluationTrace.CONTEXT_KEY, required = false) EvaluationTrace trace) {
+        return lanes.submit(Lane.READ, () -> transactionService.getTransactions(page, size, status, searchQuery,
+                EvaluationTrace.orDisabled(trace)));
+    }
+
+    @QueryMapping
+    public CompletableFuture<TransactionDTO> transaction(
+            @Argument Long id,
+            @ContextValue(name = EvaluationTrace.CONTEXT_KEY, required = false) EvaluationTrace trace) {
+        return lanes.submit(Lane.READ, () -> transactionService.getTransaction(id, EvaluationTrace.orDisabled(trace)));
     }
 
     @QueryMapping
-    public TransactionDTO transaction(@Argument Long id) {
-        return transactionService.getTransaction(id);
+    public CompletableFuture<List<TransactionDTO>> transactionsByIds(
+            @Argument List<Long> ids,
+            @ContextValue(name = EvaluationTrace.CONTEXT_KEY, required = false) EvaluationTrace trace) {
+        return lanes.submit(Lane.READ,
+                () -> transactionService.getTransactionsByIds(ids, EvaluationTrace.orDisabled(trace)));
     }
 
     @MutationMapping
-    public TransactionDTO submitTransaction(@Argument @Valid TransactionInput input) {
-        return transactionService.submitTransaction(input);
+    public CompletableFuture<TransactionDTO> submitTransaction(
+            @Argument @Valid TransactionInput input,
+            @ContextValue(name = EvaluationTrace.CONTEXT_KEY, required = false) EvaluationTrace trace) {
+        return idempotencyWindow.submit("submitTransaction", input,
+                () -> submissionLimiter.callAsync(() -> lanes.submit(Lane.SCORING,
+                        () -> transactionService.submitTransaction(input, EvaluationTrace.orDisabled(trace)))));
+    }
+
+    @MutationMapping
+    public CompletableFuture<SubmissionTicket> submitTransactionAsync(@Argument @Valid TransactionInput input) {
+        return idempotencyWindow.submit("submitTransactionAsync", input,
+                () -> CompletableFuture.completedFuture(asyncSubmissionQueue.submit(input)));
     }
-}
 
+    @MutationMapping
+    public CompletableFuture<TransactionDecision> scoreTransaction(@Argument @Valid TransactionInput input) {
+        return idempotencyWindow.submit("scoreTransaction", input,
+                () -> lanes.submit(Lane.SCORING, () -> writeBehindWriter.submit(input)));
+    }
+
+    @QueryMapping
+    public TransactionResult transactionResult(@Argument String ticket) {
+        return asyncSubmissionQueue.result(ticket);
+    }
+
+    @SubscriptionMapping
+    public Flux<TransactionDTO> transactionScored(@Argument String status) {
+        return transactionService.transactionScored(status);
+    }
+}
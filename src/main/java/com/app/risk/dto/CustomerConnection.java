@@ -0,0 +1,17 @@
+package com.app.risk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerConnection {
+    private List<CustomerEdge> edges;
+    private PageInfo pageInfo;
+}
@@ -0,0 +1,16 @@
+package com.app.risk.dto;
+
+import com.app.risk.entity.Customer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerEdge {
+    private String cursor;
+    private Customer node;
+}
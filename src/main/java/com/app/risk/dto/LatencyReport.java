@@ -0,0 +1,21 @@
+package com.app.risk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LatencyReport {
+    private String window;
+    private Integer intervalSeconds;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<LatencySeries> series;
+}
@@ -0,0 +1,23 @@
+package com.app.risk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Latency percentiles of one instrumentation point, in milliseconds
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LatencySeries {
+    private String name;
+    private Long count;
+    private Double p50;
+    private Double p90;
+    private Double p99;
+    private Double p999;
+    private Double max;
+}
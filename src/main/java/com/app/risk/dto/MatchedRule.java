@@ -14,6 +14,7 @@ public class MatchedRule {
     private String ruleName;
     private String ruleType;
     private Integer points;
+    private String reasonCode;
     private String reason;
 }
 
@@ -0,0 +1,15 @@
+package com.app.risk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PageInfo {
+    private Boolean hasNextPage;
+    private String endCursor;
+}
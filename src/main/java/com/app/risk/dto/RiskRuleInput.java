@@ -1,5 +1,6 @@
 package com.app.risk.dto;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -21,6 +22,7 @@ public class RiskRuleInput {
     @NotBlank
     private String ruleType;
 
+    @Digits(integer = 16, fraction = 2)
     private BigDecimal amountThreshold;
 
     private String merchantCategory;
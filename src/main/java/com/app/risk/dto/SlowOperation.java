@@ -0,0 +1,27 @@
+package com.app.risk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A GraphQL operation that exceeded the slow-operation threshold, with literals stripped from its query
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SlowOperation {
+    private String operationName;
+    private String queryShape;
+    private LocalDateTime completedAt;
+    private Double durationMs;
+    private Double parseMs;
+    private Double validationMs;
+    private Double fetchMs;
+    private String slowestField;
+    private Double slowestFieldMs;
+}
@@ -25,5 +25,7 @@ public class TransactionDTO {
     private Integer riskScore;
     private String status;
     private List<MatchedRule> matchedRules;
+    @Builder.Default
+    private List<Long> degradedRuleIds = List.of();
 }
 
@@ -1,8 +1,10 @@
 package com.app.risk.dto;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,8 +21,12 @@ public class TransactionInput {
     @NotNull
     private Long customerId;
 
+    /**
+     * At most two decimals, and small enough that the amount in minor units fits a long
+     */
     @NotNull
     @Positive
+    @Digits(integer = 16, fraction = 2)
     private BigDecimal amount;
 
     @NotBlank
@@ -29,5 +35,11 @@ public class TransactionInput {
 
     @NotBlank
     private String merchantCategory;
+
+    /**
+     * Optional; repeats of a key return the original result instead of scoring again
+     */
+    @Size(min = 1, max = 128)
+    private String idempotencyKey;
 }
 
@@ -2,16 +2,13 @@ package com.app.risk.engine;
 
 import com.app.risk.dto.MatchedRule;
 import com.app.risk.dto.TransactionInput;
-import com.app.risk.entity.Customer;
-import com.app.risk.entity.RiskRule;
-import com.app.risk.entity.RuleType;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Component
-public class AmountThresholdEvaluator implements RiskRuleEvaluator {
+public class AmountThresholdEvaluator implements RiskRuleEvaluator, RuleEvaluator {
 
     @Override
     public boolean supports(RuleType ruleType) {
@@ -19,7 +16,7 @@ public class AmountThresholdEvaluator implements RiskRuleEvaluator {
     }
 
     @Override
-    public Optional<MatchedRule> evaluate(TransactionInput input, Customer customer, RiskRule rule, LocalDateTime timestamp) {
+    public Optional<MatchedRule> evaluate(TransactionInput input, CustomerProfile customer, RuleDefinition rule, LocalDateTime timestamp) {
         if (rule.getAmountThreshold() == null) {
             return Optional.empty();
         }
@@ -30,6 +27,7 @@ public class AmountThresholdEvaluator implements RiskRuleEvaluator {
                     .ruleName(rule.getRuleName())
                     .ruleType(rule.getRuleType().name())
                     .points(rule.getRiskPoints())
+                    .reasonCode(ReasonCode.AMOUNT_OVER_THRESHOLD.name())
                     .reason(String.format("Transaction amount %s exceeds threshold %s",
                             input.getAmount(), rule.getAmountThreshold()))
                     .build();
@@ -38,5 +36,14 @@ public class AmountThresholdEvaluator implements RiskRuleEvaluator {
 
         return Optional.empty();
     }
-}
 
+    @Override
+    public boolean evaluate(EvaluationContext context, CompiledRuleSet rules, int index, ScoringResult result) {
+        ScoringInput input = context.getInput();
+        if (input.getAmountMinor() > rules.amountThreshold(index)) {
+            result.record(index, rules.riskPoints(index), ReasonCode.AMOUNT_OVER_THRESHOLD, input.getAmountMinor());
+            return true;
+        }
+        return false;
+    }
+}
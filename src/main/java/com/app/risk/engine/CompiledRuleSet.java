@@ -0,0 +1,112 @@
+package com.app.risk.engine;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Immutable snapshot of the active rules flattened into parallel primitive arrays,
+ * with the evaluator for each rule resolved once at compile time.
+ */
+public final class CompiledRuleSet {
+
+    public static final long NO_AMOUNT_THRESHOLD = Long.MAX_VALUE;
+    public static final int NO_MERCHANT_CATEGORY = -1;
+    public static final int NO_FREQUENCY = -1;
+
+    @Getter
+    private final List<RuleDefinition> rules;
+    private final long[] ruleIds;
+    private final long[] amountThresholds;
+    private final int[] merchantCategories;
+    private final int[] frequencyCounts;
+    private final int[] frequencyWindows;
+    private final int[] riskPoints;
+    private final RuleEvaluator[] evaluators;
+
+    CompiledRuleSet(List<RuleDefinition> rules, List<RuleEvaluator> ruleEvaluators,
+                    List<RiskRuleEvaluator> riskRuleEvaluators) {
+        int size = rules.size();
+        this.rules = List.copyOf(rules);
+        this.ruleIds = new long[size];
+        this.amountThresholds = new long[size];
+        this.merchantCategories = new int[size];
+        this.frequencyCounts = new int[size];
+        this.frequencyWindows = new int[size];
+        this.riskPoints = new int[size];
+        this.evaluators = new RuleEvaluator[size];
+
+        for (int i = 0; i < size; i++) {
+            RuleDefinition rule = rules.get(i);
+            ruleIds[i] = rule.getId() != null ? rule.getId() : 0L;
+            amountThresholds[i] = rule.getAmountThreshold() != null ?
+                    ScoringInput.toMinorUnits(rule.getAmountThreshold()) : NO_AMOUNT_THRESHOLD;
+            merchantCategories[i] = rule.getMerchantCategory() != null ?
+                    rule.getMerchantCategory().ordinal() : NO_MERCHANT_CATEGORY;
+            boolean hasFrequency = rule.getFrequencyCount() != null && rule.getFrequencyWindowMinutes() != null;
+            frequencyCounts[i] = hasFrequency ? rule.getFrequencyCount() : NO_FREQUENCY;
+            frequencyWindows[i] = hasFrequency ? rule.getFrequencyWindowMinutes() : NO_FREQUENCY;
+            riskPoints[i] = rule.getRiskPoints() != null ? rule.getRiskPoints() : 0;
+            evaluators[i] = resolve(rule, ruleEvaluators, riskRuleEvaluators);
+        }
+    }
+
+    private static RuleEvaluator resolve(RuleDefinition rule, List<RuleEvaluator> ruleEvaluators,
+                                         List<RiskRuleEvaluator> riskRuleEvaluators) {
+        for (RuleEvaluator evaluator : ruleEvaluators) {
+            if (evaluator.supports(rule.getRuleType())) {
+                return evaluator;
+            }
+        }
+        for (RiskRuleEvaluator evaluator : riskRuleEvaluators) {
+            if (evaluator.supports(rule.getRuleType())) {
+                return evaluator instanceof RuleEvaluator ruleEvaluator ?
+                        ruleEvaluator : new LegacyRuleEvaluatorAdapter(evaluator);
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return ruleIds.length;
+    }
+
+    public RuleDefinition rule(int index) {
+        return rules.get(index);
+    }
+
+    public long ruleId(int index) {
+        return ruleIds[index];
+    }
+
+    public long amountThreshold(int index) {
+        return amountThresholds[index];
+    }
+
+    public int merchantCategory(int index) {
+        return merchantCategories[index];
+    }
+
+    public int frequencyCount(int index) {
+        return frequencyCounts[index];
+    }
+
+    public int frequencyWindowMinutes(int index) {
+        return frequencyWindows[index];
+    }
+
+    public int riskPoints(int index) {
+        return riskPoints[index];
+    }
+
+    RuleEvaluator evaluator(int index) {
+        return evaluators[index];
+    }
+
+    /**
+     * True if this snapshot was compiled from rules equal to the given ones
+     */
+    public boolean isCompiledFrom(List<RuleDefinition> candidate) {
+        return rules.equals(candidate);
+    }
+}
@@ -0,0 +1,162 @@
+package com.app.risk.engine;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Lazily loaded, memoized history features for one customer as of an anchor time.
+ * Each window count, window sum and the last transaction time is loaded at most once.
+ */
+public final class CustomerFeatures {
+
+    private static final long NOT_LOADED = Long.MIN_VALUE;
+
+    private final FeatureLoader loader;
+    private long customerId;
+    private LocalDateTime anchor;
+
+    private int windowCount;
+    private int[] windows = new int[4];
+    private long[] counts = new long[4];
+    private long[] sums = new long[4];
+
+    private boolean lastTransactionLoaded;
+    private LocalDateTime lastTransactionTime;
+
+    // Once one lookup has failed, later ones for this customer fail at once rather than each waiting out the budget
+    private FeatureUnavailableException unavailable;
+
+    // Transactions scored earlier in the same batch that the loader cannot see yet
+    private int pendingCount;
+    private long[] pendingAmounts = new long[0];
+    private LocalDateTime[] pendingTimes = new LocalDateTime[0];
+
+    CustomerFeatures(FeatureLoader loader) {
+        this.loader = loader;
+    }
+
+    CustomerFeatures reset(long customerId, LocalDateTime anchor) {
+        this.customerId = customerId;
+        this.anchor = anchor;
+        this.windowCount = 0;
+        this.lastTransactionLoaded = false;
+        this.lastTransactionTime = null;
+        this.pendingCount = 0;
+        this.unavailable = null;
+        return this;
+    }
+
+    public long countSince(int windowMinutes) {
+        int slot = slot(windowMinutes);
+        if (counts[slot] == NOT_LOADED) {
+            LocalDateTime cutoffTime = anchor.minusMinutes(windowMinutes);
+            checkAvailable();
+            long count;
+            try {
+                count = loader.countSince(customerId, cutoffTime);
+            } catch (FeatureUnavailableException e) {
+                throw unavailable(e);
+            }
+            for (int i = 0; i < pendingCount; i++) {
+                if (pendingTimes[i].isAfter(cutoffTime)) {
+                    count++;
+                }
+            }
+            counts[slot] = count;
+        }
+        return counts[slot];
+    }
+
+    public long sumSince(int windowMinutes) {
+        int slot = slot(windowMinutes);
+        if (sums[slot] == NOT_LOADED) {
+            LocalDateTime cutoffTime = anchor.minusMinutes(windowMinutes);
+            checkAvailable();
+            long sum;
+            try {
+                sum = loader.sumSince(customerId, cutoffTime);
+            } catch (FeatureUnavailableException e) {
+                throw unavailable(e);
+            }
+            for (int i = 0; i < pendingCount; i++) {
+                if (pendingTimes[i].isAfter(cutoffTime)) {
+                    sum += pendingAmounts[i];
+                }
+            }
+            sums[slot] = sum;
+        }
+        return sums[slot];
+    }
+
+    public LocalDateTime lastTransactionTime() {
+        if (!lastTransactionLoaded) {
+            checkAvailable();
+            try {
+                lastTransactionTime = loader.lastTransactionTime(customerId);
+            } catch (FeatureUnavailableException e) {
+                throw unavailable(e);
+            }
+            for (int i = 0; i < pendingCount; i++) {
+                if (lastTransactionTime == null || pendingTimes[i].isAfter(lastTransactionTime)) {
+                    lastTransactionTime = pendingTimes[i];
+                }
+            }
+            lastTransactionLoaded = true;
+        }
+        return lastTransactionTime;
+    }
+
+    /**
+     * Fold a transaction scored in the same batch into the already loaded features,
+     * so later transactions for this customer see it without another query
+     */
+    void recordSubmitted(long amountMinor, LocalDateTime timestamp) {
+        for (int i = 0; i < windowCount; i++) {
+            if (counts[i] != NOT_LOADED) {
+                counts[i]++;
+            }
+            if (sums[i] != NOT_LOADED) {
+                sums[i] += amountMinor;
+            }
+        }
+        if (lastTransactionLoaded && (lastTransactionTime == null || timestamp.isAfter(lastTransactionTime))) {
+            lastTransactionTime = timestamp;
+        }
+        if (pendingCount == pendingAmounts.length) {
+            int capacity = Math.max(4, pendingCount * 2);
+            pendingAmounts = Arrays.copyOf(pendingAmounts, capacity);
+            pendingTimes = Arrays.copyOf(pendingTimes, capacity);
+        }
+        pendingAmounts[pendingCount] = amountMinor;
+        pendingTimes[pendingCount] = timestamp;
+        pendingCount++;
+    }
+
+    private void checkAvailable() {
+        if (unavailable != null) {
+            throw unavailable;
+        }
+    }
+
+    private FeatureUnavailableException unavailable(FeatureUnavailableException e) {
+        unavailable = e;
+        return e;
+    }
+
+    private int slot(int windowMinutes) {
+        for (int i = 0; i < windowCount; i++) {
+            if (windows[i] == windowMinutes) {
+                return i;
+            }
+        }
+        if (windowCount == windows.length) {
+            windows = Arrays.copyOf(windows, windowCount * 2);
+            counts = Arrays.copyOf(counts, windowCount * 2);
+            sums = Arrays.copyOf(sums, windowCount * 2);
+        }
+        windows[windowCount] = windowMinutes;
+        counts[windowCount] = NOT_LOADED;
+        sums[windowCount] = NOT_LOADED;
+        return windowCount++;
+    }
+}
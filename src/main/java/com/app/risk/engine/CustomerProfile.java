@@ -0,0 +1,14 @@
+package com.app.risk.engine;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * The customer attributes rules may read, independent of how customers are stored
+ */
+@Value
+@Builder
+public class CustomerProfile {
+    Long id;
+    RiskProfile riskProfile;
+}
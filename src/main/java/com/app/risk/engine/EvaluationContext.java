@@ -0,0 +1,74 @@
+package com.app.risk.engine;
+
+import com.app.risk.dto.TransactionInput;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-transaction view handed to {@link RuleEvaluator}s: the transaction in primitive form
+ * plus lazily computed customer features shared by every rule evaluated against it.
+ */
+public final class EvaluationContext {
+
+    @Getter
+    private final ScoringInput input = new ScoringInput();
+    private final CustomerFeatures ownFeatures;
+    private final FeatureBatch batch;
+    private CustomerFeatures features;
+
+    EvaluationContext(FeatureLoader loader) {
+        this.ownFeatures = new CustomerFeatures(loader);
+        this.batch = null;
+    }
+
+    EvaluationContext(FeatureBatch batch) {
+        this.ownFeatures = null;
+        this.batch = batch;
+    }
+
+    public EvaluationContext begin(TransactionInput transactionInput, CustomerProfile customer,
+                                   MerchantCategory merchantCategory, LocalDateTime timestamp) {
+        input.set(transactionInput, customer, merchantCategory, timestamp);
+        features = null;
+        return this;
+    }
+
+    public void clear() {
+        input.clear();
+        features = null;
+    }
+
+    public CustomerProfile getCustomer() {
+        return input.getCustomer();
+    }
+
+    public LocalDateTime getTimestamp() {
+        return input.getTimestamp();
+    }
+
+    public RiskProfile customerProfile() {
+        return input.getCustomer().getRiskProfile();
+    }
+
+    public long countSince(int windowMinutes) {
+        return features().countSince(windowMinutes);
+    }
+
+    public long sumSince(int windowMinutes) {
+        return features().sumSince(windowMinutes);
+    }
+
+    public LocalDateTime lastTransactionTime() {
+        return features().lastTransactionTime();
+    }
+
+    CustomerFeatures features() {
+        if (features == null) {
+            features = batch != null ?
+                    batch.featuresFor(input.getCustomerId(), input.getTimestamp()) :
+                    ownFeatures.reset(input.getCustomerId(), input.getTimestamp());
+        }
+        return features;
+    }
+}
@@ -0,0 +1,13 @@
+package com.app.risk.engine;
+
+/**
+ * How a history-based rule is decided when its features are unavailable
+ */
+public enum FallbackPolicy {
+    /** Use the in-memory {@link RecentActivity} count, a lower bound */
+    APPROXIMATE,
+    /** Treat the rule as matched, so the transaction errs toward review */
+    ASSUME_MATCHED,
+    /** Treat the rule as not matched, so the transaction errs toward approval */
+    ASSUME_NOT_MATCHED
+}
@@ -0,0 +1,41 @@
+package com.app.risk.engine;
+
+import com.app.risk.dto.TransactionInput;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Scope for scoring several transactions together. Features are loaded at most once per
+ * customer for the whole batch, anchored at the first transaction seen for that customer.
+ * Not thread-safe; use one batch per worker.
+ */
+public final class FeatureBatch {
+
+    private final FeatureLoader loader;
+    private final Map<Long, CustomerFeatures> featuresByCustomer = new HashMap<>();
+
+    FeatureBatch(FeatureLoader loader) {
+        this.loader = loader;
+    }
+
+    public EvaluationContext context(TransactionInput transactionInput, CustomerProfile customer,
+                                     MerchantCategory merchantCategory, LocalDateTime timestamp) {
+        return new EvaluationContext(this).begin(transactionInput, customer, merchantCategory, timestamp);
+    }
+
+    /**
+     * Make a transaction scored earlier in this batch visible to later ones for the same customer
+     */
+    public void recordSubmitted(EvaluationContext context) {
+        ScoringInput input = context.getInput();
+        featuresFor(input.getCustomerId(), input.getTimestamp())
+                .recordSubmitted(input.getAmountMinor(), input.getTimestamp());
+    }
+
+    CustomerFeatures featuresFor(long customerId, LocalDateTime anchor) {
+        return featuresByCustomer.computeIfAbsent(customerId,
+                id -> new CustomerFeatures(loader).reset(id, anchor));
+    }
+}
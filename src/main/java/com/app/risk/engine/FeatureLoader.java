@@ -0,0 +1,12 @@
+package com.app.risk.engine;
+
+import java.time.LocalDateTime;
+
+/**
+ * Source of the history-based customer features exposed through {@link EvaluationContext}
+ */
+public interface FeatureLoader {
+    long countSince(long customerId, LocalDateTime cutoffTime);
+    long sumSince(long customerId, LocalDateTime cutoffTime);
+    LocalDateTime lastTransactionTime(long customerId);
+}
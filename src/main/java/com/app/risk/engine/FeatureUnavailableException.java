@@ -0,0 +1,13 @@
+package com.app.risk.engine;
+
+/**
+ * A history feature could not be loaded within its budget, or its circuit is open.
+ * Evaluators catch this and fall back instead of failing the submission; it carries no stack
+ * trace because it is thrown on every lookup while the database is degraded.
+ */
+public class FeatureUnavailableException extends RuntimeException {
+
+    public FeatureUnavailableException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
@@ -2,21 +2,25 @@ package com.app.risk.engine;
 
 import com.app.risk.dto.MatchedRule;
 import com.app.risk.dto.TransactionInput;
-import com.app.risk.entity.Customer;
-import com.app.risk.entity.RiskRule;
-import com.app.risk.entity.RuleType;
-import com.app.risk.repository.TransactionRepository;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Component
-@RequiredArgsConstructor
-public class FrequencyEvaluator implements RiskRuleEvaluator {
+public class FrequencyEvaluator implements RiskRuleEvaluator, RuleEvaluator {
 
-    private final TransactionRepository transactionRepository;
+    private final FeatureLoader featureLoader;
+    private final RecentActivity recentActivity;
+    private final FallbackPolicy fallbackPolicy;
+
+    public FrequencyEvaluator(FeatureLoader featureLoader, RecentActivity recentActivity,
+                              @Value("${app.degraded-scoring.frequency.fallback:approximate}") FallbackPolicy fallbackPolicy) {
+        this.featureLoader = featureLoader;
+        this.recentActivity = recentActivity;
+        this.fallbackPolicy = fallbackPolicy;
+    }
 
     @Override
     public boolean supports(RuleType ruleType) {
@@ -24,30 +28,78 @@ public class FrequencyEvaluator implements RiskRuleEvaluator {
     }
 
     @Override
-    public Optional<MatchedRule> evaluate(TransactionInput input, Customer customer, RiskRule rule, LocalDateTime timestamp) {
+    public Optional<MatchedRule> evaluate(TransactionInput input, CustomerProfile customer, RuleDefinition rule, LocalDateTime timestamp) {
         if (rule.getFrequencyCount() == null || rule.getFrequencyWindowMinutes() == null) {
             return Optional.empty();
         }
 
         LocalDateTime cutoffTime = timestamp.minusMinutes(rule.getFrequencyWindowMinutes());
 
-        long transactionCount = transactionRepository.countByCustomerIdAndTimestampAfter(
-                customer.getId(), cutoffTime);
+        long transactionCount;
+        try {
+            transactionCount = featureLoader.countSince(customer.getId(), cutoffTime);
+        } catch (FeatureUnavailableException e) {
+            switch (fallbackPolicy) {
+                case ASSUME_MATCHED -> {
+                    return Optional.of(matched(rule, ReasonCode.FREQUENCY_ASSUMED, 0L));
+                }
+                case ASSUME_NOT_MATCHED -> {
+                    return Optional.empty();
+                }
+                default -> transactionCount = recentActivity.countSince(customer.getId(), cutoffTime);
+            }
+        }
 
         // "more than X" means strictly greater than X
         if (transactionCount > rule.getFrequencyCount()) {
-            MatchedRule matchedRule = MatchedRule.builder()
-                    .ruleId(rule.getId())
-                    .ruleName(rule.getRuleName())
-                    .ruleType(rule.getRuleType().name())
-                    .points(rule.getRiskPoints())
-                    .reason(String.format("Frequency threshold exceeded: %d transactions in %d minutes (threshold: %d)",
-                            transactionCount, rule.getFrequencyWindowMinutes(), rule.getFrequencyCount()))
-                    .build();
-            return Optional.of(matchedRule);
+            return Optional.of(matched(rule, ReasonCode.FREQUENCY_EXCEEDED, transactionCount));
         }
 
         return Optional.empty();
     }
-}
 
+    private static MatchedRule matched(RuleDefinition rule, ReasonCode reasonCode, long transactionCount) {
+        return MatchedRule.builder()
+                .ruleId(rule.getId())
+                .ruleName(rule.getRuleName())
+                .ruleType(rule.getRuleType().name())
+                .points(rule.getRiskPoints())
+                .reasonCode(reasonCode.name())
+                .reason(reasonCode.describe(rule, transactionCount))
+                .build();
+    }
+
+    @Override
+    public boolean evaluate(EvaluationContext context, CompiledRuleSet rules, int index, ScoringResult result) {
+        int windowMinutes = rules.frequencyWindowMinutes(index);
+        if (windowMinutes == CompiledRuleSet.NO_FREQUENCY) {
+            return false;
+        }
+
+        long transactionCount;
+        try {
+            transactionCount = context.countSince(windowMinutes);
+        } catch (FeatureUnavailableException e) {
+            result.markDegraded(index);
+            switch (fallbackPolicy) {
+                case ASSUME_MATCHED -> {
+                    result.record(index, rules.riskPoints(index), ReasonCode.FREQUENCY_ASSUMED, 0L);
+                    return true;
+                }
+                case ASSUME_NOT_MATCHED -> {
+                    return false;
+                }
+                default -> transactionCount = recentActivity.countSince(
+                        context.getInput().getCustomerId(), context.getTimestamp().minusMinutes(windowMinutes));
+            }
+        }
+
+        // "more than X" means strictly greater than X
+        if (transactionCount > rules.frequencyCount(index)) {
+            result.record(index, rules.riskPoints(index), ReasonCode.FREQUENCY_EXCEEDED, transactionCount);
+            return true;
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,37 @@
+package com.app.risk.engine;
+
+import com.app.risk.dto.MatchedRule;
+
+import java.util.Optional;
+
+/**
+ * Runs a {@link RiskRuleEvaluator} through the {@link RuleEvaluator} SPI
+ */
+final class LegacyRuleEvaluatorAdapter implements RuleEvaluator {
+
+    private final RiskRuleEvaluator delegate;
+
+    LegacyRuleEvaluatorAdapter(RiskRuleEvaluator delegate) {
+        this.delegate = delegate;
+    }
+
+    RiskRuleEvaluator delegate() {
+        return delegate;
+    }
+
+    @Override
+    public boolean supports(RuleType ruleType) {
+        return delegate.supports(ruleType);
+    }
+
+    @Override
+    public boolean evaluate(EvaluationContext context, CompiledRuleSet rules, int index, ScoringResult result) {
+        Optional<MatchedRule> matchedRule = delegate.evaluate(context.getInput().getSource(),
+                context.getCustomer(), rules.rule(index), context.getTimestamp());
+        if (matchedRule.isPresent()) {
+            result.recordExternal(index, matchedRule.get());
+            return true;
+        }
+        return false;
+    }
+}
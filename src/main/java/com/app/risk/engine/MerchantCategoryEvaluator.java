@@ -2,17 +2,13 @@ package com.app.risk.engine;
 
 import com.app.risk.dto.MatchedRule;
 import com.app.risk.dto.TransactionInput;
-import com.app.risk.entity.Customer;
-import com.app.risk.entity.MerchantCategory;
-import com.app.risk.entity.RiskRule;
-import com.app.risk.entity.RuleType;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Component
-public class MerchantCategoryEvaluator implements RiskRuleEvaluator {
+public class MerchantCategoryEvaluator implements RiskRuleEvaluator, RuleEvaluator {
 
     @Override
     public boolean supports(RuleType ruleType) {
@@ -20,7 +16,7 @@ public class MerchantCategoryEvaluator implements RiskRuleEvaluator {
     }
 
     @Override
-    public Optional<MatchedRule> evaluate(TransactionInput input, Customer customer, RiskRule rule, LocalDateTime timestamp) {
+    public Optional<MatchedRule> evaluate(TransactionInput input, CustomerProfile customer, RuleDefinition rule, LocalDateTime timestamp) {
         if (rule.getMerchantCategory() == null) {
             return Optional.empty();
         }
@@ -34,6 +30,7 @@ public class MerchantCategoryEvaluator implements RiskRuleEvaluator {
                         .ruleName(rule.getRuleName())
                         .ruleType(rule.getRuleType().name())
                         .points(rule.getRiskPoints())
+                        .reasonCode(ReasonCode.HIGH_RISK_MERCHANT_CATEGORY.name())
                         .reason(String.format("High-risk merchant category: %s", inputCategory))
                         .build();
                 return Optional.of(matchedRule);
@@ -45,5 +42,16 @@ public class MerchantCategoryEvaluator implements RiskRuleEvaluator {
 
         return Optional.empty();
     }
-}
 
+    @Override
+    public boolean evaluate(EvaluationContext context, CompiledRuleSet rules, int index, ScoringResult result) {
+        ScoringInput input = context.getInput();
+        int ruleCategory = rules.merchantCategory(index);
+        if (ruleCategory != CompiledRuleSet.NO_MERCHANT_CATEGORY && ruleCategory == input.getMerchantCategory()) {
+            result.record(index, rules.riskPoints(index), ReasonCode.HIGH_RISK_MERCHANT_CATEGORY,
+                    input.getMerchantCategory());
+            return true;
+        }
+        return false;
+    }
+}
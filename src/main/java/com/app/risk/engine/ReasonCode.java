@@ -0,0 +1,47 @@
+package com.app.risk.engine;
+
+
+import java.math.BigDecimal;
+
+/**
+ * Structured reason for a matched rule.
+ * The human-readable text is only rendered when a result leaves the engine.
+ */
+public enum ReasonCode {
+
+    AMOUNT_OVER_THRESHOLD {
+        @Override
+        public String describe(RuleDefinition rule, long fact) {
+            return String.format("Transaction amount %s exceeds threshold %s",
+                    BigDecimal.valueOf(fact, ScoringInput.AMOUNT_SCALE), rule.getAmountThreshold());
+        }
+    },
+
+    HIGH_RISK_MERCHANT_CATEGORY {
+        @Override
+        public String describe(RuleDefinition rule, long fact) {
+            return String.format("High-risk merchant category: %s", MerchantCategory.values()[(int) fact]);
+        }
+    },
+
+    FREQUENCY_EXCEEDED {
+        @Override
+        public String describe(RuleDefinition rule, long fact) {
+            return String.format("Frequency threshold exceeded: %d transactions in %d minutes (threshold: %d)",
+                    fact, rule.getFrequencyWindowMinutes(), rule.getFrequencyCount());
+        }
+    },
+
+    FREQUENCY_ASSUMED {
+        @Override
+        public String describe(RuleDefinition rule, long fact) {
+            return String.format("Transaction history unavailable; assumed more than %d transactions in %d minutes",
+                    rule.getFrequencyCount(), rule.getFrequencyWindowMinutes());
+        }
+    };
+
+    /**
+     * Render the reason text for a rule given the numeric fact recorded when it matched
+     */
+    public abstract String describe(RuleDefinition rule, long fact);
+}
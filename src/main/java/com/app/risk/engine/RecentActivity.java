@@ -0,0 +1,75 @@
+package com.app.risk.engine;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * In-memory timestamps of each customer's most recent stored transactions, the source of the
+ * approximate count used when the database cannot answer in time. It only sees rows written by
+ * this instance since it started and keeps at most {@code per-customer} of them, so the count is
+ * a lower bound.
+ */
+@Component
+public class RecentActivity {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private final int perCustomer;
+    private final Cache<Long, Timestamps> byCustomer;
+
+    public RecentActivity(@Value("${app.degraded-scoring.recent-activity.customers:100000}") long customers,
+                          @Value("${app.degraded-scoring.recent-activity.per-customer:64}") int perCustomer,
+                          @Value("${app.degraded-scoring.recent-activity.retention:24h}") Duration retention) {
+        this.perCustomer = perCustomer;
+        this.byCustomer = Caffeine.newBuilder()
+                .maximumSize(customers)
+                .expireAfterAccess(retention)
+                .build();
+    }
+
+    public void record(long customerId, LocalDateTime timestamp) {
+        byCustomer.get(customerId, id -> new Timestamps(perCustomer)).add(toMillis(timestamp));
+    }
+
+    public long countSince(long customerId, LocalDateTime cutoffTime) {
+        Timestamps timestamps = byCustomer.getIfPresent(customerId);
+        return timestamps == null ? 0L : timestamps.countAfter(toMillis(cutoffTime));
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return ChronoUnit.MILLIS.between(EPOCH, time);
+    }
+
+    private static final class Timestamps {
+
+        private final long[] millis;
+        private int next;
+        private int size;
+
+        Timestamps(int capacity) {
+            this.millis = new long[capacity];
+        }
+
+        synchronized void add(long value) {
+            millis[next] = value;
+            next = (next + 1) % millis.length;
+            size = Math.min(size + 1, millis.length);
+        }
+
+        synchronized long countAfter(long cutoff) {
+            long count = 0;
+            for (int i = 0; i < size; i++) {
+                if (millis[i] > cutoff) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.app.risk.engine;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable description of a rule as the engine sees it, independent of how rules are stored.
+ * Persistence layers map their own rule rows to this before compiling a {@link CompiledRuleSet}.
+ */
+@Value
+@Builder
+public class RuleDefinition {
+    Long id;
+    String ruleName;
+    RuleType ruleType;
+    BigDecimal amountThreshold;
+    MerchantCategory merchantCategory;
+    Integer frequencyCount;
+    Integer frequencyWindowMinutes;
+    Integer riskPoints;
+}
@@ -0,0 +1,13 @@
+package com.app.risk.engine;
+
+
+/**
+ * Evaluator SPI that works against a per-transaction {@link EvaluationContext}.
+ * History-based rules read their inputs from the context's memoized features instead of
+ * querying on their own, so rules that need the same data share one load.
+ * A match is written straight into the result; implementations should not allocate.
+ */
+public interface RuleEvaluator {
+    boolean supports(RuleType ruleType);
+    boolean evaluate(EvaluationContext context, CompiledRuleSet rules, int index, ScoringResult result);
+}
@@ -1,4 +1,4 @@
-package com.app.risk.entity;
+package com.app.risk.engine;
 
 public enum RuleType {
     AMOUNT_THRESHOLD,
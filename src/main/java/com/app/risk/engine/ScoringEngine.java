@@ -0,0 +1,137 @@
+package com.app.risk.engine;
+
+import com.app.risk.jfr.RuleEvaluatedEvent;
+import jdk.jfr.EventType;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Scores a transaction against a compiled rule snapshot.
+ * {@link RuleEvaluator}s are used directly; plain {@link RiskRuleEvaluator}s are adapted.
+ * Nothing is allocated per evaluation unless an evaluator does so itself.
+ */
+@Component
+public class ScoringEngine {
+
+    private final List<RuleEvaluator> ruleEvaluators;
+    private final List<RiskRuleEvaluator> riskRuleEvaluators;
+    private final FeatureLoader featureLoader;
+    private final ScoringObserver[] observers;
+    private final ThreadLocal<EvaluationContext> contexts;
+    private final ThreadLocal<ScoringResult> results = ThreadLocal.withInitial(ScoringResult::new);
+
+    // Checked once per evaluation so no event objects are created while the event is disabled
+    private static final EventType RULE_EVALUATED = EventType.getEventType(RuleEvaluatedEvent.class);
+
+    private volatile CompiledRuleSet snapshot;
+
+    public ScoringEngine(List<RuleEvaluator> ruleEvaluators, List<RiskRuleEvaluator> riskRuleEvaluators,
+                         FeatureLoader featureLoader, List<ScoringObserver> observers) {
+        this.ruleEvaluators = ruleEvaluators;
+        this.riskRuleEvaluators = riskRuleEvaluators;
+        this.featureLoader = featureLoader;
+        this.observers = observers.toArray(new ScoringObserver[0]);
+        this.contexts = ThreadLocal.withInitial(() -> new EvaluationContext(featureLoader));
+    }
+
+    /**
+     * Compile the given rules, reusing the previous snapshot while the rules are unchanged
+     */
+    public CompiledRuleSet compile(List<RuleDefinition> rules) {
+        CompiledRuleSet current = snapshot;
+        boolean reused = current != null && current.isCompiledFrom(rules);
+        if (!reused) {
+            current = new CompiledRuleSet(rules, ruleEvaluators, riskRuleEvaluators);
+            snapshot = current;
+        }
+        for (ScoringObserver observer : observers) {
+            observer.snapshotResolved(reused);
+        }
+        return current;
+    }
+
+    /**
+     * Thread-confined evaluation context, reused across evaluations on the same thread
+     */
+    public EvaluationContext context() {
+        return contexts.get();
+    }
+
+    /**
+     * A new context reading features from {@code loader} instead of the engine's, e.g. history
+     * fetched ahead of scoring by a caller that must not block
+     */
+    public EvaluationContext context(FeatureLoader loader) {
+        return new EvaluationContext(loader);
+    }
+
+    /**
+     * Thread-confined result holder, reused across evaluations on the same thread
+     */
+    public ScoringResult result() {
+        return results.get();
+    }
+
+    /**
+     * Start a batch in which customer features are loaded at most once per customer
+     */
+    public FeatureBatch openBatch() {
+        return new FeatureBatch(featureLoader);
+    }
+
+    public void evaluate(CompiledRuleSet rules, EvaluationContext context, ScoringResult result) {
+        evaluate(rules, context, result, null);
+    }
+
+    /**
+     * Evaluate with an additional observer scoped to this call, e.g. a per-request trace
+     */
+    public void evaluate(CompiledRuleSet rules, EvaluationContext context, ScoringResult result,
+                         ScoringObserver callObserver) {
+        int size = rules.size();
+        result.reset(size);
+        boolean observed = observers.length > 0 || callObserver != null;
+        boolean recorded = RULE_EVALUATED.isEnabled();
+        for (int i = 0; i < size; i++) {
+            RuleEvaluator evaluator = rules.evaluator(i);
+            if (evaluator == null) {
+                continue;
+            }
+            if (!observed && !recorded) {
+                evaluator.evaluate(context, rules, i, result);
+                continue;
+            }
+            RuleEvaluatedEvent event = recorded ? new RuleEvaluatedEvent() : null;
+            if (event != null) {
+                event.begin();
+            }
+            long start = System.nanoTime();
+            boolean matched = evaluator.evaluate(context, rules, i, result);
+            long duration = System.nanoTime() - start;
+            if (event != null) {
+                commit(event, evaluator, rules, i, context, matched);
+            }
+            for (ScoringObserver observer : observers) {
+                observer.ruleEvaluated(rules, i, matched, duration);
+            }
+            if (callObserver != null) {
+                callObserver.ruleEvaluated(rules, i, matched, duration);
+            }
+        }
+    }
+
+    private static void commit(RuleEvaluatedEvent event, RuleEvaluator evaluator, CompiledRuleSet rules, int index,
+                               EvaluationContext context, boolean matched) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.ruleId = rules.ruleId(index);
+            event.ruleType = rules.rule(index).getRuleType().name();
+            event.evaluator = (evaluator instanceof LegacyRuleEvaluatorAdapter adapter ?
+                    adapter.delegate().getClass() : evaluator.getClass()).getSimpleName();
+            event.customerId = context.getInput().getCustomerId();
+            event.matched = matched;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.app.risk.engine;
+
+import com.app.risk.dto.TransactionInput;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+/**
+ * Mutable, reusable view of a transaction in primitive form.
+ * Amounts are held in minor units at the same scale the transactions table stores them.
+ */
+@Getter
+public final class ScoringInput {
+
+    public static final int AMOUNT_SCALE = 2;
+
+    private long customerId;
+    private long amountMinor;
+    private int merchantCategory;
+
+    // Boxed originals, only handed to evaluators that have no primitive path
+    private TransactionInput source;
+    private CustomerProfile customer;
+    private LocalDateTime timestamp;
+
+    public ScoringInput set(TransactionInput input, CustomerProfile customer, MerchantCategory merchantCategory,
+                            LocalDateTime timestamp) {
+        this.customerId = customer.getId();
+        this.amountMinor = toMinorUnits(input.getAmount());
+        this.merchantCategory = merchantCategory.ordinal();
+        this.source = input;
+        this.customer = customer;
+        this.timestamp = timestamp;
+        return this;
+    }
+
+    public void clear() {
+        this.source = null;
+        this.customer = null;
+        this.timestamp = null;
+    }
+
+    /**
+     * Exact for the amounts {@link TransactionInput} and {@code RiskRuleInput} accept, which carry at most
+     * two decimals and sixteen integer digits.
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,17 @@
+package com.app.risk.engine;
+
+/**
+ * Hook for instrumentation of the scoring engine.
+ * Called on the scoring thread, so implementations must be cheap and must not allocate.
+ */
+public interface ScoringObserver {
+
+    /**
+     * Called when a rule snapshot is requested; {@code reused} is false when it had to be recompiled
+     */
+    default void snapshotResolved(boolean reused) {
+    }
+
+    default void ruleEvaluated(CompiledRuleSet rules, int index, boolean matched, long durationNanos) {
+    }
+}
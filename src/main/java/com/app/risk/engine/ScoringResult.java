@@ -0,0 +1,152 @@
+package com.app.risk.engine;
+
+import com.app.risk.dto.MatchedRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reusable scoring outcome: the total score, a bitset of matched rule indexes and
+ * one numeric fact per matched rule. Arrays only grow when the rule set does.
+ */
+public final class ScoringResult {
+
+    private int score;
+    private int matchCount;
+    private long[] matched = new long[1];
+    private long[] degraded = new long[1];
+    private int degradedCount;
+    private long[] facts = new long[Long.SIZE];
+    private ReasonCode[] reasons = new ReasonCode[Long.SIZE];
+    private MatchedRule[] external = new MatchedRule[Long.SIZE];
+    private int ruleCount;
+
+    public void reset(int ruleCount) {
+        int words = (ruleCount + Long.SIZE - 1) / Long.SIZE;
+        if (matched.length < words) {
+            matched = new long[words];
+            degraded = new long[words];
+        } else {
+            Arrays.fill(matched, 0L);
+            Arrays.fill(degraded, 0L);
+        }
+        if (facts.length < ruleCount) {
+            facts = new long[ruleCount];
+            reasons = new ReasonCode[ruleCount];
+            external = new MatchedRule[ruleCount];
+        } else {
+            Arrays.fill(external, 0, this.ruleCount, null);
+        }
+        this.ruleCount = ruleCount;
+        this.score = 0;
+        this.matchCount = 0;
+        this.degradedCount = 0;
+    }
+
+    public void record(int index, int points, ReasonCode reason, long fact) {
+        mark(index, points);
+        facts[index] = fact;
+        reasons[index] = reason;
+    }
+
+    /**
+     * Record a match produced by an evaluator that already built its own {@link MatchedRule}
+     */
+    public void recordExternal(int index, MatchedRule matchedRule) {
+        mark(index, matchedRule.getPoints() != null ? matchedRule.getPoints() : 0);
+        external[index] = matchedRule;
+    }
+
+    private void mark(int index, int points) {
+        long bit = 1L << index;
+        int word = index >>> 6;
+        if ((matched[word] & bit) == 0) {
+            matched[word] |= bit;
+            matchCount++;
+            score += points;
+        }
+    }
+
+    /**
+     * Note that the rule was decided by a fallback because its features were unavailable
+     */
+    public void markDegraded(int index) {
+        long bit = 1L << index;
+        int word = index >>> 6;
+        if ((degraded[word] & bit) == 0) {
+            degraded[word] |= bit;
+            degradedCount++;
+        }
+    }
+
+    public boolean isDegraded(int index) {
+        return (degraded[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public int getDegradedCount() {
+        return degradedCount;
+    }
+
+    /**
+     * Ids of the rules decided by a fallback, in rule order; empty when scoring was not degraded
+     */
+    public List<Long> degradedRuleIds(CompiledRuleSet rules) {
+        if (degradedCount == 0) {
+            return List.of();
+        }
+        List<Long> ruleIds = new ArrayList<>(degradedCount);
+        for (int i = 0; i < ruleCount; i++) {
+            if (isDegraded(i)) {
+                ruleIds.add(rules.ruleId(i));
+            }
+        }
+        return ruleIds;
+    }
+
+    public boolean isMatched(int index) {
+        return (matched[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public long fact(int index) {
+        return facts[index];
+    }
+
+    public ReasonCode reason(int index) {
+        return reasons[index];
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Materialize the matched rules, in rule order, for the API and persistence boundary
+     */
+    public List<MatchedRule> toMatchedRules(CompiledRuleSet rules) {
+        List<MatchedRule> matchedRules = new ArrayList<>(matchCount);
+        for (int i = 0; i < ruleCount; i++) {
+            if (!isMatched(i)) {
+                continue;
+            }
+            if (external[i] != null) {
+                matchedRules.add(external[i]);
+                continue;
+            }
+            RuleDefinition rule = rules.rule(i);
+            matchedRules.add(MatchedRule.builder()
+                    .ruleId(rule.getId())
+                    .ruleName(rule.getRuleName())
+                    .ruleType(rule.getRuleType().name())
+                    .points(rules.riskPoints(i))
+                    .reasonCode(reasons[i].name())
+                    .reason(reasons[i].describe(rule, facts[i]))
+                    .build());
+        }
+        return matchedRules;
+    }
+}
@@ -1,5 +1,7 @@
 package com.app.risk.entity;
 
+import com.app.risk.engine.CustomerProfile;
+import com.app.risk.engine.RiskProfile;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -11,7 +13,10 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "customers", indexes = {
-    @Index(name = "idx_customer_email", columnList = "email", unique = true)
+    @Index(name = "idx_customer_email", columnList = "email", unique = true),
+    @Index(name = "idx_customer_risk_profile_id", columnList = "riskProfile, id"),
+    @Index(name = "idx_customer_country_id", columnList = "country, id"),
+    @Index(name = "idx_customer_country_risk_profile_id", columnList = "country, riskProfile, id")
 })
 @Data
 @NoArgsConstructor
@@ -40,5 +45,12 @@ public class Customer {
     @NotBlank
     @Column(nullable = false)
     private String country;
+
+    public CustomerProfile toProfile() {
+        return CustomerProfile.builder()
+                .id(id)
+                .riskProfile(riskProfile)
+                .build();
+    }
 }
 
@@ -1,5 +1,8 @@
 package com.app.risk.entity;
 
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.engine.RuleDefinition;
+import com.app.risk.engine.RuleType;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -50,5 +53,18 @@ public class RiskRule {
     @NotNull
     @Column(nullable = false)
     private Boolean active;
+
+    public RuleDefinition toDefinition() {
+        return RuleDefinition.builder()
+                .id(id)
+                .ruleName(ruleName)
+                .ruleType(ruleType)
+                .amountThreshold(amountThreshold)
+                .merchantCategory(merchantCategory)
+                .frequencyCount(frequencyCount)
+                .frequencyWindowMinutes(frequencyWindowMinutes)
+                .riskPoints(riskPoints)
+                .build();
+    }
 }
 
@@ -1,5 +1,6 @@
 package com.app.risk.entity;
 
+import com.app.risk.engine.MerchantCategory;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -16,7 +17,9 @@ import java.time.LocalDateTime;
     @Index(name = "idx_transaction_timestamp", columnList = "timestamp"),
     @Index(name = "idx_transaction_merchant_category", columnList = "merchantCategory"),
     @Index(name = "idx_transaction_status", columnList = "status"),
-    @Index(name = "idx_transaction_customer_timestamp", columnList = "customer_id, timestamp")
+    @Index(name = "idx_transaction_customer_timestamp", columnList = "customer_id, timestamp"),
+    @Index(name = "idx_transaction_decision_id", columnList = "decisionId", unique = true),
+    @Index(name = "idx_transaction_idempotency_key", columnList = "idempotencyKey", unique = true)
 })
 @Data
 @NoArgsConstructor
@@ -57,9 +60,28 @@ public class Transaction {
     @Column(columnDefinition = "TEXT")
     private String matchedRulesJson;
 
+    /**
+     * Comma-separated ids of rules decided by a fallback because history was unavailable; null when none were
+     */
+    @Column(length = 1024)
+    private String degradedRuleIds;
+
     @Enumerated(EnumType.STRING)
     @NotNull
     @Column(nullable = false)
     private TransactionStatus status;
+
+    /**
+     * Id of the write-behind decision this row was stored from, so a journal replay cannot insert it twice
+     */
+    @Column(length = 36)
+    private String decisionId;
+
+    /**
+     * Client-supplied key of the submission; unique, so a retry that outlives the in-memory window
+     * still cannot insert the transaction twice
+     */
+    @Column(length = 128)
+    private String idempotencyKey;
 }
 
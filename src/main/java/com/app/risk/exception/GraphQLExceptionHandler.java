@@ -7,6 +7,8 @@ import org.springframework.graphql.execution.DataFetcherExceptionResolverAdapter
 import org.springframework.graphql.execution.ErrorType;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+
 @Component
 public class GraphQLExceptionHandler extends DataFetcherExceptionResolverAdapter {
 
@@ -25,6 +27,15 @@ public class GraphQLExceptionHandler extends DataFetcherExceptionResolverAdapter
                     .path(env.getExecutionStepInfo().getPath())
                     .location(env.getField().getSourceLocation())
                     .build();
+            case OverloadedException overloadedException -> GraphqlErrorBuilder.newError()
+                    .errorType(RiskErrorType.OVERLOADED)
+                    .message(ex.getMessage())
+                    .path(env.getExecutionStepInfo().getPath())
+                    .location(env.getField().getSourceLocation())
+                    .extensions(Map.of(
+                            "retryable", true,
+                            "retryAfterMs", overloadedException.getRetryAfterMillis()))
+                    .build();
             case IllegalArgumentException illegalArgumentException -> GraphqlErrorBuilder.newError()
                     .errorType(ErrorType.BAD_REQUEST)
                     .message(ex.getMessage())
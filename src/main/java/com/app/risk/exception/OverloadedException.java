@@ -0,0 +1,18 @@
+package com.app.risk.exception;
+
+/**
+ * The request was shed because the service is at capacity; clients may retry after the given delay
+ */
+public class OverloadedException extends RuntimeException {
+
+    private final long retryAfterMillis;
+
+    public OverloadedException(String message, long retryAfterMillis) {
+        super(message);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
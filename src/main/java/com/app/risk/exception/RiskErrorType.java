@@ -0,0 +1,18 @@
+package com.app.risk.exception;
+
+import graphql.ErrorClassification;
+
+/**
+ * Error classifications beyond Spring GraphQL's {@code ErrorType}
+ */
+public enum RiskErrorType implements ErrorClassification {
+    /**
+     * Shed under load; safe to retry after {@code extensions.retryAfterMs}
+     */
+    OVERLOADED,
+
+    /**
+     * Over the client's or customer's request rate; safe to retry after {@code extensions.retryAfterMs}
+     */
+    RATE_LIMITED
+}
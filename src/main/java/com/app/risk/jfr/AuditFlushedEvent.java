@@ -0,0 +1,29 @@
+package com.app.risk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.app.risk.AuditFlushed")
+@Label("Audit Flushed")
+@Category("Risk Scoring")
+@Description("Serialization and logging of one audit record")
+@StackTrace(false)
+public class AuditFlushedEvent extends Event {
+
+    @Label("Event Type")
+    public String eventType;
+
+    @Label("Resource Id")
+    public long resourceId;
+
+    @Label("Level")
+    public String level;
+
+    @Label("Characters")
+    @Description("Length of the serialized record in UTF-16 chars, not its encoded size")
+    public long chars;
+}
@@ -0,0 +1,62 @@
+package com.app.risk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Whole submitTransaction call, with the time spent in each phase
+ */
+@Name("com.app.risk.RiskEvaluation")
+@Label("Risk Evaluation")
+@Category("Risk Scoring")
+@Description("Scoring and persistence of one submitted transaction")
+@StackTrace(false)
+public class RiskEvaluationEvent extends Event {
+
+    @Label("Transaction Id")
+    public long transactionId;
+
+    @Label("Customer Id")
+    public long customerId;
+
+    @Label("Risk Score")
+    public int riskScore;
+
+    @Label("Status")
+    public String status;
+
+    @Label("Rules Evaluated")
+    public int rulesEvaluated;
+
+    @Label("Rules Matched")
+    public int rulesMatched;
+
+    @Label("Customer Lookup")
+    @Timespan
+    public long customerLookupDuration;
+
+    @Label("Rule Snapshot")
+    @Timespan
+    public long ruleSnapshotDuration;
+
+    @Label("Rule Evaluation")
+    @Timespan
+    public long ruleEvaluationDuration;
+
+    @Label("Serialization")
+    @Timespan
+    public long serializationDuration;
+
+    @Label("Insert")
+    @Timespan
+    public long insertDuration;
+
+    @Label("Audit")
+    @Timespan
+    public long auditDuration;
+}
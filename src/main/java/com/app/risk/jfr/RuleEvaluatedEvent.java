@@ -0,0 +1,31 @@
+package com.app.risk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.app.risk.RuleEvaluated")
+@Label("Rule Evaluated")
+@Category("Risk Scoring")
+@Description("Evaluation of a single risk rule, including any feature it had to load")
+@StackTrace(false)
+public class RuleEvaluatedEvent extends Event {
+
+    @Label("Rule Id")
+    public long ruleId;
+
+    @Label("Rule Type")
+    public String ruleType;
+
+    @Label("Evaluator")
+    public String evaluator;
+
+    @Label("Customer Id")
+    public long customerId;
+
+    @Label("Matched")
+    public boolean matched;
+}
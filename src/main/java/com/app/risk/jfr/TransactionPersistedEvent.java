@@ -0,0 +1,22 @@
+package com.app.risk.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.app.risk.TransactionPersisted")
+@Label("Transaction Persisted")
+@Category("Risk Scoring")
+@Description("Insert of a scored transaction row")
+@StackTrace(false)
+public class TransactionPersistedEvent extends Event {
+
+    @Label("Transaction Id")
+    public long transactionId;
+
+    @Label("Customer Id")
+    public long customerId;
+}
@@ -0,0 +1,36 @@
+package com.app.risk.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator view of per-field GraphQL latency and the most recent slow operations:
+ * {@code /actuator/graphqllatency} and {@code /actuator/graphqllatency/{window}}
+ */
+@Component
+@Endpoint(id = "graphqllatency")
+@RequiredArgsConstructor
+public class GraphQLLatencyEndpoint {
+
+    private final LatencyRecorders latencyRecorders;
+    private final GraphQLTimingInstrumentation instrumentation;
+
+    @ReadOperation
+    public Map<String, Object> latency() {
+        return latencyForWindow(null);
+    }
+
+    @ReadOperation
+    public Map<String, Object> latencyForWindow(@Selector String window) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("fields", latencyRecorders.fieldReport(window));
+        body.put("slowOperations", instrumentation.slowOperations());
+        return body;
+    }
+}
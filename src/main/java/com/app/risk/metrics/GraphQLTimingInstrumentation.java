@@ -0,0 +1,194 @@
+package com.app.risk.metrics;
+
+import com.app.risk.dto.SlowOperation;
+import graphql.ExecutionResult;
+import graphql.execution.ExecutionStepInfo;
+import graphql.execution.instrumentation.FieldFetchingInstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationCreateStateParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationValidationParameters;
+import graphql.language.AstPrinter;
+import graphql.language.AstSignature;
+import graphql.language.Document;
+import graphql.validation.ValidationError;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Times parsing, validation and every non-trivial data fetcher of each GraphQL operation.
+ * Field timings go to {@link LatencyRecorders#field}; operations slower than
+ * {@code app.graphql.slow-operation-threshold} are logged with their query shape and the most
+ * recent ones are kept for the {@code graphqllatency} actuator endpoint.
+ * Property fetchers are not timed, so wide result sets add no per-value overhead.
+ */
+@Component
+@Slf4j
+public class GraphQLTimingInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LatencyRecorders latencyRecorders;
+    private final long slowThresholdNanos;
+    private final int retainedSlowOperations;
+    private final Deque<SlowOperation> slowOperations = new ArrayDeque<>();
+
+    public GraphQLTimingInstrumentation(LatencyRecorders latencyRecorders,
+                                        @Value("${app.graphql.slow-operation-threshold:250ms}") Duration slowThreshold,
+                                        @Value("${app.graphql.slow-operations-retained:20}") int retainedSlowOperations) {
+        this.latencyRecorders = latencyRecorders;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.retainedSlowOperations = retainedSlowOperations;
+    }
+
+    @Override
+    public InstrumentationState createState(InstrumentationCreateStateParameters parameters) {
+        return new OperationTiming();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecution(InstrumentationExecutionParameters parameters,
+                                                                  InstrumentationState state) {
+        OperationTiming timing = (OperationTiming) state;
+        return SimpleInstrumentationContext.whenCompleted((result, error) ->
+                completed(timing, System.nanoTime() - timing.start));
+    }
+
+    @Override
+    public InstrumentationContext<Document> beginParse(InstrumentationExecutionParameters parameters,
+                                                       InstrumentationState state) {
+        OperationTiming timing = (OperationTiming) state;
+        long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((document, error) ->
+                timing.parseNanos = System.nanoTime() - start);
+    }
+
+    @Override
+    public InstrumentationContext<List<ValidationError>> beginValidation(InstrumentationValidationParameters parameters,
+                                                                        InstrumentationState state) {
+        OperationTiming timing = (OperationTiming) state;
+        long start = System.nanoTime();
+        return SimpleInstrumentationContext.whenCompleted((errors, error) ->
+                timing.validationNanos = System.nanoTime() - start);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        OperationTiming timing = (OperationTiming) state;
+        timing.document = parameters.getExecutionContext().getDocument();
+        timing.operationName = parameters.getExecutionContext().getOperationDefinition().getName();
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    @Override
+    public FieldFetchingInstrumentationContext beginFieldFetching(InstrumentationFieldFetchParameters parameters,
+                                                                  InstrumentationState state) {
+        if (parameters.isTrivialDataFetcher()) {
+            return FieldFetchingInstrumentationContext.NOOP;
+        }
+        OperationTiming timing = (OperationTiming) state;
+        ExecutionStepInfo stepInfo = parameters.getExecutionStepInfo();
+        String coordinate = stepInfo.getObjectType().getName() + "." + stepInfo.getFieldDefinition().getName();
+        long start = System.nanoTime();
+        return FieldFetchingInstrumentationContext.adapter(SimpleInstrumentationContext.whenCompleted((value, error) -> {
+            long duration = System.nanoTime() - start;
+            latencyRecorders.field(coordinate).record(duration);
+            timing.fetched(coordinate, duration);
+        }));
+    }
+
+    /**
+     * Recent slow operations, slowest first
+     */
+    public List<SlowOperation> slowOperations() {
+        List<SlowOperation> snapshot;
+        synchronized (slowOperations) {
+            snapshot = new ArrayList<>(slowOperations);
+        }
+        snapshot.sort(Comparator.comparing(SlowOperation::getDurationMs).reversed());
+        return snapshot;
+    }
+
+    private void completed(OperationTiming timing, long durationNanos) {
+        if (durationNanos < slowThresholdNanos) {
+            return;
+        }
+        String operationName = timing.operationName;
+        SlowOperation slowOperation = SlowOperation.builder()
+                .operationName(operationName)
+                .queryShape(queryShape(timing.document, operationName))
+                .completedAt(LocalDateTime.now())
+                .durationMs(toMillis(durationNanos))
+                .parseMs(toMillis(timing.parseNanos))
+                .validationMs(toMillis(timing.validationNanos))
+                .fetchMs(toMillis(timing.fetchNanos.get()))
+                .slowestField(timing.slowestField)
+                .slowestFieldMs(toMillis(timing.slowestFieldNanos))
+                .build();
+
+        log.warn("Slow GraphQL operation {} took {}ms (parse {}ms, validation {}ms, fetch {}ms, slowest field {} {}ms): {}",
+                operationName, slowOperation.getDurationMs(), slowOperation.getParseMs(),
+                slowOperation.getValidationMs(), slowOperation.getFetchMs(), slowOperation.getSlowestField(),
+                slowOperation.getSlowestFieldMs(), slowOperation.getQueryShape());
+
+        synchronized (slowOperations) {
+            if (slowOperations.size() == retainedSlowOperations) {
+                slowOperations.removeFirst();
+            }
+            slowOperations.addLast(slowOperation);
+        }
+    }
+
+    // Literal values are replaced and fields sorted, so operations differing only in arguments share a shape
+    private static String queryShape(Document document, String operationName) {
+        if (document == null) {
+            return null;
+        }
+        try {
+            return AstPrinter.printAstCompact(new AstSignature().signatureQuery(document, operationName));
+        } catch (RuntimeException e) {
+            return AstPrinter.printAstCompact(document);
+        }
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+
+    private static final class OperationTiming implements InstrumentationState {
+        private final long start = System.nanoTime();
+        private final AtomicLong fetchNanos = new AtomicLong();
+        private volatile long parseNanos;
+        private volatile long validationNanos;
+        private volatile Document document;
+        private volatile String operationName;
+        private String slowestField;
+        private long slowestFieldNanos;
+
+        private void fetched(String coordinate, long durationNanos) {
+            fetchNanos.addAndGet(durationNanos);
+            synchronized (this) {
+                if (durationNanos > slowestFieldNanos) {
+                    slowestFieldNanos = durationNanos;
+                    slowestField = coordinate;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.app.risk.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latency histogram for one instrumentation point, kept as a ring of fixed-length intervals.
+ * Recording goes through a wait-free HdrHistogram {@link Recorder}; {@link #roll()} moves the
+ * current interval into the ring and windows are answered by merging the most recent intervals.
+ */
+public final class LatencyRecorder {
+
+    static final long HIGHEST_TRACKABLE_NANOS = 60_000_000_000L;
+    static final int SIGNIFICANT_DIGITS = 2;
+
+    private final String name;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+    private final Histogram[] intervals;
+    private int next;
+
+    LatencyRecorder(String name, int retainedIntervals) {
+        this.name = name;
+        this.intervals = new Histogram[retainedIntervals];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Record one observation; values above the trackable range are clamped to it
+     */
+    public void record(long durationNanos) {
+        recorder.recordValue(Math.min(Math.max(durationNanos, 0L), HIGHEST_TRACKABLE_NANOS));
+    }
+
+    /**
+     * Close the current interval, overwriting the oldest one in the ring
+     */
+    synchronized void roll() {
+        Histogram slot = intervals[next];
+        if (slot == null) {
+            slot = new Histogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+            intervals[next] = slot;
+        }
+        recorder.getIntervalHistogramInto(slot);
+        next = (next + 1) % intervals.length;
+    }
+
+    /**
+     * Merge the closed intervals that ended within {@code windowMillis} of {@code nowMillis}
+     */
+    synchronized Histogram window(long windowMillis, long nowMillis) {
+        Histogram merged = new Histogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        long from = nowMillis - windowMillis;
+        long start = Long.MAX_VALUE;
+        long end = 0L;
+        for (Histogram interval : intervals) {
+            if (interval == null || interval.getEndTimeStamp() <= from) {
+                continue;
+            }
+            merged.add(interval);
+            start = Math.min(start, interval.getStartTimeStamp());
+            end = Math.max(end, interval.getEndTimeStamp());
+        }
+        merged.setStartTimeStamp(start == Long.MAX_VALUE ? from : start);
+        merged.setEndTimeStamp(end == 0L ? nowMillis : end);
+        return merged;
+    }
+}
@@ -0,0 +1,171 @@
+package com.app.risk.metrics;
+
+import com.app.risk.dto.LatencyReport;
+import com.app.risk.dto.LatencySeries;
+import com.app.risk.engine.CompiledRuleSet;
+import com.app.risk.engine.RuleType;
+import com.app.risk.engine.ScoringObserver;
+import com.app.risk.exception.BadRequestException;
+import org.HdrHistogram.Histogram;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * HdrHistogram latency recorders for submission, per-evaluator and database time, plus one per
+ * GraphQL field with a non-trivial data fetcher.
+ * Fed from the same points as {@link ScoringMetrics} and the JFR events, rolled into intervals
+ * every {@code app.latency.interval} and kept for {@code app.latency.retention}.
+ */
+@Component
+public class LatencyRecorders implements ScoringObserver {
+
+    private static final String DEFAULT_WINDOW = "1m";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Duration interval;
+    private final Duration retention;
+    private final List<LatencyRecorder> recorders = new ArrayList<>();
+    private final LatencyRecorder submission;
+    private final LatencyRecorder customerLookup;
+    private final LatencyRecorder ruleSnapshot;
+    private final LatencyRecorder insert;
+    private final LatencyRecorder[] evaluators = new LatencyRecorder[RuleType.values().length];
+    private final Map<String, LatencyRecorder> fields = new ConcurrentSkipListMap<>();
+    private final int retainedIntervals;
+
+    public LatencyRecorders(@Value("${app.latency.interval:10s}") Duration interval,
+                            @Value("${app.latency.retention:5m}") Duration retention) {
+        if (interval.isNegative() || interval.isZero() || retention.compareTo(interval) < 0) {
+            throw new IllegalArgumentException("Latency retention must be at least one positive interval");
+        }
+        this.interval = interval;
+        this.retention = retention;
+        this.retainedIntervals = (int) Math.ceilDiv(retention.toMillis(), interval.toMillis());
+
+        this.submission = register("submission", retainedIntervals);
+        this.customerLookup = register("db.customerLookup", retainedIntervals);
+        this.ruleSnapshot = register("db.ruleSnapshot", retainedIntervals);
+        this.insert = register("db.insert", retainedIntervals);
+        for (RuleType ruleType : RuleType.values()) {
+            evaluators[ruleType.ordinal()] = register("evaluator." + ruleType.name(), retainedIntervals);
+        }
+    }
+
+    private LatencyRecorder register(String name, int retainedIntervals) {
+        LatencyRecorder recorder = new LatencyRecorder(name, retainedIntervals);
+        recorders.add(recorder);
+        return recorder;
+    }
+
+    public LatencyRecorder submission() {
+        return submission;
+    }
+
+    public LatencyRecorder customerLookup() {
+        return customerLookup;
+    }
+
+    public LatencyRecorder ruleSnapshot() {
+        return ruleSnapshot;
+    }
+
+    public LatencyRecorder insert() {
+        return insert;
+    }
+
+    /**
+     * Recorder for a schema field coordinate such as {@code Query.transactions}, created on first use
+     */
+    public LatencyRecorder field(String coordinate) {
+        LatencyRecorder recorder = fields.get(coordinate);
+        return recorder != null ? recorder : fields.computeIfAbsent(coordinate,
+                key -> new LatencyRecorder(key, retainedIntervals));
+    }
+
+    @Override
+    public void ruleEvaluated(CompiledRuleSet rules, int index, boolean matched, long durationNanos) {
+        evaluators[rules.rule(index).getRuleType().ordinal()].record(durationNanos);
+    }
+
+    @Scheduled(fixedRateString = "${app.latency.interval:10s}", initialDelayString = "${app.latency.interval:10s}")
+    public void roll() {
+        for (LatencyRecorder recorder : recorders) {
+            recorder.roll();
+        }
+        for (LatencyRecorder recorder : fields.values()) {
+            recorder.roll();
+        }
+    }
+
+    /**
+     * Percentiles over the closed intervals of the given window, e.g. {@code 30s}, {@code 5m} or {@code PT1M}
+     */
+    public LatencyReport report(String window) {
+        return report(window, recorders);
+    }
+
+    /**
+     * Per-field data fetcher percentiles over the given window
+     */
+    public LatencyReport fieldReport(String window) {
+        return report(window, fields.values());
+    }
+
+    private LatencyReport report(String window, Collection<LatencyRecorder> included) {
+        String requested = window != null && !window.isBlank() ? window.trim() : DEFAULT_WINDOW;
+        Duration duration;
+        try {
+            duration = DurationStyle.detectAndParse(requested);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid latency window: " + requested);
+        }
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(retention) > 0) {
+            throw new BadRequestException("Latency window must be between 0 and " + retention);
+        }
+
+        long now = System.currentTimeMillis();
+        long from = now - duration.toMillis();
+        List<LatencySeries> series = new ArrayList<>(included.size());
+        for (LatencyRecorder recorder : included) {
+            Histogram histogram = recorder.window(duration.toMillis(), now);
+            from = Math.min(from, histogram.getStartTimeStamp());
+            series.add(toSeries(recorder.getName(), histogram));
+        }
+
+        return LatencyReport.builder()
+                .window(requested)
+                .intervalSeconds((int) interval.toSeconds())
+                .from(toLocalDateTime(from))
+                .to(toLocalDateTime(now))
+                .series(series)
+                .build();
+    }
+
+    private static LatencySeries toSeries(String name, Histogram histogram) {
+        return LatencySeries.builder()
+                .name(name)
+                .count(histogram.getTotalCount())
+                .p50(histogram.getValueAtPercentile(50.0) / NANOS_PER_MILLI)
+                .p90(histogram.getValueAtPercentile(90.0) / NANOS_PER_MILLI)
+                .p99(histogram.getValueAtPercentile(99.0) / NANOS_PER_MILLI)
+                .p999(histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI)
+                .max(histogram.getMaxValue() / NANOS_PER_MILLI)
+                .build();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,30 @@
+package com.app.risk.metrics;
+
+import com.app.risk.dto.LatencyReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator view of {@link LatencyRecorders}: {@code /actuator/scoringlatency} for the default
+ * window and {@code /actuator/scoringlatency/{window}} for a specific one
+ */
+@Component
+@Endpoint(id = "scoringlatency")
+@RequiredArgsConstructor
+public class ScoringLatencyEndpoint {
+
+    private final LatencyRecorders latencyRecorders;
+
+    @ReadOperation
+    public LatencyReport latency() {
+        return latencyRecorders.report(null);
+    }
+
+    @ReadOperation
+    public LatencyReport latencyForWindow(@Selector String window) {
+        return latencyRecorders.report(window);
+    }
+}
@@ -0,0 +1,204 @@
+package com.app.risk.metrics;
+
+import com.app.risk.engine.CompiledRuleSet;
+import com.app.risk.engine.RuleDefinition;
+import com.app.risk.engine.RuleType;
+import com.app.risk.engine.ScoringObserver;
+import com.app.risk.entity.TransactionStatus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Micrometer metrics for transaction scoring.
+ * Counters are {@link LongAdder}s exposed through {@link FunctionCounter}s and all meters are
+ * resolved ahead of the hot path, so recording is a few adds with no registry lookups.
+ * Repository call timings come from Spring Data's {@code spring.data.repository.invocations}.
+ */
+@Component
+public class ScoringMetrics implements ScoringObserver {
+
+    private final MeterRegistry registry;
+    private final Timer submitSuccessTimer;
+    private final Timer submitErrorTimer;
+    private final Timer batchTimer;
+    private final Timer[] ruleTypeTimers = new Timer[RuleType.values().length];
+    private final LongAdder[] outcomes = new LongAdder[TransactionStatus.values().length];
+    private final Map<RuleKey, RuleCounters> ruleCounters = new ConcurrentHashMap<>();
+    private final Map<String, CacheCounters> cacheCounters = new ConcurrentHashMap<>();
+    private final CacheCounters ruleSnapshotCache;
+    private final LongAdder degradedRules = new LongAdder();
+
+    private volatile RuleCountersSnapshot ruleCountersSnapshot;
+
+    public ScoringMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.submitSuccessTimer = submitTimer(registry, "success");
+        this.submitErrorTimer = submitTimer(registry, "error");
+        this.batchTimer = Timer.builder("risk.transaction.batch")
+                .description("Time to score and store one micro-batch of queued submissions")
+                .register(registry);
+
+        for (RuleType ruleType : RuleType.values()) {
+            ruleTypeTimers[ruleType.ordinal()] = Timer.builder("risk.rule.evaluation")
+                    .description("Time spent evaluating a single rule")
+                    .tag("ruleType", ruleType.name())
+                    .register(registry);
+        }
+
+        for (TransactionStatus status : TransactionStatus.values()) {
+            LongAdder adder = new LongAdder();
+            outcomes[status.ordinal()] = adder;
+            FunctionCounter.builder("risk.transaction.outcome", adder, LongAdder::sum)
+                    .description("Scored transactions by resulting status")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+
+        this.ruleSnapshotCache = cache("rule-snapshot");
+
+        FunctionCounter.builder("risk.rule.degraded", degradedRules, LongAdder::sum)
+                .description("Rules decided by a fallback because history features were unavailable")
+                .register(registry);
+    }
+
+    private static Timer submitTimer(MeterRegistry registry, String result) {
+        return Timer.builder("risk.transaction.submit")
+                .description("End-to-end time of submitTransaction")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    public void recordSubmission(long durationNanos, TransactionStatus status) {
+        submitSuccessTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+        outcomes[status.ordinal()].increment();
+    }
+
+    /**
+     * One micro-batch of queued submissions; each stored transaction's outcome is counted once,
+     * but none of them is timed as a submission of its own
+     */
+    public void recordBatch(long durationNanos, Collection<TransactionStatus> statuses) {
+        batchTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+        for (TransactionStatus status : statuses) {
+            outcomes[status.ordinal()].increment();
+        }
+    }
+
+    public void recordSubmissionFailure(long durationNanos) {
+        submitErrorTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDegraded(int ruleCount) {
+        degradedRules.add(ruleCount);
+    }
+
+    /**
+     * Hit and miss counters for a named cache, registered on first use
+     */
+    public CacheCounters cache(String name) {
+        return cacheCounters.computeIfAbsent(name, key -> new CacheCounters(registry, key));
+    }
+
+    @Override
+    public void snapshotResolved(boolean reused) {
+        if (reused) {
+            ruleSnapshotCache.hit();
+        } else {
+            ruleSnapshotCache.miss();
+        }
+    }
+
+    @Override
+    public void ruleEvaluated(CompiledRuleSet rules, int index, boolean matched, long durationNanos) {
+        RuleCounters counters = countersFor(rules)[index];
+        counters.evaluations.increment();
+        if (matched) {
+            counters.hits.increment();
+        }
+        ruleTypeTimers[counters.ruleType.ordinal()].record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Counters are aligned with the rule indexes of the current snapshot and only rebuilt when it changes
+    private RuleCounters[] countersFor(CompiledRuleSet rules) {
+        RuleCountersSnapshot current = ruleCountersSnapshot;
+        if (current != null && current.rules == rules) {
+            return current.counters;
+        }
+        RuleCounters[] counters = new RuleCounters[rules.size()];
+        for (int i = 0; i < counters.length; i++) {
+            RuleDefinition rule = rules.rule(i);
+            counters[i] = ruleCounters.computeIfAbsent(new RuleKey(rules.ruleId(i), rule.getRuleType()),
+                    key -> new RuleCounters(registry, key.ruleId(), key.ruleType()));
+        }
+        ruleCountersSnapshot = new RuleCountersSnapshot(rules, counters);
+        return counters;
+    }
+
+    private record RuleKey(long ruleId, RuleType ruleType) {
+    }
+
+    private record RuleCountersSnapshot(CompiledRuleSet rules, RuleCounters[] counters) {
+    }
+
+    private static final class RuleCounters {
+        private final RuleType ruleType;
+        private final LongAdder evaluations = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+
+        RuleCounters(MeterRegistry registry, long ruleId, RuleType ruleType) {
+            this.ruleType = ruleType;
+            FunctionCounter.builder("risk.rule.evaluations", evaluations, LongAdder::sum)
+                    .description("Times a rule was evaluated")
+                    .tag("rule", Long.toString(ruleId))
+                    .tag("ruleType", ruleType.name())
+                    .register(registry);
+            FunctionCounter.builder("risk.rule.hits", hits, LongAdder::sum)
+                    .description("Times a rule matched")
+                    .tag("rule", Long.toString(ruleId))
+                    .tag("ruleType", ruleType.name())
+                    .register(registry);
+        }
+    }
+
+    public static final class CacheCounters {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        CacheCounters(MeterRegistry registry, String cache) {
+            FunctionCounter.builder("risk.cache.requests", hits, LongAdder::sum)
+                    .description("Cache lookups by result")
+                    .tag("cache", cache)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("risk.cache.requests", misses, LongAdder::sum)
+                    .description("Cache lookups by result")
+                    .tag("cache", cache)
+                    .tag("result", "miss")
+                    .register(registry);
+        }
+
+        public void hit() {
+            hits.increment();
+        }
+
+        public void miss() {
+            misses.increment();
+        }
+
+        public void hits(long count) {
+            hits.add(count);
+        }
+
+        public void misses(long count) {
+            misses.add(count);
+        }
+    }
+}
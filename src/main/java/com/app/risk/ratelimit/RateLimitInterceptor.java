@@ -0,0 +1,290 @@
+package com.app.risk.ratelimit;
+
+import com.app.risk.exception.RiskErrorType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.language.Argument;
+import graphql.language.IntValue;
+import graphql.language.Node;
+import graphql.language.ObjectField;
+import graphql.language.StringValue;
+import graphql.language.Value;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Applies {@code app.rate-limiting} to every GraphQL request before it is executed: one token from
+ * the calling client's bucket and one from the bucket of each {@code customerId} the request names,
+ * as a variable or an inline argument. The client is the remote address, or the client header when
+ * the request comes through a trusted proxy. A request over any rate is answered with a RATE_LIMITED
+ * error and a {@code Retry-After} header, without reaching a data fetcher, an executor or a
+ * connection, and the tokens it took from the other buckets are given back. The binary scoring
+ * endpoint charges the same buckets for every frame through {@link #tryAcquire}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitInterceptor implements WebGraphQlInterceptor {
+
+    static final String CUSTOMER_ID = "customerId";
+
+    private static final int MAX_CUSTOMERS_PER_REQUEST = 16;
+
+    private final RateLimitProperties properties;
+    private final Set<String> trustedProxies;
+    private final TokenBuckets clients;
+    private final TokenBuckets customers;
+    private final Cache<String, Set<Long>> inlineCustomerIds;
+
+    private final LongAdder clientRejected = new LongAdder();
+    private final LongAdder customerRejected = new LongAdder();
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder untracked = new LongAdder();
+
+    @Autowired
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry registry) {
+        this(properties, registry, System::nanoTime);
+    }
+
+    RateLimitInterceptor(RateLimitProperties properties, MeterRegistry registry, LongSupplier clock) {
+        this.properties = properties;
+        this.trustedProxies = Set.copyOf(properties.getTrustedProxies());
+        long idleNanos = properties.getIdleAfter().toNanos();
+        this.clients = new TokenBuckets(properties.getTableSize(), properties.getRequestsPerMinute(),
+                properties.getBurst(), idleNanos, clock);
+        this.customers = new TokenBuckets(properties.getTableSize(), properties.customerRequestsPerMinute(),
+                properties.getBurst(), idleNanos, clock);
+        this.inlineCustomerIds = Caffeine.newBuilder().maximumSize(properties.getParsedDocuments()).build();
+
+        requestCounter(registry, allowed, "allowed", "none");
+        requestCounter(registry, clientRejected, "rejected", "client");
+        requestCounter(registry, customerRejected, "rejected", "customer");
+        FunctionCounter.builder("risk.ratelimit.untracked", untracked, LongAdder::sum)
+                .description("Rate limit checks let through because the bucket table had no free slot")
+                .register(registry);
+    }
+
+    private static void requestCounter(MeterRegistry registry, LongAdder adder, String result, String limit) {
+        FunctionCounter.builder("risk.ratelimit.requests", adder, LongAdder::sum)
+                .description("GraphQL requests and binary scoring frames checked against the rate limits")
+                .tag("result", result)
+                .tag("limit", limit)
+                .register(registry);
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        if (!properties.isEnabled()) {
+            return chain.next(request);
+        }
+
+        Rejection rejection = tryAcquire(clientId(request), customerIds(request));
+        if (rejection != null) {
+            return Mono.just(rejected(request, rejection));
+        }
+        return chain.next(request);
+    }
+
+    /**
+     * Take one token from {@code clientId}'s bucket and one from each customer's, for a request made
+     * outside GraphQL such as a binary scoring frame. Returns the rejection when the request is over
+     * any rate, after giving back the tokens it took, or null when it may run.
+     */
+    public Rejection tryAcquire(String clientId, Collection<Long> customerIds) {
+        long clientKey = TokenBuckets.key(clientId);
+        long wait = clients.tryAcquire(clientKey);
+        if (wait > 0) {
+            clientRejected.increment();
+            return new Rejection("Rate limit exceeded for this client", wait);
+        }
+        boolean clientTaken = taken(wait);
+        long[] customersTaken = new long[customerIds.size()];
+        int taken = 0;
+        for (Long customerId : customerIds) {
+            wait = customers.tryAcquire(customerId);
+            if (wait > 0) {
+                // Nothing runs for this request, so no bucket is charged for it
+                if (clientTaken) {
+                    clients.refund(clientKey);
+                }
+                for (int i = 0; i < taken; i++) {
+                    customers.refund(customersTaken[i]);
+                }
+                customerRejected.increment();
+                return new Rejection("Rate limit exceeded for customer " + customerId, wait);
+            }
+            if (taken(wait)) {
+                customersTaken[taken++] = customerId;
+            }
+        }
+        allowed.increment();
+        return null;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    private boolean taken(long acquired) {
+        if (acquired == TokenBuckets.UNTRACKED) {
+            untracked.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private String clientId(WebGraphQlRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        String address = remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : null;
+        return clientId(address, request.getHeaders().getFirst(properties.getClientHeader()));
+    }
+
+    /**
+     * The remote address, or the client header when the remote address is a trusted proxy. A
+     * header from anyone else is ignored, since a caller could otherwise rotate it to get a fresh
+     * bucket on every request.
+     */
+    public String clientId(String remoteAddress, String clientHeader) {
+        if (remoteAddress != null && trustedProxies.contains(remoteAddress)
+                && clientHeader != null && !clientHeader.isBlank()) {
+            return clientHeader;
+        }
+        return remoteAddress != null ? remoteAddress : "anonymous";
+    }
+
+    public String getClientHeader() {
+        return properties.getClientHeader();
+    }
+
+    /**
+     * Customer ids named by the request, read from variables at any depth and from inline
+     * {@code customerId:} arguments and input fields of the parsed document. The ids found in a
+     * document are kept by its text, so a repeated query is parsed once here.
+     */
+    Set<Long> customerIds(WebGraphQlRequest request) {
+        Set<Long> ids = new LinkedHashSet<>();
+        collect(request.getVariables(), ids, 0);
+        String document = request.getDocument();
+        if (document != null && document.contains(CUSTOMER_ID)) {
+            for (Long id : inlineCustomerIds.get(document, RateLimitInterceptor::inlineCustomerIds)) {
+                if (ids.size() >= MAX_CUSTOMERS_PER_REQUEST) {
+                    break;
+                }
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private static Set<Long> inlineCustomerIds(String document) {
+        Set<Long> ids = new HashSet<>();
+        try {
+            collect(Parser.parse(document), ids);
+        } catch (InvalidSyntaxException e) {
+            // Left for validation to reject
+        }
+        return Set.copyOf(ids);
+    }
+
+    private static void collect(Node<?> node, Set<Long> ids) {
+        if (ids.size() >= MAX_CUSTOMERS_PER_REQUEST) {
+            return;
+        }
+        if (node instanceof Argument argument && CUSTOMER_ID.equals(argument.getName())) {
+            addId(argument.getValue(), ids);
+        } else if (node instanceof ObjectField field && CUSTOMER_ID.equals(field.getName())) {
+            addId(field.getValue(), ids);
+        }
+        for (Node<?> child : node.getChildren()) {
+            collect(child, ids);
+        }
+    }
+
+    private static void addId(Value<?> value, Set<Long> ids) {
+        if (value instanceof IntValue intValue) {
+            addId(intValue.getValue().toString(), ids);
+        } else if (value instanceof StringValue stringValue) {
+            addId(stringValue.getValue(), ids);
+        }
+    }
+
+    private static void collect(Object value, Set<Long> ids, int depth) {
+        if (depth > 4 || ids.size() >= MAX_CUSTOMERS_PER_REQUEST) {
+            return;
+        }
+        if (value instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (CUSTOMER_ID.equals(entry.getKey()) && entry.getValue() != null) {
+                    addId(entry.getValue().toString(), ids);
+                } else {
+                    collect(entry.getValue(), ids, depth + 1);
+                }
+            }
+        } else if (value instanceof Collection<?> values) {
+            for (Object element : values) {
+                collect(element, ids, depth + 1);
+            }
+        }
+    }
+
+    private static void addId(String value, Set<Long> ids) {
+        try {
+            ids.add(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            // Left for validation to reject
+        }
+    }
+
+    /**
+     * A request over one of the rates, with the time until it would be allowed
+     */
+    public record Rejection(String message, long waitNanos) {
+
+        public long retryAfterMillis() {
+            return Math.max(1L, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        }
+    }
+
+    private static WebGraphQlResponse rejected(WebGraphQlRequest request, Rejection rejection) {
+        long retryAfterMillis = rejection.retryAfterMillis();
+        GraphQLError error = GraphqlErrorBuilder.newError()
+                .errorType(RiskErrorType.RATE_LIMITED)
+                .message(rejection.message())
+                .extensions(Map.of(
+                        "retryable", true,
+                        "retryAfterMs", retryAfterMillis))
+                .build();
+        ExecutionResult result = ExecutionResult.newExecutionResult().addError(error).build();
+        WebGraphQlResponse response = new WebGraphQlResponse(
+                new DefaultExecutionGraphQlResponse(request.toExecutionInput(), result));
+        response.getResponseHeaders().set(HttpHeaders.RETRY_AFTER,
+                Long.toString(TimeUnit.MILLISECONDS.toSeconds(retryAfterMillis + 999)));
+        return response;
+    }
+}
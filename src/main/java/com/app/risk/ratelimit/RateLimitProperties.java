@@ -0,0 +1,46 @@
+package com.app.risk.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-client and per-customer request rates, bound from {@code app.rate-limiting.*}
+ */
+@Data
+@ConfigurationProperties(prefix = "app.rate-limiting")
+public class RateLimitProperties {
+
+    /** Reject requests over the rates below before they are executed */
+    private boolean enabled = false;
+
+    /** Sustained rate allowed to one client */
+    private int requestsPerMinute = 100;
+
+    /** Sustained rate allowed to one customerId across all clients; defaults to {@code requestsPerMinute} */
+    private Integer customerRequestsPerMinute;
+
+    /** Requests a client or customer may make at once after being idle */
+    private int burst = 20;
+
+    /** Header naming the calling client, believed only from {@code trustedProxies} */
+    private String clientHeader = "X-Client-Id";
+
+    /** Remote addresses allowed to name the client in {@code clientHeader}; others are keyed by address */
+    private List<String> trustedProxies = List.of();
+
+    /** Documents whose inline {@code customerId} arguments are remembered, keyed by query text */
+    private int parsedDocuments = 1000;
+
+    /** Buckets per table, rounded up to a power of two; keys beyond it are not limited */
+    private int tableSize = 65536;
+
+    /** A bucket idle this long may be taken over by another key */
+    private Duration idleAfter = Duration.ofMinutes(10);
+
+    public int customerRequestsPerMinute() {
+        return customerRequestsPerMinute != null ? customerRequestsPerMinute : requestsPerMinute;
+    }
+}
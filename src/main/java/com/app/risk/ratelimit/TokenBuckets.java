@@ -0,0 +1,125 @@
+package com.app.risk.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-size, lock-free table of token buckets keyed by a 64-bit key.
+ * Each bucket is one atomic long holding its theoretical arrival time (the cell-rate form of a
+ * token bucket): a request is allowed when pushing that time one interval further stays within
+ * {@code burst} intervals of now. Keys live in an open-addressed table probed over a short run of
+ * slots; a slot idle for {@code idleNanos} is full again and may be taken over by another key.
+ * When every probed slot is live the key is not tracked and the request is let through.
+ */
+final class TokenBuckets {
+
+    /** {@link #tryAcquire} result when the request is allowed */
+    static final long ALLOWED = 0L;
+
+    /** {@link #tryAcquire} result when no slot could be found for the key */
+    static final long UNTRACKED = -1L;
+
+    private static final long EMPTY = 0L;
+    private static final int PROBES = 8;
+
+    private final AtomicLongArray keys;
+    private final AtomicLongArray arrivals;
+    private final int mask;
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final long idleNanos;
+    private final LongSupplier clock;
+    private final long origin;
+
+    TokenBuckets(int tableSize, int requestsPerMinute, int burst, long idleNanos, LongSupplier clock) {
+        int size = tableSize <= PROBES ? PROBES : Integer.highestOneBit(tableSize - 1) << 1;
+        this.keys = new AtomicLongArray(size);
+        this.arrivals = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.intervalNanos = 60_000_000_000L / Math.max(1, requestsPerMinute);
+        this.capacityNanos = intervalNanos * Math.max(1, burst);
+        this.idleNanos = Math.max(idleNanos, capacityNanos);
+        this.clock = clock;
+        // Times are kept relative to construction so an empty slot's zero is always in the past
+        this.origin = clock.getAsLong() - capacityNanos;
+    }
+
+    /**
+     * Take a token for {@code key}: {@link #ALLOWED}, {@link #UNTRACKED}, or the nanoseconds until
+     * the next token when rejected
+     */
+    long tryAcquire(long key) {
+        long k = key == EMPTY ? 1L : key;
+        long now = clock.getAsLong() - origin;
+        int start = (int) spread(k) & mask;
+        int idle = -1;
+        for (int i = 0; i < PROBES; i++) {
+            int slot = (start + i) & mask;
+            long current = keys.get(slot);
+            if (current == k) {
+                return take(slot, now);
+            }
+            if (current == EMPTY) {
+                if (keys.compareAndSet(slot, EMPTY, k) || keys.get(slot) == k) {
+                    return take(slot, now);
+                }
+            } else if (idle < 0 && now - arrivals.get(slot) > idleNanos) {
+                idle = slot;
+            }
+        }
+        if (idle >= 0) {
+            long previous = keys.get(idle);
+            // The idle bucket's arrival time is in the past, so the new key starts with a full bucket
+            if (now - arrivals.get(idle) > idleNanos && keys.compareAndSet(idle, previous, k)) {
+                return take(idle, now);
+            }
+        }
+        return UNTRACKED;
+    }
+
+    /**
+     * Give back a token taken for {@code key} by {@link #tryAcquire}, when the request it was taken
+     * for is rejected by another limit. A no-op when the key has lost its slot since.
+     */
+    void refund(long key) {
+        long k = key == EMPTY ? 1L : key;
+        int start = (int) spread(k) & mask;
+        for (int i = 0; i < PROBES; i++) {
+            int slot = (start + i) & mask;
+            if (keys.get(slot) == k) {
+                arrivals.addAndGet(slot, -intervalNanos);
+                return;
+            }
+        }
+    }
+
+    private long take(int slot, long now) {
+        while (true) {
+            long arrival = arrivals.get(slot);
+            long next = Math.max(arrival, now) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > capacityNanos) {
+                return ahead - capacityNanos;
+            }
+            if (arrivals.compareAndSet(slot, arrival, next)) {
+                return ALLOWED;
+            }
+        }
+    }
+
+    private static long spread(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of {@code value}, the key of a string identity
+     */
+    static long key(String value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+}
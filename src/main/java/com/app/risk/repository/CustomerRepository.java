@@ -1,14 +1,33 @@
 package com.app.risk.repository;
 
+import com.app.risk.engine.RiskProfile;
 import com.app.risk.entity.Customer;
-
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByEmail(String email);
-}
 
+    // Keyset pages for customersConnection: one method per filter combination so each seek
+    // maps onto a single index ending in id
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Customer> findByRiskProfileAndIdGreaterThanOrderByIdAsc(RiskProfile riskProfile, Long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Customer> findByCountryAndIdGreaterThanOrderByIdAsc(String country, Long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<Customer> findByCountryAndRiskProfileAndIdGreaterThanOrderByIdAsc(String country, RiskProfile riskProfile,
+                                                                            Long afterId, Limit limit);
+}
@@ -0,0 +1,28 @@
+package com.app.risk.repository;
+
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.entity.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read model for transaction listings: exactly the columns a listing needs, with the customer's
+ * name and email taken from the join. Built by a JPQL constructor expression, so rows are never
+ * managed entities and Hibernate keeps no snapshots for them.
+ */
+public record TransactionListItem(
+        Long id,
+        Long customerId,
+        String customerName,
+        String customerEmail,
+        BigDecimal amount,
+        String currency,
+        LocalDateTime timestamp,
+        MerchantCategory merchantCategory,
+        Integer riskScore,
+        TransactionStatus status,
+        String matchedRulesJson,
+        String degradedRuleIds
+) {
+}
@@ -2,21 +2,40 @@ package com.app.risk.repository;
 
 import com.app.risk.entity.Transaction;
 import com.app.risk.entity.TransactionStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     Page<Transaction> findByStatus(TransactionStatus status, Pageable pageable);
 
+    long countByStatus(TransactionStatus status);
+
     long countByCustomerIdAndTimestampAfter(Long customerId, LocalDateTime cutoffTime);
 
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t " +
+           "WHERE t.customer.id = :customerId AND t.timestamp > :cutoffTime")
+    BigDecimal sumAmountByCustomerIdAndTimestampAfter(
+        @Param("customerId") Long customerId,
+        @Param("cutoffTime") LocalDateTime cutoffTime
+    );
+
+    @Query("SELECT MAX(t.timestamp) FROM Transaction t WHERE t.customer.id = :customerId")
+    LocalDateTime findLastTimestampByCustomerId(@Param("customerId") Long customerId);
+
     @Query("SELECT t FROM Transaction t WHERE " +
            "(:status IS NULL OR t.status = :status) AND " +
            "(:searchQuery IS NULL OR :searchQuery = '' OR " +
@@ -27,5 +46,44 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
         @Param("searchQuery") String searchQuery,
         Pageable pageable
     );
-}
 
+    @Query(value = "SELECT new com.app.risk.repository.TransactionListItem(" +
+                   "t.id, c.id, c.name, c.email, t.amount, t.currency, t.timestamp, " +
+                   "t.merchantCategory, t.riskScore, t.status, t.matchedRulesJson, t.degradedRuleIds) " +
+                   "FROM Transaction t JOIN t.customer c WHERE " +
+                   "(:status IS NULL OR t.status = :status) AND " +
+                   "(:searchQuery IS NULL OR :searchQuery = '' OR " +
+                   "LOWER(c.name) LIKE LOWER(CONCAT('%', :searchQuery, '%')) OR " +
+                   "LOWER(c.email) LIKE LOWER(CONCAT('%', :searchQuery, '%')))",
+           countQuery = "SELECT COUNT(t) FROM Transaction t JOIN t.customer c WHERE " +
+                   "(:status IS NULL OR t.status = :status) AND " +
+                   "(:searchQuery IS NULL OR :searchQuery = '' OR " +
+                   "LOWER(c.name) LIKE LOWER(CONCAT('%', :searchQuery, '%')) OR " +
+                   "LOWER(c.email) LIKE LOWER(CONCAT('%', :searchQuery, '%')))")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Page<TransactionListItem> findListItemsByStatusAndCustomerSearch(
+        @Param("status") TransactionStatus status,
+        @Param("searchQuery") String searchQuery,
+        Pageable pageable
+    );
+
+    @Query("SELECT new com.app.risk.repository.TransactionListItem(" +
+           "t.id, c.id, c.name, c.email, t.amount, t.currency, t.timestamp, " +
+           "t.merchantCategory, t.riskScore, t.status, t.matchedRulesJson, t.degradedRuleIds) " +
+           "FROM Transaction t JOIN t.customer c WHERE t.id IN :ids")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<TransactionListItem> findListItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.app.risk.repository.TransactionListItem(" +
+           "t.id, c.id, c.name, c.email, t.amount, t.currency, t.timestamp, " +
+           "t.merchantCategory, t.riskScore, t.status, t.matchedRulesJson, t.degradedRuleIds) " +
+           "FROM Transaction t JOIN t.customer c WHERE t.id = :id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    Optional<TransactionListItem> findListItemById(@Param("id") Long id);
+
+    @Query("SELECT t.decisionId FROM Transaction t WHERE t.decisionId IN :decisionIds")
+    List<String> findDecisionIdsIn(@Param("decisionIds") Collection<String> decisionIds);
+
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.customer WHERE t.idempotencyKey IN :idempotencyKeys")
+    List<Transaction> findByIdempotencyKeyIn(@Param("idempotencyKeys") Collection<String> idempotencyKeys);
+}
@@ -1,5 +1,8 @@
 package com.app.risk.seed;
 
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.engine.RiskProfile;
+import com.app.risk.engine.RuleType;
 import com.app.risk.entity.*;
 import com.app.risk.repository.CustomerRepository;
 import com.app.risk.repository.RiskRuleRepository;
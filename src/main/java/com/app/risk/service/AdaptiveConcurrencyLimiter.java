@@ -0,0 +1,197 @@
+package com.app.risk.service;
+
+import com.app.risk.exception.BadRequestException;
+import com.app.risk.exception.NotFoundException;
+import com.app.risk.exception.OverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * AIMD concurrency limit in front of {@code submitTransaction}.
+ * Calls beyond the current limit fail fast with {@link OverloadedException} instead of queueing on
+ * a Tomcat thread for a Hikari connection. Every completed call is a latency sample: one slower than
+ * {@code tolerance} times the running average, or slower than {@code max-latency}, or one that failed
+ * for a reason other than bad input or our own shedding, multiplies the limit by {@code backoff-ratio};
+ * any other sample taken while at least half the limit is in use grows it by {@code 1/limit}, about one
+ * per round of calls. After a backoff the next {@code limit} samples, roughly the calls that were
+ * already in flight, cannot back off again, so a burst of slow completions costs one step, not one each.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    // Weight of each sample in the running average, roughly the last few hundred calls
+    private static final double BASELINE_ALPHA = 0.01;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double tolerance;
+    private final long maxLatencyNanos;
+    private final long retryAfterMillis;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    private volatile double limit;
+    private double baselineNanos;
+    private int backoffWindow;
+    private int samplesSinceBackoff;
+
+    public AdaptiveConcurrencyLimiter(@Value("${app.admission.enabled:true}") boolean enabled,
+                                      @Value("${app.admission.initial-limit:20}") int initialLimit,
+                                      @Value("${app.admission.min-limit:2}") int minLimit,
+                                      @Value("${app.admission.max-limit:200}") int maxLimit,
+                                      @Value("${app.admission.backoff-ratio:0.9}") double backoffRatio,
+                                      @Value("${app.admission.tolerance:2.0}") double tolerance,
+                                      @Value("${app.admission.max-latency:2s}") Duration maxLatency,
+                                      @Value("${app.admission.retry-after:1s}") Duration retryAfter,
+                                      MeterRegistry registry) {
+        this.enabled = enabled;
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.tolerance = tolerance;
+        this.maxLatencyNanos = maxLatency.toNanos();
+        this.retryAfterMillis = retryAfter.toMillis();
+
+        Gauge.builder("risk.admission.limit", this, AdaptiveConcurrencyLimiter::limit)
+                .description("Current concurrency limit for submitTransaction")
+                .register(registry);
+        Gauge.builder("risk.admission.inflight", inflight, AtomicInteger::get)
+                .description("submitTransaction calls currently admitted")
+                .register(registry);
+        admissionCounter(registry, accepted, "accepted");
+        admissionCounter(registry, rejected, "rejected");
+    }
+
+    private static void admissionCounter(MeterRegistry registry, LongAdder adder, String result) {
+        FunctionCounter.builder("risk.admission.requests", adder, LongAdder::sum)
+                .description("submitTransaction admission decisions")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Run {@code work} if under the limit, otherwise reject it as OVERLOADED
+     */
+    public <T> T call(Supplier<T> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        admit();
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return work.get();
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            release(start, failure);
+        }
+    }
+
+    /**
+     * Take a slot before {@code work} is queued anywhere, e.g. on a lane executor, and hold it until
+     * the returned future completes; the sample covers the queue wait as well as the call
+     */
+    public <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> work) {
+        if (!enabled) {
+            return work.get();
+        }
+        admit();
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = work.get();
+        } catch (Throwable e) {
+            release(start, e);
+            throw e;
+        }
+        return future.whenComplete((result, failure) -> release(start, failure));
+    }
+
+    private void admit() {
+        if (!tryAcquire()) {
+            rejected.increment();
+            log.debug("Shedding submitTransaction at limit {}", limit());
+            throw new OverloadedException("Too many transactions in flight, retry shortly", retryAfterMillis);
+        }
+        accepted.increment();
+    }
+
+    private void release(long start, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ?
+                failure.getCause() : failure;
+        if (cause instanceof BadRequestException || cause instanceof NotFoundException
+                || cause instanceof IllegalArgumentException || cause instanceof OverloadedException) {
+            // Says nothing about downstream health: bad input, or a lane or customer lock shedding it
+            inflight.decrementAndGet();
+        } else {
+            onSample(System.nanoTime() - start, cause != null);
+        }
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inflight() {
+        return inflight.get();
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release the slot taken by {@link #tryAcquire} and adjust the limit from this call's outcome
+     */
+    synchronized void onSample(long latencyNanos, boolean failed) {
+        int inUse = inflight.getAndDecrement();
+        if (baselineNanos == 0) {
+            baselineNanos = latencyNanos;
+        }
+        boolean congested = failed
+                || latencyNanos > maxLatencyNanos
+                || latencyNanos > tolerance * baselineNanos;
+        if (!failed) {
+            baselineNanos += BASELINE_ALPHA * (latencyNanos - baselineNanos);
+        }
+
+        double current = limit;
+        samplesSinceBackoff++;
+        if (congested) {
+            if (samplesSinceBackoff > backoffWindow) {
+                limit = Math.max(minLimit, current * backoffRatio);
+                backoffWindow = (int) limit;
+                samplesSinceBackoff = 0;
+            }
+        } else if (inUse * 2 >= current) {
+            limit = Math.min(maxLimit, current + 1.0 / current);
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.app.risk.service;
+
+import com.app.risk.dto.SubmissionTicket;
+import com.app.risk.dto.TransactionInput;
+import com.app.risk.dto.TransactionResult;
+import com.app.risk.exception.NotFoundException;
+import com.app.risk.exception.OverloadedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded queue behind {@code submitTransactionAsync}.
+ * Accepting a submission costs a validation and an offer; worker threads drain the queue in
+ * micro-batches of up to {@code batch-size} and hand each batch to
+ * {@link TransactionService#submitBatch}, so a burst holds at most one connection per worker.
+ * A full queue rejects with {@link OverloadedException} instead of growing. Results are kept by
+ * ticket until {@code result-ttl} after they were last written. A submission that ends FAILED
+ * releases its idempotency key, so a retry with that key is queued again instead of getting
+ * the failed ticket back.
+ */
+@Component
+@Slf4j
+public class AsyncSubmissionQueue implements SmartLifecycle {
+
+    private static final long POLL_MILLIS = 200L;
+
+    private final TransactionService transactionService;
+    private final IdempotencyWindow idempotencyWindow;
+    private final BlockingQueue<QueuedSubmission> queue;
+    private final Cache<String, TransactionResult> results;
+    private final int workerCount;
+    private final int batchSize;
+    private final long retryAfterMillis;
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final DistributionSummary batchSizes;
+
+    private volatile boolean running;
+
+    public AsyncSubmissionQueue(TransactionService transactionService,
+                                IdempotencyWindow idempotencyWindow,
+                                @Value("${app.async-submission.queue-capacity:10000}") int queueCapacity,
+                                @Value("${app.async-submission.workers:2}") int workerCount,
+                                @Value("${app.async-submission.batch-size:50}") int batchSize,
+                                @Value("${app.async-submission.result-ttl:10m}") Duration resultTtl,
+                                @Value("${app.async-submission.retry-after:1s}") Duration retryAfter,
+                                MeterRegistry registry) {
+        this.transactionService = transactionService;
+        this.idempotencyWindow = idempotencyWindow;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.results = Caffeine.newBuilder()
+                .maximumSize(queueCapacity * 10L)
+                .expireAfterWrite(resultTtl)
+                .build();
+        this.workerCount = workerCount;
+        this.batchSize = batchSize;
+        this.retryAfterMillis = retryAfter.toMillis();
+
+        Gauge.builder("risk.async.queue.depth", queue, BlockingQueue::size)
+                .description("Submissions waiting for a worker")
+                .register(registry);
+        submissionCounter(registry, accepted, "accepted");
+        submissionCounter(registry, rejected, "rejected");
+        submissionCounter(registry, completed, "completed");
+        submissionCounter(registry, failed, "failed");
+        this.batchSizes = DistributionSummary.builder("risk.async.batch.size")
+                .description("Submissions scored per micro-batch")
+                .register(registry);
+    }
+
+    private static void submissionCounter(MeterRegistry registry, LongAdder adder, String result) {
+        FunctionCounter.builder("risk.async.submissions", adder, LongAdder::sum)
+                .description("Asynchronous submissions by outcome")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Validate and enqueue, returning the ticket to poll with {@link #result}
+     */
+    public SubmissionTicket submit(TransactionInput input) {
+        transactionService.validateSubmission(input);
+        if (!running) {
+            rejected.increment();
+            throw new OverloadedException("Asynchronous submission is not accepting work", retryAfterMillis);
+        }
+
+        QueuedSubmission submission = new QueuedSubmission(
+                UUID.randomUUID().toString(), input, LocalDateTime.now(), System.nanoTime());
+        results.put(submission.ticket(), TransactionResult.builder()
+                .ticket(submission.ticket())
+                .state(TransactionResult.QUEUED)
+                .queuedAt(submission.queuedAt())
+                .build());
+        if (!queue.offer(submission)) {
+            results.invalidate(submission.ticket());
+            rejected.increment();
+            log.warn("Submission queue full, rejecting transaction for customer {}", input.getCustomerId());
+            throw new OverloadedException("Submission queue is full", retryAfterMillis);
+        }
+        accepted.increment();
+
+        return SubmissionTicket.builder()
+                .ticket(submission.ticket())
+                .state(TransactionResult.QUEUED)
+                .queuedAt(submission.queuedAt())
+                .build();
+    }
+
+    public TransactionResult result(String ticket) {
+        TransactionResult result = results.getIfPresent(ticket);
+        if (result == null) {
+            throw new NotFoundException("Unknown or expired ticket: " + ticket);
+        }
+        return result;
+    }
+
+    public int depth() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::drain, "risk-async-submit-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        log.info("Started {} asynchronous submission workers", workerCount);
+    }
+
+    /**
+     * Stop accepting and let the workers finish what is already queued
+     */
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+        if (!queue.isEmpty()) {
+            log.warn("Stopped with {} queued submissions unprocessed", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void drain() {
+        List<QueuedSubmission> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedSubmission first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                process(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void process(List<QueuedSubmission> batch) {
+        batchSizes.record(batch.size());
+        try {
+            record(batch, transactionService.submitBatch(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.error("Queued transaction {} failed", batch.get(0).ticket(), e);
+                record(batch, List.of(failedResult(batch.get(0), e)));
+                return;
+            }
+            // One bad submission must not fail the others; retry each in its own transaction
+            log.warn("Batch of {} failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (QueuedSubmission submission : batch) {
+                try {
+                    record(List.of(submission), transactionService.submitBatch(List.of(submission)));
+                } catch (RuntimeException single) {
+                    log.error("Queued transaction {} failed", submission.ticket(), single);
+                    record(List.of(submission), List.of(failedResult(submission, single)));
+                }
+            }
+        }
+    }
+
+    private void record(List<QueuedSubmission> batch, List<TransactionResult> batchResults) {
+        for (TransactionResult result : batchResults) {
+            if (TransactionResult.COMPLETED.equals(result.getState())) {
+                completed.increment();
+            } else {
+                // Before the FAILED result is visible, so a caller who sees it can retry straight away
+                failed.increment();
+                releaseIdempotencyKey(batch, result.getTicket());
+            }
+            results.put(result.getTicket(), result);
+        }
+    }
+
+    /**
+     * The key's original answer was this ticket, which will only ever say FAILED
+     */
+    private void releaseIdempotencyKey(List<QueuedSubmission> batch, String ticket) {
+        for (QueuedSubmission submission : batch) {
+            if (submission.ticket().equals(ticket)) {
+                String key = submission.input().getIdempotencyKey();
+                if (key != null) {
+                    idempotencyWindow.forget(key, original -> original instanceof SubmissionTicket submitted
+                            && ticket.equals(submitted.getTicket()));
+                }
+                return;
+            }
+        }
+    }
+
+    private static TransactionResult failedResult(QueuedSubmission submission, RuntimeException e) {
+        return TransactionResult.builder()
+                .ticket(submission.ticket())
+                .state(TransactionResult.FAILED)
+                .queuedAt(submission.queuedAt())
+                .completedAt(LocalDateTime.now())
+                .error(e.getMessage())
+                .build();
+    }
+}
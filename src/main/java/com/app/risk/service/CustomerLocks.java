@@ -0,0 +1,154 @@
+package com.app.risk.service;
+
+import com.app.risk.exception.OverloadedException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped in-process locks that serialize the count-then-insert section per customer, so two
+ * concurrent submissions for one customer cannot both count the history before either row is
+ * committed. Customers are hashed onto {@code stripes} locks; different customers only wait on
+ * each other when they share a stripe. Several stripes are always taken in index order, so
+ * batches cannot deadlock. A lock not acquired within {@code timeout} fails the call as OVERLOADED.
+ * <p>
+ * This serializes submissions within one instance only; instances behind a load balancer still
+ * need customers routed to a single instance for exact counts.
+ */
+@Component
+public class CustomerLocks {
+
+    private final boolean enabled;
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long timeoutNanos;
+    private final long retryAfterMillis;
+
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+
+    public CustomerLocks(@Value("${app.customer-locks.enabled:true}") boolean enabled,
+                         @Value("${app.customer-locks.stripes:1024}") int stripes,
+                         @Value("${app.customer-locks.timeout:2s}") Duration timeout,
+                         @Value("${app.customer-locks.retry-after:100ms}") Duration retryAfter,
+                         MeterRegistry registry) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.enabled = enabled;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+        this.timeoutNanos = timeout.toNanos();
+        this.retryAfterMillis = retryAfter.toMillis();
+
+        FunctionCounter.builder("risk.customer.lock.contended", contended, LongAdder::sum)
+                .description("Submissions that waited for another submission of a customer on the same stripe")
+                .register(registry);
+        FunctionCounter.builder("risk.customer.lock.timeouts", timedOut, LongAdder::sum)
+                .description("Submissions rejected because their customer's lock was not acquired in time")
+                .register(registry);
+    }
+
+    /**
+     * Lock {@code customerId} until the surrounding database transaction completes, so the lock
+     * covers the commit of the inserted row
+     */
+    public void lockUntilCompletion(long customerId) {
+        if (!enabled) {
+            return;
+        }
+        ReentrantLock lock = stripes[stripe(customerId)];
+        acquire(lock);
+        releaseOnCompletion(new ReentrantLock[]{lock});
+    }
+
+    /**
+     * Lock every customer in {@code customerIds} until the surrounding database transaction completes
+     */
+    public void lockUntilCompletion(Collection<Long> customerIds) {
+        if (!enabled || customerIds.isEmpty()) {
+            return;
+        }
+        int[] indexes = customerIds.stream().mapToInt(this::stripe).sorted().distinct().toArray();
+        ReentrantLock[] held = new ReentrantLock[indexes.length];
+        int count = 0;
+        try {
+            for (int index : indexes) {
+                acquire(stripes[index]);
+                held[count++] = stripes[index];
+            }
+        } catch (RuntimeException e) {
+            unlock(held, count);
+            throw e;
+        }
+        releaseOnCompletion(held);
+    }
+
+    /**
+     * Run {@code action} holding the lock of {@code customerId}, for paths that do not insert in
+     * the same database transaction
+     */
+    public <T> T withLock(long customerId, Supplier<T> action) {
+        if (!enabled) {
+            return action.get();
+        }
+        ReentrantLock lock = stripes[stripe(customerId)];
+        acquire(lock);
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int stripe(long customerId) {
+        long h = customerId * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void acquire(ReentrantLock lock) {
+        if (lock.tryLock()) {
+            return;
+        }
+        contended.increment();
+        try {
+            if (lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        timedOut.increment();
+        throw new OverloadedException("Too many concurrent submissions for this customer", retryAfterMillis);
+    }
+
+    private void releaseOnCompletion(ReentrantLock[] held) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            unlock(held, held.length);
+            throw new IllegalStateException("Customer locks are held until commit and need an active transaction");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                unlock(held, held.length);
+            }
+        });
+    }
+
+    private static void unlock(ReentrantLock[] held, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            held[i].unlock();
+        }
+    }
+}
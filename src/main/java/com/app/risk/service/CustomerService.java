@@ -1,13 +1,25 @@
 package com.app.risk.service;
 
 import com.app.risk.audit.AuditLogService;
-import com.app.risk.exception.NotFoundException;
+import com.app.risk.config.QueryLimitsProperties;
+import com.app.risk.dto.CustomerConnection;
+import com.app.risk.dto.CustomerEdge;
+import com.app.risk.dto.PageInfo;
+import com.app.risk.engine.RiskProfile;
 import com.app.risk.entity.Customer;
+import com.app.risk.exception.BadRequestException;
+import com.app.risk.exception.NotFoundException;
 import com.app.risk.repository.CustomerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,6 +31,9 @@ public class CustomerService {
 
     private final CustomerRepository customerRepository;
     private final AuditLogService auditLogService;
+    private final QueryLimitsProperties queryLimits;
+
+    private static final String CURSOR_PREFIX = "customer:";
 
     public Customer findById(Long id) {
         log.debug("Finding customer by id: {}", id);
@@ -32,10 +47,26 @@ public class CustomerService {
                 });
     }
 
+    /**
+     * Customers for {@code ids} keyed by id, loaded with one query; missing ids are simply absent
+     */
+    public Map<Long, Customer> findAllById(Collection<Long> ids) {
+        Map<Long, Customer> customers = new HashMap<>(ids.size() * 2);
+        for (Customer customer : customerRepository.findAllById(ids)) {
+            customers.put(customer.getId(), customer);
+        }
+        return customers;
+    }
+
+    /**
+     * First {@code app.limits.max-page-size} customers by id; use {@link #findConnection} to page further
+     */
+    @Transactional(readOnly = true)
     public List<Customer> findAll() {
         log.debug("Retrieving all customers");
 
-        List<Customer> customers = customerRepository.findAll();
+        List<Customer> customers = customerRepository.findByIdGreaterThanOrderByIdAsc(
+                0L, Limit.of(queryLimits.getMaxPageSize()));
 
         log.info("Retrieved {} customers", customers.size());
 
@@ -53,6 +84,94 @@ public class CustomerService {
 
         return customers;
     }
-}
 
+    /**
+     * Keyset page of customers ordered by id, optionally filtered by risk profile and country.
+     * Runs read-only, so Hibernate keeps no dirty-checking snapshots of the loaded entities.
+     */
+    @Transactional(readOnly = true)
+    public CustomerConnection findConnection(Integer first, String after, String riskProfile, String country) {
+        int pageSize = queryLimits.clampPageSize(first);
+        long afterId = after != null && !after.isEmpty() ? decodeCursor(after) : 0L;
+        RiskProfile profile = parseRiskProfile(riskProfile);
+        String countryFilter = country != null && !country.isEmpty() ? country : null;
+
+        // One extra row tells us whether another page exists without a count query
+        Limit limit = Limit.of(pageSize + 1);
+        List<Customer> customers;
+        if (profile != null && countryFilter != null) {
+            customers = customerRepository.findByCountryAndRiskProfileAndIdGreaterThanOrderByIdAsc(
+                    countryFilter, profile, afterId, limit);
+        } else if (profile != null) {
+            customers = customerRepository.findByRiskProfileAndIdGreaterThanOrderByIdAsc(profile, afterId, limit);
+        } else if (countryFilter != null) {
+            customers = customerRepository.findByCountryAndIdGreaterThanOrderByIdAsc(countryFilter, afterId, limit);
+        } else {
+            customers = customerRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit);
+        }
+
+        boolean hasNextPage = customers.size() > pageSize;
+        int count = Math.min(customers.size(), pageSize);
+        List<CustomerEdge> edges = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Customer customer = customers.get(i);
+            edges.add(CustomerEdge.builder()
+                    .cursor(encodeCursor(customer.getId()))
+                    .node(customer)
+                    .build());
+        }
+
+        log.debug("Retrieved {} customers after id {}", count, afterId);
+
+        Map<String, Object> details = new HashMap<>();
+        details.put("count", count);
+        details.put("afterId", afterId);
+        details.put("riskProfile", riskProfile);
+        details.put("country", countryFilter);
+
+        auditLogService.logCustomEvent(
+                "CUSTOMERS_RETRIEVED",
+                "LIST_CUSTOMERS_PAGE",
+                "Customer",
+                null,
+                "SUCCESS",
+                details
+        );
+
+        return CustomerConnection.builder()
+                .edges(edges)
+                .pageInfo(PageInfo.builder()
+                        .hasNextPage(hasNextPage)
+                        .endCursor(edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor())
+                        .build())
+                .build();
+    }
+
+    private RiskProfile parseRiskProfile(String riskProfile) {
+        if (riskProfile == null || riskProfile.isEmpty()) {
+            return null;
+        }
+        try {
+            return RiskProfile.valueOf(riskProfile);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid risk profile: " + riskProfile);
+        }
+    }
 
+    static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new BadRequestException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.app.risk.service;
+
+import com.app.risk.bulkhead.LaneRoutingDataSource;
+import com.app.risk.engine.FeatureLoader;
+import com.app.risk.engine.FeatureUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Puts a latency budget and a circuit breaker around the database-backed history features.
+ * Each lookup runs on a small dedicated pool and is abandoned after {@code timeout}; timeouts and
+ * errors count against the circuit, and while it is open lookups fail immediately. Either way the
+ * caller gets a {@link FeatureUnavailableException} and the evaluator falls back, so a slow
+ * database bounds scoring latency instead of stalling it.
+ * <p>
+ * Lookup threads take connections from their own pool under the bulkhead, never from the scoring
+ * lane whose threads are already holding one while they wait. A lookup that finds every thread busy
+ * is shed: it falls back the same way but says nothing about the database, so it leaves the circuit alone.
+ */
+@Component
+@Slf4j
+public class GuardedFeatureLoader implements FeatureLoader, DisposableBean {
+
+    private final FeatureLoader delegate;
+    private final boolean enabled;
+    private final long timeoutNanos;
+    private final CircuitBreaker circuit;
+    private final ThreadPoolExecutor lookups;
+
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder shortCircuited = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    public GuardedFeatureLoader(RepositoryFeatureLoader delegate,
+                                @Value("${app.degraded-scoring.enabled:true}") boolean enabled,
+                                @Value("${app.degraded-scoring.timeout:250ms}") Duration timeout,
+                                @Value("${app.degraded-scoring.lookup-threads:4}") int lookupThreads,
+                                @Value("${app.degraded-scoring.circuit.window:20}") int window,
+                                @Value("${app.degraded-scoring.circuit.failure-rate:0.5}") double failureRate,
+                                @Value("${app.degraded-scoring.circuit.open-for:10s}") Duration openFor,
+                                MeterRegistry registry) {
+        this.delegate = delegate;
+        this.enabled = enabled;
+        this.timeoutNanos = timeout.toNanos();
+        this.circuit = new CircuitBreaker(window, failureRate, openFor.toNanos(), System::nanoTime);
+        AtomicInteger sequence = new AtomicInteger();
+        this.lookups = new ThreadPoolExecutor(lookupThreads, lookupThreads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(lookupThreads), runnable -> {
+                    Thread thread = new Thread(() -> {
+                        LaneRoutingDataSource.bindLookups();
+                        runnable.run();
+                    }, "risk-feature-lookup-" + sequence.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("risk.features.circuit.state", circuit, c -> c.state().ordinal())
+                .description("History feature circuit: 0 closed, 1 open, 2 half-open")
+                .register(registry);
+        Gauge.builder("risk.features.lookups.queued", lookups, executor -> executor.getQueue().size())
+                .description("History lookups waiting for a lookup thread")
+                .register(registry);
+        lookupCounter(registry, succeeded, "success");
+        lookupCounter(registry, timedOut, "timeout");
+        lookupCounter(registry, failed, "failure");
+        lookupCounter(registry, shortCircuited, "short_circuited");
+        lookupCounter(registry, shed, "shed");
+    }
+
+    private static void lookupCounter(MeterRegistry registry, LongAdder adder, String result) {
+        FunctionCounter.builder("risk.features.lookups", adder, LongAdder::sum)
+                .description("History feature lookups by outcome")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @Override
+    public long countSince(long customerId, LocalDateTime cutoffTime) {
+        return guard(() -> delegate.countSince(customerId, cutoffTime));
+    }
+
+    @Override
+    public long sumSince(long customerId, LocalDateTime cutoffTime) {
+        return guard(() -> delegate.sumSince(customerId, cutoffTime));
+    }
+
+    @Override
+    public LocalDateTime lastTransactionTime(long customerId) {
+        return guard(() -> delegate.lastTransactionTime(customerId));
+    }
+
+    @Override
+    public void destroy() {
+        lookups.shutdownNow();
+    }
+
+    private <T> T guard(Supplier<T> lookup) {
+        if (!enabled) {
+            return lookup.get();
+        }
+        if (!circuit.tryAcquire()) {
+            shortCircuited.increment();
+            throw new FeatureUnavailableException("History lookups are short-circuited", null);
+        }
+
+        Future<T> future;
+        try {
+            future = lookups.submit(lookup::get);
+        } catch (RejectedExecutionException e) {
+            // Busy, not failing: slow lookups are already counted by their own timeouts
+            circuit.release();
+            shed.increment();
+            throw new FeatureUnavailableException("No history lookup thread available", e);
+        }
+        try {
+            T value = future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            circuit.onSuccess();
+            succeeded.increment();
+            return value;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            circuit.onFailure();
+            timedOut.increment();
+            throw new FeatureUnavailableException("History lookup exceeded its budget", e);
+        } catch (ExecutionException e) {
+            circuit.onFailure();
+            failed.increment();
+            log.warn("History lookup failed: {}", e.getCause().getMessage());
+            throw new FeatureUnavailableException("History lookup failed", e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            circuit.release();
+            Thread.currentThread().interrupt();
+            throw new FeatureUnavailableException("Interrupted waiting for history lookup", e);
+        }
+    }
+}
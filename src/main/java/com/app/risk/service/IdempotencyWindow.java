@@ -0,0 +1,141 @@
+package com.app.risk.service;
+
+import com.app.risk.dto.TransactionInput;
+import com.app.risk.exception.BadRequestException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Recent submissions by {@link TransactionInput#getIdempotencyKey() idempotency key}, so a gateway
+ * retry gets the original result instead of a second transaction. A repeat is answered from memory
+ * with the original's future, also while the original is still in flight; it runs no rules and
+ * touches no database. A submission that fails is forgotten, so its retry runs again; one whose
+ * result is handed out before its work is done is forgotten through {@link #forget} when that work fails.
+ * <p>
+ * Keys share one namespace across every operation that creates a transaction. A repeat sent to a
+ * different operation than the original is refused as a conflict, since the original's result has
+ * a different shape; it never creates a second transaction.
+ * <p>
+ * Keys are kept for {@code ttl} after first use and at most {@code max-keys} of them. Past that,
+ * and across instances, the unique {@code idempotencyKey} column is the backstop.
+ */
+@Component
+public class IdempotencyWindow {
+
+    private final boolean enabled;
+    private final Cache<String, Entry> entries;
+
+    private final LongAdder first = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+
+    public IdempotencyWindow(@Value("${app.idempotency.enabled:true}") boolean enabled,
+                             @Value("${app.idempotency.max-keys:100000}") long maxKeys,
+                             @Value("${app.idempotency.ttl:1h}") Duration ttl,
+                             MeterRegistry registry) {
+        this.enabled = enabled;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(ttl)
+                .build();
+
+        Gauge.builder("risk.idempotency.keys", entries, Cache::estimatedSize)
+                .description("Idempotency keys remembered in memory")
+                .register(registry);
+        requestCounter(registry, first, "first");
+        requestCounter(registry, replayed, "replayed");
+        requestCounter(registry, conflicts, "conflict");
+    }
+
+    private static void requestCounter(MeterRegistry registry, LongAdder adder, String result) {
+        FunctionCounter.builder("risk.idempotency.requests", adder, LongAdder::sum)
+                .description("Submissions carrying an idempotency key by outcome")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Run {@code action} for the first submission of a key; repeats to the same {@code operation} get its result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> submit(String operation, TransactionInput input,
+                                           Supplier<CompletableFuture<T>> action) {
+        if (!enabled || input.getIdempotencyKey() == null) {
+            return action.get();
+        }
+
+        String key = input.getIdempotencyKey();
+        Entry entry = new Entry(operation, Fingerprint.of(input), new CompletableFuture<>());
+        Entry existing = entries.asMap().putIfAbsent(key, entry);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(entry.fingerprint())) {
+                conflicts.increment();
+                throw new BadRequestException("Idempotency key was already used for a different transaction");
+            }
+            if (!existing.operation().equals(operation)) {
+                conflicts.increment();
+                throw new BadRequestException("Idempotency key was already used with " + existing.operation());
+            }
+            replayed.increment();
+            return (CompletableFuture<T>) existing.result().copy();
+        }
+
+        first.increment();
+        CompletableFuture<T> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            forget(key, entry, e);
+            throw e;
+        }
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                forget(key, entry, error);
+            } else {
+                entry.result().complete(value);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Forget {@code idempotencyKey} while it still answers with a result {@code original} accepts,
+     * so a submission that failed after its result was handed out runs again on retry
+     */
+    public void forget(String idempotencyKey, Predicate<Object> original) {
+        entries.asMap().computeIfPresent(idempotencyKey,
+                (key, entry) -> original.test(entry.result().getNow(null)) ? null : entry);
+    }
+
+    private void forget(String key, Entry entry, Throwable error) {
+        entries.asMap().remove(key, entry);
+        entry.result().completeExceptionally(error);
+    }
+
+    private record Entry(String operation, Fingerprint fingerprint, CompletableFuture<Object> result) {
+    }
+
+    /**
+     * What a repeat must agree on; the amount ignores scale, so 10.0 repeats 10.00
+     */
+    private record Fingerprint(Long customerId, BigDecimal amount, String currency, String merchantCategory) {
+
+        static Fingerprint of(TransactionInput input) {
+            return new Fingerprint(input.getCustomerId(),
+                    input.getAmount() == null ? null : input.getAmount().stripTrailingZeros(),
+                    input.getCurrency(), input.getMerchantCategory());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.app.risk.service;
+
+import com.app.risk.dto.TransactionInput;
+
+import java.time.LocalDateTime;
+
+/**
+ * A transaction accepted by {@code submitTransactionAsync}, waiting in {@link AsyncSubmissionQueue}
+ */
+public record QueuedSubmission(String ticket, TransactionInput input, LocalDateTime queuedAt, long queuedNanos) {
+}
@@ -0,0 +1,320 @@
+package com.app.risk.service;
+
+import com.app.risk.dto.MatchedRule;
+import com.app.risk.dto.TransactionDTO;
+import com.app.risk.dto.TransactionPage;
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.entity.TransactionStatus;
+import com.app.risk.metrics.ScoringMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Hot tier for dashboard first pages: the {@code capacity} newest transactions by timestamp, held
+ * column-wise in primitive arrays and answered newest first, the order of the listing query.
+ * Write-behind rows commit after their decision timestamp, so an append that is older than rows
+ * already held is moved into place, and one older than a full ring is counted but not held.
+ * Totals per status are loaded with the ring and counted forward on every append, so page 0
+ * without a search is answered without a query. That only holds while every insert goes through
+ * this instance, so the ring is off unless a profile known to run a single writer enables it.
+ */
+@Component
+@Slf4j
+public class RecentTransactionRing {
+
+    private static final MerchantCategory[] CATEGORIES = MerchantCategory.values();
+    private static final TransactionStatus[] STATUSES = TransactionStatus.values();
+    private static final int AMOUNT_SCALE = 2;
+
+    private final boolean enabled;
+    private final int capacity;
+    private final ScoringMetrics.CacheCounters counters;
+
+    private final long[] ids;
+    private final long[] customerIds;
+    private final long[] amountsMinor;
+    private final long[] timestampsMicros;
+    private final byte[] categories;
+    private final int[] scores;
+    private final byte[] statuses;
+    private final String[] currencies;
+    private final String[] customerNames;
+    private final String[] customerEmails;
+    private final Object[] matchedRules;
+    private final Object[] degradedRuleIds;
+
+    private final long[] statusTotals = new long[STATUSES.length];
+    private int head;
+    private int count;
+    private long highestId;
+    private boolean warm;
+
+    public RecentTransactionRing(@Value("${app.recent-transactions.enabled:false}") boolean enabled,
+                                 @Value("${app.recent-transactions.capacity:1000}") int capacity,
+                                 ScoringMetrics scoringMetrics) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("app.recent-transactions.capacity must be at least 1");
+        }
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.counters = scoringMetrics.cache("recent-transactions");
+        this.ids = new long[capacity];
+        this.customerIds = new long[capacity];
+        this.amountsMinor = new long[capacity];
+        this.timestampsMicros = new long[capacity];
+        this.categories = new byte[capacity];
+        this.scores = new int[capacity];
+        this.statuses = new byte[capacity];
+        this.currencies = new String[capacity];
+        this.customerNames = new String[capacity];
+        this.customerEmails = new String[capacity];
+        this.matchedRules = new Object[capacity];
+        this.degradedRuleIds = new Object[capacity];
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Replace the ring contents with {@code newestFirst} and the current per-status totals.
+     * The loaders run under the ring's lock, so appends committed meanwhile are either in the
+     * loaded rows or applied afterwards, never lost. Both must read the same database snapshot,
+     * or a row committed between them is counted in the totals and again when it is appended.
+     */
+    public synchronized void warm(Supplier<List<TransactionDTO>> newestFirst, Supplier<long[]> totalsByStatus) {
+        if (!enabled) {
+            return;
+        }
+        List<TransactionDTO> rows = newestFirst.get();
+        long[] totals = totalsByStatus.get();
+        head = 0;
+        count = 0;
+        highestId = 0L;
+        warm = true;
+        for (int i = Math.min(rows.size(), capacity) - 1; i >= 0; i--) {
+            write(rows.get(i));
+        }
+        System.arraycopy(totals, 0, statusTotals, 0, statusTotals.length);
+        log.info("Recent transaction ring warmed with {} of {} transactions", count, totalAll());
+    }
+
+    /**
+     * Append a newly stored transaction once the surrounding transaction commits
+     */
+    public void appendAfterCommit(TransactionDTO dto) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(dto);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                append(dto);
+            }
+        });
+    }
+
+    synchronized void append(TransactionDTO dto) {
+        if (!warm || (dto.getId() <= highestId && contains(dto.getId()))) {
+            return;
+        }
+        if (insert(dto)) {
+            statusTotals[TransactionStatus.valueOf(dto.getStatus()).ordinal()]++;
+        }
+    }
+
+    /**
+     * Page 0 of the listing, newest first, or null when the page reaches beyond the ring
+     */
+    public synchronized TransactionPage firstPage(TransactionStatus status, int size) {
+        if (!warm) {
+            counters.miss();
+            return null;
+        }
+        long total = status == null ? totalAll() : statusTotals[status.ordinal()];
+        List<TransactionDTO> content = new ArrayList<>((int) Math.min(size, total));
+        for (int n = 0, slot = head; n < count && content.size() < size; n++) {
+            slot = slot == 0 ? capacity - 1 : slot - 1;
+            if (status == null || statuses[slot] == status.ordinal()) {
+                content.add(read(slot));
+            }
+        }
+        if (content.size() < size && content.size() < total) {
+            counters.miss();
+            return null;
+        }
+        counters.hit();
+        return TransactionPage.builder()
+                .content(content)
+                .page(0)
+                .size(size)
+                .totalElements(total)
+                .totalPages((int) ((total + size - 1) / size))
+                .build();
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Write {@code dto} at its timestamp position; false when it cannot be held and the ring stopped answering
+     */
+    private boolean insert(TransactionDTO dto) {
+        long micros = toMicros(dto.getTimestamp());
+        int newer = 0;
+        for (int slot = head; newer < count; newer++) {
+            slot = slot == 0 ? capacity - 1 : slot - 1;
+            if (timestampsMicros[slot] <= micros) {
+                break;
+            }
+        }
+        if (newer == capacity) {
+            // Older than every row of a full ring, so it is not on the first page
+            return true;
+        }
+        if (!write(dto)) {
+            return false;
+        }
+        // Written as the newest; move it below the rows with later timestamps
+        for (int n = 0, slot = (head == 0 ? capacity - 1 : head - 1); n < newer; n++) {
+            int older = slot == 0 ? capacity - 1 : slot - 1;
+            swap(slot, older);
+            slot = older;
+        }
+        return true;
+    }
+
+    private boolean write(TransactionDTO dto) {
+        long amountMinor;
+        try {
+            amountMinor = dto.getAmount().setScale(AMOUNT_SCALE, RoundingMode.HALF_UP)
+                    .unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            // Cannot be represented in minor units; stop answering until the next warm-up
+            log.warn("Transaction {} amount does not fit the recent transaction ring, disabling it", dto.getId());
+            warm = false;
+            return false;
+        }
+        int slot = head;
+        ids[slot] = dto.getId();
+        customerIds[slot] = dto.getCustomerId();
+        amountsMinor[slot] = amountMinor;
+        timestampsMicros[slot] = toMicros(dto.getTimestamp());
+        categories[slot] = (byte) MerchantCategory.valueOf(dto.getMerchantCategory()).ordinal();
+        scores[slot] = dto.getRiskScore();
+        statuses[slot] = (byte) TransactionStatus.valueOf(dto.getStatus()).ordinal();
+        currencies[slot] = dto.getCurrency();
+        customerNames[slot] = dto.getCustomerName();
+        customerEmails[slot] = dto.getCustomerEmail();
+        matchedRules[slot] = dto.getMatchedRules() == null ? List.of() : List.copyOf(dto.getMatchedRules());
+        degradedRuleIds[slot] = dto.getDegradedRuleIds() == null ? List.of() : List.copyOf(dto.getDegradedRuleIds());
+        head = (head + 1) % capacity;
+        count = Math.min(count + 1, capacity);
+        highestId = Math.max(highestId, dto.getId());
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private TransactionDTO read(int slot) {
+        return TransactionDTO.builder()
+                .id(ids[slot])
+                .customerId(customerIds[slot])
+                .customerName(customerNames[slot])
+                .customerEmail(customerEmails[slot])
+                .amount(BigDecimal.valueOf(amountsMinor[slot], AMOUNT_SCALE))
+                .currency(currencies[slot])
+                .timestamp(fromMicros(timestampsMicros[slot]))
+                .merchantCategory(CATEGORIES[categories[slot]].name())
+                .riskScore(scores[slot])
+                .status(STATUSES[statuses[slot]].name())
+                .matchedRules((List<MatchedRule>) matchedRules[slot])
+                .degradedRuleIds((List<Long>) degradedRuleIds[slot])
+                .build();
+    }
+
+    private void swap(int a, int b) {
+        swap(ids, a, b);
+        swap(customerIds, a, b);
+        swap(amountsMinor, a, b);
+        swap(timestampsMicros, a, b);
+        swap(categories, a, b);
+        swap(scores, a, b);
+        swap(statuses, a, b);
+        swap(currencies, a, b);
+        swap(customerNames, a, b);
+        swap(customerEmails, a, b);
+        swap(matchedRules, a, b);
+        swap(degradedRuleIds, a, b);
+    }
+
+    private static void swap(long[] column, int a, int b) {
+        long value = column[a];
+        column[a] = column[b];
+        column[b] = value;
+    }
+
+    private static void swap(int[] column, int a, int b) {
+        int value = column[a];
+        column[a] = column[b];
+        column[b] = value;
+    }
+
+    private static void swap(byte[] column, int a, int b) {
+        byte value = column[a];
+        column[a] = column[b];
+        column[b] = value;
+    }
+
+    private static void swap(Object[] column, int a, int b) {
+        Object value = column[a];
+        column[a] = column[b];
+        column[b] = value;
+    }
+
+    private boolean contains(long id) {
+        for (int n = 0, slot = head; n < count; n++) {
+            slot = slot == 0 ? capacity - 1 : slot - 1;
+            if (ids[slot] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long totalAll() {
+        long total = 0L;
+        for (long statusTotal : statusTotals) {
+            total += statusTotal;
+        }
+        return total;
+    }
+
+    private static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+}
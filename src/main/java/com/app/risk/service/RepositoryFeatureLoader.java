@@ -0,0 +1,32 @@
+package com.app.risk.service;
+
+import com.app.risk.engine.FeatureLoader;
+import com.app.risk.engine.ScoringInput;
+import com.app.risk.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class RepositoryFeatureLoader implements FeatureLoader {
+
+    private final TransactionRepository transactionRepository;
+
+    @Override
+    public long countSince(long customerId, LocalDateTime cutoffTime) {
+        return transactionRepository.countByCustomerIdAndTimestampAfter(customerId, cutoffTime);
+    }
+
+    @Override
+    public long sumSince(long customerId, LocalDateTime cutoffTime) {
+        return ScoringInput.toMinorUnits(
+                transactionRepository.sumAmountByCustomerIdAndTimestampAfter(customerId, cutoffTime));
+    }
+
+    @Override
+    public LocalDateTime lastTransactionTime(long customerId) {
+        return transactionRepository.findLastTimestampByCustomerId(customerId);
+    }
+}
@@ -3,11 +3,11 @@ package com.app.risk.service;
 import com.app.risk.audit.AuditLogService;
 import com.app.risk.dto.RiskRuleDTO;
 import com.app.risk.dto.RiskRuleInput;
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.engine.RuleType;
+import com.app.risk.entity.RiskRule;
 import com.app.risk.exception.BadRequestException;
 import com.app.risk.exception.NotFoundException;
-import com.app.risk.entity.MerchantCategory;
-import com.app.risk.entity.RiskRule;
-import com.app.risk.entity.RuleType;
 import com.app.risk.repository.RiskRuleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -126,7 +126,10 @@ public class RiskRuleService {
         return toDTO(updatedRule);
     }
 
-    private void validateRuleInput(RiskRuleInput input) {
+    /**
+     * Reject inputs missing the fields their rule type needs
+     */
+    public static void validateRuleInput(RiskRuleInput input) {
         RuleType ruleType;
         try {
             ruleType = RuleType.valueOf(input.getRuleType());
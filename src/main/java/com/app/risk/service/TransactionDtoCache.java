@@ -0,0 +1,106 @@
+package com.app.risk.service;
+
+import com.app.risk.dto.TransactionDTO;
+import com.app.risk.metrics.ScoringMetrics;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of fully built {@link TransactionDTO}s by transaction id.
+ * Scored transactions never change, and customers are never updated by this service once created,
+ * so entries are only evicted by size. Cached DTOs are shared and must not be modified by callers.
+ * <p>
+ * Loads run on the caller's thread outside any cache lock, behind a placeholder future that
+ * concurrent misses wait on.
+ */
+@Component
+public class TransactionDtoCache {
+
+    private final AsyncCache<Long, TransactionDTO> transactions;
+    private final ScoringMetrics.CacheCounters counters;
+
+    public TransactionDtoCache(@Value("${app.transaction-cache.maximum-size:10000}") long maximumSize,
+                               ScoringMetrics scoringMetrics) {
+        this.transactions = Caffeine.newBuilder().maximumSize(maximumSize).buildAsync();
+        this.counters = scoringMetrics.cache("transaction-dto");
+    }
+
+    /**
+     * Cached DTO for {@code id}, loading it on a miss. Concurrent misses for the same id wait for
+     * a single load; a loader returning null or throwing caches nothing.
+     */
+    public TransactionDTO get(Long id, Function<Long, TransactionDTO> loader) {
+        CompletableFuture<TransactionDTO> loading = new CompletableFuture<>();
+        CompletableFuture<TransactionDTO> existing = transactions.asMap().putIfAbsent(id, loading);
+        if (existing != null) {
+            if (existing.isDone()) {
+                counters.hit();
+            } else {
+                counters.miss();
+            }
+            TransactionDTO dto = existing.join();
+            // A failed load hands nothing over; load again so the caller sees the failure itself
+            return dto != null ? dto : get(id, loader);
+        }
+        counters.miss();
+
+        TransactionDTO dto = null;
+        try {
+            dto = loader.apply(id);
+            if (dto != null) {
+                loading.complete(dto);
+            }
+        } finally {
+            if (!loading.isDone()) {
+                // Completed with null rather than the exception, which the cache would log
+                transactions.asMap().remove(id, loading);
+                loading.complete(null);
+            }
+        }
+        return dto;
+    }
+
+    /**
+     * Cached DTOs for those of {@code ids} that are present; counts one lookup per id
+     */
+    public Map<Long, TransactionDTO> getAllPresent(Collection<Long> ids) {
+        Map<Long, TransactionDTO> present = transactions.synchronous().getAllPresent(ids);
+        counters.hits(present.size());
+        counters.misses(ids.size() - present.size());
+        return present;
+    }
+
+    public void put(TransactionDTO dto) {
+        transactions.put(dto.getId(), CompletableFuture.completedFuture(dto));
+    }
+
+    /**
+     * Cache a newly written DTO once the surrounding transaction commits, so a rolled back
+     * insert is never served
+     */
+    public void putAfterCommit(TransactionDTO dto) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            put(dto);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                put(dto);
+            }
+        });
+    }
+
+    public long size() {
+        return transactions.synchronous().estimatedSize();
+    }
+}
@@ -0,0 +1,118 @@
+package com.app.risk.service;
+
+import com.app.risk.dto.TransactionDTO;
+import com.app.risk.entity.TransactionStatus;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process fan-out of committed transactions to {@code transactionScored} subscriptions.
+ * Each subscriber has its own buffer of {@code app.subscriptions.buffer-size} events between the
+ * publisher and its WebSocket; when a slow client lets it fill up, {@code app.subscriptions.overflow}
+ * decides whether the oldest or the newest event is dropped, or the subscription is ended.
+ * Publishing never blocks the committing thread.
+ */
+@Component
+@Slf4j
+public class TransactionScoredPublisher {
+
+    public enum OverflowPolicy {
+        DROP_OLDEST(BufferOverflowStrategy.DROP_OLDEST),
+        DROP_LATEST(BufferOverflowStrategy.DROP_LATEST),
+        DISCONNECT(BufferOverflowStrategy.ERROR);
+
+        private final BufferOverflowStrategy strategy;
+
+        OverflowPolicy(BufferOverflowStrategy strategy) {
+            this.strategy = strategy;
+        }
+    }
+
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public TransactionScoredPublisher(@Value("${app.subscriptions.buffer-size:256}") int bufferSize,
+                                      @Value("${app.subscriptions.overflow:drop-oldest}") OverflowPolicy overflowPolicy,
+                                      MeterRegistry registry) {
+        this.bufferSize = bufferSize;
+        this.overflowPolicy = overflowPolicy;
+        Gauge.builder("risk.subscriptions.active", subscribers, Set::size)
+                .description("Open transactionScored subscriptions")
+                .register(registry);
+        FunctionCounter.builder("risk.subscriptions.events", published, LongAdder::sum)
+                .description("Events handed to subscriber buffers")
+                .tag("result", "published")
+                .register(registry);
+        FunctionCounter.builder("risk.subscriptions.events", dropped, LongAdder::sum)
+                .description("Events handed to subscriber buffers")
+                .tag("result", "dropped")
+                .register(registry);
+    }
+
+    /**
+     * Stream of transactions committed from now on, optionally only those with {@code status}
+     */
+    public Flux<TransactionDTO> subscribe(TransactionStatus status) {
+        return Flux.<TransactionDTO>create(sink -> {
+                    Subscriber subscriber = new Subscriber(status, sink);
+                    subscribers.add(subscriber);
+                    sink.onDispose(() -> subscribers.remove(subscriber));
+                }, FluxSink.OverflowStrategy.IGNORE)
+                .onBackpressureBuffer(bufferSize, event -> {
+                    dropped.increment();
+                    log.debug("Subscriber buffer full, dropped transaction {}", event.getId());
+                }, overflowPolicy.strategy);
+    }
+
+    /**
+     * Publish once the surrounding transaction commits, so subscribers never see a rolled back row
+     */
+    public void publishAfterCommit(TransactionDTO dto) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(dto);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(dto);
+            }
+        });
+    }
+
+    void publish(TransactionDTO dto) {
+        TransactionStatus status = TransactionStatus.valueOf(dto.getStatus());
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.status == null || subscriber.status == status) {
+                subscriber.sink.next(dto);
+                published.increment();
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private record Subscriber(TransactionStatus status, FluxSink<TransactionDTO> sink) {
+    }
+}
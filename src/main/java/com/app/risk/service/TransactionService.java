@@ -1,34 +1,69 @@
 package com.app.risk.service;
 
 import com.app.risk.audit.AuditLogService;
+import com.app.risk.config.QueryLimitsProperties;
 import com.app.risk.dto.MatchedRule;
 import com.app.risk.dto.TransactionDTO;
+import com.app.risk.dto.TransactionDecision;
 import com.app.risk.dto.TransactionInput;
 import com.app.risk.dto.TransactionPage;
-import com.app.risk.engine.RiskRuleEvaluator;
+import com.app.risk.dto.TransactionResult;
+import com.app.risk.engine.CompiledRuleSet;
+import com.app.risk.engine.EvaluationContext;
+import com.app.risk.engine.FeatureBatch;
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.engine.RecentActivity;
+import com.app.risk.engine.RuleDefinition;
+import com.app.risk.engine.ScoringEngine;
+import com.app.risk.engine.ScoringResult;
+import com.app.risk.entity.*;
 import com.app.risk.exception.BadRequestException;
 import com.app.risk.exception.NotFoundException;
-import com.app.risk.entity.*;
+import com.app.risk.jfr.RiskEvaluationEvent;
+import com.app.risk.jfr.TransactionPersistedEvent;
+import com.app.risk.metrics.LatencyRecorders;
+import com.app.risk.metrics.ScoringMetrics;
+import com.app.risk.repository.TransactionListItem;
 import com.app.risk.repository.TransactionRepository;
+import com.app.risk.trace.EvaluationTrace;
+import com.app.risk.trace.TracePhase;
+import com.app.risk.writebehind.ScoredDecision;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,40 +74,66 @@ public class TransactionService {
     private final TransactionRepository transactionRepository;
     private final CustomerService customerService;
     private final RiskRuleService riskRuleService;
-    private final List<RiskRuleEvaluator> riskRuleEvaluators;
+    private final ScoringEngine scoringEngine;
     private final ObjectMapper objectMapper;
     private final AuditLogService auditLogService;
+    private final ScoringMetrics scoringMetrics;
+    private final LatencyRecorders latencyRecorders;
+    private final QueryLimitsProperties queryLimits;
+    private final TransactionDtoCache transactionDtoCache;
+    private final RecentTransactionRing recentTransactions;
+    private final TransactionScoredPublisher transactionScoredPublisher;
+    private final CustomerLocks customerLocks;
+    private final RecentActivity recentActivity;
+    private final PlatformTransactionManager transactionManager;
 
     private static final int FLAGGED_THRESHOLD = 70;
 
+    @Transactional(readOnly = true)
     public TransactionPage getTransactions(Integer page, Integer size, String status, String searchQuery) {
+        return getTransactions(page, size, status, searchQuery, EvaluationTrace.disabled());
+    }
+
+    /**
+     * Page 0 without a search is answered from {@link RecentTransactionRing} when it holds the whole
+     * page. Everything else goes through the {@link TransactionListItem} read model: one joined select
+     * of the needed columns, no managed entities and no lazy customer loads.
+     */
+    @Transactional(readOnly = true)
+    public TransactionPage getTransactions(Integer page, Integer size, String status, String searchQuery,
+                                           EvaluationTrace trace) {
+        // Clamped here as well as in the GraphQL layer, so no caller can page through unbounded rows
         Pageable pageable = PageRequest.of(
-                page != null ? page : 0,
-                size != null ? size : 10,
+                page != null ? Math.max(page, 0) : 0,
+                queryLimits.clampPageSize(size),
                 Sort.by(Sort.Direction.DESC, "timestamp")
         );
 
-        Page<Transaction> transactionPage;
-        TransactionStatus transactionStatus = null;
+        Page<TransactionListItem> transactionPage;
+        TransactionStatus transactionStatus = parseStatus(status);
 
-        if (status != null && !status.isEmpty()) {
-            try {
-                transactionStatus = TransactionStatus.valueOf(status);
-            } catch (IllegalArgumentException e) {
-                throw new BadRequestException("Invalid status: " + status);
+        long phaseStart = trace.start();
+        if (pageable.getPageNumber() == 0 && (searchQuery == null || searchQuery.isEmpty())) {
+            TransactionPage recent = recentTransactions.firstPage(transactionStatus, pageable.getPageSize());
+            if (recent != null) {
+                trace.stop(TracePhase.QUERY, phaseStart);
+                return recent;
             }
         }
 
         // Use the new search method that handles both status and searchQuery
-        transactionPage = transactionRepository.findByStatusAndCustomerSearch(
+        transactionPage = transactionRepository.findListItemsByStatusAndCustomerSearch(
             transactionStatus,
             searchQuery,
             pageable
         );
+        trace.stop(TracePhase.QUERY, phaseStart);
 
+        phaseStart = trace.start();
         List<TransactionDTO> content = transactionPage.getContent().stream()
                 .map(this::toDTO)
                 .collect(Collectors.toList());
+        trace.stop(TracePhase.DTO_MAPPING, phaseStart);
 
         return TransactionPage.builder()
                 .content(content)
@@ -84,19 +145,27 @@ public class TransactionService {
     }
 
     public TransactionDTO getTransaction(Long id) {
+        return getTransaction(id, EvaluationTrace.disabled());
+    }
+
+    /**
+     * Served from {@link TransactionDtoCache}; a miss loads the row and its customer columns with one
+     * joined read-only select
+     */
+    public TransactionDTO getTransaction(Long id, EvaluationTrace trace) {
         log.debug("Retrieving transaction with id: {}", id);
 
-        Transaction transaction = transactionRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Transaction not found with id: {}", id);
-                    return new NotFoundException("Transaction not found with id: " + id);
-                });
+        long phaseStart = trace.start();
+        TransactionDTO dto = transactionDtoCache.get(id, this::loadTransaction);
+        trace.stop(TracePhase.QUERY, phaseStart);
+
+        phaseStart = trace.start();
 
         Map<String, Object> auditDetails = new HashMap<>();
         auditDetails.put("transactionId", id);
-        auditDetails.put("customerId", transaction.getCustomer().getId());
-        auditDetails.put("riskScore", transaction.getRiskScore());
-        auditDetails.put("status", transaction.getStatus().name());
+        auditDetails.put("customerId", dto.getCustomerId());
+        auditDetails.put("riskScore", dto.getRiskScore());
+        auditDetails.put("status", dto.getStatus());
 
         auditLogService.logCustomEvent(
                 "TRANSACTION_RETRIEVED",
@@ -106,61 +175,215 @@ public class TransactionService {
                 "SUCCESS",
                 auditDetails
         );
+        trace.stop(TracePhase.AUDIT, phaseStart);
 
-        return toDTO(transaction);
+        return dto;
+    }
+
+    /**
+     * Load the newest transactions and per-status totals into {@link RecentTransactionRing}.
+     * Runs at REPEATABLE READ so the rows and the totals come from one snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public void warmRecentTransactions() {
+        if (!recentTransactions.isEnabled()) {
+            return;
+        }
+        recentTransactions.warm(
+                () -> transactionRepository.findListItemsByStatusAndCustomerSearch(null, null,
+                                PageRequest.of(0, recentTransactions.capacity(), Sort.by(Sort.Direction.DESC, "timestamp")))
+                        .map(this::toDTO)
+                        .getContent(),
+                () -> {
+                    TransactionStatus[] statuses = TransactionStatus.values();
+                    long[] totals = new long[statuses.length];
+                    for (TransactionStatus status : statuses) {
+                        totals[status.ordinal()] = transactionRepository.countByStatus(status);
+                    }
+                    return totals;
+                });
+    }
+
+    /**
+     * Resolve several transactions from {@link TransactionDtoCache}, loading the rest with one joined
+     * IN query, and write a single audit record for the batch.
+     * Results follow the order of {@code ids}, with null for ids that do not exist.
+     */
+    @Transactional(readOnly = true)
+    public List<TransactionDTO> getTransactionsByIds(List<Long> ids) {
+        return getTransactionsByIds(ids, EvaluationTrace.disabled());
+    }
+
+    @Transactional(readOnly = true)
+    public List<TransactionDTO> getTransactionsByIds(List<Long> ids, EvaluationTrace trace) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // Repeated ids are answered from one lookup but each still adds a result, so bound them all
+        if (ids.size() > queryLimits.getMaxPageSize()) {
+            throw new BadRequestException("At most " + queryLimits.getMaxPageSize()
+                    + " ids can be requested at once, got " + ids.size());
+        }
+        Collection<Long> distinctIds = new LinkedHashSet<>(ids);
+
+        long phaseStart = trace.start();
+        Map<Long, TransactionDTO> byId = new HashMap<>(transactionDtoCache.getAllPresent(distinctIds));
+        List<Long> uncachedIds = new ArrayList<>(distinctIds.size() - byId.size());
+        for (Long id : distinctIds) {
+            if (!byId.containsKey(id)) {
+                uncachedIds.add(id);
+            }
+        }
+        List<TransactionListItem> items = uncachedIds.isEmpty()
+                ? List.of()
+                : transactionRepository.findListItemsByIdIn(uncachedIds);
+        trace.stop(TracePhase.QUERY, phaseStart);
+
+        phaseStart = trace.start();
+        for (TransactionListItem item : items) {
+            TransactionDTO dto = toDTO(item);
+            transactionDtoCache.put(dto);
+            byId.put(item.id(), dto);
+        }
+        List<TransactionDTO> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            results.add(byId.get(id));
+        }
+        trace.stop(TracePhase.DTO_MAPPING, phaseStart);
+
+        log.debug("Resolved {} of {} requested transactions", byId.size(), distinctIds.size());
+
+        phaseStart = trace.start();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            if (!byId.containsKey(id)) {
+                missingIds.add(id);
+            }
+        }
+        Map<String, Object> auditDetails = new HashMap<>();
+        auditDetails.put("requestedCount", distinctIds.size());
+        auditDetails.put("foundCount", byId.size());
+        auditDetails.put("transactionIds", new ArrayList<>(byId.keySet()));
+        auditDetails.put("missingIds", missingIds);
+
+        auditLogService.logCustomEvent(
+                "TRANSACTIONS_RETRIEVED",
+                "GET_TRANSACTIONS_BY_IDS",
+                "Transaction",
+                null,
+                "SUCCESS",
+                auditDetails
+        );
+        trace.stop(TracePhase.AUDIT, phaseStart);
+
+        return results;
+    }
+
+    /**
+     * Transactions as they are committed, optionally only those with {@code status}
+     */
+    public Flux<TransactionDTO> transactionScored(String status) {
+        return transactionScoredPublisher.subscribe(parseStatus(status));
     }
 
-    @Transactional
     public TransactionDTO submitTransaction(TransactionInput input) {
+        return submitTransaction(input, EvaluationTrace.disabled());
+    }
+
+    /**
+     * Score and store one transaction. When a concurrent submission stores the same idempotency key
+     * first, this insert fails on the unique column and rolls back, and the stored row is returned.
+     */
+    public TransactionDTO submitTransaction(TransactionInput input, EvaluationTrace trace) {
+        try {
+            return inSubmissionTransaction(() -> scoreAndStore(input, trace));
+        } catch (DataIntegrityViolationException e) {
+            String idempotencyKey = input.getIdempotencyKey();
+            TransactionDTO original = idempotencyKey == null ? null : inSubmissionTransaction(() -> {
+                Transaction stored = findOriginals(List.of(idempotencyKey)).get(idempotencyKey);
+                if (stored == null) {
+                    return null;
+                }
+                checkSameSubmission(stored, input, parseMerchantCategory(input));
+                return toDTO(stored);
+            });
+            if (original == null) {
+                throw e;
+            }
+            log.info("Transaction {} was stored concurrently under this idempotency key", original.getId());
+            return original;
+        }
+    }
+
+    private TransactionDTO scoreAndStore(TransactionInput input, EvaluationTrace trace) {
         long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        RiskEvaluationEvent evaluationEvent = new RiskEvaluationEvent();
+        evaluationEvent.begin();
 
         log.info("Processing transaction submission for customer: {}", input.getCustomerId());
 
         try {
             // Validate customer exists
+            long phaseStart = System.nanoTime();
             Customer customer = customerService.findById(input.getCustomerId());
+            evaluationEvent.customerLookupDuration = System.nanoTime() - phaseStart;
+            latencyRecorders.customerLookup().record(evaluationEvent.customerLookupDuration);
+            trace.record(TracePhase.CUSTOMER_LOOKUP, evaluationEvent.customerLookupDuration);
 
             // Validate merchant category
-            MerchantCategory merchantCategory;
-            try {
-                merchantCategory = MerchantCategory.valueOf(input.getMerchantCategory());
-            } catch (IllegalArgumentException e) {
-                log.error("Invalid merchant category: {}", input.getMerchantCategory());
-                auditLogService.logError("SUBMIT_TRANSACTION", "Transaction", null,
-                    "Invalid merchant category: " + input.getMerchantCategory(), e);
-                throw new BadRequestException("Invalid merchant category: " + input.getMerchantCategory());
+            MerchantCategory merchantCategory = parseMerchantCategory(input);
+
+            // Held until commit, so a concurrent submission for this customer counts this row
+            customerLocks.lockUntilCompletion(customer.getId());
+
+            // A retry that outlived the in-memory idempotency window gets the stored row back
+            if (input.getIdempotencyKey() != null) {
+                Map<String, Transaction> originals = findOriginals(List.of(input.getIdempotencyKey()));
+                Transaction original = originals.get(input.getIdempotencyKey());
+                if (original != null) {
+                    checkSameSubmission(original, input, merchantCategory);
+                    log.info("Transaction {} already stored under this idempotency key", original.getId());
+                    return toDTO(original);
+                }
             }
 
-            // Get current timestamp in Sri Lanka timezone (UTC+5:30)
-            ZonedDateTime sriLankaTime = ZonedDateTime.now(ZoneId.of("Asia/Colombo"));
-            LocalDateTime timestamp = sriLankaTime.toLocalDateTime();
+            LocalDateTime timestamp = currentTimestamp();
 
             log.debug("Transaction timestamp set to Sri Lanka time: {}", timestamp);
 
             // Evaluate risk rules
+            phaseStart = System.nanoTime();
             List<RiskRule> activeRules = riskRuleService.getActiveRules();
-            List<MatchedRule> matchedRules = new ArrayList<>();
+            CompiledRuleSet compiledRules = scoringEngine.compile(definitions(activeRules));
+            evaluationEvent.ruleSnapshotDuration = System.nanoTime() - phaseStart;
+            latencyRecorders.ruleSnapshot().record(evaluationEvent.ruleSnapshotDuration);
+            trace.record(TracePhase.RULE_SNAPSHOT, evaluationEvent.ruleSnapshotDuration);
 
             log.debug("Evaluating {} active risk rules for transaction", activeRules.size());
 
-            for (RiskRule rule : activeRules) {
-                for (RiskRuleEvaluator evaluator : riskRuleEvaluators) {
-                    if (evaluator.supports(rule.getRuleType())) {
-                        evaluator.evaluate(input, customer, rule, timestamp)
-                                .ifPresent(matchedRule -> {
-                                    matchedRules.add(matchedRule);
-                                    log.debug("Rule matched: {} - {} points", matchedRule.getRuleName(),
-                                            matchedRule.getPoints());
-                                });
-                        break;
-                    }
-                }
+            EvaluationContext context = scoringEngine.context().begin(input, customer.toProfile(), merchantCategory, timestamp);
+            ScoringResult scoringResult = scoringEngine.result();
+            List<MatchedRule> matchedRules;
+            List<Long> degradedRuleIds;
+            phaseStart = System.nanoTime();
+            try {
+                scoringEngine.evaluate(compiledRules, context, scoringResult, trace.isEnabled() ? trace : null);
+                matchedRules = scoringResult.toMatchedRules(compiledRules);
+                degradedRuleIds = degradedRuleIds(compiledRules, scoringResult, customer.getId());
+            } finally {
+                context.clear();
+            }
+            evaluationEvent.ruleEvaluationDuration = System.nanoTime() - phaseStart;
+            trace.record(TracePhase.RULE_EVALUATION, evaluationEvent.ruleEvaluationDuration);
+
+            for (MatchedRule matchedRule : matchedRules) {
+                log.debug("Rule matched: {} - {} points", matchedRule.getRuleName(), matchedRule.getPoints());
             }
 
             // Calculate total risk score
-            int totalRiskScore = matchedRules.stream()
-                    .mapToInt(MatchedRule::getPoints)
-                    .sum();
+            int totalRiskScore = scoringResult.getScore();
 
             // Determine status
             TransactionStatus status = totalRiskScore >= FLAGGED_THRESHOLD ?
@@ -170,13 +393,10 @@ public class TransactionService {
                     totalRiskScore, status, matchedRules.size());
 
             // Convert matched rules to JSON
-            String matchedRulesJson;
-            try {
-                matchedRulesJson = objectMapper.writeValueAsString(matchedRules);
-            } catch (JsonProcessingException e) {
-                log.error("Failed to serialize matched rules", e);
-                throw new RuntimeException("Failed to serialize matched rules", e);
-            }
+            phaseStart = System.nanoTime();
+            String matchedRulesJson = writeMatchedRules(matchedRules);
+            evaluationEvent.serializationDuration = System.nanoTime() - phaseStart;
+            trace.record(TracePhase.JSON_ENCODING, evaluationEvent.serializationDuration);
 
             // Create and save transaction
             Transaction transaction = Transaction.builder()
@@ -187,76 +407,614 @@ public class TransactionService {
                     .merchantCategory(merchantCategory)
                     .riskScore(totalRiskScore)
                     .matchedRulesJson(matchedRulesJson)
+                    .degradedRuleIds(writeRuleIds(degradedRuleIds))
                     .status(status)
+                    .idempotencyKey(input.getIdempotencyKey())
                     .build();
 
+            phaseStart = System.nanoTime();
+            TransactionPersistedEvent persistedEvent = new TransactionPersistedEvent();
+            persistedEvent.begin();
             Transaction savedTransaction = transactionRepository.save(transaction);
+            persistedEvent.end();
+            recordActivityAfterCommit(List.of(savedTransaction));
+            evaluationEvent.insertDuration = System.nanoTime() - phaseStart;
+            latencyRecorders.insert().record(evaluationEvent.insertDuration);
+            trace.record(TracePhase.INSERT, evaluationEvent.insertDuration);
+            if (persistedEvent.shouldCommit()) {
+                persistedEvent.transactionId = savedTransaction.getId();
+                persistedEvent.customerId = customer.getId();
+                persistedEvent.commit();
+            }
 
             long executionTime = System.currentTimeMillis() - startTime;
 
             // Audit logging
-            Map<String, Object> auditDetails = new HashMap<>();
-            auditDetails.put("amount", input.getAmount());
-            auditDetails.put("currency", input.getCurrency());
-            auditDetails.put("merchantCategory", merchantCategory.name());
-            auditDetails.put("riskScore", totalRiskScore);
-            auditDetails.put("status", status.name());
-            auditDetails.put("matchedRulesCount", matchedRules.size());
-            auditDetails.put("executionTimeMs", executionTime);
-
-            auditLogService.logTransactionSubmitted(savedTransaction.getId(), customer.getId(),
-                    customer.getEmail(), auditDetails);
-
-            // Log risk evaluation details
-            auditLogService.logRiskEvaluation(savedTransaction.getId(), customer.getId(),
-                    totalRiskScore, activeRules.size(), matchedRules.size(), executionTime);
-
-            // Log if transaction was flagged
-            if (status == TransactionStatus.FLAGGED) {
-                Map<String, Object> flagDetails = new HashMap<>();
-                flagDetails.put("amount", input.getAmount());
-                flagDetails.put("merchantCategory", merchantCategory.name());
-                flagDetails.put("matchedRules", matchedRules.stream()
-                        .map(MatchedRule::getRuleName)
-                        .collect(Collectors.toList()));
-
-                auditLogService.logTransactionFlagged(savedTransaction.getId(), customer.getId(),
-                        totalRiskScore, matchedRules.size(), flagDetails);
-
-                log.warn("Transaction {} flagged for review. Customer: {}, Score: {}",
-                        savedTransaction.getId(), customer.getEmail(), totalRiskScore);
-            } else {
-                auditLogService.logTransactionApproved(savedTransaction.getId(), customer.getId(),
-                        totalRiskScore);
-            }
+            phaseStart = System.nanoTime();
+            auditSubmission(savedTransaction, matchedRules, activeRules.size(), executionTime);
+            evaluationEvent.auditDuration = System.nanoTime() - phaseStart;
+            trace.record(TracePhase.AUDIT, evaluationEvent.auditDuration);
 
             log.info("Transaction {} processed successfully in {}ms", savedTransaction.getId(), executionTime);
 
-            return toDTO(savedTransaction);
+            long submissionNanos = System.nanoTime() - startNanos;
+            scoringMetrics.recordSubmission(submissionNanos, status);
+            latencyRecorders.submission().record(submissionNanos);
+
+            evaluationEvent.end();
+            if (evaluationEvent.shouldCommit()) {
+                evaluationEvent.transactionId = savedTransaction.getId();
+                evaluationEvent.customerId = customer.getId();
+                evaluationEvent.riskScore = totalRiskScore;
+                evaluationEvent.status = status.name();
+                evaluationEvent.rulesEvaluated = compiledRules.size();
+                evaluationEvent.rulesMatched = matchedRules.size();
+                evaluationEvent.commit();
+            }
+
+            phaseStart = trace.start();
+            TransactionDTO dto = toDTO(savedTransaction);
+            trace.stop(TracePhase.DTO_MAPPING, phaseStart);
+            transactionDtoCache.putAfterCommit(dto);
+            recentTransactions.appendAfterCommit(dto);
+            transactionScoredPublisher.publishAfterCommit(dto);
+            return dto;
 
         } catch (BadRequestException | NotFoundException e) {
             log.error("Transaction submission failed: {}", e.getMessage());
+            scoringMetrics.recordSubmissionFailure(System.nanoTime() - startNanos);
             throw e;
         } catch (Exception e) {
+            if (e instanceof DataIntegrityViolationException && input.getIdempotencyKey() != null) {
+                // Most likely a concurrent submission with the same key; submitTransaction re-reads it
+                log.info("Insert for customer {} refused, checking for a concurrent idempotency key",
+                        input.getCustomerId());
+                throw e;
+            }
             log.error("Unexpected error during transaction submission", e);
+            scoringMetrics.recordSubmissionFailure(System.nanoTime() - startNanos);
             auditLogService.logError("SUBMIT_TRANSACTION", "Transaction", null,
                     "Unexpected error: " + e.getMessage(), e);
             throw e;
         }
     }
 
-    private TransactionDTO toDTO(Transaction transaction) {
-        List<MatchedRule> matchedRules = new ArrayList<>();
-        if (transaction.getMatchedRulesJson() != null && !transaction.getMatchedRulesJson().isEmpty()) {
+    /**
+     * Score and store a micro-batch from {@link AsyncSubmissionQueue} in one database transaction.
+     * Customers are loaded with one query, the rule snapshot is taken once, features are loaded at
+     * most once per customer through a {@link FeatureBatch} and the rows go out in a single saveAll.
+     * Submissions for unknown customers or categories get a FAILED result and are skipped. When a
+     * concurrent submission stores one of the batch's idempotency keys first, the batch rolls back and
+     * is run once more, which answers that submission from the stored row; any other failure rolls back
+     * the whole batch.
+     */
+    public List<TransactionResult> submitBatch(List<QueuedSubmission> submissions) {
+        try {
+            return inSubmissionTransaction(() -> scoreAndStoreBatch(submissions));
+        } catch (DataIntegrityViolationException e) {
+            if (submissions.stream().allMatch(submission -> submission.input().getIdempotencyKey() == null)) {
+                throw e;
+            }
+            log.info("Batch of {} refused on insert, retrying with concurrently stored idempotency keys",
+                    submissions.size());
+            return inSubmissionTransaction(() -> scoreAndStoreBatch(submissions));
+        }
+    }
+
+    private List<TransactionResult> scoreAndStoreBatch(List<QueuedSubmission> submissions) {
+        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        TransactionResult[] results = new TransactionResult[submissions.size()];
+
+        long phaseStart = System.nanoTime();
+        Set<Long> customerIds = new HashSet<>();
+        for (QueuedSubmission submission : submissions) {
+            customerIds.add(submission.input().getCustomerId());
+        }
+        Map<Long, Customer> customers = customerService.findAllById(customerIds);
+        latencyRecorders.customerLookup().record(System.nanoTime() - phaseStart);
+        customerLocks.lockUntilCompletion(customers.keySet());
+
+        List<String> idempotencyKeys = new ArrayList<>();
+        for (QueuedSubmission submission : submissions) {
+            if (submission.input().getIdempotencyKey() != null) {
+                idempotencyKeys.add(submission.input().getIdempotencyKey());
+            }
+        }
+        Map<String, Transaction> originals = findOriginals(idempotencyKeys);
+
+        phaseStart = System.nanoTime();
+        List<RiskRule> activeRules = riskRuleService.getActiveRules();
+        CompiledRuleSet compiledRules = scoringEngine.compile(definitions(activeRules));
+        latencyRecorders.ruleSnapshot().record(System.nanoTime() - phaseStart);
+
+        FeatureBatch features = scoringEngine.openBatch();
+        ScoringResult scoringResult = scoringEngine.result();
+        List<Transaction> transactions = new ArrayList<>(submissions.size());
+        List<Integer> positions = new ArrayList<>(submissions.size());
+        List<List<MatchedRule>> matchedRulesByTransaction = new ArrayList<>(submissions.size());
+
+        for (int i = 0; i < submissions.size(); i++) {
+            QueuedSubmission submission = submissions.get(i);
+            TransactionInput input = submission.input();
+            Customer customer = customers.get(input.getCustomerId());
+            if (customer == null) {
+                results[i] = failed(submission, "Customer not found with id: " + input.getCustomerId());
+                continue;
+            }
+            MerchantCategory merchantCategory;
             try {
-                matchedRules = objectMapper.readValue(
-                        transaction.getMatchedRulesJson(),
-                        new TypeReference<List<MatchedRule>>() {}
-                );
-            } catch (JsonProcessingException e) {
-                // Log error and continue with empty list
+                merchantCategory = parseMerchantCategory(input);
+            } catch (BadRequestException e) {
+                results[i] = failed(submission, e.getMessage());
+                continue;
+            }
+            Transaction original = input.getIdempotencyKey() == null ? null : originals.get(input.getIdempotencyKey());
+            if (original != null) {
+                try {
+                    checkSameSubmission(original, input, merchantCategory);
+                    results[i] = completed(submission, toDTO(original));
+                } catch (BadRequestException e) {
+                    results[i] = failed(submission, e.getMessage());
+                }
+                continue;
             }
+
+            LocalDateTime timestamp = currentTimestamp();
+            EvaluationContext context = features.context(input, customer.toProfile(), merchantCategory, timestamp);
+            scoringEngine.evaluate(compiledRules, context, scoringResult);
+            List<MatchedRule> matchedRules = scoringResult.toMatchedRules(compiledRules);
+            List<Long> degradedRuleIds = degradedRuleIds(compiledRules, scoringResult, customer.getId());
+            features.recordSubmitted(context);
+
+            int totalRiskScore = scoringResult.getScore();
+            transactions.add(Transaction.builder()
+                    .customer(customer)
+                    .amount(input.getAmount())
+                    .currency(input.getCurrency())
+                    .timestamp(timestamp)
+                    .merchantCategory(merchantCategory)
+                    .riskScore(totalRiskScore)
+                    .matchedRulesJson(writeMatchedRules(matchedRules))
+                    .degradedRuleIds(writeRuleIds(degradedRuleIds))
+                    .status(totalRiskScore >= FLAGGED_THRESHOLD ? TransactionStatus.FLAGGED : TransactionStatus.APPROVED)
+                    .idempotencyKey(input.getIdempotencyKey())
+                    .build());
+            positions.add(i);
+            matchedRulesByTransaction.add(matchedRules);
+        }
+
+        phaseStart = System.nanoTime();
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        latencyRecorders.insert().record(System.nanoTime() - phaseStart);
+        recordActivityAfterCommit(saved);
+
+        long executionTime = System.currentTimeMillis() - startTime;
+        List<TransactionStatus> statuses = new ArrayList<>(saved.size());
+        for (int n = 0; n < saved.size(); n++) {
+            Transaction savedTransaction = saved.get(n);
+            QueuedSubmission submission = submissions.get(positions.get(n));
+            auditSubmission(savedTransaction, matchedRulesByTransaction.get(n), activeRules.size(), executionTime);
+            statuses.add(savedTransaction.getStatus());
+            latencyRecorders.submission().record(System.nanoTime() - submission.queuedNanos());
+
+            TransactionDTO dto = toDTO(savedTransaction);
+            transactionDtoCache.putAfterCommit(dto);
+            recentTransactions.appendAfterCommit(dto);
+            transactionScoredPublisher.publishAfterCommit(dto);
+            results[positions.get(n)] = completed(submission, dto);
         }
+        scoringMetrics.recordBatch(System.nanoTime() - startNanos, statuses);
+
+        log.info("Processed batch of {} queued transactions ({} stored) in {}ms",
+                submissions.size(), saved.size(), executionTime);
+        return Arrays.asList(results);
+    }
+
+    private static TransactionResult completed(QueuedSubmission submission, TransactionDTO dto) {
+        return TransactionResult.builder()
+                .ticket(submission.ticket())
+                .state(TransactionResult.COMPLETED)
+                .queuedAt(submission.queuedAt())
+                .completedAt(LocalDateTime.now())
+                .transaction(dto)
+                .build();
+    }
+
+    private static TransactionResult failed(QueuedSubmission submission, String error) {
+        return TransactionResult.builder()
+                .ticket(submission.ticket())
+                .state(TransactionResult.FAILED)
+                .queuedAt(submission.queuedAt())
+                .completedAt(LocalDateTime.now())
+                .error(error)
+                .build();
+    }
+
+    /**
+     * Score without storing, for write-behind submissions. The caller journals the decision and
+     * {@link #persistDecisions} stores it later.
+     */
+    @Transactional(readOnly = true)
+    public ScoredDecision scoreDecision(TransactionInput input) {
+        long startNanos = System.nanoTime();
+        try {
+            long phaseStart = System.nanoTime();
+            Customer customer = customerService.findById(input.getCustomerId());
+            latencyRecorders.customerLookup().record(System.nanoTime() - phaseStart);
+
+            MerchantCategory merchantCategory = parseMerchantCategory(input);
+            LocalDateTime timestamp = currentTimestamp();
+
+            phaseStart = System.nanoTime();
+            List<RiskRule> activeRules = riskRuleService.getActiveRules();
+            CompiledRuleSet compiledRules = scoringEngine.compile(definitions(activeRules));
+            latencyRecorders.ruleSnapshot().record(System.nanoTime() - phaseStart);
+
+            EvaluationContext context = scoringEngine.context().begin(input, customer.toProfile(), merchantCategory, timestamp);
+            ScoringResult scoringResult = scoringEngine.result();
+            List<MatchedRule> matchedRules;
+            List<Long> degradedRuleIds;
+            try {
+                scoringEngine.evaluate(compiledRules, context, scoringResult);
+                matchedRules = scoringResult.toMatchedRules(compiledRules);
+                degradedRuleIds = degradedRuleIds(compiledRules, scoringResult, customer.getId());
+            } finally {
+                context.clear();
+            }
+
+            int totalRiskScore = scoringResult.getScore();
+            TransactionStatus status = totalRiskScore >= FLAGGED_THRESHOLD ?
+                    TransactionStatus.FLAGGED : TransactionStatus.APPROVED;
+
+            log.info("Transaction decision for customer {}. Score: {}, Status: {}, Matched rules: {}",
+                    customer.getId(), totalRiskScore, status, matchedRules.size());
+
+            long submissionNanos = System.nanoTime() - startNanos;
+            scoringMetrics.recordSubmission(submissionNanos, status);
+            latencyRecorders.submission().record(submissionNanos);
+
+            return new ScoredDecision(UUID.randomUUID().toString(), customer.getId(), input.getAmount(),
+                    input.getCurrency(), merchantCategory, timestamp, totalRiskScore, status, matchedRules,
+                    degradedRuleIds, activeRules.size(), input.getIdempotencyKey());
+        } catch (BadRequestException | NotFoundException e) {
+            log.error("Transaction decision failed: {}", e.getMessage());
+            scoringMetrics.recordSubmissionFailure(System.nanoTime() - startNanos);
+            throw e;
+        }
+    }
+
+    /**
+     * The stored transaction for {@code input}'s idempotency key as a decision, or null when there is
+     * none. A write-behind retry that outlived the in-memory window, a restart or this instance gets
+     * the stored row instead of being scored again.
+     */
+    @Transactional(readOnly = true)
+    public TransactionDecision findDecision(TransactionInput input) {
+        String idempotencyKey = input.getIdempotencyKey();
+        if (idempotencyKey == null) {
+            return null;
+        }
+        Transaction original = findOriginals(List.of(idempotencyKey)).get(idempotencyKey);
+        if (original == null) {
+            return null;
+        }
+        checkSameSubmission(original, input, parseMerchantCategory(input));
+        log.info("Transaction {} already stored under this idempotency key", original.getId());
+        return toDecision(original);
+    }
+
+    /**
+     * Store journaled decisions and write their audit records in one database transaction.
+     * A decision whose idempotency key is already stored, e.g. by another instance, is not stored again.
+     */
+    @Transactional
+    public List<TransactionDTO> persistDecisions(List<ScoredDecision> decisions) {
+        long startTime = System.currentTimeMillis();
+        Set<Long> customerIds = new HashSet<>();
+        Set<String> idempotencyKeys = new HashSet<>();
+        for (ScoredDecision decision : decisions) {
+            customerIds.add(decision.customerId());
+            if (decision.idempotencyKey() != null) {
+                idempotencyKeys.add(decision.idempotencyKey());
+            }
+        }
+        Map<Long, Customer> customers = customerService.findAllById(customerIds);
+        Map<String, Transaction> originals = findOriginals(idempotencyKeys);
+
+        List<Transaction> transactions = new ArrayList<>(decisions.size());
+        List<ScoredDecision> storing = new ArrayList<>(decisions.size());
+        Set<String> batchKeys = new HashSet<>();
+        for (ScoredDecision decision : decisions) {
+            if (decision.idempotencyKey() != null
+                    && (originals.containsKey(decision.idempotencyKey()) || !batchKeys.add(decision.idempotencyKey()))) {
+                log.warn("Decision {} repeats a transaction already stored under its idempotency key; not storing it",
+                        decision.decisionId());
+                continue;
+            }
+            Customer customer = customers.get(decision.customerId());
+            if (customer == null) {
+                throw new IllegalStateException("Customer " + decision.customerId()
+                        + " of decision " + decision.decisionId() + " no longer exists");
+            }
+            transactions.add(Transaction.builder()
+                    .customer(customer)
+                    .amount(decision.amount())
+                    .currency(decision.currency())
+                    .timestamp(decision.timestamp())
+                    .merchantCategory(decision.merchantCategory())
+                    .riskScore(decision.riskScore())
+                    .matchedRulesJson(writeMatchedRules(decision.matchedRules()))
+                    .degradedRuleIds(writeRuleIds(decision.degradedRuleIds()))
+                    .status(decision.status())
+                    .decisionId(decision.decisionId())
+                    .idempotencyKey(decision.idempotencyKey())
+                    .build());
+            storing.add(decision);
+        }
+
+        long phaseStart = System.nanoTime();
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        latencyRecorders.insert().record(System.nanoTime() - phaseStart);
+        recordActivityAfterCommit(saved);
+
+        long executionTime = System.currentTimeMillis() - startTime;
+        List<TransactionDTO> dtos = new ArrayList<>(saved.size());
+        for (int i = 0; i < saved.size(); i++) {
+            Transaction savedTransaction = saved.get(i);
+            ScoredDecision decision = storing.get(i);
+            auditSubmission(savedTransaction, decision.matchedRules(), decision.activeRuleCount(), executionTime);
+
+            TransactionDTO dto = toDTO(savedTransaction);
+            transactionDtoCache.putAfterCommit(dto);
+            recentTransactions.appendAfterCommit(dto);
+            transactionScoredPublisher.publishAfterCommit(dto);
+            dtos.add(dto);
+        }
+        log.debug("Persisted {} write-behind decisions in {}ms", saved.size(), executionTime);
+        return dtos;
+    }
+
+    /**
+     * Those of {@code decisionIds} that already have a stored transaction
+     */
+    @Transactional(readOnly = true)
+    public Set<String> findPersistedDecisionIds(Collection<String> decisionIds) {
+        return new HashSet<>(transactionRepository.findDecisionIdsIn(decisionIds));
+    }
+
+    /**
+     * Run {@code work} in a transaction at READ COMMITTED. The customer's lock is taken after the
+     * transaction has started, and the history counted under it must include rows committed while
+     * the call waited for it, which a REPEATABLE READ snapshot taken by an earlier read would hide.
+     */
+    private <T> T inSubmissionTransaction(Supplier<T> work) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+        return template.execute(status -> work.get());
+    }
+
+    /**
+     * Stored transactions by idempotency key, with their customers
+     */
+    private Map<String, Transaction> findOriginals(Collection<String> idempotencyKeys) {
+        if (idempotencyKeys.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Transaction> originals = new HashMap<>();
+        for (Transaction transaction : transactionRepository.findByIdempotencyKeyIn(idempotencyKeys)) {
+            originals.put(transaction.getIdempotencyKey(), transaction);
+        }
+        return originals;
+    }
+
+    private static void checkSameSubmission(Transaction original, TransactionInput input, MerchantCategory merchantCategory) {
+        if (!original.getCustomer().getId().equals(input.getCustomerId())
+                || original.getAmount().compareTo(input.getAmount()) != 0
+                || !original.getCurrency().equals(input.getCurrency())
+                || original.getMerchantCategory() != merchantCategory) {
+            throw new BadRequestException("Idempotency key was already used for a different transaction");
+        }
+    }
+
+    /**
+     * Cheap checks that need no database access, run before a submission is queued
+     */
+    public void validateSubmission(TransactionInput input) {
+        parseMerchantCategory(input);
+    }
+
+    private MerchantCategory parseMerchantCategory(TransactionInput input) {
+        try {
+            return MerchantCategory.valueOf(input.getMerchantCategory());
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid merchant category: {}", input.getMerchantCategory());
+            auditLogService.logError("SUBMIT_TRANSACTION", "Transaction", null,
+                "Invalid merchant category: " + input.getMerchantCategory(), e);
+            throw new BadRequestException("Invalid merchant category: " + input.getMerchantCategory());
+        }
+    }
+
+    private static List<RuleDefinition> definitions(List<RiskRule> rules) {
+        List<RuleDefinition> definitions = new ArrayList<>(rules.size());
+        for (RiskRule rule : rules) {
+            definitions.add(rule.toDefinition());
+        }
+        return definitions;
+    }
+
+    /**
+     * Current time in Sri Lanka (UTC+5:30), the timezone transactions are recorded in
+     */
+    private static LocalDateTime currentTimestamp() {
+        ZonedDateTime sriLankaTime = ZonedDateTime.now(ZoneId.of("Asia/Colombo"));
+        return sriLankaTime.toLocalDateTime();
+    }
+
+    private String writeMatchedRules(List<MatchedRule> matchedRules) {
+        try {
+            return objectMapper.writeValueAsString(matchedRules);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize matched rules", e);
+            throw new RuntimeException("Failed to serialize matched rules", e);
+        }
+    }
+
+    /**
+     * Rules the last evaluation decided by a fallback, counted and logged when there are any
+     */
+    private List<Long> degradedRuleIds(CompiledRuleSet compiledRules, ScoringResult scoringResult, Long customerId) {
+        if (scoringResult.getDegradedCount() == 0) {
+            return List.of();
+        }
+        List<Long> ruleIds = scoringResult.degradedRuleIds(compiledRules);
+        scoringMetrics.recordDegraded(ruleIds.size());
+        log.warn("Scored transaction for customer {} in degraded mode; fallback decided rules {}", customerId, ruleIds);
+        return ruleIds;
+    }
+
+    /**
+     * Feed stored rows to {@link RecentActivity}, the source of the approximate frequency count,
+     * once the surrounding transaction commits
+     */
+    private void recordActivityAfterCommit(List<Transaction> transactions) {
+        long[] customerIds = new long[transactions.size()];
+        LocalDateTime[] timestamps = new LocalDateTime[transactions.size()];
+        for (int i = 0; i < customerIds.length; i++) {
+            customerIds[i] = transactions.get(i).getCustomer().getId();
+            timestamps[i] = transactions.get(i).getTimestamp();
+        }
+        Runnable record = () -> {
+            for (int i = 0; i < customerIds.length; i++) {
+                recentActivity.record(customerIds[i], timestamps[i]);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record.run();
+            }
+        });
+    }
+
+    private static String writeRuleIds(List<Long> ruleIds) {
+        if (ruleIds == null || ruleIds.isEmpty()) {
+            return null;
+        }
+        return ruleIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static List<Long> parseRuleIds(String ruleIds) {
+        if (ruleIds == null || ruleIds.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(ruleIds.split(",")).map(Long::valueOf).toList();
+    }
+
+    private void auditSubmission(Transaction savedTransaction, List<MatchedRule> matchedRules,
+                                 int activeRuleCount, long executionTime) {
+        Customer customer = savedTransaction.getCustomer();
+        int totalRiskScore = savedTransaction.getRiskScore();
+        TransactionStatus status = savedTransaction.getStatus();
+        MerchantCategory merchantCategory = savedTransaction.getMerchantCategory();
+
+        Map<String, Object> auditDetails = new HashMap<>();
+        auditDetails.put("amount", savedTransaction.getAmount());
+        auditDetails.put("currency", savedTransaction.getCurrency());
+        auditDetails.put("merchantCategory", merchantCategory.name());
+        auditDetails.put("riskScore", totalRiskScore);
+        auditDetails.put("status", status.name());
+        auditDetails.put("matchedRulesCount", matchedRules.size());
+        auditDetails.put("executionTimeMs", executionTime);
+        if (savedTransaction.getDegradedRuleIds() != null) {
+            auditDetails.put("degradedRuleIds", savedTransaction.getDegradedRuleIds());
+        }
+
+        auditLogService.logTransactionSubmitted(savedTransaction.getId(), customer.getId(),
+                customer.getEmail(), auditDetails);
+
+        // Log risk evaluation details
+        auditLogService.logRiskEvaluation(savedTransaction.getId(), customer.getId(),
+                totalRiskScore, activeRuleCount, matchedRules.size(), executionTime);
+
+        // Log if transaction was flagged
+        if (status == TransactionStatus.FLAGGED) {
+            Map<String, Object> flagDetails = new HashMap<>();
+            flagDetails.put("amount", savedTransaction.getAmount());
+            flagDetails.put("merchantCategory", merchantCategory.name());
+            flagDetails.put("matchedRules", matchedRules.stream()
+                    .map(MatchedRule::getRuleName)
+                    .collect(Collectors.toList()));
+
+            auditLogService.logTransactionFlagged(savedTransaction.getId(), customer.getId(),
+                    totalRiskScore, matchedRules.size(), flagDetails);
+
+            log.warn("Transaction {} flagged for review. Customer: {}, Score: {}",
+                    savedTransaction.getId(), customer.getEmail(), totalRiskScore);
+        } else {
+            auditLogService.logTransactionApproved(savedTransaction.getId(), customer.getId(),
+                    totalRiskScore);
+        }
+    }
+
+    private TransactionStatus parseStatus(String status) {
+        if (status == null || status.isEmpty()) {
+            return null;
+        }
+        try {
+            return TransactionStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid status: " + status);
+        }
+    }
+
+    private TransactionDTO loadTransaction(Long id) {
+        return transactionRepository.findListItemById(id)
+                .map(this::toDTO)
+                .orElseThrow(() -> {
+                    log.error("Transaction not found with id: {}", id);
+                    return new NotFoundException("Transaction not found with id: " + id);
+                });
+    }
+
+    private TransactionDTO toDTO(TransactionListItem item) {
+        return TransactionDTO.builder()
+                .id(item.id())
+                .customerId(item.customerId())
+                .customerName(item.customerName())
+                .customerEmail(item.customerEmail())
+                .amount(item.amount())
+                .currency(item.currency())
+                .timestamp(item.timestamp())
+                .merchantCategory(item.merchantCategory().name())
+                .riskScore(item.riskScore())
+                .status(item.status().name())
+                .matchedRules(parseMatchedRules(item.matchedRulesJson()))
+                .degradedRuleIds(parseRuleIds(item.degradedRuleIds()))
+                .build();
+    }
+
+    private TransactionDecision toDecision(Transaction transaction) {
+        return TransactionDecision.builder()
+                .decisionId(transaction.getDecisionId())
+                .customerId(transaction.getCustomer().getId())
+                .amount(transaction.getAmount())
+                .currency(transaction.getCurrency())
+                .timestamp(transaction.getTimestamp())
+                .merchantCategory(transaction.getMerchantCategory().name())
+                .riskScore(transaction.getRiskScore())
+                .status(transaction.getStatus().name())
+                .matchedRules(parseMatchedRules(transaction.getMatchedRulesJson()))
+                .degradedRuleIds(parseRuleIds(transaction.getDegradedRuleIds()))
+                .build();
+    }
+
+    private TransactionDTO toDTO(Transaction transaction) {
+        List<MatchedRule> matchedRules = parseMatchedRules(transaction.getMatchedRulesJson());
 
         return TransactionDTO.builder()
                 .id(transaction.getId())
@@ -270,7 +1028,22 @@ public class TransactionService {
                 .riskScore(transaction.getRiskScore())
                 .status(transaction.getStatus().name())
                 .matchedRules(matchedRules)
+                .degradedRuleIds(parseRuleIds(transaction.getDegradedRuleIds()))
                 .build();
     }
-}
 
+    private List<MatchedRule> parseMatchedRules(String matchedRulesJson) {
+        List<MatchedRule> matchedRules = new ArrayList<>();
+        if (matchedRulesJson != null && !matchedRulesJson.isEmpty()) {
+            try {
+                matchedRules = objectMapper.readValue(
+                        matchedRulesJson,
+                        new TypeReference<List<MatchedRule>>() {}
+                );
+            } catch (JsonProcessingException e) {
+                // Log error and continue with empty list
+            }
+        }
+        return matchedRules;
+    }
+}
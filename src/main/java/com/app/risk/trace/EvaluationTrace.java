@@ -0,0 +1,139 @@
+package com.app.risk.trace;
+
+import com.app.risk.engine.CompiledRuleSet;
+import com.app.risk.engine.RuleType;
+import com.app.risk.engine.ScoringObserver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Timing breakdown of one GraphQL request, returned under the {@value #EXTENSION_KEY} extension.
+ * Storage is allocated up front when the request opts in; all other requests share the
+ * {@link #disabled()} instance, on which every method returns immediately.
+ */
+public final class EvaluationTrace implements ScoringObserver {
+
+    public static final String CONTEXT_KEY = "com.app.risk.trace.EvaluationTrace";
+    public static final String EXTENSION_KEY = "evaluationTrace";
+
+    private static final int INITIAL_RULE_CAPACITY = 32;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final EvaluationTrace DISABLED = new EvaluationTrace(false);
+
+    private final boolean enabled;
+    private final long[] phaseNanos;
+    private long[] ruleIds;
+    private RuleType[] ruleTypes;
+    private boolean[] ruleMatched;
+    private long[] ruleNanos;
+    private int ruleCount;
+
+    private EvaluationTrace(boolean enabled) {
+        this.enabled = enabled;
+        this.phaseNanos = enabled ? new long[TracePhase.values().length] : null;
+        int capacity = enabled ? INITIAL_RULE_CAPACITY : 0;
+        this.ruleIds = new long[capacity];
+        this.ruleTypes = new RuleType[capacity];
+        this.ruleMatched = new boolean[capacity];
+        this.ruleNanos = new long[capacity];
+    }
+
+    public static EvaluationTrace enabled() {
+        return new EvaluationTrace(true);
+    }
+
+    public static EvaluationTrace disabled() {
+        return DISABLED;
+    }
+
+    public static EvaluationTrace orDisabled(EvaluationTrace trace) {
+        return trace != null ? trace : DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start timestamp for {@link #stop}; zero when disabled so no clock read happens
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void stop(TracePhase phase, long startNanos) {
+        if (enabled) {
+            record(phase, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Add an already measured duration; repeated phases accumulate
+     */
+    public void record(TracePhase phase, long durationNanos) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            phaseNanos[phase.ordinal()] += durationNanos;
+        }
+    }
+
+    @Override
+    public void ruleEvaluated(CompiledRuleSet rules, int index, boolean matched, long durationNanos) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (this) {
+            if (ruleCount == ruleIds.length) {
+                int capacity = ruleCount * 2;
+                ruleIds = Arrays.copyOf(ruleIds, capacity);
+                ruleTypes = Arrays.copyOf(ruleTypes, capacity);
+                ruleMatched = Arrays.copyOf(ruleMatched, capacity);
+                ruleNanos = Arrays.copyOf(ruleNanos, capacity);
+            }
+            ruleIds[ruleCount] = rules.ruleId(index);
+            ruleTypes[ruleCount] = rules.rule(index).getRuleType();
+            ruleMatched[ruleCount] = matched;
+            ruleNanos[ruleCount] = durationNanos;
+            ruleCount++;
+        }
+    }
+
+    /**
+     * Phase and per-rule timings in milliseconds, only including phases that were reached
+     */
+    public synchronized Map<String, Object> toExtension() {
+        Map<String, Object> phases = new LinkedHashMap<>();
+        if (enabled) {
+            for (TracePhase phase : TracePhase.values()) {
+                if (phaseNanos[phase.ordinal()] > 0) {
+                    phases.put(phase.getKey(), toMillis(phaseNanos[phase.ordinal()]));
+                }
+            }
+        }
+
+        List<Map<String, Object>> rules = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            Map<String, Object> rule = new LinkedHashMap<>();
+            rule.put("ruleId", ruleIds[i]);
+            rule.put("ruleType", ruleTypes[i].name());
+            rule.put("matched", ruleMatched[i]);
+            rule.put("durationMs", toMillis(ruleNanos[i]));
+            rules.add(rule);
+        }
+
+        Map<String, Object> extension = new LinkedHashMap<>();
+        extension.put("phasesMs", phases);
+        extension.put("rules", rules);
+        return extension;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
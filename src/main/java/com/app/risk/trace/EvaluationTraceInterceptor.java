@@ -0,0 +1,41 @@
+package com.app.risk.trace;
+
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opts a request into an {@link EvaluationTrace} when it carries the {@value #HEADER} header,
+ * and adds the collected timings to the response extensions
+ */
+@Component
+public class EvaluationTraceInterceptor implements WebGraphQlInterceptor {
+
+    public static final String HEADER = "X-Debug-Trace";
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        if (!isRequested(request.getHeaders().getFirst(HEADER))) {
+            return chain.next(request);
+        }
+
+        EvaluationTrace trace = EvaluationTrace.enabled();
+        request.configureExecutionInput((executionInput, builder) ->
+                builder.graphQLContext(Map.of(EvaluationTrace.CONTEXT_KEY, trace)).build());
+
+        return chain.next(request).map(response -> response.transform(builder -> {
+            Map<Object, Object> extensions = new LinkedHashMap<>(response.getExtensions());
+            extensions.put(EvaluationTrace.EXTENSION_KEY, trace.toExtension());
+            builder.extensions(extensions);
+        }));
+    }
+
+    private static boolean isRequested(String value) {
+        return value != null && (value.equalsIgnoreCase("true") || value.equals("1"));
+    }
+}
@@ -0,0 +1,25 @@
+package com.app.risk.trace;
+
+/**
+ * Phases reported in an {@link EvaluationTrace}, keyed by their name in the response extensions
+ */
+public enum TracePhase {
+    CUSTOMER_LOOKUP("customerLookup"),
+    RULE_SNAPSHOT("ruleSnapshot"),
+    RULE_EVALUATION("ruleEvaluation"),
+    QUERY("query"),
+    JSON_ENCODING("jsonEncoding"),
+    INSERT("insert"),
+    AUDIT("audit"),
+    DTO_MAPPING("dtoMapping");
+
+    private final String key;
+
+    TracePhase(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,219 @@
+package com.app.risk.wire;
+
+import com.app.risk.bulkhead.Lane;
+import com.app.risk.bulkhead.LaneExecutors;
+import com.app.risk.dto.TransactionDTO;
+import com.app.risk.dto.TransactionInput;
+import com.app.risk.exception.BadRequestException;
+import com.app.risk.exception.NotFoundException;
+import com.app.risk.exception.OverloadedException;
+import com.app.risk.ratelimit.RateLimitInterceptor;
+import com.app.risk.service.AdaptiveConcurrencyLimiter;
+import com.app.risk.service.IdempotencyWindow;
+import com.app.risk.service.TransactionService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scores transactions sent as {@link ScoringFrames} over one HTTP request, without GraphQL
+ * parsing, validation or JSON. A client may pipeline any number of frames on the request body;
+ * up to {@code max-in-flight} of them are scored concurrently through the same admission,
+ * lane and idempotency path as {@code submitTransaction}, and their responses are streamed
+ * back in request order. Whatever has been read is answered and flushed whenever the client
+ * pauses, so a client may also wait for its responses before sending more.
+ * <p>
+ * When {@code app.rate-limiting} is enabled every frame takes a token from the caller's bucket
+ * and from its customer's, the same buckets GraphQL requests are charged to, and a frame over
+ * either rate is answered RATE_LIMITED without being scored.
+ * <p>
+ * A frame longer than {@code max-frame-bytes}, or a body ending inside a frame, cannot be
+ * resynchronized: it is answered with an ERROR frame for correlation id -1 and the stream ends.
+ */
+@RestController
+@Slf4j
+@ConditionalOnProperty(prefix = "app.binary-scoring", name = "enabled", havingValue = "true")
+public class BinaryScoringController {
+
+    private static final int UNKNOWN_CORRELATION_ID = -1;
+
+    private final TransactionService transactionService;
+    private final AdaptiveConcurrencyLimiter submissionLimiter;
+    private final LaneExecutors lanes;
+    private final IdempotencyWindow idempotencyWindow;
+    private final RateLimitInterceptor rateLimits;
+    private final Validator validator;
+    private final int maxInFlight;
+    private final int maxFrameBytes;
+
+    private final Map<ScoringFrames.Outcome, LongAdder> frames = new EnumMap<>(ScoringFrames.Outcome.class);
+
+    public BinaryScoringController(TransactionService transactionService,
+                                   AdaptiveConcurrencyLimiter submissionLimiter,
+                                   LaneExecutors lanes,
+                                   IdempotencyWindow idempotencyWindow,
+                                   RateLimitInterceptor rateLimits,
+                                   Validator validator,
+                                   @Value("${app.binary-scoring.max-in-flight:32}") int maxInFlight,
+                                   @Value("${app.binary-scoring.max-frame-bytes:1024}") int maxFrameBytes,
+                                   MeterRegistry registry) {
+        this.transactionService = transactionService;
+        this.submissionLimiter = submissionLimiter;
+        this.lanes = lanes;
+        this.idempotencyWindow = idempotencyWindow;
+        this.rateLimits = rateLimits;
+        this.validator = validator;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.maxFrameBytes = maxFrameBytes;
+
+        for (ScoringFrames.Outcome outcome : ScoringFrames.Outcome.values()) {
+            LongAdder adder = new LongAdder();
+            frames.put(outcome, adder);
+            FunctionCounter.builder("risk.binary.frames", adder, LongAdder::sum)
+                    .description("Transactions answered on the binary scoring endpoint")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(registry);
+        }
+    }
+
+    @PostMapping(path = "${app.binary-scoring.path:/score/frames}", consumes = ScoringFrames.CONTENT_TYPE)
+    public void score(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(ScoringFrames.CONTENT_TYPE);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(request.getInputStream()));
+        OutputStream out = new BufferedOutputStream(response.getOutputStream());
+        String clientId = rateLimits.clientId(request.getRemoteAddr(), request.getHeader(rateLimits.getClientHeader()));
+        ArrayDeque<CompletableFuture<byte[]>> inFlight = new ArrayDeque<>();
+        while (true) {
+            CompletableFuture<byte[]> answer;
+            try {
+                ScoringFrames.Request frame = ScoringFrames.readRequest(in, maxFrameBytes);
+                if (frame == null) {
+                    break;
+                }
+                answer = score(frame, clientId);
+            } catch (ScoringFrames.MalformedFrameException e) {
+                answer = CompletableFuture.completedFuture(
+                        failed(e.getCorrelationId(), ScoringFrames.Outcome.BAD_REQUEST, 0L, e.getMessage()));
+            } catch (IOException e) {
+                log.debug("Ending binary scoring stream: {}", e.getMessage());
+                drain(inFlight, out, 0);
+                out.write(failed(UNKNOWN_CORRELATION_ID, ScoringFrames.Outcome.ERROR, 0L, e.getMessage()));
+                break;
+            }
+            inFlight.add(answer);
+            if (in.available() == 0) {
+                // The client has sent everything it has for now; answer all of it before blocking
+                drain(inFlight, out, 0);
+                out.flush();
+            } else {
+                drain(inFlight, out, maxInFlight - 1);
+            }
+        }
+        drain(inFlight, out, 0);
+        out.flush();
+    }
+
+    private CompletableFuture<byte[]> score(ScoringFrames.Request frame, String clientId) {
+        int correlationId = frame.correlationId();
+        TransactionInput input = frame.input();
+        if (rateLimits.isEnabled()) {
+            RateLimitInterceptor.Rejection rejection = rateLimits.tryAcquire(clientId,
+                    input.getCustomerId() != null ? List.of(input.getCustomerId()) : List.of());
+            if (rejection != null) {
+                return CompletableFuture.completedFuture(failed(correlationId, ScoringFrames.Outcome.RATE_LIMITED,
+                        rejection.retryAfterMillis(), rejection.message()));
+            }
+        }
+        Set<ConstraintViolation<TransactionInput>> violations = validator.validate(input);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<TransactionInput> violation = violations.iterator().next();
+            return CompletableFuture.completedFuture(failed(correlationId, ScoringFrames.Outcome.BAD_REQUEST, 0L,
+                    violation.getPropertyPath() + ": " + violation.getMessage()));
+        }
+        CompletableFuture<TransactionDTO> scored;
+        try {
+            scored = idempotencyWindow.submit("submitTransaction", input,
+                    () -> submissionLimiter.callAsync(() -> lanes.submit(Lane.SCORING,
+                            () -> transactionService.submitTransaction(input))));
+        } catch (RuntimeException e) {
+            scored = CompletableFuture.failedFuture(e);
+        }
+        return scored.handle((transaction, error) -> error == null
+                ? scored(correlationId, transaction)
+                : failed(correlationId, error));
+    }
+
+    /**
+     * Write completed answers from the head of {@code inFlight}, waiting for the oldest ones
+     * until at most {@code keep} remain
+     */
+    private static void drain(ArrayDeque<CompletableFuture<byte[]>> inFlight, OutputStream out, int keep)
+            throws IOException {
+        while (!inFlight.isEmpty() && (inFlight.size() > keep || inFlight.peek().isDone())) {
+            out.write(await(inFlight.poll()));
+        }
+    }
+
+    private static byte[] await(CompletableFuture<byte[]> answer) throws IOException {
+        try {
+            return answer.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while scoring", e);
+        } catch (ExecutionException e) {
+            // Answers are built in handle(), so only the frame encoding itself can fail here
+            throw new IllegalStateException("Could not encode a scoring frame", e.getCause());
+        }
+    }
+
+    private byte[] scored(int correlationId, TransactionDTO transaction) {
+        frames.get(ScoringFrames.Outcome.SCORED).increment();
+        return ScoringFrames.scored(correlationId, transaction);
+    }
+
+    private byte[] failed(int correlationId, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return switch (cause) {
+            case BadRequestException badRequestException ->
+                    failed(correlationId, ScoringFrames.Outcome.BAD_REQUEST, 0L, cause.getMessage());
+            case IllegalArgumentException illegalArgumentException ->
+                    failed(correlationId, ScoringFrames.Outcome.BAD_REQUEST, 0L, cause.getMessage());
+            case NotFoundException notFoundException ->
+                    failed(correlationId, ScoringFrames.Outcome.NOT_FOUND, 0L, cause.getMessage());
+            case OverloadedException overloadedException -> failed(correlationId, ScoringFrames.Outcome.OVERLOADED,
+                    overloadedException.getRetryAfterMillis(), cause.getMessage());
+            default -> {
+                log.error("Binary scoring failed for correlation id {}", correlationId, cause);
+                yield failed(correlationId, ScoringFrames.Outcome.ERROR, 0L, "Internal error");
+            }
+        };
+    }
+
+    private byte[] failed(int correlationId, ScoringFrames.Outcome outcome, long retryAfterMillis, String message) {
+        frames.get(outcome).increment();
+        return ScoringFrames.failed(correlationId, outcome, retryAfterMillis, message);
+    }
+}
@@ -0,0 +1,246 @@
+package com.app.risk.wire;
+
+import com.app.risk.dto.MatchedRule;
+import com.app.risk.dto.TransactionDTO;
+import com.app.risk.dto.TransactionInput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-layout binary frames for {@code POST /score/frames}. Every frame is a big-endian
+ * {@code int32} payload length followed by the payload; strings are a length prefix and UTF-8.
+ * <pre>
+ * request:  u8 version=1, i32 correlationId, i64 customerId, i64 amountUnscaled, u8 amountScale,
+ *           str8 currency, str8 merchantCategory, str8 idempotencyKey (empty for none)
+ * response: u8 version=1, i32 correlationId, u8 outcome, then
+ *           SCORED: i64 transactionId, i32 riskScore, str8 status,
+ *                   u16 n, n x i64 matched rule ids, u16 m, m x i64 degraded rule ids
+ *           other:  i64 retryAfterMs (0 unless OVERLOADED or RATE_LIMITED), str16 message
+ * </pre>
+ * Responses come back in request order and echo the correlation id.
+ */
+public final class ScoringFrames {
+
+    public static final String CONTENT_TYPE = "application/x-risk-frames";
+    public static final int VERSION = 1;
+
+    public enum Outcome { SCORED, BAD_REQUEST, NOT_FOUND, OVERLOADED, ERROR, RATE_LIMITED }
+
+    /**
+     * A request payload that could be framed but not decoded; the stream itself is still usable
+     */
+    public static class MalformedFrameException extends RuntimeException {
+
+        private final int correlationId;
+
+        MalformedFrameException(int correlationId, String message) {
+            super(message);
+            this.correlationId = correlationId;
+        }
+
+        public int getCorrelationId() {
+            return correlationId;
+        }
+    }
+
+    public record Request(int correlationId, TransactionInput input) {
+    }
+
+    public record Response(int correlationId, Outcome outcome, long transactionId, int riskScore, String status,
+                           List<Long> matchedRuleIds, List<Long> degradedRuleIds, long retryAfterMillis,
+                           String message) {
+    }
+
+    private ScoringFrames() {
+    }
+
+    /**
+     * Next request on the stream, or null at a clean end of stream
+     *
+     * @throws IOException when the stream ends mid-frame or a frame exceeds {@code maxFrameBytes};
+     *                     the stream cannot be resynchronized after either
+     */
+    public static Request readRequest(DataInputStream in, int maxFrameBytes) throws IOException {
+        ByteBuffer payload = readFrame(in, maxFrameBytes);
+        if (payload == null) {
+            return null;
+        }
+        int correlationId = -1;
+        try {
+            checkVersion(payload.get());
+            correlationId = payload.getInt();
+            long customerId = payload.getLong();
+            long unscaledAmount = payload.getLong();
+            int scale = Byte.toUnsignedInt(payload.get());
+            TransactionInput input = TransactionInput.builder()
+                    .customerId(customerId)
+                    .amount(BigDecimal.valueOf(unscaledAmount, scale))
+                    .currency(readString8(payload))
+                    .merchantCategory(readString8(payload))
+                    .build();
+            String idempotencyKey = readString8(payload);
+            if (!idempotencyKey.isEmpty()) {
+                input.setIdempotencyKey(idempotencyKey);
+            }
+            if (payload.hasRemaining()) {
+                throw new MalformedFrameException(correlationId, "Unexpected bytes after the request");
+            }
+            return new Request(correlationId, input);
+        } catch (BufferUnderflowException e) {
+            throw new MalformedFrameException(correlationId, "Request frame is truncated");
+        } catch (IllegalArgumentException e) {
+            throw new MalformedFrameException(correlationId, e.getMessage());
+        }
+    }
+
+    public static byte[] request(int correlationId, TransactionInput input) {
+        BigDecimal amount = input.getAmount();
+        return frame(out -> {
+            out.writeByte(VERSION);
+            out.writeInt(correlationId);
+            out.writeLong(input.getCustomerId());
+            out.writeLong(amount.unscaledValue().longValueExact());
+            out.writeByte(amount.scale());
+            writeString8(out, input.getCurrency());
+            writeString8(out, input.getMerchantCategory());
+            writeString8(out, input.getIdempotencyKey() == null ? "" : input.getIdempotencyKey());
+        });
+    }
+
+    public static byte[] scored(int correlationId, TransactionDTO transaction) {
+        return frame(out -> {
+            out.writeByte(VERSION);
+            out.writeInt(correlationId);
+            out.writeByte(Outcome.SCORED.ordinal());
+            out.writeLong(transaction.getId());
+            out.writeInt(transaction.getRiskScore());
+            writeString8(out, transaction.getStatus());
+            List<MatchedRule> matchedRules = transaction.getMatchedRules();
+            out.writeShort(matchedRules.size());
+            for (MatchedRule matchedRule : matchedRules) {
+                out.writeLong(matchedRule.getRuleId());
+            }
+            List<Long> degradedRuleIds = transaction.getDegradedRuleIds();
+            out.writeShort(degradedRuleIds.size());
+            for (Long ruleId : degradedRuleIds) {
+                out.writeLong(ruleId);
+            }
+        });
+    }
+
+    public static byte[] failed(int correlationId, Outcome outcome, long retryAfterMillis, String message) {
+        return frame(out -> {
+            out.writeByte(VERSION);
+            out.writeInt(correlationId);
+            out.writeByte(outcome.ordinal());
+            out.writeLong(retryAfterMillis);
+            byte[] bytes = (message == null ? "" : message).getBytes(StandardCharsets.UTF_8);
+            int length = Math.min(bytes.length, 0xFFFF);
+            out.writeShort(length);
+            out.write(bytes, 0, length);
+        });
+    }
+
+    /**
+     * Next response on the stream, or null at a clean end of stream
+     */
+    public static Response readResponse(DataInputStream in) throws IOException {
+        ByteBuffer payload = readFrame(in, Integer.MAX_VALUE);
+        if (payload == null) {
+            return null;
+        }
+        checkVersion(payload.get());
+        int correlationId = payload.getInt();
+        Outcome outcome = Outcome.values()[payload.get()];
+        if (outcome != Outcome.SCORED) {
+            long retryAfterMillis = payload.getLong();
+            byte[] message = new byte[Short.toUnsignedInt(payload.getShort())];
+            payload.get(message);
+            return new Response(correlationId, outcome, 0L, 0, null, List.of(), List.of(), retryAfterMillis,
+                    new String(message, StandardCharsets.UTF_8));
+        }
+        long transactionId = payload.getLong();
+        int riskScore = payload.getInt();
+        String status = readString8(payload);
+        List<Long> matchedRuleIds = readLongs(payload);
+        List<Long> degradedRuleIds = readLongs(payload);
+        return new Response(correlationId, outcome, transactionId, riskScore, status, matchedRuleIds,
+                degradedRuleIds, 0L, null);
+    }
+
+    private static ByteBuffer readFrame(DataInputStream in, int maxFrameBytes) throws IOException {
+        int first = in.read();
+        if (first < 0) {
+            return null;
+        }
+        int length = (first << 24) | (in.readUnsignedByte() << 16) | (in.readUnsignedByte() << 8) | in.readUnsignedByte();
+        if (length < 0 || length > maxFrameBytes) {
+            throw new IOException("Frame of " + length + " bytes exceeds the limit of " + maxFrameBytes);
+        }
+        byte[] payload = new byte[length];
+        try {
+            in.readFully(payload);
+        } catch (EOFException e) {
+            throw new EOFException("Stream ended inside a frame");
+        }
+        return ByteBuffer.wrap(payload);
+    }
+
+    private static void checkVersion(byte version) {
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported frame version " + version);
+        }
+    }
+
+    private static String readString8(ByteBuffer payload) {
+        byte[] bytes = new byte[Byte.toUnsignedInt(payload.get())];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString8(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFF) {
+            throw new IllegalArgumentException("String of " + bytes.length + " bytes does not fit a frame field");
+        }
+        out.writeByte(bytes.length);
+        out.write(bytes);
+    }
+
+    private static List<Long> readLongs(ByteBuffer payload) {
+        int count = Short.toUnsignedInt(payload.getShort());
+        List<Long> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(payload.getLong());
+        }
+        return values;
+    }
+
+    private interface PayloadWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] frame(PayloadWriter writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0);
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] frame = bytes.toByteArray();
+        ByteBuffer.wrap(frame).putInt(0, frame.length - Integer.BYTES);
+        return frame;
+    }
+}
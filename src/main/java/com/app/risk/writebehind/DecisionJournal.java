@@ -0,0 +1,219 @@
+package com.app.risk.writebehind;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+
+/**
+ * Local append-only journal of acknowledged decisions.
+ * Each record is {@code [int length][int crc32][byte type][json]}: a DECISION record holds one
+ * {@link ScoredDecision}, a PERSISTED record lists decision ids that are now in the database and a
+ * DEAD_LETTERED record lists decision ids the database refused, which are not replayed either.
+ * {@link #append} returns only once the record has been forced to disk; concurrent appenders share
+ * one force (group commit). When nothing is outstanding and the file has grown past
+ * {@code compactBytes} it is truncated. A torn record at the tail, left by a crash mid-write, is
+ * dropped on recovery; it was never acknowledged.
+ */
+@Slf4j
+public final class DecisionJournal implements Closeable {
+
+    private static final byte DECISION = 1;
+    private static final byte PERSISTED = 2;
+    private static final byte DEAD_LETTERED = 3;
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final TypeReference<List<String>> IDS = new TypeReference<>() {};
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final long compactBytes;
+    private final Object writeLock = new Object();
+    private final Object forceLock = new Object();
+    private final Set<String> outstanding = new HashSet<>();
+
+    private FileChannel channel;
+    private long writtenSeq;
+    private volatile long forcedSeq;
+
+    public DecisionJournal(Path path, ObjectMapper objectMapper, long compactBytes) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        this.compactBytes = compactBytes;
+    }
+
+    /**
+     * Open the journal and return the decisions it holds that were never marked persisted, oldest first
+     */
+    public List<ScoredDecision> recover() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Map<String, ScoredDecision> unpersisted = new LinkedHashMap<>();
+        long validLength = 0L;
+        if (Files.exists(path)) {
+            try (FileChannel reader = FileChannel.open(path, StandardOpenOption.READ)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                while (true) {
+                    header.clear();
+                    if (!readFully(reader, header)) {
+                        break;
+                    }
+                    header.flip();
+                    int length = header.getInt();
+                    int crc = header.getInt();
+                    if (length <= 0 || length > reader.size() - reader.position()) {
+                        break;
+                    }
+                    ByteBuffer body = ByteBuffer.allocate(length);
+                    if (!readFully(reader, body) || checksum(body.array()) != crc) {
+                        break;
+                    }
+                    apply(body.array(), unpersisted);
+                    validLength = reader.position();
+                }
+            }
+        }
+
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (channel.size() > validLength) {
+            log.warn("Dropping {} bytes of incomplete journal tail in {}", channel.size() - validLength, path);
+            channel.truncate(validLength);
+            channel.force(true);
+        }
+        channel.position(validLength);
+        synchronized (writeLock) {
+            outstanding.addAll(unpersisted.keySet());
+        }
+        return new ArrayList<>(unpersisted.values());
+    }
+
+    /**
+     * Durably record a decision; once this returns it survives a crash
+     */
+    public void append(ScoredDecision decision) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(decision);
+        long seq;
+        synchronized (writeLock) {
+            write(DECISION, json);
+            outstanding.add(decision.decisionId());
+            seq = ++writtenSeq;
+        }
+        force(seq);
+    }
+
+    /**
+     * Record that these decisions are now stored, compacting the file when nothing is outstanding
+     */
+    public void markPersisted(Collection<String> decisionIds) throws IOException {
+        resolve(PERSISTED, decisionIds);
+    }
+
+    /**
+     * Record that these decisions will never be stored, so a restart does not replay them
+     */
+    public void markDeadLettered(Collection<String> decisionIds) throws IOException {
+        resolve(DEAD_LETTERED, decisionIds);
+    }
+
+    private void resolve(byte type, Collection<String> decisionIds) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(decisionIds);
+        long seq;
+        synchronized (writeLock) {
+            write(type, json);
+            outstanding.removeAll(decisionIds);
+            if (outstanding.isEmpty() && channel.size() >= compactBytes) {
+                channel.truncate(0L);
+                channel.position(0L);
+            }
+            seq = ++writtenSeq;
+        }
+        force(seq);
+    }
+
+    public int outstanding() {
+        synchronized (writeLock) {
+            return outstanding.size();
+        }
+    }
+
+    public long sizeBytes() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void write(byte type, byte[] json) throws IOException {
+        byte[] body = new byte[json.length + 1];
+        body[0] = type;
+        System.arraycopy(json, 0, body, 1, json.length);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + body.length);
+        buffer.putInt(body.length).putInt(checksum(body)).put(body).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void force(long seq) throws IOException {
+        if (forcedSeq >= seq) {
+            return;
+        }
+        synchronized (forceLock) {
+            if (forcedSeq >= seq) {
+                return;
+            }
+            long target;
+            synchronized (writeLock) {
+                target = writtenSeq;
+            }
+            channel.force(false);
+            forcedSeq = target;
+        }
+    }
+
+    private void apply(byte[] body, Map<String, ScoredDecision> unpersisted) throws IOException {
+        byte type = body[0];
+        if (type == DECISION) {
+            ScoredDecision decision = objectMapper.readValue(body, 1, body.length - 1, ScoredDecision.class);
+            unpersisted.put(decision.decisionId(), decision);
+        } else if (type == PERSISTED || type == DEAD_LETTERED) {
+            List<String> ids = objectMapper.readValue(body, 1, body.length - 1, IDS);
+            ids.forEach(unpersisted::remove);
+        }
+    }
+
+    private static boolean readFully(FileChannel reader, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (reader.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int checksum(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,108 @@
+package com.app.risk.writebehind;
+
+import com.app.risk.engine.FeatureLoader;
+import com.app.risk.service.GuardedFeatureLoader;
+import com.app.risk.engine.ScoringInput;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feature loader that adds acknowledged but not yet stored decisions to the repository's history,
+ * so frequency and velocity rules see write-behind transactions immediately.
+ * A decision is removed only after its row has committed; a read in between may count it twice,
+ * which errs on the side of flagging.
+ */
+@Component
+@Primary
+public class PendingDecisions implements FeatureLoader {
+
+    private final GuardedFeatureLoader repository;
+    private final Map<Long, List<ScoredDecision>> byCustomer = new ConcurrentHashMap<>();
+
+    public PendingDecisions(GuardedFeatureLoader repository) {
+        this.repository = repository;
+    }
+
+    public void add(ScoredDecision decision) {
+        byCustomer.compute(decision.customerId(), (id, decisions) -> {
+            List<ScoredDecision> updated = decisions == null ? new ArrayList<>(2) : decisions;
+            updated.add(decision);
+            return updated;
+        });
+    }
+
+    public void remove(ScoredDecision decision) {
+        byCustomer.computeIfPresent(decision.customerId(), (id, decisions) -> {
+            decisions.removeIf(pending -> pending.decisionId().equals(decision.decisionId()));
+            return decisions.isEmpty() ? null : decisions;
+        });
+    }
+
+    /**
+     * The pending decision of {@code customerId} acknowledged under {@code idempotencyKey}, or null
+     */
+    public ScoredDecision find(long customerId, String idempotencyKey) {
+        for (ScoredDecision decision : snapshot(customerId)) {
+            if (idempotencyKey.equals(decision.idempotencyKey())) {
+                return decision;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long countSince(long customerId, LocalDateTime cutoffTime) {
+        long count = repository.countSince(customerId, cutoffTime);
+        for (ScoredDecision decision : snapshot(customerId)) {
+            if (decision.timestamp().isAfter(cutoffTime)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long sumSince(long customerId, LocalDateTime cutoffTime) {
+        long sum = repository.sumSince(customerId, cutoffTime);
+        for (ScoredDecision decision : snapshot(customerId)) {
+            if (decision.timestamp().isAfter(cutoffTime)) {
+                sum += ScoringInput.toMinorUnits(decision.amount());
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public LocalDateTime lastTransactionTime(long customerId) {
+        LocalDateTime last = repository.lastTransactionTime(customerId);
+        for (ScoredDecision decision : snapshot(customerId)) {
+            if (last == null || decision.timestamp().isAfter(last)) {
+                last = decision.timestamp();
+            }
+        }
+        return last;
+    }
+
+    public int size() {
+        int size = 0;
+        for (List<ScoredDecision> decisions : byCustomer.values()) {
+            size += decisions.size();
+        }
+        return size;
+    }
+
+    private List<ScoredDecision> snapshot(long customerId) {
+        List<ScoredDecision> copy = new ArrayList<>(0);
+        byCustomer.computeIfPresent(customerId, (id, decisions) -> {
+            copy.addAll(decisions);
+            return decisions;
+        });
+        return copy;
+    }
+}
@@ -0,0 +1,31 @@
+package com.app.risk.writebehind;
+
+import com.app.risk.dto.MatchedRule;
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.entity.TransactionStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A scored transaction that has been acknowledged to the caller but not yet stored.
+ * This is what the {@link DecisionJournal} records, so it carries everything needed to write the
+ * row and its audit records after a restart. Entries journaled before {@code idempotencyKey} existed
+ * read back with it null.
+ */
+public record ScoredDecision(
+        String decisionId,
+        Long customerId,
+        BigDecimal amount,
+        String currency,
+        MerchantCategory merchantCategory,
+        LocalDateTime timestamp,
+        int riskScore,
+        TransactionStatus status,
+        List<MatchedRule> matchedRules,
+        List<Long> degradedRuleIds,
+        int activeRuleCount,
+        String idempotencyKey
+) {
+}
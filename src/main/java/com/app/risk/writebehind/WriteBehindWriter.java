@@ -0,0 +1,447 @@
+package com.app.risk.writebehind;
+
+import com.app.risk.dto.TransactionDecision;
+import com.app.risk.dto.TransactionInput;
+import com.app.risk.exception.BadRequestException;
+import com.app.risk.exception.OverloadedException;
+import com.app.risk.service.CustomerLocks;
+import com.app.risk.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind path for {@code scoreTransaction}: the decision is returned as soon as it is scored
+ * and forced to the {@link DecisionJournal}; a single writer thread stores decisions in batches
+ * through {@link TransactionService#persistDecisions} and then marks them persisted.
+ * <p>
+ * Guarantee: an acknowledged decision is on local disk and will be stored, after a restart if need
+ * be. On start the journal is replayed, skipping decisions whose {@code decisionId} is already in
+ * the database. At most {@code max-pending} decisions may be unstored; beyond that callers get an
+ * OVERLOADED error rather than growing the backlog.
+ * <p>
+ * A batch the database refuses for a reason other than being unavailable is split and stored one
+ * decision at a time. A decision that still fails on its own, e.g. because its customer was deleted,
+ * is appended to the dead-letter file and dropped from the journal, so it cannot hold up the rest.
+ */
+@Component
+@Slf4j
+public class WriteBehindWriter implements SmartLifecycle {
+
+    private static final long POLL_MILLIS = 200L;
+
+    private final TransactionService transactionService;
+    private final PendingDecisions pendingDecisions;
+    private final CustomerLocks customerLocks;
+    private final boolean enabled;
+    private final int maxPending;
+    private final int batchSize;
+    private final long retryDelayMillis;
+    private final long retryAfterMillis;
+    private final long stopTimeoutMillis;
+    private final DecisionJournal journal;
+    private final AtomicBoolean journalOpen = new AtomicBoolean();
+    private final Path deadLetterPath;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<ScoredDecision> queue = new LinkedBlockingQueue<>();
+
+    private final LongAdder acknowledged = new LongAdder();
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final LongAdder failedBatches = new LongAdder();
+
+    private Semaphore capacity;
+    private Thread writer;
+    private volatile boolean running;
+
+    public WriteBehindWriter(TransactionService transactionService,
+                             PendingDecisions pendingDecisions,
+                             CustomerLocks customerLocks,
+                             ObjectMapper objectMapper,
+                             MeterRegistry registry,
+                             @Value("${app.write-behind.enabled:false}") boolean enabled,
+                             @Value("${app.write-behind.journal-path:data/decision-journal.log}") Path journalPath,
+                             @Value("${app.write-behind.dead-letter-path:data/decision-dead-letters.log}") Path deadLetterPath,
+                             @Value("${app.write-behind.compact-size:16MB}") DataSize compactSize,
+                             @Value("${app.write-behind.max-pending:10000}") int maxPending,
+                             @Value("${app.write-behind.batch-size:100}") int batchSize,
+                             @Value("${app.write-behind.retry-delay:1s}") Duration retryDelay,
+                             @Value("${app.write-behind.retry-after:1s}") Duration retryAfter,
+                             @Value("${app.write-behind.stop-timeout:30s}") Duration stopTimeout) {
+        this.transactionService = transactionService;
+        this.pendingDecisions = pendingDecisions;
+        this.customerLocks = customerLocks;
+        this.enabled = enabled;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        this.retryDelayMillis = retryDelay.toMillis();
+        this.retryAfterMillis = retryAfter.toMillis();
+        this.stopTimeoutMillis = stopTimeout.toMillis();
+        this.journal = new DecisionJournal(journalPath, objectMapper, compactSize.toBytes());
+        this.deadLetterPath = deadLetterPath;
+        this.objectMapper = objectMapper;
+
+        Gauge.builder("risk.writebehind.pending", queue, BlockingQueue::size)
+                .description("Acknowledged decisions waiting to be stored")
+                .register(registry);
+        Gauge.builder("risk.writebehind.journal.bytes", this, WriteBehindWriter::journalBytes)
+                .description("Size of the local decision journal")
+                .baseUnit("bytes")
+                .register(registry);
+        decisionCounter(registry, acknowledged, "acknowledged");
+        decisionCounter(registry, persisted, "persisted");
+        decisionCounter(registry, rejected, "rejected");
+        decisionCounter(registry, deadLettered, "dead-lettered");
+        FunctionCounter.builder("risk.writebehind.batch.failures", failedBatches, LongAdder::sum)
+                .description("Write-behind batches that failed and were retried")
+                .register(registry);
+    }
+
+    private static void decisionCounter(MeterRegistry registry, LongAdder adder, String result) {
+        FunctionCounter.builder("risk.writebehind.decisions", adder, LongAdder::sum)
+                .description("Write-behind decisions by outcome")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Score, journal and acknowledge; the transaction row is written later. A submission whose
+     * idempotency key is pending or already stored gets that decision back and is not scored again.
+     */
+    public TransactionDecision submit(TransactionInput input) {
+        if (!enabled) {
+            throw new BadRequestException("Write-behind scoring is disabled");
+        }
+        if (!running) {
+            rejected.increment();
+            throw new OverloadedException("Write-behind scoring is not accepting work", retryAfterMillis);
+        }
+
+        // Until it is pending, a concurrent decision for this customer would neither count it nor see its key
+        return customerLocks.withLock(input.getCustomerId(), () -> {
+            TransactionDecision original = original(input);
+            if (original != null) {
+                return original;
+            }
+            if (!capacity.tryAcquire()) {
+                rejected.increment();
+                throw new OverloadedException("Write-behind backlog is full", retryAfterMillis);
+            }
+            boolean journaled = false;
+            try {
+                ScoredDecision scored = transactionService.scoreDecision(input);
+                journal(scored);
+                pendingDecisions.add(scored);
+                journaled = true;
+                queue.add(scored);
+                acknowledged.increment();
+                return toDecision(scored);
+            } finally {
+                if (!journaled) {
+                    capacity.release();
+                }
+            }
+        });
+    }
+
+    private TransactionDecision original(TransactionInput input) {
+        if (input.getIdempotencyKey() == null) {
+            return null;
+        }
+        ScoredDecision pending = pendingDecisions.find(input.getCustomerId(), input.getIdempotencyKey());
+        if (pending == null) {
+            return transactionService.findDecision(input);
+        }
+        if (pending.amount().compareTo(input.getAmount()) != 0
+                || !pending.currency().equals(input.getCurrency())
+                || !pending.merchantCategory().name().equals(input.getMerchantCategory())) {
+            throw new BadRequestException("Idempotency key was already used for a different transaction");
+        }
+        log.info("Decision {} is pending under this idempotency key", pending.decisionId());
+        return toDecision(pending);
+    }
+
+    private void journal(ScoredDecision decision) {
+        try {
+            journal.append(decision);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal decision", e);
+        }
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    private double journalBytes() {
+        if (!running) {
+            return 0;
+        }
+        try {
+            return journal.sizeBytes();
+        } catch (IOException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Replay the journal before the web server starts taking requests, then start the writer
+     */
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            List<ScoredDecision> unpersisted = journal.recover();
+            journalOpen.set(true);
+            List<ScoredDecision> replay = new ArrayList<>(unpersisted.size());
+            if (!unpersisted.isEmpty()) {
+                Set<String> stored = transactionService.findPersistedDecisionIds(
+                        unpersisted.stream().map(ScoredDecision::decisionId).toList());
+                if (!stored.isEmpty()) {
+                    journal.markPersisted(stored);
+                }
+                for (ScoredDecision decision : unpersisted) {
+                    if (!stored.contains(decision.decisionId())) {
+                        replay.add(decision);
+                    }
+                }
+                log.info("Recovered {} journaled decisions, {} already stored, {} to replay",
+                        unpersisted.size(), stored.size(), replay.size());
+            }
+            capacity = new Semaphore(maxPending - replay.size());
+            for (ScoredDecision decision : replay) {
+                pendingDecisions.add(decision);
+                queue.add(decision);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover write-behind journal", e);
+        }
+
+        running = true;
+        writer = new Thread(this::drain, "risk-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stop acknowledging, then give the writer {@code stop-timeout} to store what is queued; anything
+     * left stays in the journal for the next start. A writer still inside a flush by then is left to
+     * finish it and closes the journal itself once it exits, so the rows it commits are still marked.
+     */
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(stopTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            // Interrupting it would close the journal's channel under a batch that may already be committed
+            log.warn("Write-behind writer is still storing after {}ms; it will close the journal when it exits",
+                    stopTimeoutMillis);
+        } else {
+            closeJournal();
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Stopped with {} decisions not yet stored; they will be replayed from the journal", queue.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Below the web server's phase, so recovery finishes before requests arrive
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        try {
+            drainQueue();
+        } finally {
+            if (!running) {
+                closeJournal();
+            }
+        }
+    }
+
+    private void drainQueue() {
+        List<ScoredDecision> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    ScoredDecision first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                }
+                queue.drainTo(batch, batchSize - batch.size());
+                if (!flush(batch)) {
+                    if (!running) {
+                        return;
+                    }
+                    Thread.sleep(retryDelayMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void closeJournal() {
+        if (!journalOpen.compareAndSet(true, false)) {
+            return;
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.warn("Could not close write-behind journal", e);
+        }
+    }
+
+    /**
+     * Store one batch, removing what was stored or dead-lettered from it; returns false when the
+     * database is unavailable and what is left should be retried, since every decision was acknowledged
+     */
+    boolean flush(List<ScoredDecision> batch) {
+        try {
+            transactionService.persistDecisions(batch);
+            stored(batch);
+            batch.clear();
+            return true;
+        } catch (RuntimeException e) {
+            failedBatches.increment();
+            if (isUnavailable(e)) {
+                log.error("Could not store {} write-behind decisions, retrying in {}ms", batch.size(), retryDelayMillis, e);
+                return false;
+            }
+            log.warn("Database refused a batch of {} write-behind decisions, storing them one at a time", batch.size(), e);
+        }
+
+        Iterator<ScoredDecision> decisions = batch.iterator();
+        while (decisions.hasNext()) {
+            ScoredDecision decision = decisions.next();
+            List<ScoredDecision> single = List.of(decision);
+            try {
+                transactionService.persistDecisions(single);
+                stored(single);
+            } catch (RuntimeException e) {
+                if (isUnavailable(e) || !deadLetter(decision, e)) {
+                    return false;
+                }
+            }
+            decisions.remove();
+        }
+        return true;
+    }
+
+    private void stored(List<ScoredDecision> decisions) {
+        try {
+            journal.markPersisted(decisions.stream().map(ScoredDecision::decisionId).toList());
+        } catch (IOException e) {
+            // Stored but not marked: a replay skips them by decisionId
+            log.warn("Could not mark {} decisions persisted in the journal", decisions.size(), e);
+        }
+        for (ScoredDecision decision : decisions) {
+            pendingDecisions.remove(decision);
+        }
+        capacity.release(decisions.size());
+        persisted.add(decisions.size());
+    }
+
+    /**
+     * Move a decision the database refuses out of the backlog; false if it could not be written
+     * to the dead-letter file, in which case it stays queued
+     */
+    private boolean deadLetter(ScoredDecision decision, RuntimeException cause) {
+        try {
+            Path parent = deadLetterPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            byte[] line = objectMapper.writeValueAsBytes(new DeadLetter(String.valueOf(cause.getMessage()), decision));
+            byte[] record = new byte[line.length + 1];
+            System.arraycopy(line, 0, record, 0, line.length);
+            record[line.length] = '\n';
+            Files.write(deadLetterPath, record, StandardOpenOption.CREATE, StandardOpenOption.APPEND,
+                    StandardOpenOption.SYNC);
+            journal.markDeadLettered(List.of(decision.decisionId()));
+        } catch (IOException e) {
+            log.error("Could not dead-letter decision {}", decision.decisionId(), e);
+            return false;
+        }
+        log.error("Dead-lettered write-behind decision {} of customer {} to {}", decision.decisionId(),
+                decision.customerId(), deadLetterPath, cause);
+        pendingDecisions.remove(decision);
+        capacity.release();
+        deadLettered.increment();
+        return true;
+    }
+
+    /**
+     * Failures where the database could not be reached, as opposed to refusing these rows
+     */
+    private static boolean isUnavailable(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private static TransactionDecision toDecision(ScoredDecision decision) {
+        return TransactionDecision.builder()
+                .decisionId(decision.decisionId())
+                .customerId(decision.customerId())
+                .amount(decision.amount())
+                .currency(decision.currency())
+                .timestamp(decision.timestamp())
+                .merchantCategory(decision.merchantCategory().name())
+                .riskScore(decision.riskScore())
+                .status(decision.status().name())
+                .matchedRules(decision.matchedRules())
+                .degradedRuleIds(decision.degradedRuleIds() == null ? List.of() : decision.degradedRuleIds())
+                .build();
+    }
+
+    private record DeadLetter(String error, ScoredDecision decision) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.app.risk.reactive;
+
+import com.app.risk.engine.FeatureUnavailableException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PrefetchedHistory Unit Tests")
+class PrefetchedHistoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 19, 12, 0);
+
+    private final PrefetchedHistory history = new PrefetchedHistory(1L, NOW.minusMinutes(60), List.of(
+            new HistoryEntry(NOW.minusMinutes(50), new BigDecimal("10.00")),
+            new HistoryEntry(NOW.minusMinutes(20), new BigDecimal("2.50")),
+            new HistoryEntry(NOW.minusMinutes(5), new BigDecimal("100.00"))));
+
+    @Test
+    @DisplayName("Should count and sum every window inside the prefetched horizon from memory")
+    void testWindowsInsideHorizon() {
+        assertEquals(3, history.countSince(1L, NOW.minusMinutes(60)));
+        assertEquals(2, history.countSince(1L, NOW.minusMinutes(30)));
+        assertEquals(10250, history.sumSince(1L, NOW.minusMinutes(30)));
+        assertEquals(0, history.countSince(1L, NOW));
+        assertEquals(NOW.minusMinutes(5), history.lastTransactionTime(1L));
+    }
+
+    @Test
+    @DisplayName("Should report windows reaching past the horizon as unavailable so rules fall back")
+    void testWindowPastHorizonUnavailable() {
+        assertThrows(FeatureUnavailableException.class, () -> history.countSince(1L, NOW.minusMinutes(61)));
+        assertThrows(FeatureUnavailableException.class, () -> history.sumSince(1L, NOW.minusDays(1)));
+    }
+
+    @Test
+    @DisplayName("Should not guess the last transaction time when none was prefetched")
+    void testNoLastTransactionInsideHorizon() {
+        // Arrange
+        PrefetchedHistory empty = new PrefetchedHistory(1L, NOW.minusMinutes(60), List.of());
+
+        // Act & Assert
+        assertEquals(0, empty.countSince(1L, NOW.minusMinutes(60)));
+        assertThrows(FeatureUnavailableException.class, () -> empty.lastTransactionTime(1L));
+    }
+
+    @Test
+    @DisplayName("Should refuse lookups for a customer it was not prefetched for")
+    void testOtherCustomerRejected() {
+        assertThrows(IllegalArgumentException.class, () -> history.countSince(2L, NOW.minusMinutes(10)));
+    }
+}
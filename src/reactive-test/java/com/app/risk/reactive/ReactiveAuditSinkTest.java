@@ -0,0 +1,117 @@
+package com.app.risk.reactive;
+
+import com.app.risk.audit.AuditLogService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveAuditSink Unit Tests")
+class ReactiveAuditSinkTest {
+
+    @Mock
+    private AuditLogService auditLogService;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ReactiveAuditSink sink;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (sink != null) {
+            sink.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should write records on the writer thread in emission order")
+    void testWritesInOrderOffCallerThread() throws InterruptedException {
+        // Arrange
+        sink = new ReactiveAuditSink(auditLogService, registry, 100, Duration.ofSeconds(5));
+        List<String> threads = new CopyOnWriteArrayList<>();
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        CountDownLatch written = new CountDownLatch(3);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            int n = i;
+            sink.emit(audit -> {
+                assertSame(auditLogService, audit);
+                threads.add(Thread.currentThread().getName());
+                order.add(n);
+                written.countDown();
+            });
+        }
+
+        // Assert
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 1, 2), order);
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("audit-writer")));
+    }
+
+    @Test
+    @DisplayName("Should drop and count records beyond the buffer instead of blocking the caller")
+    void testDropsBeyondBuffer() throws InterruptedException {
+        // Arrange - the writer is held on the first record, and two more fit the buffer
+        sink = new ReactiveAuditSink(auditLogService, registry, 2, Duration.ofSeconds(5));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        sink.emit(audit -> {
+            writing.countDown();
+            awaitQuietly(release);
+            order.add(0);
+        });
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        // Act
+        for (int i = 1; i <= 4; i++) {
+            int n = i;
+            sink.emit(audit -> order.add(n));
+        }
+        release.countDown();
+        sink.destroy();
+        sink = null;
+
+        // Assert
+        assertEquals(List.of(0, 1, 2), order);
+        assertEquals(2.0, registry.get("risk.audit.records").tag("result", "dropped").functionCounter().count());
+        assertEquals(3.0, registry.get("risk.audit.records").tag("result", "written").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should keep writing after a record fails")
+    void testFailedRecordDoesNotStopWriter() throws InterruptedException {
+        // Arrange
+        sink = new ReactiveAuditSink(auditLogService, registry, 100, Duration.ofSeconds(5));
+        CountDownLatch written = new CountDownLatch(1);
+
+        // Act
+        sink.emit(audit -> {
+            throw new IllegalStateException("serializer broke");
+        });
+        sink.emit(audit -> written.countDown());
+
+        // Assert
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
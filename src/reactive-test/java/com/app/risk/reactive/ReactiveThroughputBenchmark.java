@@ -0,0 +1,264 @@
+package com.app.risk.reactive;
+
+import com.app.risk.SystemApplication;
+import com.app.risk.entity.Customer;
+import com.app.risk.repository.CustomerRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the servlet and reactive modes on {@code submitTransaction} under the same load:
+ * {@value #CONNECTIONS} keep-alive connections, each with one request in flight at a time.
+ * Reports transactions per CPU-second of the server, which is throughput per core, and the live
+ * threads and heap each open connection adds. Both applications run in this JVM, one after the
+ * other, on one in-memory H2 database the servlet application creates and seeds. Server CPU is the
+ * process's less the client threads', which do all the client's work on plain sockets; heap is
+ * measured after a GC with the connections open, so it includes the client's small share.
+ * Excluded from the default build; run with
+ * {@code mvn -Preactive test -Dsurefire.excludedGroups= -Dtest=ReactiveThroughputBenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Servlet and reactive throughput benchmark")
+class ReactiveThroughputBenchmark {
+
+    private static final int CONNECTIONS = 64;
+    private static final int WARMUP = 2000;
+    private static final int TRANSACTIONS = 20000;
+    private static final String DATABASE = "reactive-benchmark";
+    private static final String SUBMIT = "mutation($input: TransactionInput!) { submitTransaction(input: $input) "
+            + "{ id riskScore status matchedRules { ruleId } degradedRuleIds } }";
+
+    @Test
+    void compareThroughputPerCoreAndMemoryPerConnection() throws Exception {
+        try (ConfigurableApplicationContext servlet = new SpringApplicationBuilder(SystemApplication.class).run(
+                "--spring.profiles.active=test",
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + DATABASE + ";DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.properties.hibernate.globally_quoted_identifiers=true",
+                "--spring.jpa.properties.hibernate.globally_quoted_identifiers_skip_column_definitions=true",
+                "--app.admission.enabled=false",
+                "--logging.level.com.app.risk=WARN")) {
+            List<Long> customerIds = servlet.getBean(CustomerRepository.class).findAll().stream()
+                    .map(Customer::getId)
+                    .toList();
+            Result servletResult = run(port(servlet), customerIds);
+
+            try (ConfigurableApplicationContext reactive = ReactiveRiskApplication.application().run(
+                    "--spring.profiles.active=test",
+                    "--server.port=0",
+                    "--spring.r2dbc.url=r2dbc:h2:mem:///" + DATABASE + "?options=DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+                    "--spring.r2dbc.username=sa",
+                    "--spring.r2dbc.password=",
+                    "--logging.level.com.app.risk=WARN")) {
+                Result reactiveResult = run(port(reactive), customerIds);
+
+                assertEquals(TRANSACTIONS, servletResult.scored);
+                assertEquals(TRANSACTIONS, reactiveResult.scored);
+                System.out.printf("servlet:  %8.0f tx/cpu-s %8.0f tx/s %6.1f threads/conn %8.1f KiB/conn%n",
+                        servletResult.txPerCpuSecond, servletResult.txPerSecond, servletResult.threadsPerConnection,
+                        servletResult.heapKibPerConnection);
+                System.out.printf("reactive: %8.0f tx/cpu-s %8.0f tx/s %6.1f threads/conn %8.1f KiB/conn%n",
+                        reactiveResult.txPerCpuSecond, reactiveResult.txPerSecond, reactiveResult.threadsPerConnection,
+                        reactiveResult.heapKibPerConnection);
+                System.out.printf("reactive/servlet: %.2f throughput per core, %.2f heap per connection%n",
+                        reactiveResult.txPerCpuSecond / servletResult.txPerCpuSecond,
+                        reactiveResult.heapKibPerConnection / servletResult.heapKibPerConnection);
+            }
+        }
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    private Result run(int port, List<Long> customerIds) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        int threadsBefore = threads.getThreadCount();
+
+        List<KeepAliveClient> clients = new ArrayList<>(CONNECTIONS);
+        for (int i = 0; i < CONNECTIONS; i++) {
+            clients.add(new KeepAliveClient(port));
+        }
+        try {
+            load(clients, customerIds, WARMUP, new LongAdder());
+
+            LongAdder clientCpu = new LongAdder();
+            long processBefore = os.getProcessCpuTime();
+            long start = System.nanoTime();
+            int scored = load(clients, customerIds, TRANSACTIONS, clientCpu);
+            long elapsed = System.nanoTime() - start;
+            long server = os.getProcessCpuTime() - processBefore - clientCpu.sum();
+
+            // Every connection is still open and idle here
+            System.gc();
+            long heapAfter = memory.getHeapMemoryUsage().getUsed();
+            int threadsAfter = threads.getThreadCount();
+            return new Result(scored,
+                    TRANSACTIONS / (server / 1e9),
+                    TRANSACTIONS / (elapsed / 1e9),
+                    // The client threads have exited; what remains was added by the server
+                    (double) (threadsAfter - threadsBefore) / CONNECTIONS,
+                    (heapAfter - heapBefore) / 1024.0 / CONNECTIONS);
+        } finally {
+            for (KeepAliveClient client : clients) {
+                client.close();
+            }
+        }
+    }
+
+    /**
+     * Send {@code transactions} submissions spread over the clients, one thread per client, and
+     * count the scored ones
+     */
+    private int load(List<KeepAliveClient> clients, List<Long> customerIds, int transactions, LongAdder clientCpu)
+            throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger scored = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(clients.size());
+        List<Throwable> failures = new ArrayList<>();
+        for (KeepAliveClient client : clients) {
+            Thread thread = new Thread(() -> {
+                try {
+                    for (int i = next.getAndIncrement(); i < transactions; i = next.getAndIncrement()) {
+                        String response = client.post("/graphql", body(i, customerIds));
+                        if (response.contains("\"riskScore\"") && !response.contains("\"errors\"")) {
+                            scored.incrementAndGet();
+                        }
+                    }
+                } catch (IOException | RuntimeException e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                } finally {
+                    clientCpu.add(ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime());
+                    done.countDown();
+                }
+            });
+            thread.start();
+        }
+        done.await();
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Load failed", failures.get(0));
+        }
+        return scored.get();
+    }
+
+    private static String body(int i, List<Long> customerIds) {
+        long customerId = customerIds.get(i % customerIds.size());
+        String amount = String.valueOf(0.5 + (i % 40) * 2.5);
+        return "{\"query\":\"" + SUBMIT + "\",\"variables\":{\"input\":{\"customerId\":" + customerId
+                + ",\"amount\":" + amount + ",\"currency\":\"USD\",\"merchantCategory\":\"RETAIL\"}}}";
+    }
+
+    /**
+     * One HTTP/1.1 keep-alive connection, so all of the client's work runs on the calling thread
+     */
+    private static final class KeepAliveClient implements AutoCloseable {
+
+        private final int port;
+        private final Socket socket;
+        private final OutputStream out;
+        private final InputStream in;
+
+        KeepAliveClient(int port) throws IOException {
+            this.port = port;
+            this.socket = new Socket("localhost", port);
+            this.socket.setTcpNoDelay(true);
+            this.out = socket.getOutputStream();
+            this.in = new BufferedInputStream(socket.getInputStream());
+        }
+
+        String post(String path, String json) throws IOException {
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            String head = "POST " + path + " HTTP/1.1\r\nHost: localhost:" + port
+                    + "\r\nContent-Type: application/json\r\nAccept: application/json\r\nContent-Length: "
+                    + body.length + "\r\n\r\n";
+            out.write(head.getBytes(StandardCharsets.US_ASCII));
+            out.write(body);
+            out.flush();
+            return readResponse();
+        }
+
+        private String readResponse() throws IOException {
+            int contentLength = -1;
+            boolean chunked = false;
+            String status = readLine();
+            for (String line = readLine(); !line.isEmpty(); line = readLine()) {
+                String header = line.toLowerCase();
+                if (header.startsWith("content-length:")) {
+                    contentLength = Integer.parseInt(header.substring(15).trim());
+                } else if (header.startsWith("transfer-encoding:") && header.contains("chunked")) {
+                    chunked = true;
+                }
+            }
+            if (!status.contains(" 200 ")) {
+                throw new IOException("Unexpected response: " + status);
+            }
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            if (chunked) {
+                for (int size = Integer.parseInt(readLine().trim(), 16); size > 0;
+                     size = Integer.parseInt(readLine().trim(), 16)) {
+                    body.write(in.readNBytes(size));
+                    readLine();
+                }
+                readLine();
+            } else {
+                body.write(in.readNBytes(contentLength));
+            }
+            return body.toString(StandardCharsets.UTF_8);
+        }
+
+        private String readLine() throws IOException {
+            StringBuilder line = new StringBuilder();
+            for (int b = in.read(); b != '\n'; b = in.read()) {
+                if (b == -1) {
+                    throw new IOException("Connection closed");
+                }
+                if (b != '\r') {
+                    line.append((char) b);
+                }
+            }
+            return line.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    private record Result(int scored, double txPerCpuSecond, double txPerSecond, double threadsPerConnection,
+                          double heapKibPerConnection) {
+    }
+}
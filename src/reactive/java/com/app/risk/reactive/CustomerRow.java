@@ -0,0 +1,33 @@
+package com.app.risk.reactive;
+
+import com.app.risk.engine.CustomerProfile;
+import com.app.risk.engine.RiskProfile;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of the {@code customers} table; customers are never written in this mode
+ */
+@Table("customers")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerRow {
+
+    @Id
+    private Long id;
+    private String name;
+    private String email;
+    private RiskProfile riskProfile;
+    private String country;
+
+    public CustomerProfile toProfile() {
+        return CustomerProfile.builder()
+                .id(id)
+                .riskProfile(riskProfile)
+                .build();
+    }
+}
@@ -0,0 +1,10 @@
+package com.app.risk.reactive;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Time and amount of one of a customer's earlier transactions, as read for {@link PrefetchedHistory}
+ */
+public record HistoryEntry(LocalDateTime timestamp, BigDecimal amount) {
+}
@@ -0,0 +1,38 @@
+package com.app.risk.reactive;
+
+import com.app.risk.engine.FeatureLoader;
+import com.app.risk.engine.FeatureUnavailableException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * The engine's default loader in reactive mode. A lookup here would block the event loop, so every
+ * feature is unavailable and rules take their fallback; scoring reads history through a
+ * {@link PrefetchedHistory} instead.
+ */
+@Component
+@Profile(ReactiveRiskApplication.PROFILE)
+public class PrefetchOnlyFeatureLoader implements FeatureLoader {
+
+    @Override
+    public long countSince(long customerId, LocalDateTime cutoffTime) {
+        throw unavailable(customerId);
+    }
+
+    @Override
+    public long sumSince(long customerId, LocalDateTime cutoffTime) {
+        throw unavailable(customerId);
+    }
+
+    @Override
+    public LocalDateTime lastTransactionTime(long customerId) {
+        throw unavailable(customerId);
+    }
+
+    private static FeatureUnavailableException unavailable(long customerId) {
+        return new FeatureUnavailableException("History of customer " + customerId
+                + " was not prefetched; reactive mode does not load it on demand", null);
+    }
+}
@@ -0,0 +1,84 @@
+package com.app.risk.reactive;
+
+import com.app.risk.engine.FeatureLoader;
+import com.app.risk.engine.FeatureUnavailableException;
+import com.app.risk.engine.ScoringInput;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One customer's transactions since a horizon, read without blocking before scoring and then
+ * answered from memory, so rules never issue a query on the event loop. Windows reaching past the
+ * horizon, and the last transaction time when none falls inside it, are unavailable and the rules
+ * take their degraded-scoring fallback.
+ */
+final class PrefetchedHistory implements FeatureLoader {
+
+    private final long customerId;
+    private final LocalDateTime horizon;
+    private final LocalDateTime[] timestamps;
+    private final long[] amountsMinor;
+
+    PrefetchedHistory(long customerId, LocalDateTime horizon, List<HistoryEntry> entries) {
+        this.customerId = customerId;
+        this.horizon = horizon;
+        this.timestamps = new LocalDateTime[entries.size()];
+        this.amountsMinor = new long[entries.size()];
+        for (int i = 0; i < timestamps.length; i++) {
+            timestamps[i] = entries.get(i).timestamp();
+            amountsMinor[i] = ScoringInput.toMinorUnits(entries.get(i).amount());
+        }
+    }
+
+    @Override
+    public long countSince(long customerId, LocalDateTime cutoffTime) {
+        check(customerId, cutoffTime);
+        long count = 0;
+        for (LocalDateTime timestamp : timestamps) {
+            if (timestamp.isAfter(cutoffTime)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long sumSince(long customerId, LocalDateTime cutoffTime) {
+        check(customerId, cutoffTime);
+        long sum = 0;
+        for (int i = 0; i < timestamps.length; i++) {
+            if (timestamps[i].isAfter(cutoffTime)) {
+                sum += amountsMinor[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public LocalDateTime lastTransactionTime(long customerId) {
+        check(customerId, horizon);
+        LocalDateTime last = null;
+        for (LocalDateTime timestamp : timestamps) {
+            if (last == null || timestamp.isAfter(last)) {
+                last = timestamp;
+            }
+        }
+        if (last == null) {
+            throw new FeatureUnavailableException("No transaction of customer " + customerId
+                    + " since " + horizon + " was prefetched", null);
+        }
+        return last;
+    }
+
+    private void check(long customerId, LocalDateTime cutoffTime) {
+        if (customerId != this.customerId) {
+            throw new IllegalArgumentException("History was prefetched for customer " + this.customerId
+                    + ", not " + customerId);
+        }
+        if (cutoffTime.isBefore(horizon)) {
+            throw new FeatureUnavailableException("History of customer " + customerId + " was prefetched since "
+                    + horizon + ", not " + cutoffTime, null);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.app.risk.reactive;
+
+import com.app.risk.audit.AuditLogService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Audit records for the reactive mode. Callers hand over a record and return at once; serializing
+ * and logging it through {@link AuditLogService} happens on one dedicated writer thread, in the
+ * order records were emitted. At most {@code app.reactive.audit.buffer-size} records wait for the
+ * writer; beyond that new records are dropped and counted rather than blocking the event loop.
+ * A record carries the time the writer logs it, normally within milliseconds of the event.
+ */
+@Component
+@Profile(ReactiveRiskApplication.PROFILE)
+@Slf4j
+public class ReactiveAuditSink implements DisposableBean {
+
+    private final AuditLogService auditLogService;
+    private final Duration stopTimeout;
+    private final Scheduler writer = Schedulers.newSingle("audit-writer");
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final CountDownLatch drained = new CountDownLatch(1);
+    private FluxSink<Consumer<AuditLogService>> sink;
+
+    public ReactiveAuditSink(AuditLogService auditLogService, MeterRegistry registry,
+                             @Value("${app.reactive.audit.buffer-size:10000}") int bufferSize,
+                             @Value("${app.reactive.audit.stop-timeout:5s}") Duration stopTimeout) {
+        this.auditLogService = auditLogService;
+        this.stopTimeout = stopTimeout;
+        Flux.<Consumer<AuditLogService>>create(emitter -> sink = emitter, FluxSink.OverflowStrategy.IGNORE)
+                .onBackpressureBuffer(bufferSize, record -> dropped.increment(), BufferOverflowStrategy.DROP_LATEST)
+                // One record in flight, so buffer-size bounds the whole backlog
+                .publishOn(writer, 1)
+                .subscribe(this::write, error -> drained.countDown(), drained::countDown);
+        FunctionCounter.builder("risk.audit.records", written, LongAdder::sum)
+                .description("Audit records handed to the reactive audit sink")
+                .tag("result", "written")
+                .register(registry);
+        FunctionCounter.builder("risk.audit.records", dropped, LongAdder::sum)
+                .description("Audit records handed to the reactive audit sink")
+                .tag("result", "dropped")
+                .register(registry);
+    }
+
+    /**
+     * Queue {@code record} for the writer thread, e.g. {@code audit -> audit.logRiskEvaluation(...)}
+     */
+    public void emit(Consumer<AuditLogService> record) {
+        sink.next(record);
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    private void write(Consumer<AuditLogService> record) {
+        try {
+            record.accept(auditLogService);
+            written.increment();
+        } catch (RuntimeException e) {
+            log.error("Failed to write audit record", e);
+        }
+    }
+
+    /**
+     * Let the writer finish the records already queued, up to {@code app.reactive.audit.stop-timeout}
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        sink.complete();
+        if (!drained.await(stopTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Audit writer did not finish within {}; queued records are lost", stopTimeout);
+        }
+        writer.dispose();
+    }
+}
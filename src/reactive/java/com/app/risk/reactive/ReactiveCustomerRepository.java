@@ -0,0 +1,8 @@
+package com.app.risk.reactive;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveCustomerRepository extends R2dbcRepository<CustomerRow, Long> {
+}
@@ -0,0 +1,57 @@
+package com.app.risk.reactive;
+
+import com.app.risk.audit.AuditLogService;
+import com.app.risk.config.GraphQLConfig;
+import com.app.risk.config.JacksonConfig;
+import com.app.risk.config.QueryLimitsInstrumentation;
+import com.app.risk.engine.ScoringEngine;
+import com.app.risk.exception.GraphQLExceptionHandler;
+import com.app.risk.metrics.ScoringMetrics;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+import jakarta.annotation.PostConstruct;
+import java.util.TimeZone;
+
+/**
+ * Reactive deployment mode: GraphQL over WebFlux on Netty, transactions, rules and customers on
+ * R2DBC, and audit records written off the event loop by {@link ReactiveAuditSink}. Shares the
+ * {@link ScoringEngine} and its evaluators with the servlet mode; nothing from the JPA side is
+ * scanned. Built and started with {@code mvn -Preactive spring-boot:run}.
+ * <p>
+ * Every bean in this package is limited to the {@value #PROFILE} profile, which {@link #main}
+ * activates, so the servlet application's scan of {@code com.app.risk} skips them when the reactive
+ * sources are on its classpath.
+ */
+@SpringBootApplication(scanBasePackageClasses = {ScoringEngine.class, ReactiveRiskApplication.class})
+@Import({JacksonConfig.class, GraphQLConfig.class, ScoringMetrics.class, QueryLimitsInstrumentation.class,
+        GraphQLExceptionHandler.class, AuditLogService.class})
+@Profile(ReactiveRiskApplication.PROFILE)
+public class ReactiveRiskApplication {
+
+    public static final String PROFILE = "reactive";
+
+    @PostConstruct
+    public void init() {
+        // Transactions are recorded in Sri Lanka time (UTC+5:30), as in the servlet mode
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Colombo"));
+    }
+
+    public static void main(String[] args) {
+        application().run(args);
+    }
+
+    /**
+     * The reactive application; the servlet stack is on the classpath too, so the web type is set
+     * rather than deduced
+     */
+    public static SpringApplication application() {
+        SpringApplication application = new SpringApplication(ReactiveRiskApplication.class);
+        application.setWebApplicationType(WebApplicationType.REACTIVE);
+        application.setAdditionalProfiles(PROFILE);
+        return application;
+    }
+}
@@ -0,0 +1,36 @@
+package com.app.risk.reactive;
+
+import com.app.risk.dto.RiskRuleDTO;
+import com.app.risk.dto.RiskRuleInput;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.MutationMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Controller
+@Profile(ReactiveRiskApplication.PROFILE)
+@RequiredArgsConstructor
+public class ReactiveRiskRuleController {
+
+    private final ReactiveRiskRuleService riskRuleService;
+
+    @QueryMapping
+    public Flux<RiskRuleDTO> riskRules() {
+        return riskRuleService.getAllRules();
+    }
+
+    @MutationMapping
+    public Mono<RiskRuleDTO> createRiskRule(@Argument @Valid RiskRuleInput input) {
+        return riskRuleService.createRule(input);
+    }
+
+    @MutationMapping
+    public Mono<RiskRuleDTO> updateRiskRule(@Argument Long id, @Argument @Valid RiskRuleInput input) {
+        return riskRuleService.updateRule(id, input);
+    }
+}
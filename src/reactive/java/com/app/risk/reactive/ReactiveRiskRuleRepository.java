@@ -0,0 +1,10 @@
+package com.app.risk.reactive;
+
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveRiskRuleRepository extends R2dbcRepository<RiskRuleRow, Long> {
+    Flux<RiskRuleRow> findByActiveTrue();
+}
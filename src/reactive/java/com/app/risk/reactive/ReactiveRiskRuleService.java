@@ -0,0 +1,123 @@
+package com.app.risk.reactive;
+
+import com.app.risk.dto.RiskRuleDTO;
+import com.app.risk.dto.RiskRuleInput;
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.engine.RuleDefinition;
+import com.app.risk.engine.RuleType;
+import com.app.risk.exception.NotFoundException;
+import com.app.risk.service.RiskRuleService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link RiskRuleService} on R2DBC, with the same validation and audit records
+ */
+@Service
+@Profile(ReactiveRiskApplication.PROFILE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveRiskRuleService {
+
+    private final ReactiveRiskRuleRepository riskRuleRepository;
+    private final ReactiveAuditSink auditSink;
+
+    public Flux<RiskRuleDTO> getAllRules() {
+        return riskRuleRepository.findAll().map(ReactiveRiskRuleService::toDTO);
+    }
+
+    /**
+     * Active rules in the engine's form, read afresh for every submission as in the servlet mode;
+     * the engine reuses its compiled snapshot while they are unchanged
+     */
+    public Mono<List<RuleDefinition>> getActiveDefinitions() {
+        return riskRuleRepository.findByActiveTrue()
+                .map(RiskRuleRow::toDefinition)
+                .collectList();
+    }
+
+    @Transactional
+    public Mono<RiskRuleDTO> createRule(RiskRuleInput input) {
+        return Mono.fromRunnable(() -> RiskRuleService.validateRuleInput(input))
+                .then(Mono.defer(() -> {
+                    log.info("Creating new risk rule: {}", input.getRuleName());
+                    RiskRuleRow rule = new RiskRuleRow();
+                    apply(rule, input);
+                    return riskRuleRepository.save(rule);
+                }))
+                .map(savedRule -> {
+                    auditSink.emit(audit -> audit.logRiskRuleCreated(savedRule.getId(), savedRule.getRuleName(),
+                            savedRule.getRuleType().name(), savedRule.getRiskPoints()));
+                    log.info("Risk rule created successfully with id: {}", savedRule.getId());
+                    return toDTO(savedRule);
+                });
+    }
+
+    @Transactional
+    public Mono<RiskRuleDTO> updateRule(Long id, RiskRuleInput input) {
+        return riskRuleRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Risk rule not found with id: {}", id);
+                    return new NotFoundException("Risk rule not found with id: " + id);
+                }))
+                .flatMap(rule -> {
+                    RiskRuleService.validateRuleInput(input);
+
+                    // Track changes for audit
+                    Map<String, Object> changes = new HashMap<>();
+                    if (!rule.getRuleName().equals(input.getRuleName())) {
+                        changes.put("ruleName", Map.of("old", rule.getRuleName(), "new", input.getRuleName()));
+                    }
+                    if (!rule.getRiskPoints().equals(input.getRiskPoints())) {
+                        changes.put("riskPoints", Map.of("old", rule.getRiskPoints(), "new", input.getRiskPoints()));
+                    }
+                    if (!rule.getActive().equals(input.getActive())) {
+                        changes.put("active", Map.of("old", rule.getActive(), "new", input.getActive()));
+                    }
+
+                    apply(rule, input);
+                    return riskRuleRepository.save(rule)
+                            .doOnNext(updatedRule -> auditSink.emit(audit -> audit.logRiskRuleUpdated(
+                                    updatedRule.getId(), updatedRule.getRuleName(), changes)));
+                })
+                .map(updatedRule -> {
+                    log.info("Risk rule updated successfully: {}", updatedRule.getId());
+                    return toDTO(updatedRule);
+                });
+    }
+
+    private static void apply(RiskRuleRow rule, RiskRuleInput input) {
+        rule.setRuleName(input.getRuleName());
+        rule.setRuleType(RuleType.valueOf(input.getRuleType()));
+        rule.setAmountThreshold(input.getAmountThreshold());
+        rule.setMerchantCategory(input.getMerchantCategory() != null ?
+                MerchantCategory.valueOf(input.getMerchantCategory()) : null);
+        rule.setFrequencyCount(input.getFrequencyCount());
+        rule.setFrequencyWindowMinutes(input.getFrequencyWindowMinutes());
+        rule.setRiskPoints(input.getRiskPoints());
+        rule.setActive(input.getActive());
+    }
+
+    private static RiskRuleDTO toDTO(RiskRuleRow rule) {
+        return RiskRuleDTO.builder()
+                .id(rule.getId())
+                .ruleName(rule.getRuleName())
+                .ruleType(rule.getRuleType().name())
+                .amountThreshold(rule.getAmountThreshold())
+                .merchantCategory(rule.getMerchantCategory() != null ? rule.getMerchantCategory().name() : null)
+                .frequencyCount(rule.getFrequencyCount())
+                .frequencyWindowMinutes(rule.getFrequencyWindowMinutes())
+                .riskPoints(rule.getRiskPoints())
+                .active(rule.getActive())
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.app.risk.reactive;
+
+import com.app.risk.dto.TransactionDTO;
+import com.app.risk.dto.TransactionInput;
+import com.app.risk.dto.TransactionPage;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.MutationMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+
+/**
+ * The transaction fields of the schema served in reactive mode. The async, write-behind and
+ * subscription fields stay with the servlet mode, whose queues and journal they need.
+ */
+@Controller
+@Profile(ReactiveRiskApplication.PROFILE)
+@RequiredArgsConstructor
+public class ReactiveTransactionController {
+
+    private final ReactiveTransactionService transactionService;
+
+    @QueryMapping
+    public Mono<TransactionPage> transactions(@Argument Integer page, @Argument Integer size,
+                                              @Argument String status, @Argument String searchQuery) {
+        return transactionService.getTransactions(page, size, status, searchQuery);
+    }
+
+    @QueryMapping
+    public Mono<TransactionDTO> transaction(@Argument Long id) {
+        return transactionService.getTransaction(id);
+    }
+
+    @MutationMapping
+    public Mono<TransactionDTO> submitTransaction(@Argument @Valid TransactionInput input) {
+        return transactionService.submitTransaction(input);
+    }
+}
@@ -0,0 +1,44 @@
+package com.app.risk.reactive;
+
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ReactiveTransactionRepository extends R2dbcRepository<TransactionRow, Long> {
+
+    String VIEW = "SELECT t.id, t.customer_id, c.name AS customer_name, c.email AS customer_email, t.amount, " +
+                  "t.currency, t.timestamp, t.merchant_category, t.risk_score, t.matched_rules_json, " +
+                  "t.degraded_rule_ids, t.status " +
+                  "FROM transactions t JOIN customers c ON c.id = t.customer_id";
+
+    String SEARCH = "(:status IS NULL OR t.status = :status) AND " +
+                    "(:searchQuery IS NULL OR :searchQuery = '' OR " +
+                    "LOWER(c.name) LIKE LOWER(CONCAT('%', :searchQuery, '%')) OR " +
+                    "LOWER(c.email) LIKE LOWER(CONCAT('%', :searchQuery, '%')))";
+
+    // Served by idx_transaction_customer_timestamp; one read covers every frequency window of a submission
+    @Query("SELECT timestamp, amount FROM transactions WHERE customer_id = :customerId AND timestamp > :cutoffTime")
+    Flux<HistoryEntry> findHistorySince(@Param("customerId") Long customerId,
+                                        @Param("cutoffTime") LocalDateTime cutoffTime);
+
+    @Query(VIEW + " WHERE t.idempotency_key = :idempotencyKey")
+    Mono<TransactionView> findViewByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
+    @Query(VIEW + " WHERE t.id = :id")
+    Mono<TransactionView> findViewById(@Param("id") Long id);
+
+    @Query(VIEW + " WHERE " + SEARCH + " ORDER BY t.timestamp DESC LIMIT :limit OFFSET :offset")
+    Flux<TransactionView> findViewsByStatusAndCustomerSearch(@Param("status") String status,
+                                                             @Param("searchQuery") String searchQuery,
+                                                             @Param("limit") int limit, @Param("offset") long offset);
+
+    @Query("SELECT COUNT(*) FROM transactions t JOIN customers c ON c.id = t.customer_id WHERE " + SEARCH)
+    Mono<Long> countByStatusAndCustomerSearch(@Param("status") String status,
+                                              @Param("searchQuery") String searchQuery);
+}
@@ -0,0 +1,449 @@
+package com.app.risk.reactive;
+
+import com.app.risk.config.QueryLimitsProperties;
+import com.app.risk.dto.MatchedRule;
+import com.app.risk.dto.TransactionDTO;
+import com.app.risk.dto.TransactionInput;
+import com.app.risk.dto.TransactionPage;
+import com.app.risk.engine.CompiledRuleSet;
+import com.app.risk.engine.EvaluationContext;
+import com.app.risk.engine.FeatureLoader;
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.engine.RecentActivity;
+import com.app.risk.engine.ScoringEngine;
+import com.app.risk.engine.ScoringResult;
+import com.app.risk.entity.TransactionStatus;
+import com.app.risk.exception.BadRequestException;
+import com.app.risk.exception.NotFoundException;
+import com.app.risk.metrics.ScoringMetrics;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Transaction scoring and reads for the reactive mode. A submission reads its customer, the active
+ * rules and the customer's history inside the widest frequency window without blocking, then scores
+ * on the calling thread with the shared {@link ScoringEngine} over a {@link PrefetchedHistory}, and
+ * inserts the row. Submissions for one customer are not serialized, so concurrent ones can each miss
+ * the other in their frequency count, as in the servlet mode with {@code app.customer-locks.enabled}
+ * off.
+ */
+@Service
+@Profile(ReactiveRiskApplication.PROFILE)
+@Slf4j
+public class ReactiveTransactionService {
+
+    private static final int FLAGGED_THRESHOLD = 70;
+
+    private final ReactiveTransactionRepository transactionRepository;
+    private final ReactiveCustomerRepository customerRepository;
+    private final ReactiveRiskRuleService riskRuleService;
+    private final ScoringEngine scoringEngine;
+    private final FeatureLoader unavailableHistory;
+    private final RecentActivity recentActivity;
+    private final ReactiveAuditSink auditSink;
+    private final ScoringMetrics scoringMetrics;
+    private final QueryLimitsProperties queryLimits;
+    private final ObjectMapper objectMapper;
+    private final boolean degradedScoring;
+    private final Duration historyTimeout;
+
+    public ReactiveTransactionService(ReactiveTransactionRepository transactionRepository,
+                                      ReactiveCustomerRepository customerRepository,
+                                      ReactiveRiskRuleService riskRuleService,
+                                      ScoringEngine scoringEngine,
+                                      PrefetchOnlyFeatureLoader unavailableHistory,
+                                      RecentActivity recentActivity,
+                                      ReactiveAuditSink auditSink,
+                                      ScoringMetrics scoringMetrics,
+                                      QueryLimitsProperties queryLimits,
+                                      ObjectMapper objectMapper,
+                                      @Value("${app.degraded-scoring.enabled:true}") boolean degradedScoring,
+                                      @Value("${app.degraded-scoring.timeout:250ms}") Duration historyTimeout) {
+        this.transactionRepository = transactionRepository;
+        this.customerRepository = customerRepository;
+        this.riskRuleService = riskRuleService;
+        this.scoringEngine = scoringEngine;
+        this.unavailableHistory = unavailableHistory;
+        this.recentActivity = recentActivity;
+        this.auditSink = auditSink;
+        this.scoringMetrics = scoringMetrics;
+        this.queryLimits = queryLimits;
+        this.objectMapper = objectMapper;
+        this.degradedScoring = degradedScoring;
+        this.historyTimeout = historyTimeout;
+    }
+
+    public Mono<TransactionPage> getTransactions(Integer page, Integer size, String status, String searchQuery) {
+        // Clamped here as well as in the GraphQL layer, so no caller can page through unbounded rows
+        int pageNumber = page != null ? Math.max(page, 0) : 0;
+        int pageSize = queryLimits.clampPageSize(size);
+        return Mono.defer(() -> {
+            TransactionStatus transactionStatus = parseStatus(status);
+            String statusName = transactionStatus != null ? transactionStatus.name() : null;
+            return transactionRepository.findViewsByStatusAndCustomerSearch(statusName, searchQuery, pageSize,
+                            (long) pageNumber * pageSize)
+                    .map(this::toDTO)
+                    .collectList()
+                    .zipWith(transactionRepository.countByStatusAndCustomerSearch(statusName, searchQuery))
+                    .map(result -> TransactionPage.builder()
+                            .content(result.getT1())
+                            .page(pageNumber)
+                            .size(pageSize)
+                            .totalElements(result.getT2())
+                            .totalPages((int) ((result.getT2() + pageSize - 1) / pageSize))
+                            .build());
+        });
+    }
+
+    public Mono<TransactionDTO> getTransaction(Long id) {
+        return transactionRepository.findViewById(id)
+                .switchIfEmpty(Mono.error(() -> {
+                    log.error("Transaction not found with id: {}", id);
+                    return new NotFoundException("Transaction not found with id: " + id);
+                }))
+                .map(view -> {
+                    TransactionDTO dto = toDTO(view);
+                    Map<String, Object> auditDetails = new HashMap<>();
+                    auditDetails.put("transactionId", id);
+                    auditDetails.put("customerId", dto.getCustomerId());
+                    auditDetails.put("riskScore", dto.getRiskScore());
+                    auditDetails.put("status", dto.getStatus());
+                    auditSink.emit(audit -> audit.logCustomEvent("TRANSACTION_RETRIEVED", "GET_TRANSACTION",
+                            "Transaction", id, "SUCCESS", auditDetails));
+                    return dto;
+                });
+    }
+
+    /**
+     * Score and store one transaction. When a concurrent submission stores the same idempotency key
+     * first, the insert fails on the unique column and the stored row is returned.
+     */
+    public Mono<TransactionDTO> submitTransaction(TransactionInput input) {
+        return scoreAndStore(input)
+                .onErrorResume(DataIntegrityViolationException.class, e -> {
+                    if (input.getIdempotencyKey() == null) {
+                        return Mono.error(e);
+                    }
+                    return findOriginal(input, MerchantCategory.valueOf(input.getMerchantCategory()))
+                            .doOnNext(original -> log.info(
+                                    "Transaction {} was stored concurrently under this idempotency key", original.getId()))
+                            .switchIfEmpty(Mono.error(e));
+                });
+    }
+
+    private Mono<TransactionDTO> scoreAndStore(TransactionInput input) {
+        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        log.info("Processing transaction submission for customer: {}", input.getCustomerId());
+
+        return Mono.defer(() -> {
+                    MerchantCategory merchantCategory = parseMerchantCategory(input);
+                    return customerRepository.findById(input.getCustomerId())
+                            .switchIfEmpty(Mono.error(() -> {
+                                log.error("Customer not found with id: {}", input.getCustomerId());
+                                return new NotFoundException("Customer not found with id: " + input.getCustomerId());
+                            }))
+                            .flatMap(customer -> findOriginal(input, merchantCategory)
+                                    .doOnNext(original -> log.info(
+                                            "Transaction {} already stored under this idempotency key", original.getId()))
+                                    .switchIfEmpty(Mono.defer(() ->
+                                            scoreNew(input, customer, merchantCategory, startTime, startNanos))));
+                })
+                .doOnError(Exception.class, e -> {
+                    if (e instanceof BadRequestException || e instanceof NotFoundException) {
+                        log.error("Transaction submission failed: {}", e.getMessage());
+                        scoringMetrics.recordSubmissionFailure(System.nanoTime() - startNanos);
+                    } else if (e instanceof DataIntegrityViolationException && input.getIdempotencyKey() != null) {
+                        // Most likely a concurrent submission with the same key; submitTransaction re-reads it
+                        log.info("Insert for customer {} refused, checking for a concurrent idempotency key",
+                                input.getCustomerId());
+                    } else {
+                        log.error("Unexpected error during transaction submission", e);
+                        scoringMetrics.recordSubmissionFailure(System.nanoTime() - startNanos);
+                        auditSink.emit(audit -> audit.logError("SUBMIT_TRANSACTION", "Transaction", null,
+                                "Unexpected error: " + e.getMessage(), e));
+                    }
+                });
+    }
+
+    private Mono<TransactionDTO> scoreNew(TransactionInput input, CustomerRow customer, MerchantCategory merchantCategory,
+                                         long startTime, long startNanos) {
+        LocalDateTime timestamp = currentTimestamp();
+        return riskRuleService.getActiveDefinitions()
+                .flatMap(rules -> {
+                    CompiledRuleSet compiledRules = scoringEngine.compile(rules);
+                    return history(customer.getId(), timestamp, compiledRules)
+                            .map(history -> score(compiledRules, history, input, customer, merchantCategory, timestamp));
+                })
+                .flatMap(scored -> transactionRepository.save(scored.row())
+                        .map(saved -> stored(saved, customer, scored, startTime, startNanos)));
+    }
+
+    /**
+     * The customer's transactions inside the widest frequency window of {@code compiledRules}. A read
+     * slower than {@code app.degraded-scoring.timeout}, or one that fails, leaves the history
+     * unavailable so the rules fall back, unless degraded scoring is off.
+     */
+    private Mono<FeatureLoader> history(long customerId, LocalDateTime timestamp, CompiledRuleSet compiledRules) {
+        int widestWindow = CompiledRuleSet.NO_FREQUENCY;
+        for (int i = 0; i < compiledRules.size(); i++) {
+            widestWindow = Math.max(widestWindow, compiledRules.frequencyWindowMinutes(i));
+        }
+        if (widestWindow == CompiledRuleSet.NO_FREQUENCY) {
+            return Mono.just(new PrefetchedHistory(customerId, timestamp, List.of()));
+        }
+        LocalDateTime horizon = timestamp.minusMinutes(widestWindow);
+        Mono<FeatureLoader> history = transactionRepository.findHistorySince(customerId, horizon)
+                .collectList()
+                .map(entries -> new PrefetchedHistory(customerId, horizon, entries));
+        if (!degradedScoring) {
+            return history;
+        }
+        return history
+                .timeout(historyTimeout)
+                .onErrorResume(e -> {
+                    log.warn("History of customer {} unavailable, scoring with fallbacks: {}", customerId, e.toString());
+                    return Mono.just(unavailableHistory);
+                });
+    }
+
+    private Scored score(CompiledRuleSet compiledRules, FeatureLoader history, TransactionInput input,
+                         CustomerRow customer, MerchantCategory merchantCategory, LocalDateTime timestamp) {
+        EvaluationContext context = scoringEngine.context(history)
+                .begin(input, customer.toProfile(), merchantCategory, timestamp);
+        ScoringResult scoringResult = scoringEngine.result();
+        scoringEngine.evaluate(compiledRules, context, scoringResult);
+        List<MatchedRule> matchedRules = scoringResult.toMatchedRules(compiledRules);
+        List<Long> degradedRuleIds = degradedRuleIds(compiledRules, scoringResult, customer.getId());
+
+        int totalRiskScore = scoringResult.getScore();
+        TransactionStatus status = totalRiskScore >= FLAGGED_THRESHOLD ?
+                TransactionStatus.FLAGGED : TransactionStatus.APPROVED;
+
+        log.info("Transaction risk evaluation complete. Score: {}, Status: {}, Matched rules: {}",
+                totalRiskScore, status, matchedRules.size());
+
+        TransactionRow row = TransactionRow.builder()
+                .customerId(customer.getId())
+                .amount(input.getAmount())
+                .currency(input.getCurrency())
+                .timestamp(timestamp)
+                .merchantCategory(merchantCategory)
+                .riskScore(totalRiskScore)
+                .matchedRulesJson(writeMatchedRules(matchedRules))
+                .degradedRuleIds(writeRuleIds(degradedRuleIds))
+                .status(status)
+                .idempotencyKey(input.getIdempotencyKey())
+                .build();
+        return new Scored(row, matchedRules, degradedRuleIds, compiledRules.size());
+    }
+
+    private TransactionDTO stored(TransactionRow saved, CustomerRow customer, Scored scored,
+                                  long startTime, long startNanos) {
+        recentActivity.record(saved.getCustomerId(), saved.getTimestamp());
+
+        long executionTime = System.currentTimeMillis() - startTime;
+        auditSubmission(saved, customer, scored.matchedRules(), scored.activeRuleCount(), executionTime);
+        log.info("Transaction {} processed successfully in {}ms", saved.getId(), executionTime);
+        scoringMetrics.recordSubmission(System.nanoTime() - startNanos, saved.getStatus());
+
+        return TransactionDTO.builder()
+                .id(saved.getId())
+                .customerId(customer.getId())
+                .customerName(customer.getName())
+                .customerEmail(customer.getEmail())
+                .amount(saved.getAmount())
+                .currency(saved.getCurrency())
+                .timestamp(saved.getTimestamp())
+                .merchantCategory(saved.getMerchantCategory().name())
+                .riskScore(saved.getRiskScore())
+                .status(saved.getStatus().name())
+                .matchedRules(scored.matchedRules())
+                .degradedRuleIds(scored.degradedRuleIds())
+                .build();
+    }
+
+    /**
+     * The stored transaction for {@code input}'s idempotency key, or empty when there is none
+     */
+    private Mono<TransactionDTO> findOriginal(TransactionInput input, MerchantCategory merchantCategory) {
+        if (input.getIdempotencyKey() == null) {
+            return Mono.empty();
+        }
+        return transactionRepository.findViewByIdempotencyKey(input.getIdempotencyKey())
+                .map(original -> {
+                    checkSameSubmission(original, input, merchantCategory);
+                    return toDTO(original);
+                });
+    }
+
+    private static void checkSameSubmission(TransactionView original, TransactionInput input,
+                                            MerchantCategory merchantCategory) {
+        if (!original.getCustomerId().equals(input.getCustomerId())
+                || original.getAmount().compareTo(input.getAmount()) != 0
+                || !original.getCurrency().equals(input.getCurrency())
+                || original.getMerchantCategory() != merchantCategory) {
+            throw new BadRequestException("Idempotency key was already used for a different transaction");
+        }
+    }
+
+    private MerchantCategory parseMerchantCategory(TransactionInput input) {
+        try {
+            return MerchantCategory.valueOf(input.getMerchantCategory());
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid merchant category: {}", input.getMerchantCategory());
+            auditSink.emit(audit -> audit.logError("SUBMIT_TRANSACTION", "Transaction", null,
+                    "Invalid merchant category: " + input.getMerchantCategory(), e));
+            throw new BadRequestException("Invalid merchant category: " + input.getMerchantCategory());
+        }
+    }
+
+    private TransactionStatus parseStatus(String status) {
+        if (status == null || status.isEmpty()) {
+            return null;
+        }
+        try {
+            return TransactionStatus.valueOf(status);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid status: " + status);
+        }
+    }
+
+    /**
+     * Rules the last evaluation decided by a fallback, counted and logged when there are any
+     */
+    private List<Long> degradedRuleIds(CompiledRuleSet compiledRules, ScoringResult scoringResult, Long customerId) {
+        if (scoringResult.getDegradedCount() == 0) {
+            return List.of();
+        }
+        List<Long> ruleIds = scoringResult.degradedRuleIds(compiledRules);
+        scoringMetrics.recordDegraded(ruleIds.size());
+        log.warn("Scored transaction for customer {} in degraded mode; fallback decided rules {}", customerId, ruleIds);
+        return ruleIds;
+    }
+
+    /**
+     * Current time in Sri Lanka (UTC+5:30), the timezone transactions are recorded in
+     */
+    private static LocalDateTime currentTimestamp() {
+        ZonedDateTime sriLankaTime = ZonedDateTime.now(ZoneId.of("Asia/Colombo"));
+        return sriLankaTime.toLocalDateTime();
+    }
+
+    private void auditSubmission(TransactionRow saved, CustomerRow customer, List<MatchedRule> matchedRules,
+                                 int activeRuleCount, long executionTime) {
+        int totalRiskScore = saved.getRiskScore();
+        TransactionStatus status = saved.getStatus();
+        BigDecimal amount = saved.getAmount();
+        String merchantCategory = saved.getMerchantCategory().name();
+
+        Map<String, Object> auditDetails = new HashMap<>();
+        auditDetails.put("amount", amount);
+        auditDetails.put("currency", saved.getCurrency());
+        auditDetails.put("merchantCategory", merchantCategory);
+        auditDetails.put("riskScore", totalRiskScore);
+        auditDetails.put("status", status.name());
+        auditDetails.put("matchedRulesCount", matchedRules.size());
+        auditDetails.put("executionTimeMs", executionTime);
+        if (saved.getDegradedRuleIds() != null) {
+            auditDetails.put("degradedRuleIds", saved.getDegradedRuleIds());
+        }
+
+        auditSink.emit(audit -> {
+            audit.logTransactionSubmitted(saved.getId(), customer.getId(), customer.getEmail(), auditDetails);
+            audit.logRiskEvaluation(saved.getId(), customer.getId(), totalRiskScore, activeRuleCount,
+                    matchedRules.size(), executionTime);
+            if (status == TransactionStatus.FLAGGED) {
+                Map<String, Object> flagDetails = new HashMap<>();
+                flagDetails.put("amount", amount);
+                flagDetails.put("merchantCategory", merchantCategory);
+                flagDetails.put("matchedRules", matchedRules.stream()
+                        .map(MatchedRule::getRuleName)
+                        .collect(Collectors.toList()));
+                audit.logTransactionFlagged(saved.getId(), customer.getId(), totalRiskScore, matchedRules.size(),
+                        flagDetails);
+            } else {
+                audit.logTransactionApproved(saved.getId(), customer.getId(), totalRiskScore);
+            }
+        });
+
+        if (status == TransactionStatus.FLAGGED) {
+            log.warn("Transaction {} flagged for review. Customer: {}, Score: {}",
+                    saved.getId(), customer.getEmail(), totalRiskScore);
+        }
+    }
+
+    private String writeMatchedRules(List<MatchedRule> matchedRules) {
+        try {
+            return objectMapper.writeValueAsString(matchedRules);
+        } catch (JsonProcessingException e) {
+            log.error("Failed to serialize matched rules", e);
+            throw new RuntimeException("Failed to serialize matched rules", e);
+        }
+    }
+
+    private List<MatchedRule> parseMatchedRules(String matchedRulesJson) {
+        if (matchedRulesJson == null || matchedRulesJson.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(matchedRulesJson, new TypeReference<List<MatchedRule>>() {});
+        } catch (JsonProcessingException e) {
+            log.error("Failed to parse matched rules", e);
+            return List.of();
+        }
+    }
+
+    private static String writeRuleIds(List<Long> ruleIds) {
+        if (ruleIds == null || ruleIds.isEmpty()) {
+            return null;
+        }
+        return ruleIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    private static List<Long> parseRuleIds(String ruleIds) {
+        if (ruleIds == null || ruleIds.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(ruleIds.split(",")).map(Long::valueOf).toList();
+    }
+
+    private TransactionDTO toDTO(TransactionView view) {
+        return TransactionDTO.builder()
+                .id(view.getId())
+                .customerId(view.getCustomerId())
+                .customerName(view.getCustomerName())
+                .customerEmail(view.getCustomerEmail())
+                .amount(view.getAmount())
+                .currency(view.getCurrency())
+                .timestamp(view.getTimestamp())
+                .merchantCategory(view.getMerchantCategory().name())
+                .riskScore(view.getRiskScore())
+                .status(view.getStatus().name())
+                .matchedRules(parseMatchedRules(view.getMatchedRulesJson()))
+                .degradedRuleIds(parseRuleIds(view.getDegradedRuleIds()))
+                .build();
+    }
+
+    private record Scored(TransactionRow row, List<MatchedRule> matchedRules, List<Long> degradedRuleIds,
+                          int activeRuleCount) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.app.risk.reactive;
+
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.engine.RuleDefinition;
+import com.app.risk.engine.RuleType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+
+/**
+ * R2DBC mapping of the {@code risk_rules} table the JPA {@code RiskRule} entity owns
+ */
+@Table("risk_rules")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RiskRuleRow {
+
+    @Id
+    private Long id;
+    private String ruleName;
+    private RuleType ruleType;
+    private BigDecimal amountThreshold;
+    private MerchantCategory merchantCategory;
+    private Integer frequencyCount;
+    private Integer frequencyWindowMinutes;
+    private Integer riskPoints;
+    private Boolean active;
+
+    public RuleDefinition toDefinition() {
+        return RuleDefinition.builder()
+                .id(id)
+                .ruleName(ruleName)
+                .ruleType(ruleType)
+                .amountThreshold(amountThreshold)
+                .merchantCategory(merchantCategory)
+                .frequencyCount(frequencyCount)
+                .frequencyWindowMinutes(frequencyWindowMinutes)
+                .riskPoints(riskPoints)
+                .build();
+    }
+}
@@ -0,0 +1,39 @@
+package com.app.risk.reactive;
+
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.entity.TransactionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC mapping of the {@code transactions} table the JPA {@code Transaction} entity owns.
+ * The customer is its id only; columns follow the same snake_case names Hibernate generates.
+ */
+@Table("transactions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TransactionRow {
+
+    @Id
+    private Long id;
+    private Long customerId;
+    private BigDecimal amount;
+    private String currency;
+    private LocalDateTime timestamp;
+    private MerchantCategory merchantCategory;
+    private Integer riskScore;
+    private String matchedRulesJson;
+    private String degradedRuleIds;
+    private TransactionStatus status;
+    private String decisionId;
+    private String idempotencyKey;
+}
@@ -0,0 +1,32 @@
+package com.app.risk.reactive;
+
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.entity.TransactionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * A transaction joined with the customer columns the GraphQL {@code Transaction} type shows,
+ * the R2DBC counterpart of {@code TransactionListItem}
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionView {
+    private Long id;
+    private Long customerId;
+    private String customerName;
+    private String customerEmail;
+    private BigDecimal amount;
+    private String currency;
+    private LocalDateTime timestamp;
+    private MerchantCategory merchantCategory;
+    private Integer riskScore;
+    private String matchedRulesJson;
+    private String degradedRuleIds;
+    private TransactionStatus status;
+}
@@ -0,0 +1,153 @@
+package com.app.risk.bulkhead;
+
+import com.app.risk.exception.NotFoundException;
+import com.app.risk.exception.OverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("LaneExecutors Unit Tests")
+class LaneExecutorsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private LaneExecutors lanes;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (lanes != null) {
+            lanes.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should run work on a thread bound to its lane and route connections by that lane")
+    void testLaneBinding() throws Exception {
+        // Arrange
+        lanes = lanes(true);
+        DataSource scoringPool = mock(DataSource.class);
+        DataSource readPool = mock(DataSource.class);
+        Connection scoringConnection = mock(Connection.class);
+        Connection readConnection = mock(Connection.class);
+        when(scoringPool.getConnection()).thenReturn(scoringConnection);
+        when(readPool.getConnection()).thenReturn(readConnection);
+        LaneRoutingDataSource routing = new LaneRoutingDataSource();
+        routing.setTargetDataSources(Map.of(Lane.SCORING, scoringPool, Lane.READ, readPool));
+        routing.setDefaultTargetDataSource(scoringPool);
+        routing.afterPropertiesSet();
+
+        // Act
+        Lane scoringLane = lanes.submit(Lane.SCORING, Lane::current).get(2, TimeUnit.SECONDS);
+        Connection readLaneConnection = lanes.submit(Lane.READ, () -> connection(routing)).get(2, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(Lane.SCORING, scoringLane);
+        assertSame(readConnection, readLaneConnection);
+        assertNull(Lane.current());
+        assertSame(scoringConnection, routing.getConnection());
+    }
+
+    @Test
+    @DisplayName("Should reject a saturated lane without affecting the other")
+    void testSaturatedLaneIsolated() throws Exception {
+        // Arrange - one read worker busy and one read call queued
+        lanes = lanes(true);
+        lanes.submit(Lane.READ, this::blockUntilReleased);
+        lanes.submit(Lane.READ, this::blockUntilReleased);
+
+        // Act
+        OverloadedException exception = assertThrows(OverloadedException.class,
+                () -> lanes.submit(Lane.READ, () -> "page"));
+        String scored = lanes.submit(Lane.SCORING, () -> "scored").get(2, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(1000L, exception.getRetryAfterMillis());
+        assertEquals("scored", scored);
+        assertEquals(1.0, registry.get("risk.lane.rejections").tag("lane", "read").functionCounter().count());
+        awaitSaturation("read", 1.0);
+        assertEquals(0.0, registry.get("risk.lane.rejections").tag("lane", "scoring").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should complete the future with the exception thrown by the work")
+    void testExceptionPropagates() {
+        // Arrange
+        lanes = lanes(true);
+
+        // Act
+        CompletableFuture<String> future = lanes.submit(Lane.READ, () -> {
+            throw new NotFoundException("Transaction not found with id: 42");
+        });
+
+        // Assert
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(NotFoundException.class, exception.getCause());
+    }
+
+    @Test
+    @DisplayName("Should run inline on the calling thread when disabled")
+    void testDisabledRunsInline() {
+        // Arrange
+        lanes = lanes(false);
+        Thread caller = Thread.currentThread();
+
+        // Act
+        CompletableFuture<Thread> future = lanes.submit(Lane.SCORING, Thread::currentThread);
+
+        // Assert
+        assertTrue(future.isDone());
+        assertSame(caller, future.join());
+        assertTrue(registry.find("risk.lane.saturation").gauges().isEmpty());
+    }
+
+    private static Connection connection(DataSource dataSource) {
+        try {
+            return dataSource.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void awaitSaturation(String lane, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (registry.get("risk.lane.saturation").tag("lane", lane).gauge().value() != expected) {
+            if (System.nanoTime() > deadline) {
+                fail("Lane " + lane + " did not reach saturation " + expected);
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private String blockUntilReleased() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "page";
+    }
+
+    private LaneExecutors lanes(boolean enabled) {
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.setEnabled(enabled);
+        properties.setScoring(new BulkheadProperties.LaneSettings(1, 1, 1));
+        properties.setRead(new BulkheadProperties.LaneSettings(1, 1, 1));
+        return new LaneExecutors(properties, Duration.ofSeconds(1), registry);
+    }
+}
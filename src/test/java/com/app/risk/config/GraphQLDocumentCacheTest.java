@@ -0,0 +1,101 @@
+package com.app.risk.config;
+
+import com.app.risk.metrics.ScoringMetrics;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GraphQLDocumentCache Unit Tests")
+class GraphQLDocumentCacheTest {
+
+    private static final String QUERY = "{ greeting }";
+
+    private SimpleMeterRegistry registry;
+    private GraphQL graphQL;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(
+                new SchemaParser().parse("type Query { greeting: String }"),
+                RuntimeWiring.newRuntimeWiring()
+                        .type("Query", builder -> builder.dataFetcher("greeting", env -> "hello"))
+                        .build());
+        graphQL = GraphQL.newGraphQL(schema)
+                .preparsedDocumentProvider(new GraphQLDocumentCache(10, 10, new ScoringMetrics(registry)))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should parse and validate a repeated document only once")
+    void testRepeatedDocumentCached() {
+        // Act
+        ExecutionResult first = graphQL.execute(QUERY);
+        ExecutionResult second = graphQL.execute(QUERY);
+
+        // Assert
+        assertEquals(Map.of("greeting", "hello"), first.getData());
+        assertEquals(Map.of("greeting", "hello"), second.getData());
+        assertEquals(1.0, requests("graphql-document", "miss"));
+        assertEquals(1.0, requests("graphql-document", "hit"));
+    }
+
+    @Test
+    @DisplayName("Should not cache documents that fail validation")
+    void testInvalidDocumentNotCached() {
+        // Act
+        graphQL.execute("{ unknownField }");
+        ExecutionResult result = graphQL.execute("{ unknownField }");
+
+        // Assert
+        assertFalse(result.getErrors().isEmpty());
+        assertEquals(2.0, requests("graphql-document", "miss"));
+    }
+
+    @Test
+    @DisplayName("Should register a persisted query and then accept its hash alone")
+    void testAutomaticPersistedQuery() throws Exception {
+        // Arrange
+        Map<String, Object> extensions = Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", sha256(QUERY)));
+
+        // Act
+        ExecutionResult unknown = graphQL.execute(ExecutionInput.newExecutionInput()
+                .query(PersistedQuerySupport.PERSISTED_QUERY_MARKER).extensions(extensions).build());
+        ExecutionResult registered = graphQL.execute(ExecutionInput.newExecutionInput()
+                .query(QUERY).extensions(extensions).build());
+        ExecutionResult hashOnly = graphQL.execute(ExecutionInput.newExecutionInput()
+                .query(PersistedQuerySupport.PERSISTED_QUERY_MARKER).extensions(extensions).build());
+
+        // Assert
+        assertEquals("PersistedQueryNotFound", unknown.getErrors().get(0).getMessage());
+        assertEquals(Map.of("greeting", "hello"), registered.getData());
+        assertEquals(Map.of("greeting", "hello"), hashOnly.getData());
+        assertEquals(1.0, requests("graphql-persisted-query", "hit"));
+    }
+
+    private double requests(String cache, String result) {
+        return registry.get("risk.cache.requests").tag("cache", cache).tag("result", result)
+                .functionCounter().count();
+    }
+
+    private static String sha256(String query) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(query.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,143 @@
+package com.app.risk.config;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QueryLimitsInstrumentation Unit Tests")
+class QueryLimitsInstrumentationTest {
+
+    private static final String SDL = """
+            type Query {
+                transactions(page: Int, size: Int): TransactionPage!
+                transactionsByIds(ids: [Int!]!): [Transaction]!
+                customers: [Customer!]!
+            }
+
+            type TransactionPage {
+                content: [Transaction]
+                totalElements: Int!
+            }
+
+            type Transaction {
+                id: Int!
+                customer: Customer!
+                matchedRules: [MatchedRule!]!
+            }
+
+            type Customer {
+                id: Int!
+                transactions: [Transaction!]!
+            }
+
+            type MatchedRule {
+                ruleId: Int!
+            }
+            """;
+
+    private SimpleMeterRegistry registry;
+    private GraphQL graphQL;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        QueryLimitsProperties limits = new QueryLimitsProperties();
+        limits.setMaxPageSize(100);
+        limits.setMaxDepth(5);
+        limits.setMaxCost(3000);
+        limits.setDefaultListSize(20);
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder
+                        .dataFetcher("transactions", env -> Map.of("content", List.of(), "totalElements", 0))
+                        .dataFetcher("customers", env -> List.of())
+                        .dataFetcher("transactionsByIds", env -> List.of()))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), wiring);
+        graphQL = GraphQL.newGraphQL(schema)
+                .instrumentation(new QueryLimitsInstrumentation(limits, registry))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should accept a full page within the limits")
+    void testAcceptedWithinLimits() {
+        // Act - cost is 1 + 100 * (1 + 1 + 20) = 2201
+        ExecutionResult result = graphQL.execute(
+                "{ transactions(size: 100) { totalElements content { id customer { id } matchedRules { ruleId } } } }");
+
+        // Assert
+        assertTrue(result.getErrors().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should reject a page size above the maximum")
+    void testPageSizeRejected() {
+        // Act
+        ExecutionResult result = graphQL.execute("{ transactions(size: 5000) { content { id } } }");
+
+        // Assert
+        assertTrue(result.getErrors().get(0).getMessage().contains("Page size 5000"));
+        assertNull(result.getData());
+        assertEquals(1.0, rejections("page-size"));
+    }
+
+    @Test
+    @DisplayName("Should reject operations nested beyond the maximum depth")
+    void testDepthRejected() {
+        // Act
+        ExecutionResult result = graphQL.execute(
+                "{ customers { transactions { customer { transactions { customer { id } } } } } }");
+
+        // Assert
+        assertTrue(result.getErrors().get(0).getMessage().contains("depth"));
+        assertEquals(1.0, rejections("depth"));
+    }
+
+    @Test
+    @DisplayName("Should reject operations whose estimated cost is too high")
+    void testCostRejected() {
+        // Act - 20 customers * 20 transactions * 20 rules
+        ExecutionResult result = graphQL.execute(
+                "{ customers { transactions { matchedRules { ruleId } } } }");
+
+        // Assert
+        assertTrue(result.getErrors().get(0).getMessage().contains("cost"));
+        assertEquals(1.0, rejections("cost"));
+        assertEquals(0.0, rejections("depth"));
+    }
+
+    @Test
+    @DisplayName("Should price a list fetched by ids by the number of ids, repeats included")
+    void testIdsListPricedByLength() {
+        // Arrange - each id costs 1 + 20 rules; 142 ids cost 2982 and 143 cost 3003
+        String ids142 = "1," .repeat(141) + "1";
+        String ids143 = ids142 + ",1";
+
+        // Act
+        ExecutionResult accepted = graphQL.execute(
+                "{ transactionsByIds(ids: [" + ids142 + "]) { matchedRules { ruleId } } }");
+        ExecutionResult rejected = graphQL.execute(
+                "{ transactionsByIds(ids: [" + ids143 + "]) { matchedRules { ruleId } } }");
+
+        // Assert
+        assertTrue(accepted.getErrors().isEmpty());
+        assertTrue(rejected.getErrors().get(0).getMessage().contains("Query cost 3003"));
+        assertEquals(1.0, rejections("cost"));
+    }
+
+    private double rejections(String reason) {
+        return registry.get("risk.graphql.rejections").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,66 @@
+package com.app.risk.dto;
+
+import com.app.risk.engine.ScoringInput;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TransactionInput Validation Tests")
+class TransactionInputTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Test
+    @DisplayName("Should reject an amount with sub-cent digits instead of rounding it under a threshold")
+    void testRejectsSubCentAmount() {
+        // Act
+        Set<ConstraintViolation<TransactionInput>> violations = validator.validate(input("10000.004"));
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals("amount", violations.iterator().next().getPropertyPath().toString());
+    }
+
+    @Test
+    @DisplayName("Should reject an amount whose minor units overflow a long")
+    void testRejectsOverflowingAmount() {
+        // Act
+        Set<ConstraintViolation<TransactionInput>> violations =
+                validator.validate(input("99999999999999999.99"));
+
+        // Assert
+        assertEquals(1, violations.size());
+        assertEquals("amount", violations.iterator().next().getPropertyPath().toString());
+        assertThrows(ArithmeticException.class, () -> ScoringInput.toMinorUnits(new BigDecimal("99999999999999999.99")));
+    }
+
+    @Test
+    @DisplayName("Should accept the largest amount and convert it exactly")
+    void testAcceptsLargestAmount() {
+        // Arrange
+        TransactionInput input = input("9999999999999999.99");
+
+        // Act
+        Set<ConstraintViolation<TransactionInput>> violations = validator.validate(input);
+
+        // Assert
+        assertTrue(violations.isEmpty());
+        assertEquals(999999999999999999L, ScoringInput.toMinorUnits(input.getAmount()));
+    }
+
+    private static TransactionInput input(String amount) {
+        return TransactionInput.builder()
+                .customerId(1L)
+                .amount(new BigDecimal(amount))
+                .currency("USD")
+                .merchantCategory("RETAIL")
+                .build();
+    }
+}
@@ -2,7 +2,6 @@ package com.app.risk.engine;
 
 import com.app.risk.dto.MatchedRule;
 import com.app.risk.dto.TransactionInput;
-import com.app.risk.entity.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -18,28 +17,24 @@ import static org.junit.jupiter.api.Assertions.*;
 class AmountThresholdEvaluatorTest {
 
     private AmountThresholdEvaluator evaluator;
-    private Customer testCustomer;
-    private RiskRule testRule;
+    private CustomerProfile testCustomer;
+    private RuleDefinition testRule;
 
     @BeforeEach
     void setUp() {
         evaluator = new AmountThresholdEvaluator();
 
-        testCustomer = Customer.builder()
+        testCustomer = CustomerProfile.builder()
                 .id(1L)
-                .name("Test Customer")
-                .email("test@example.com")
                 .riskProfile(RiskProfile.LOW)
-                .country("USA")
                 .build();
 
-        testRule = RiskRule.builder()
+        testRule = RuleDefinition.builder()
                 .id(1L)
                 .ruleName("High Amount Transaction")
                 .ruleType(RuleType.AMOUNT_THRESHOLD)
                 .amountThreshold(new BigDecimal("10000.00"))
                 .riskPoints(50)
-                .active(true)
                 .build();
     }
 
@@ -132,13 +127,12 @@ class AmountThresholdEvaluatorTest {
                 .merchantCategory("RETAIL")
                 .build();
 
-        RiskRule ruleWithoutThreshold = RiskRule.builder()
+        RuleDefinition ruleWithoutThreshold = RuleDefinition.builder()
                 .id(2L)
                 .ruleName("Invalid Rule")
                 .ruleType(RuleType.AMOUNT_THRESHOLD)
                 .amountThreshold(null)
                 .riskPoints(50)
-                .active(true)
                 .build();
 
         // Act
@@ -160,13 +154,12 @@ class AmountThresholdEvaluatorTest {
                 .merchantCategory("RETAIL")
                 .build();
 
-        RiskRule smallThresholdRule = RiskRule.builder()
+        RuleDefinition smallThresholdRule = RuleDefinition.builder()
                 .id(3L)
                 .ruleName("Micro Transaction")
                 .ruleType(RuleType.AMOUNT_THRESHOLD)
                 .amountThreshold(new BigDecimal("0.01"))
                 .riskPoints(10)
-                .active(true)
                 .build();
 
         // Act
@@ -0,0 +1,243 @@
+package com.app.risk.engine;
+
+import com.app.risk.dto.TransactionInput;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EvaluationContext Unit Tests")
+class EvaluationContextTest {
+
+    @Mock
+    private FeatureLoader featureLoader;
+
+    private RecentActivity recentActivity;
+    private ScoringEngine engine;
+    private CustomerProfile customer1;
+    private CustomerProfile customer2;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        recentActivity = new RecentActivity(1000, 64, Duration.ofHours(24));
+        engine = engine(FallbackPolicy.APPROXIMATE);
+        customer1 = CustomerProfile.builder().id(1L).riskProfile(RiskProfile.LOW).build();
+        customer2 = CustomerProfile.builder().id(2L).riskProfile(RiskProfile.HIGH).build();
+        now = LocalDateTime.of(2026, 1, 1, 12, 0);
+    }
+
+    @Test
+    @DisplayName("Should load a window count once when several rules share it")
+    void testSharedWindowLoadedOnce() {
+        // Arrange
+        when(featureLoader.countSince(eq(1L), eq(now.minusMinutes(10)))).thenReturn(5L);
+        CompiledRuleSet compiled = engine.compile(Arrays.asList(
+                frequencyRule(1L, 3, 10, 30),
+                frequencyRule(2L, 4, 10, 20)
+        ));
+        ScoringResult result = new ScoringResult();
+
+        // Act
+        engine.evaluate(compiled, engine.context().begin(input(1L), customer1, MerchantCategory.RETAIL, now), result);
+
+        // Assert
+        assertEquals(50, result.getScore());
+        verify(featureLoader, times(1)).countSince(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should not load any features for in-memory rules")
+    void testNoFeatureLoadWhenUnused() {
+        // Arrange
+        EvaluationContext context = engine.context().begin(input(1L), customer1, MerchantCategory.RETAIL, now);
+
+        // Act & Assert
+        assertEquals(RiskProfile.LOW, context.customerProfile());
+        verifyNoInteractions(featureLoader);
+    }
+
+    @Test
+    @DisplayName("Should memoize sums and last transaction time")
+    void testMemoizedSumAndLastTransaction() {
+        // Arrange
+        when(featureLoader.sumSince(1L, now.minusMinutes(60))).thenReturn(250000L);
+        when(featureLoader.lastTransactionTime(1L)).thenReturn(now.minusMinutes(3));
+        EvaluationContext context = engine.context().begin(input(1L), customer1, MerchantCategory.RETAIL, now);
+
+        // Act
+        context.sumSince(60);
+        context.lastTransactionTime();
+
+        // Assert
+        assertEquals(250000L, context.sumSince(60));
+        assertEquals(now.minusMinutes(3), context.lastTransactionTime());
+        verify(featureLoader, times(1)).sumSince(anyLong(), any());
+        verify(featureLoader, times(1)).lastTransactionTime(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reload features for the next transaction outside a batch")
+    void testFeaturesResetBetweenTransactions() {
+        // Arrange
+        when(featureLoader.countSince(eq(1L), any())).thenReturn(1L, 2L);
+
+        // Act
+        long first = engine.context().begin(input(1L), customer1, MerchantCategory.RETAIL, now).countSince(10);
+        long second = engine.context().begin(input(1L), customer1, MerchantCategory.RETAIL, now).countSince(10);
+
+        // Assert
+        assertEquals(1L, first);
+        assertEquals(2L, second);
+    }
+
+    @Test
+    @DisplayName("Should load features at most once per customer in a batch")
+    void testBatchLoadsOncePerCustomer() {
+        // Arrange
+        when(featureLoader.countSince(eq(1L), any())).thenReturn(2L);
+        when(featureLoader.countSince(eq(2L), any())).thenReturn(0L);
+        FeatureBatch batch = engine.openBatch();
+
+        // Act
+        EvaluationContext first = batch.context(input(1L), customer1, MerchantCategory.RETAIL, now);
+        long firstCount = first.countSince(10);
+        batch.recordSubmitted(first);
+        EvaluationContext second = batch.context(input(1L), customer1, MerchantCategory.RETAIL, now.plusSeconds(1));
+        long secondCount = second.countSince(10);
+        long otherCustomer = batch.context(input(2L), customer2, MerchantCategory.RETAIL, now).countSince(10);
+
+        // Assert - the second transaction also sees the first one scored in this batch
+        assertEquals(2L, firstCount);
+        assertEquals(3L, secondCount);
+        assertEquals(0L, otherCustomer);
+        verify(featureLoader, times(1)).countSince(eq(1L), any());
+        verify(featureLoader, times(1)).countSince(eq(2L), any());
+    }
+
+    @Test
+    @DisplayName("Should include earlier batch submissions in windows loaded later")
+    void testBatchPendingIncludedInLateLoad() {
+        // Arrange
+        when(featureLoader.countSince(eq(1L), any())).thenReturn(4L);
+        when(featureLoader.sumSince(eq(1L), any())).thenReturn(1000L);
+        FeatureBatch batch = engine.openBatch();
+
+        // Act
+        EvaluationContext first = batch.context(input(1L), customer1, MerchantCategory.RETAIL, now);
+        batch.recordSubmitted(first);
+        EvaluationContext second = batch.context(input(1L), customer1, MerchantCategory.RETAIL, now.plusSeconds(1));
+
+        // Assert
+        assertEquals(5L, second.countSince(10));
+        assertEquals(1000L + 5000L, second.sumSince(10));
+        assertEquals(now, second.lastTransactionTime());
+    }
+
+    @Test
+    @DisplayName("Should approximate a frequency rule from recent activity when history is unavailable")
+    void testDegradedApproximateCount() {
+        // Arrange
+        when(featureLoader.countSince(eq(1L), any()))
+                .thenThrow(new FeatureUnavailableException("History lookup exceeded its budget", null));
+        for (int i = 1; i <= 4; i++) {
+            recentActivity.record(1L, now.minusMinutes(i));
+        }
+        recentActivity.record(1L, now.minusMinutes(30));
+        CompiledRuleSet compiled = engine.compile(List.of(frequencyRule(7L, 3, 10, 30)));
+        ScoringResult result = new ScoringResult();
+
+        // Act
+        engine.evaluate(compiled, engine.context().begin(input(1L), customer1, MerchantCategory.RETAIL, now), result);
+
+        // Assert - four recorded inside the window is more than three
+        assertEquals(30, result.getScore());
+        assertEquals(ReasonCode.FREQUENCY_EXCEEDED, result.reason(0));
+        assertEquals(List.of(7L), result.degradedRuleIds(compiled));
+    }
+
+    @Test
+    @DisplayName("Should apply the configured fallback to every history rule once features are unavailable")
+    void testDegradedFallbackPolicies() {
+        // Arrange
+        when(featureLoader.countSince(eq(1L), any()))
+                .thenThrow(new FeatureUnavailableException("History lookups are short-circuited", null));
+        List<RuleDefinition> rules = List.of(frequencyRule(1L, 3, 10, 30), frequencyRule(2L, 5, 60, 20));
+        ScoringEngine matched = engine(FallbackPolicy.ASSUME_MATCHED);
+        ScoringEngine notMatched = engine(FallbackPolicy.ASSUME_NOT_MATCHED);
+        CompiledRuleSet compiled = matched.compile(rules);
+        CompiledRuleSet compiledNotMatched = notMatched.compile(rules);
+        ScoringResult assumedMatched = new ScoringResult();
+        ScoringResult assumedNotMatched = new ScoringResult();
+
+        // Act
+        matched.evaluate(compiled, matched.context().begin(input(1L), customer1, MerchantCategory.RETAIL, now),
+                assumedMatched);
+        notMatched.evaluate(compiledNotMatched, notMatched.context().begin(input(1L), customer1, MerchantCategory.RETAIL, now),
+                assumedNotMatched);
+
+        // Assert - the second window fails fast without another lookup
+        assertEquals(50, assumedMatched.getScore());
+        assertEquals(ReasonCode.FREQUENCY_ASSUMED, assumedMatched.reason(0));
+        assertEquals(List.of(1L, 2L), assumedMatched.degradedRuleIds(compiled));
+        assertEquals(0, assumedNotMatched.getScore());
+        assertEquals(2, assumedNotMatched.getDegradedCount());
+        verify(featureLoader, times(2)).countSince(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should report no degraded rules when history is available")
+    void testNotDegradedWhenAvailable() {
+        // Arrange
+        when(featureLoader.countSince(eq(1L), any())).thenReturn(1L);
+        CompiledRuleSet compiled = engine.compile(List.of(frequencyRule(1L, 3, 10, 30)));
+        ScoringResult result = new ScoringResult();
+
+        // Act
+        engine.evaluate(compiled, engine.context().begin(input(1L), customer1, MerchantCategory.RETAIL, now), result);
+
+        // Assert
+        assertEquals(0, result.getDegradedCount());
+        assertTrue(result.degradedRuleIds(compiled).isEmpty());
+    }
+
+    private ScoringEngine engine(FallbackPolicy fallbackPolicy) {
+        return new ScoringEngine(List.of(new FrequencyEvaluator(null, recentActivity, fallbackPolicy)),
+                List.of(), featureLoader, List.of());
+    }
+
+    private TransactionInput input(Long customerId) {
+        return TransactionInput.builder()
+                .customerId(customerId)
+                .amount(new BigDecimal("50.00"))
+                .currency("USD")
+                .merchantCategory("RETAIL")
+                .build();
+    }
+
+    private RuleDefinition frequencyRule(Long id, int count, int windowMinutes, int points) {
+        return RuleDefinition.builder()
+                .id(id)
+                .ruleName("Frequency " + id)
+                .ruleType(RuleType.FREQUENCY)
+                .frequencyCount(count)
+                .frequencyWindowMinutes(windowMinutes)
+                .riskPoints(points)
+                .build();
+    }
+}
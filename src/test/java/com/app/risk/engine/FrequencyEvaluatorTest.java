@@ -2,8 +2,6 @@ package com.app.risk.engine;
 
 import com.app.risk.dto.MatchedRule;
 import com.app.risk.dto.TransactionInput;
-import com.app.risk.entity.*;
-import com.app.risk.repository.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -12,6 +10,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
@@ -26,32 +25,29 @@ import static org.mockito.Mockito.when;
 class FrequencyEvaluatorTest {
 
     @Mock
-    private TransactionRepository transactionRepository;
+    private FeatureLoader featureLoader;
 
     private FrequencyEvaluator evaluator;
-    private Customer testCustomer;
-    private RiskRule frequencyRule;
+    private CustomerProfile testCustomer;
+    private RuleDefinition frequencyRule;
 
     @BeforeEach
     void setUp() {
-        evaluator = new FrequencyEvaluator(transactionRepository);
+        evaluator = new FrequencyEvaluator(featureLoader,
+                new RecentActivity(1000, 64, Duration.ofHours(24)), FallbackPolicy.APPROXIMATE);
 
-        testCustomer = Customer.builder()
+        testCustomer = CustomerProfile.builder()
                 .id(1L)
-                .name("Test Customer")
-                .email("test@example.com")
                 .riskProfile(RiskProfile.LOW)
-                .country("USA")
                 .build();
 
-        frequencyRule = RiskRule.builder()
+        frequencyRule = RuleDefinition.builder()
                 .id(1L)
                 .ruleName("High Frequency")
                 .ruleType(RuleType.FREQUENCY)
                 .frequencyCount(3)
                 .frequencyWindowMinutes(10)
                 .riskPoints(30)
-                .active(true)
                 .build();
     }
 
@@ -82,7 +78,7 @@ class FrequencyEvaluatorTest {
                 .build();
 
         // Mock 4 transactions in the last 10 minutes (more than threshold of 3)
-        when(transactionRepository.countByCustomerIdAndTimestampAfter(eq(1L), any(LocalDateTime.class)))
+        when(featureLoader.countSince(eq(1L), any(LocalDateTime.class)))
                 .thenReturn(4L);
 
         // Act
@@ -114,7 +110,7 @@ class FrequencyEvaluatorTest {
                 .build();
 
         // Mock exactly 3 transactions in the last 10 minutes (equals threshold)
-        when(transactionRepository.countByCustomerIdAndTimestampAfter(eq(1L), any(LocalDateTime.class)))
+        when(featureLoader.countSince(eq(1L), any(LocalDateTime.class)))
                 .thenReturn(3L);
 
         // Act
@@ -138,7 +134,7 @@ class FrequencyEvaluatorTest {
                 .build();
 
         // Mock 2 transactions in the last 10 minutes (below threshold of 3)
-        when(transactionRepository.countByCustomerIdAndTimestampAfter(eq(1L), any(LocalDateTime.class)))
+        when(featureLoader.countSince(eq(1L), any(LocalDateTime.class)))
                 .thenReturn(2L);
 
         // Act
@@ -160,14 +156,13 @@ class FrequencyEvaluatorTest {
                 .merchantCategory("RETAIL")
                 .build();
 
-        RiskRule ruleWithoutCount = RiskRule.builder()
+        RuleDefinition ruleWithoutCount = RuleDefinition.builder()
                 .id(2L)
                 .ruleName("Invalid Rule")
                 .ruleType(RuleType.FREQUENCY)
                 .frequencyCount(null)
                 .frequencyWindowMinutes(10)
                 .riskPoints(30)
-                .active(true)
                 .build();
 
         // Act
@@ -189,14 +184,13 @@ class FrequencyEvaluatorTest {
                 .merchantCategory("RETAIL")
                 .build();
 
-        RiskRule ruleWithoutWindow = RiskRule.builder()
+        RuleDefinition ruleWithoutWindow = RuleDefinition.builder()
                 .id(3L)
                 .ruleName("Invalid Rule")
                 .ruleType(RuleType.FREQUENCY)
                 .frequencyCount(3)
                 .frequencyWindowMinutes(null)
                 .riskPoints(30)
-                .active(true)
                 .build();
 
         // Act
@@ -239,7 +233,7 @@ class FrequencyEvaluatorTest {
                 .build();
 
         // Mock 0 transactions in the last 10 minutes
-        when(transactionRepository.countByCustomerIdAndTimestampAfter(eq(1L), any(LocalDateTime.class)))
+        when(featureLoader.countSince(eq(1L), any(LocalDateTime.class)))
                 .thenReturn(0L);
 
         // Act
@@ -262,17 +256,16 @@ class FrequencyEvaluatorTest {
                 .merchantCategory("RETAIL")
                 .build();
 
-        RiskRule shortWindowRule = RiskRule.builder()
+        RuleDefinition shortWindowRule = RuleDefinition.builder()
                 .id(4L)
                 .ruleName("Very High Frequency")
                 .ruleType(RuleType.FREQUENCY)
                 .frequencyCount(1)
                 .frequencyWindowMinutes(1)
                 .riskPoints(50)
-                .active(true)
                 .build();
 
-        when(transactionRepository.countByCustomerIdAndTimestampAfter(eq(1L), any(LocalDateTime.class)))
+        when(featureLoader.countSince(eq(1L), any(LocalDateTime.class)))
                 .thenReturn(2L);
 
         // Act
@@ -297,17 +290,16 @@ class FrequencyEvaluatorTest {
                 .merchantCategory("RETAIL")
                 .build();
 
-        RiskRule longWindowRule = RiskRule.builder()
+        RuleDefinition longWindowRule = RuleDefinition.builder()
                 .id(5L)
                 .ruleName("Daily Frequency Limit")
                 .ruleType(RuleType.FREQUENCY)
                 .frequencyCount(50)
                 .frequencyWindowMinutes(1440) // 24 hours
                 .riskPoints(60)
-                .active(true)
                 .build();
 
-        when(transactionRepository.countByCustomerIdAndTimestampAfter(eq(1L), any(LocalDateTime.class)))
+        when(featureLoader.countSince(eq(1L), any(LocalDateTime.class)))
                 .thenReturn(51L);
 
         // Act
@@ -332,17 +324,16 @@ class FrequencyEvaluatorTest {
                 .merchantCategory("RETAIL")
                 .build();
 
-        RiskRule highFrequencyRule = RiskRule.builder()
+        RuleDefinition highFrequencyRule = RuleDefinition.builder()
                 .id(6L)
                 .ruleName("Very High Frequency Threshold")
                 .ruleType(RuleType.FREQUENCY)
                 .frequencyCount(100)
                 .frequencyWindowMinutes(60)
                 .riskPoints(100)
-                .active(true)
                 .build();
 
-        when(transactionRepository.countByCustomerIdAndTimestampAfter(eq(1L), any(LocalDateTime.class)))
+        when(featureLoader.countSince(eq(1L), any(LocalDateTime.class)))
                 .thenReturn(101L);
 
         // Act
@@ -352,5 +343,36 @@ class FrequencyEvaluatorTest {
         assertTrue(result.isPresent());
         assertEquals(100, result.get().getPoints());
     }
-}
 
+    @Test
+    @DisplayName("Should fall back to the policy when history is unavailable")
+    void testFallbackWhenHistoryUnavailable() {
+        // Arrange
+        TransactionInput input = TransactionInput.builder()
+                .customerId(1L)
+                .amount(new BigDecimal("100.00"))
+                .currency("USD")
+                .merchantCategory("RETAIL")
+                .build();
+        when(featureLoader.countSince(eq(1L), any(LocalDateTime.class)))
+                .thenThrow(new FeatureUnavailableException("History lookup exceeded its budget", null));
+        RecentActivity recentActivity = new RecentActivity(1000, 64, Duration.ofHours(24));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= 4; i++) {
+            recentActivity.record(1L, now.minusMinutes(i));
+        }
+
+        // Act
+        Optional<MatchedRule> approximate = new FrequencyEvaluator(featureLoader, recentActivity,
+                FallbackPolicy.APPROXIMATE).evaluate(input, testCustomer, frequencyRule, now);
+        Optional<MatchedRule> assumed = new FrequencyEvaluator(featureLoader, recentActivity,
+                FallbackPolicy.ASSUME_MATCHED).evaluate(input, testCustomer, frequencyRule, now);
+        Optional<MatchedRule> notAssumed = new FrequencyEvaluator(featureLoader, recentActivity,
+                FallbackPolicy.ASSUME_NOT_MATCHED).evaluate(input, testCustomer, frequencyRule, now);
+
+        // Assert
+        assertEquals(ReasonCode.FREQUENCY_EXCEEDED.name(), approximate.orElseThrow().getReasonCode());
+        assertEquals(ReasonCode.FREQUENCY_ASSUMED.name(), assumed.orElseThrow().getReasonCode());
+        assertTrue(notAssumed.isEmpty());
+    }
+}
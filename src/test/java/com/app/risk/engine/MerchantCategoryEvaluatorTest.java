@@ -2,7 +2,6 @@ package com.app.risk.engine;
 
 import com.app.risk.dto.MatchedRule;
 import com.app.risk.dto.TransactionInput;
-import com.app.risk.entity.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -18,38 +17,33 @@ import static org.junit.jupiter.api.Assertions.*;
 class MerchantCategoryEvaluatorTest {
 
     private MerchantCategoryEvaluator evaluator;
-    private Customer testCustomer;
-    private RiskRule gamblingRule;
-    private RiskRule cryptoRule;
+    private CustomerProfile testCustomer;
+    private RuleDefinition gamblingRule;
+    private RuleDefinition cryptoRule;
 
     @BeforeEach
     void setUp() {
         evaluator = new MerchantCategoryEvaluator();
 
-        testCustomer = Customer.builder()
+        testCustomer = CustomerProfile.builder()
                 .id(1L)
-                .name("Test Customer")
-                .email("test@example.com")
                 .riskProfile(RiskProfile.LOW)
-                .country("USA")
                 .build();
 
-        gamblingRule = RiskRule.builder()
+        gamblingRule = RuleDefinition.builder()
                 .id(1L)
                 .ruleName("Gambling Merchant")
                 .ruleType(RuleType.MERCHANT_CATEGORY)
                 .merchantCategory(MerchantCategory.GAMBLING)
                 .riskPoints(40)
-                .active(true)
                 .build();
 
-        cryptoRule = RiskRule.builder()
+        cryptoRule = RuleDefinition.builder()
                 .id(2L)
                 .ruleName("Crypto Merchant")
                 .ruleType(RuleType.MERCHANT_CATEGORY)
                 .merchantCategory(MerchantCategory.CRYPTO)
                 .riskPoints(35)
-                .active(true)
                 .build();
     }
 
@@ -146,13 +140,12 @@ class MerchantCategoryEvaluatorTest {
                 .merchantCategory("GAMBLING")
                 .build();
 
-        RiskRule ruleWithoutCategory = RiskRule.builder()
+        RuleDefinition ruleWithoutCategory = RuleDefinition.builder()
                 .id(3L)
                 .ruleName("Invalid Rule")
                 .ruleType(RuleType.MERCHANT_CATEGORY)
                 .merchantCategory(null)
                 .riskPoints(40)
-                .active(true)
                 .build();
 
         // Act
@@ -193,13 +186,12 @@ class MerchantCategoryEvaluatorTest {
                 .merchantCategory("RETAIL")
                 .build();
 
-        RiskRule retailRule = RiskRule.builder()
+        RuleDefinition retailRule = RuleDefinition.builder()
                 .id(4L)
                 .ruleName("Retail Merchant")
                 .ruleType(RuleType.MERCHANT_CATEGORY)
                 .merchantCategory(MerchantCategory.RETAIL)
                 .riskPoints(5)
-                .active(true)
                 .build();
 
         // Act
@@ -223,13 +215,12 @@ class MerchantCategoryEvaluatorTest {
                 .merchantCategory("OTHER")
                 .build();
 
-        RiskRule otherRule = RiskRule.builder()
+        RuleDefinition otherRule = RuleDefinition.builder()
                 .id(5L)
                 .ruleName("Other Merchant")
                 .ruleType(RuleType.MERCHANT_CATEGORY)
                 .merchantCategory(MerchantCategory.OTHER)
                 .riskPoints(10)
-                .active(true)
                 .build();
 
         // Act
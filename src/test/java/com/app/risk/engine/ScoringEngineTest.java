@@ -0,0 +1,230 @@
+package com.app.risk.engine;
+
+import com.app.risk.dto.MatchedRule;
+import com.app.risk.dto.TransactionInput;
+import com.app.risk.metrics.LatencyRecorders;
+import com.app.risk.metrics.ScoringMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ScoringEngine Unit Tests")
+class ScoringEngineTest {
+
+    @Mock
+    private FeatureLoader featureLoader;
+
+    private ScoringEngine engine;
+    private CustomerProfile testCustomer;
+    private List<RuleDefinition> rules;
+
+    @BeforeEach
+    void setUp() {
+        engine = new ScoringEngine(Arrays.asList(
+                new AmountThresholdEvaluator(),
+                new MerchantCategoryEvaluator()
+        ), List.of(), featureLoader, List.of());
+
+        testCustomer = CustomerProfile.builder()
+                .id(1L)
+                .riskProfile(RiskProfile.LOW)
+                .build();
+
+        rules = Arrays.asList(
+                RuleDefinition.builder()
+                        .id(1L)
+                        .ruleName("High Amount")
+                        .ruleType(RuleType.AMOUNT_THRESHOLD)
+                        .amountThreshold(new BigDecimal("10000"))
+                        .riskPoints(50)
+                        .build(),
+                RuleDefinition.builder()
+                        .id(2L)
+                        .ruleName("Gambling")
+                        .ruleType(RuleType.MERCHANT_CATEGORY)
+                        .merchantCategory(MerchantCategory.GAMBLING)
+                        .riskPoints(40)
+                        .build()
+        );
+    }
+
+    @Test
+    @DisplayName("Should score matched rules and materialize reasons at the boundary")
+    void testScoreAndMaterialize() {
+        // Arrange
+        TransactionInput input = input("12000.00", "GAMBLING");
+        CompiledRuleSet compiled = engine.compile(rules);
+        ScoringResult result = new ScoringResult();
+
+        // Act
+        engine.evaluate(compiled, engine.context().begin(input, testCustomer, MerchantCategory.GAMBLING,
+                LocalDateTime.now()), result);
+        List<MatchedRule> matchedRules = result.toMatchedRules(compiled);
+
+        // Assert
+        assertEquals(90, result.getScore());
+        assertEquals(2, result.getMatchCount());
+        assertTrue(result.isMatched(0));
+        assertTrue(result.isMatched(1));
+        assertEquals(1200000L, result.fact(0));
+        assertEquals(ReasonCode.AMOUNT_OVER_THRESHOLD, result.reason(0));
+
+        assertEquals(2, matchedRules.size());
+        assertEquals("AMOUNT_OVER_THRESHOLD", matchedRules.get(0).getReasonCode());
+        assertEquals("Transaction amount 12000.00 exceeds threshold 10000", matchedRules.get(0).getReason());
+        assertEquals("High-risk merchant category: GAMBLING", matchedRules.get(1).getReason());
+    }
+
+    @Test
+    @DisplayName("Should not match amount equal to threshold")
+    void testAmountEqualToThreshold() {
+        // Arrange
+        CompiledRuleSet compiled = engine.compile(rules);
+        ScoringResult result = new ScoringResult();
+
+        // Act
+        engine.evaluate(compiled, engine.context().begin(input("10000.00", "RETAIL"), testCustomer,
+                MerchantCategory.RETAIL, LocalDateTime.now()), result);
+
+        // Assert
+        assertEquals(0, result.getScore());
+        assertTrue(result.toMatchedRules(compiled).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should read features from the loader a context was opened with")
+    void testContextWithOwnLoader() {
+        // Arrange
+        FeatureLoader prefetched = mock(FeatureLoader.class);
+        LocalDateTime now = LocalDateTime.now();
+        when(prefetched.countSince(1L, now.minusMinutes(10))).thenReturn(7L);
+
+        // Act
+        EvaluationContext context = engine.context(prefetched)
+                .begin(input("100.00", "RETAIL"), testCustomer, MerchantCategory.RETAIL, now);
+
+        // Assert
+        assertEquals(7L, context.countSince(10));
+        assertNotSame(engine.context(), context);
+        verifyNoInteractions(featureLoader);
+    }
+
+    @Test
+    @DisplayName("Should adapt legacy RiskRuleEvaluators and honour their results")
+    void testLegacyEvaluatorResult() {
+        // Arrange
+        MatchedRule frequencyMatch = MatchedRule.builder()
+                .ruleId(3L)
+                .ruleName("High Frequency")
+                .ruleType("FREQUENCY")
+                .points(29)
+                .reason("Frequency threshold exceeded")
+                .build();
+        RiskRuleEvaluator frequencyEvaluator = new RiskRuleEvaluator() {
+            @Override
+            public boolean supports(RuleType ruleType) {
+                return ruleType == RuleType.FREQUENCY;
+            }
+
+            @Override
+            public Optional<MatchedRule> evaluate(TransactionInput input, CustomerProfile customer, RuleDefinition rule,
+                                                  LocalDateTime timestamp) {
+                return Optional.of(frequencyMatch);
+            }
+        };
+        engine = new ScoringEngine(List.of(), Arrays.asList(new AmountThresholdEvaluator(), frequencyEvaluator),
+                featureLoader, List.of());
+        List<RuleDefinition> withFrequency = Arrays.asList(rules.get(0), RuleDefinition.builder()
+                .id(3L)
+                .ruleName("High Frequency")
+                .ruleType(RuleType.FREQUENCY)
+                .frequencyCount(3)
+                .frequencyWindowMinutes(10)
+                .riskPoints(30)
+                .build());
+        CompiledRuleSet compiled = engine.compile(withFrequency);
+        ScoringResult result = new ScoringResult();
+
+        // Act
+        engine.evaluate(compiled, engine.context().begin(input("50.00", "RETAIL"), testCustomer,
+                MerchantCategory.RETAIL, LocalDateTime.now()), result);
+
+        // Assert
+        assertEquals(29, result.getScore());
+        assertSame(frequencyMatch, result.toMatchedRules(compiled).get(0));
+    }
+
+    @Test
+    @DisplayName("Should reuse compiled snapshot while rules are unchanged")
+    void testCompiledSnapshotReuse() {
+        CompiledRuleSet first = engine.compile(rules);
+
+        assertSame(first, engine.compile(List.copyOf(rules)));
+
+        rules.set(0, RuleDefinition.builder()
+                .id(1L)
+                .ruleName("High Amount")
+                .ruleType(RuleType.AMOUNT_THRESHOLD)
+                .amountThreshold(new BigDecimal("10000"))
+                .riskPoints(60)
+                .build());
+        assertNotSame(first, engine.compile(rules));
+    }
+
+    @Test
+    @DisplayName("Should not allocate per evaluation for in-memory rules, with the production observers attached")
+    void testZeroAllocationPerEvaluation() {
+        // Arrange
+        engine = new ScoringEngine(Arrays.asList(new AmountThresholdEvaluator(), new MerchantCategoryEvaluator()),
+                List.of(), featureLoader, List.of(new ScoringMetrics(new SimpleMeterRegistry()),
+                        new LatencyRecorders(Duration.ofSeconds(10), Duration.ofMinutes(5))));
+        CompiledRuleSet compiled = engine.compile(rules);
+        EvaluationContext context = engine.context().begin(input("12000.00", "GAMBLING"), testCustomer,
+                MerchantCategory.GAMBLING, LocalDateTime.now());
+        ScoringResult result = new ScoringResult();
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int iterations = 100_000;
+        for (int i = 0; i < iterations; i++) {
+            engine.evaluate(compiled, context, result);
+        }
+
+        // Act
+        long before = threadBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < iterations; i++) {
+            engine.evaluate(compiled, context, result);
+        }
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - before;
+
+        // Assert - less than one byte per evaluation means nothing is allocated per call
+        assertEquals(90, result.getScore());
+        assertTrue(allocated < iterations, "Allocated " + allocated + " bytes over " + iterations + " evaluations");
+    }
+
+    private TransactionInput input(String amount, String merchantCategory) {
+        return TransactionInput.builder()
+                .customerId(1L)
+                .amount(new BigDecimal(amount))
+                .currency("USD")
+                .merchantCategory(merchantCategory)
+                .build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.app.risk.jfr;
+
+import com.app.risk.audit.AuditLogService;
+import com.app.risk.config.JacksonConfig;
+import com.app.risk.dto.TransactionInput;
+import com.app.risk.engine.*;
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.engine.RiskProfile;
+import com.app.risk.engine.RuleType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JFR Scoring Events Tests")
+class ScoringEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Should emit RuleEvaluated events from the engine when enabled")
+    void testRuleEvaluatedEvents() throws Exception {
+        // Arrange
+        ScoringEngine engine = new ScoringEngine(
+                Arrays.asList(new AmountThresholdEvaluator(), new MerchantCategoryEvaluator()),
+                List.of(), null, List.of());
+        CompiledRuleSet compiled = engine.compile(Arrays.asList(
+                RuleDefinition.builder().id(1L).ruleName("High Amount").ruleType(RuleType.AMOUNT_THRESHOLD)
+                        .amountThreshold(new BigDecimal("10000")).riskPoints(50).build(),
+                RuleDefinition.builder().id(2L).ruleName("Gambling").ruleType(RuleType.MERCHANT_CATEGORY)
+                        .merchantCategory(MerchantCategory.GAMBLING).riskPoints(40).build()
+        ));
+        CustomerProfile customer = CustomerProfile.builder().id(7L).riskProfile(RiskProfile.LOW).build();
+        TransactionInput input = TransactionInput.builder().customerId(7L).amount(new BigDecimal("12000.00"))
+                .currency("USD").merchantCategory("RETAIL").build();
+
+        // Act
+        List<RecordedEvent> events = record("com.app.risk.RuleEvaluated", () -> engine.evaluate(compiled,
+                engine.context().begin(input, customer, MerchantCategory.RETAIL, LocalDateTime.now()),
+                engine.result()));
+
+        // Assert
+        assertEquals(2, events.size());
+        assertEquals(1L, events.get(0).getLong("ruleId"));
+        assertEquals("AMOUNT_THRESHOLD", events.get(0).getString("ruleType"));
+        assertEquals("AmountThresholdEvaluator", events.get(0).getString("evaluator"));
+        assertEquals("MerchantCategoryEvaluator", events.get(1).getString("evaluator"));
+        assertEquals(7L, events.get(0).getLong("customerId"));
+        assertTrue(events.get(0).getBoolean("matched"));
+        assertFalse(events.get(1).getBoolean("matched"));
+    }
+
+    @Test
+    @DisplayName("Should emit AuditFlushed events from the audit service when enabled")
+    void testAuditFlushedEvents() throws Exception {
+        // Arrange
+        AuditLogService auditLogService = new AuditLogService(new JacksonConfig().objectMapper());
+
+        // Act
+        List<RecordedEvent> events = record("com.app.risk.AuditFlushed",
+                () -> auditLogService.logTransactionApproved(42L, 7L, 10));
+
+        // Assert
+        assertEquals(1, events.size());
+        assertEquals("TRANSACTION_APPROVED", events.get(0).getString("eventType"));
+        assertEquals(42L, events.get(0).getLong("resourceId"));
+        assertTrue(events.get(0).getLong("chars") > 0);
+    }
+
+    private List<RecordedEvent> record(String eventName, Runnable action) throws Exception {
+        Path file = tempDir.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .toList();
+    }
+}
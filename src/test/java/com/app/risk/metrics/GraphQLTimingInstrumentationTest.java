@@ -0,0 +1,86 @@
+package com.app.risk.metrics;
+
+import com.app.risk.dto.LatencySeries;
+import com.app.risk.dto.SlowOperation;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GraphQLTimingInstrumentation Unit Tests")
+class GraphQLTimingInstrumentationTest {
+
+    private static final String SDL = """
+            type Query {
+                customer(id: Int!): Customer
+            }
+
+            type Customer {
+                id: Int!
+                name: String!
+            }
+            """;
+
+    private LatencyRecorders latencyRecorders;
+    private GraphQLTimingInstrumentation instrumentation;
+    private GraphQL graphQL;
+
+    @BeforeEach
+    void setUp() {
+        latencyRecorders = new LatencyRecorders(Duration.ofSeconds(10), Duration.ofMinutes(5));
+        instrumentation = new GraphQLTimingInstrumentation(latencyRecorders, Duration.ZERO, 2);
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder.dataFetcher("customer",
+                        env -> Map.<String, Object>of("id", env.getArgument("id"), "name", "Test Customer")))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SDL), wiring);
+        graphQL = GraphQL.newGraphQL(schema).instrumentation(instrumentation).build();
+    }
+
+    @Test
+    @DisplayName("Should record latency for non-trivial data fetchers only")
+    void testFieldLatency() {
+        // Act
+        ExecutionResult result = graphQL.execute("{ customer(id: 7) { id name } }");
+        latencyRecorders.roll();
+
+        // Assert
+        assertTrue(result.getErrors().isEmpty());
+        List<LatencySeries> series = latencyRecorders.fieldReport("1m").getSeries();
+        assertEquals(1, series.size());
+        assertEquals("Query.customer", series.get(0).getName());
+        assertEquals(1L, series.get(0).getCount());
+    }
+
+    @Test
+    @DisplayName("Should keep slow operations with literal-free query shapes")
+    void testSlowOperations() {
+        // Act
+        graphQL.execute("query ByOne { customer(id: 1) { name } }");
+        graphQL.execute("query ByTwo { customer(id: 2) { name } }");
+        graphQL.execute("query ByThree { customer(id: 3) { name id } }");
+
+        // Assert - only the two most recent are retained
+        List<SlowOperation> slowOperations = instrumentation.slowOperations();
+        assertEquals(2, slowOperations.size());
+        assertTrue(slowOperations.stream().noneMatch(operation -> "ByOne".equals(operation.getOperationName())));
+        SlowOperation byThree = slowOperations.stream()
+                .filter(operation -> "ByThree".equals(operation.getOperationName()))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("Query.customer", byThree.getSlowestField());
+        assertFalse(byThree.getQueryShape().contains("3"));
+        assertTrue(byThree.getQueryShape().contains("customer"));
+    }
+}
@@ -0,0 +1,134 @@
+package com.app.risk.metrics;
+
+import com.app.risk.dto.LatencyReport;
+import com.app.risk.dto.LatencySeries;
+import com.app.risk.dto.TransactionInput;
+import com.app.risk.engine.*;
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.engine.RiskProfile;
+import com.app.risk.engine.RuleType;
+import com.app.risk.exception.BadRequestException;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LatencyRecorders Unit Tests")
+class LatencyRecordersTest {
+
+    private LatencyRecorders recorders;
+
+    @BeforeEach
+    void setUp() {
+        recorders = new LatencyRecorders(Duration.ofSeconds(10), Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("Should report tail percentiles of closed intervals")
+    void testPercentilesAfterRoll() {
+        // Arrange
+        for (int i = 1; i <= 1000; i++) {
+            recorders.submission().record(i * 1_000_000L);
+        }
+
+        // Act
+        LatencySeries before = series(recorders.report("1m"), "submission");
+        recorders.roll();
+        LatencySeries after = series(recorders.report("1m"), "submission");
+
+        // Assert - nothing is visible until the interval is closed
+        assertEquals(0L, before.getCount());
+        assertEquals(1000L, after.getCount());
+        assertEquals(500.0, after.getP50(), 5.0);
+        assertEquals(990.0, after.getP99(), 10.0);
+        assertEquals(999.0, after.getP999(), 10.0);
+        assertEquals(1000.0, after.getMax(), 10.0);
+        assertEquals(10, recorders.report(null).getIntervalSeconds());
+    }
+
+    @Test
+    @DisplayName("Should merge only intervals that ended inside the window")
+    void testWindowExcludesOldIntervals() {
+        // Arrange
+        LatencyRecorder recorder = new LatencyRecorder("test", 3);
+        recorder.record(5_000L);
+        recorder.roll();
+        recorder.record(7_000L);
+        recorder.roll();
+        long now = System.currentTimeMillis();
+
+        // Act
+        Histogram recent = recorder.window(60_000L, now);
+        Histogram future = recorder.window(1_000L, now + 60_000L);
+
+        // Assert
+        assertEquals(2L, recent.getTotalCount());
+        assertEquals(0L, future.getTotalCount());
+    }
+
+    @Test
+    @DisplayName("Should overwrite the oldest interval once the ring is full")
+    void testRingOverwritesOldest() {
+        // Arrange
+        LatencyRecorder recorder = new LatencyRecorder("test", 2);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            recorder.record(1_000L);
+            recorder.roll();
+        }
+
+        // Assert
+        assertEquals(2L, recorder.window(60_000L, System.currentTimeMillis()).getTotalCount());
+    }
+
+    @Test
+    @DisplayName("Should record per-evaluator latency from the scoring engine")
+    void testEvaluatorLatencyFromEngine() {
+        // Arrange
+        ScoringEngine engine = new ScoringEngine(List.of(new AmountThresholdEvaluator()), List.of(), null,
+                List.of(recorders));
+        CompiledRuleSet compiled = engine.compile(List.of(RuleDefinition.builder()
+                .id(1L)
+                .ruleName("High Amount")
+                .ruleType(RuleType.AMOUNT_THRESHOLD)
+                .amountThreshold(new BigDecimal("10000"))
+                .riskPoints(50)
+                .build()));
+        CustomerProfile customer = CustomerProfile.builder().id(1L).riskProfile(RiskProfile.LOW).build();
+        TransactionInput input = TransactionInput.builder().customerId(1L).amount(new BigDecimal("50.00"))
+                .currency("USD").merchantCategory("RETAIL").build();
+
+        // Act
+        engine.evaluate(compiled, engine.context().begin(input, customer, MerchantCategory.RETAIL,
+                LocalDateTime.now()), engine.result());
+        recorders.roll();
+
+        // Assert
+        LatencyReport report = recorders.report("30s");
+        assertEquals(1L, series(report, "evaluator.AMOUNT_THRESHOLD").getCount());
+        assertEquals(0L, series(report, "evaluator.FREQUENCY").getCount());
+    }
+
+    @Test
+    @DisplayName("Should reject windows that are malformed or beyond retention")
+    void testInvalidWindow() {
+        assertThrows(BadRequestException.class, () -> recorders.report("soon"));
+        assertThrows(BadRequestException.class, () -> recorders.report("1h"));
+        assertThrows(BadRequestException.class, () -> recorders.report("0s"));
+    }
+
+    private LatencySeries series(LatencyReport report, String name) {
+        return report.getSeries().stream()
+                .filter(series -> series.getName().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,137 @@
+package com.app.risk.metrics;
+
+import com.app.risk.dto.TransactionInput;
+import com.app.risk.engine.*;
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.engine.RiskProfile;
+import com.app.risk.engine.RuleType;
+import com.app.risk.entity.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ScoringMetrics Unit Tests")
+class ScoringMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private ScoringMetrics metrics;
+    private ScoringEngine engine;
+    private List<RuleDefinition> rules;
+    private CustomerProfile testCustomer;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new ScoringMetrics(registry);
+        engine = new ScoringEngine(Arrays.asList(new AmountThresholdEvaluator(), new MerchantCategoryEvaluator()),
+                List.of(), null, List.of(metrics));
+
+        rules = Arrays.asList(
+                RuleDefinition.builder()
+                        .id(1L)
+                        .ruleName("High Amount")
+                        .ruleType(RuleType.AMOUNT_THRESHOLD)
+                        .amountThreshold(new BigDecimal("10000"))
+                        .riskPoints(50)
+                        .build(),
+                RuleDefinition.builder()
+                        .id(2L)
+                        .ruleName("Gambling")
+                        .ruleType(RuleType.MERCHANT_CATEGORY)
+                        .merchantCategory(MerchantCategory.GAMBLING)
+                        .riskPoints(40)
+                        .build()
+        );
+
+        testCustomer = CustomerProfile.builder()
+                .id(1L)
+                .riskProfile(RiskProfile.LOW)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should count rule evaluations and hits per rule")
+    void testRuleCounters() {
+        // Act
+        score("12000.00", MerchantCategory.RETAIL);
+        score("50.00", MerchantCategory.GAMBLING);
+        score("50.00", MerchantCategory.RETAIL);
+
+        // Assert
+        assertEquals(3.0, registry.get("risk.rule.evaluations").tag("rule", "1").functionCounter().count());
+        assertEquals(1.0, registry.get("risk.rule.hits").tag("rule", "1").functionCounter().count());
+        assertEquals(1.0, registry.get("risk.rule.hits").tag("rule", "2").functionCounter().count());
+        assertEquals(3, registry.get("risk.rule.evaluation").tag("ruleType", "AMOUNT_THRESHOLD").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should count rule snapshot cache hits and misses")
+    void testSnapshotCacheCounters() {
+        // Act
+        engine.compile(rules);
+        engine.compile(rules);
+        engine.compile(rules);
+
+        // Assert
+        assertEquals(2.0, registry.get("risk.cache.requests").tag("cache", "rule-snapshot")
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("risk.cache.requests").tag("cache", "rule-snapshot")
+                .tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should record submissions and outcomes")
+    void testSubmissionMetrics() {
+        // Act
+        metrics.recordSubmission(1_000_000L, TransactionStatus.APPROVED);
+        metrics.recordSubmission(2_000_000L, TransactionStatus.FLAGGED);
+        metrics.recordSubmission(3_000_000L, TransactionStatus.FLAGGED);
+        metrics.recordSubmissionFailure(500_000L);
+
+        // Assert
+        assertEquals(3, registry.get("risk.transaction.submit").tag("result", "success").timer().count());
+        assertEquals(1, registry.get("risk.transaction.submit").tag("result", "error").timer().count());
+        assertEquals(1.0, registry.get("risk.transaction.outcome").tag("status", "APPROVED")
+                .functionCounter().count());
+        assertEquals(2.0, registry.get("risk.transaction.outcome").tag("status", "FLAGGED")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should time a micro-batch once and count each of its outcomes")
+    void testBatchMetrics() {
+        // Act
+        metrics.recordBatch(4_000_000L, List.of(TransactionStatus.APPROVED, TransactionStatus.FLAGGED,
+                TransactionStatus.APPROVED));
+
+        // Assert
+        assertEquals(1, registry.get("risk.transaction.batch").timer().count());
+        assertEquals(4.0, registry.get("risk.transaction.batch").timer().totalTime(TimeUnit.MILLISECONDS));
+        assertEquals(0, registry.get("risk.transaction.submit").tag("result", "success").timer().count());
+        assertEquals(2.0, registry.get("risk.transaction.outcome").tag("status", "APPROVED")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("risk.transaction.outcome").tag("status", "FLAGGED")
+                .functionCounter().count());
+    }
+
+    private void score(String amount, MerchantCategory category) {
+        TransactionInput input = TransactionInput.builder()
+                .customerId(1L)
+                .amount(new BigDecimal(amount))
+                .currency("USD")
+                .merchantCategory(category.name())
+                .build();
+        CompiledRuleSet compiled = engine.compile(rules);
+        engine.evaluate(compiled, engine.context().begin(input, testCustomer, category, LocalDateTime.now()),
+                engine.result());
+    }
+}
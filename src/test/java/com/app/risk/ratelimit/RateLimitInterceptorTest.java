@@ -0,0 +1,191 @@
+package com.app.risk.ratelimit;
+
+import com.app.risk.exception.RiskErrorType;
+import graphql.ExecutionResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.graphql.ResponseError;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedMultiValueMap;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RateLimitInterceptor Unit Tests")
+class RateLimitInterceptorTest {
+
+    private static final String SUBMIT = "mutation($input: TransactionInput!) { submitTransaction(input: $input) { id } }";
+
+    private SimpleMeterRegistry registry;
+    private RateLimitProperties properties;
+    private AtomicLong now;
+    private AtomicInteger executed;
+    private WebGraphQlInterceptor.Chain chain;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        properties = new RateLimitProperties();
+        properties.setEnabled(true);
+        properties.setRequestsPerMinute(60);
+        properties.setCustomerRequestsPerMinute(60);
+        properties.setBurst(2);
+        properties.setTrustedProxies(List.of("10.0.0.9"));
+        now = new AtomicLong(1_000_000_000_000L);
+        executed = new AtomicInteger();
+        chain = request -> {
+            executed.incrementAndGet();
+            return Mono.just(new WebGraphQlResponse(new DefaultExecutionGraphQlResponse(request.toExecutionInput(),
+                    ExecutionResult.newExecutionResult().data(Map.of()).build())));
+        };
+    }
+
+    @Test
+    @DisplayName("Should reject a client's burst before execution with a retry hint")
+    void testClientBurstRejected() {
+        // Arrange
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties, registry, now::get);
+
+        // Act
+        interceptor.intercept(request("gateway-a", "{ customers { id } }", Map.of()), chain).block();
+        interceptor.intercept(request("gateway-a", "{ customers { id } }", Map.of()), chain).block();
+        WebGraphQlResponse rejected = interceptor.intercept(request("gateway-a", "{ customers { id } }", Map.of()), chain).block();
+        interceptor.intercept(request("gateway-b", "{ customers { id } }", Map.of()), chain).block();
+
+        // Assert
+        assertEquals(3, executed.get());
+        ResponseError error = rejected.getErrors().get(0);
+        assertEquals(RiskErrorType.RATE_LIMITED, error.getErrorType());
+        assertEquals(1000L, error.getExtensions().get("retryAfterMs"));
+        assertEquals("1", rejected.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, registry.get("risk.ratelimit.requests").tag("limit", "client").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should limit a customer across clients")
+    void testCustomerLimitedAcrossClients() {
+        // Arrange
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties, registry, now::get);
+        Map<String, Object> variables = Map.of("input", Map.of("customerId", "7", "amount", 10));
+
+        // Act
+        interceptor.intercept(request("gateway-a", SUBMIT, variables), chain).block();
+        interceptor.intercept(request("gateway-b", SUBMIT, variables), chain).block();
+        WebGraphQlResponse rejected = interceptor.intercept(request("gateway-c", SUBMIT, variables), chain).block();
+
+        // Assert
+        assertEquals(2, executed.get());
+        assertEquals("Rate limit exceeded for customer 7", rejected.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    @DisplayName("Should find customer ids in variables and inline arguments")
+    void testCustomerIdsFound() {
+        // Arrange
+        String document = "mutation { a: submitTransaction(input: {customerId: 3, amount: 1}) { id } "
+                + "b: submitTransaction(input: {customerId: \"4\", amount: 1}) { id } }";
+        Map<String, Object> variables = Map.of("batch", List.of(Map.of("customerId", 5L)), "customerId", "oops");
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties, registry, now::get);
+
+        // Act
+        Set<Long> ids = interceptor.customerIds(request("gateway-a", document, variables));
+
+        // Assert
+        assertEquals(Set.of(3L, 4L, 5L), ids);
+    }
+
+    @Test
+    @DisplayName("Should ignore customerId inside string literals and comments")
+    void testCustomerIdsIgnoreStringsAndComments() {
+        // Arrange
+        String document = "query { customers(search: \"customerId: 9\") { id } }\n# customerId: 10\n";
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties, registry, now::get);
+
+        // Act
+        Set<Long> ids = interceptor.customerIds(request("gateway-a", document, Map.of()));
+
+        // Assert
+        assertTrue(ids.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should key on the remote address when the client header does not come from a trusted proxy")
+    void testUntrustedClientHeaderIgnored() {
+        // Arrange
+        properties.setTrustedProxies(List.of());
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties, registry, now::get);
+
+        // Act - a fresh header on every request
+        for (int i = 0; i < 3; i++) {
+            interceptor.intercept(request("rotated-" + i, "{ customers { id } }", Map.of()), chain).block();
+        }
+
+        // Assert
+        assertEquals(2, executed.get());
+    }
+
+    @Test
+    @DisplayName("Should give back the client's token when a customer limit rejects the request")
+    void testClientTokenRefundedOnCustomerRejection() {
+        // Arrange - customer 7 spent by two other clients
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties, registry, now::get);
+        Map<String, Object> variables = Map.of("input", Map.of("customerId", "7", "amount", 10));
+        interceptor.intercept(request("gateway-a", SUBMIT, variables), chain).block();
+        interceptor.intercept(request("gateway-b", SUBMIT, variables), chain).block();
+
+        // Act
+        WebGraphQlResponse rejected = interceptor.intercept(request("gateway-c", SUBMIT, variables), chain).block();
+        interceptor.intercept(request("gateway-c", "{ customers { id } }", Map.of()), chain).block();
+        interceptor.intercept(request("gateway-c", "{ customers { id } }", Map.of()), chain).block();
+
+        // Assert - gateway-c still had its whole burst after the rejected request
+        assertEquals(RiskErrorType.RATE_LIMITED, rejected.getErrors().get(0).getErrorType());
+        assertEquals(4, executed.get());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the remote address and pass everything through when disabled")
+    void testRemoteAddressAndDisabled() {
+        // Arrange
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties, registry, now::get);
+        RateLimitInterceptor disabled = new RateLimitInterceptor(new RateLimitProperties(), new SimpleMeterRegistry(),
+                now::get);
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            interceptor.intercept(request(null, "{ customers { id } }", Map.of()), chain).block();
+            disabled.intercept(request(null, "{ customers { id } }", Map.of()), chain).block();
+        }
+
+        // Assert - two of three from the address, all three when disabled
+        assertEquals(5, executed.get());
+    }
+
+    private WebGraphQlRequest request(String client, String document, Map<String, Object> variables) {
+        HttpHeaders headers = new HttpHeaders();
+        if (client != null) {
+            headers.set("X-Client-Id", client);
+        }
+        Map<String, Object> body = new HashMap<>();
+        body.put("query", document);
+        body.put("variables", variables);
+        return new WebGraphQlRequest(URI.create("http://localhost/graphql"), headers, new LinkedMultiValueMap<>(),
+                new InetSocketAddress("10.0.0.9", 51234), Map.of(), body, "1", Locale.ROOT);
+    }
+}
@@ -0,0 +1,111 @@
+package com.app.risk.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TokenBuckets Unit Tests")
+class TokenBucketsTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private AtomicLong now;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000 * SECOND);
+    }
+
+    @Test
+    @DisplayName("Should allow a burst, reject the next request and refill at the configured rate")
+    void testBurstThenRefill() {
+        // Arrange - 60 a minute is one a second, five at once
+        TokenBuckets buckets = new TokenBuckets(64, 60, 5, Duration.ofMinutes(10).toNanos(), now::get);
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertEquals(TokenBuckets.ALLOWED, buckets.tryAcquire(42L));
+        }
+        assertEquals(SECOND, buckets.tryAcquire(42L));
+        assertEquals(TokenBuckets.ALLOWED, buckets.tryAcquire(43L));
+        now.addAndGet(SECOND);
+        assertEquals(TokenBuckets.ALLOWED, buckets.tryAcquire(42L));
+        assertTrue(buckets.tryAcquire(42L) > 0);
+    }
+
+    @Test
+    @DisplayName("Should give a refunded token back to the bucket")
+    void testRefund() {
+        // Arrange
+        TokenBuckets buckets = new TokenBuckets(64, 60, 2, Duration.ofMinutes(10).toNanos(), now::get);
+        buckets.tryAcquire(42L);
+        buckets.tryAcquire(42L);
+
+        // Act
+        buckets.refund(42L);
+        buckets.refund(7L);
+
+        // Assert
+        assertEquals(TokenBuckets.ALLOWED, buckets.tryAcquire(42L));
+        assertTrue(buckets.tryAcquire(42L) > 0);
+    }
+
+    @Test
+    @DisplayName("Should hand an idle bucket to a new key once the table is full")
+    void testIdleSlotReused() {
+        // Arrange - the smallest table has eight slots
+        TokenBuckets buckets = new TokenBuckets(8, 60, 1, Duration.ofMinutes(1).toNanos(), now::get);
+        for (long key = 1; key <= 8; key++) {
+            assertEquals(TokenBuckets.ALLOWED, buckets.tryAcquire(key));
+        }
+
+        // Act
+        long whileLive = buckets.tryAcquire(100L);
+        now.addAndGet(Duration.ofMinutes(2).toNanos());
+        long afterIdle = buckets.tryAcquire(100L);
+
+        // Assert
+        assertEquals(TokenBuckets.UNTRACKED, whileLive);
+        assertEquals(TokenBuckets.ALLOWED, afterIdle);
+        assertTrue(buckets.tryAcquire(100L) > 0);
+    }
+
+    @Test
+    @DisplayName("Should never allow more than the burst under concurrent callers")
+    void testConcurrentCallersRespectBurst() throws Exception {
+        // Arrange
+        TokenBuckets buckets = new TokenBuckets(1024, 60, 50, Duration.ofMinutes(10).toNanos(), now::get);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        // Act
+        for (int t = 0; t < 16; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    if (buckets.tryAcquire(TokenBuckets.key("gateway")) == TokenBuckets.ALLOWED) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(50, allowed.get());
+    }
+}
@@ -0,0 +1,130 @@
+package com.app.risk.repository;
+
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.engine.RiskProfile;
+import com.app.risk.entity.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the entity listing path with the projection path on H2.
+ * Excluded from the default build; run with
+ * {@code mvn test -Dsurefire.excludedGroups= -Dtest=TransactionListingBenchmark}.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.globally_quoted_identifiers=true",
+        "spring.jpa.properties.hibernate.globally_quoted_identifiers_skip_column_definitions=true"
+})
+@ActiveProfiles("test")
+@Tag("benchmark")
+@DisplayName("Transaction listing benchmark")
+class TransactionListingBenchmark {
+
+    private static final int CUSTOMERS = 50;
+    private static final int TRANSACTIONS = 1000;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+        Customer[] customers = new Customer[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers[i] = Customer.builder()
+                    .name("Customer " + i)
+                    .email("customer" + i + "@example.com")
+                    .riskProfile(RiskProfile.values()[i % RiskProfile.values().length])
+                    .country("USA")
+                    .build();
+            entityManager.persist(customers[i]);
+        }
+        for (int i = 0; i < TRANSACTIONS; i++) {
+            entityManager.persist(Transaction.builder()
+                    .customer(customers[i % CUSTOMERS])
+                    .amount(new BigDecimal(100 + i))
+                    .currency("USD")
+                    .timestamp(now.minusSeconds(i))
+                    .merchantCategory(MerchantCategory.RETAIL)
+                    .riskScore(i % 100)
+                    .matchedRulesJson("[]")
+                    .status(i % 10 == 0 ? TransactionStatus.FLAGGED : TransactionStatus.APPROVED)
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @ParameterizedTest(name = "page size {0}")
+    @ValueSource(ints = {10, 100, 1000})
+    void compareListingPaths(int pageSize) {
+        Pageable pageable = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "timestamp"));
+
+        Result entity = measure(() -> {
+            Page<Transaction> page = transactionRepository.findByStatusAndCustomerSearch(null, null, pageable);
+            int touched = 0;
+            for (Transaction transaction : page.getContent()) {
+                touched += transaction.getCustomer().getName().length();
+            }
+            return touched > 0 ? page.getNumberOfElements() : 0;
+        });
+        Result projection = measure(() -> {
+            Page<TransactionListItem> page =
+                    transactionRepository.findListItemsByStatusAndCustomerSearch(null, null, pageable);
+            int touched = 0;
+            for (TransactionListItem item : page.getContent()) {
+                touched += item.customerName().length();
+            }
+            return touched > 0 ? page.getNumberOfElements() : 0;
+        });
+
+        assertEquals(entity.rows, projection.rows);
+        System.out.printf("size=%-5d entity: %8.3f ms %10d B/op | projection: %8.3f ms %10d B/op%n",
+                pageSize, entity.millisPerOp, entity.bytesPerOp, projection.millisPerOp, projection.bytesPerOp);
+    }
+
+    private Result measure(Supplier<Integer> listing) {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int rows = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            rows = listing.get();
+            entityManager.clear();
+        }
+        long allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            rows = listing.get();
+            entityManager.clear();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Result(rows, elapsed / 1_000_000.0 / ITERATIONS, allocated / ITERATIONS);
+    }
+
+    private record Result(int rows, double millisPerOp, long bytesPerOp) {
+    }
+}
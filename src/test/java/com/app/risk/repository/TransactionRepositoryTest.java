@@ -0,0 +1,123 @@
+package com.app.risk.repository;
+
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.engine.RiskProfile;
+import com.app.risk.entity.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.globally_quoted_identifiers=true",
+        "spring.jpa.properties.hibernate.globally_quoted_identifiers_skip_column_definitions=true"
+})
+@ActiveProfiles("test")
+@DisplayName("TransactionRepository Tests")
+class TransactionRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    private final LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        Customer alice = entityManager.persist(customer("Alice Smith", "alice@example.com"));
+        Customer bob = entityManager.persist(customer("Bob Jones", "bob@example.com"));
+        entityManager.persist(transaction(alice, "100.00", TransactionStatus.APPROVED, now.minusMinutes(3)));
+        entityManager.persist(transaction(alice, "20000.00", TransactionStatus.FLAGGED, now.minusMinutes(2)));
+        entityManager.persist(transaction(bob, "55.50", TransactionStatus.APPROVED, now.minusMinutes(1)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should project listing rows with customer columns from the join")
+    void testListItemsProjection() {
+        // Act
+        Page<TransactionListItem> page = transactionRepository.findListItemsByStatusAndCustomerSearch(
+                null, null, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "timestamp")));
+
+        // Assert
+        assertEquals(3, page.getTotalElements());
+        TransactionListItem latest = page.getContent().get(0);
+        assertEquals("Bob Jones", latest.customerName());
+        assertEquals("bob@example.com", latest.customerEmail());
+        assertEquals(0, new BigDecimal("55.50").compareTo(latest.amount()));
+        assertEquals(MerchantCategory.RETAIL, latest.merchantCategory());
+        assertEquals("[]", latest.matchedRulesJson());
+    }
+
+    @Test
+    @DisplayName("Should filter projected rows like the entity query")
+    void testListItemsMatchEntityQuery() {
+        // Arrange
+        PageRequest pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "timestamp"));
+
+        // Act
+        Page<TransactionListItem> items = transactionRepository.findListItemsByStatusAndCustomerSearch(
+                TransactionStatus.APPROVED, "ALICE", pageable);
+        Page<Transaction> entities = transactionRepository.findByStatusAndCustomerSearch(
+                TransactionStatus.APPROVED, "ALICE", pageable);
+
+        // Assert
+        assertEquals(1, items.getTotalElements());
+        assertEquals(entities.getContent().get(0).getId(), items.getContent().get(0).id());
+        assertEquals(entities.getTotalElements(), items.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should load listing rows for a set of ids in one query")
+    void testListItemsByIds() {
+        // Arrange
+        List<Long> ids = transactionRepository.findAll().stream().map(Transaction::getId).toList();
+        entityManager.clear();
+
+        // Act
+        List<TransactionListItem> items = transactionRepository.findListItemsByIdIn(List.of(ids.get(0), -1L));
+
+        // Assert
+        assertEquals(1, items.size());
+        assertEquals(ids.get(0), items.get(0).id());
+        assertEquals("Alice Smith", items.get(0).customerName());
+    }
+
+    private Customer customer(String name, String email) {
+        return Customer.builder()
+                .name(name)
+                .email(email)
+                .riskProfile(RiskProfile.LOW)
+                .country("USA")
+                .build();
+    }
+
+    private Transaction transaction(Customer customer, String amount, TransactionStatus status,
+                                    LocalDateTime timestamp) {
+        return Transaction.builder()
+                .customer(customer)
+                .amount(new BigDecimal(amount))
+                .currency("USD")
+                .timestamp(timestamp)
+                .merchantCategory(MerchantCategory.RETAIL)
+                .riskScore(status == TransactionStatus.FLAGGED ? 80 : 0)
+                .matchedRulesJson("[]")
+                .status(status)
+                .build();
+    }
+}
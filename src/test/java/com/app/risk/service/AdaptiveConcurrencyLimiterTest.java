@@ -0,0 +1,161 @@
+package com.app.risk.service;
+
+import com.app.risk.exception.BadRequestException;
+import com.app.risk.exception.OverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdaptiveConcurrencyLimiter Unit Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should reject with a retryable error once the limit is in flight")
+    void testRejectAtLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(2);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+
+        // Act
+        OverloadedException exception = assertThrows(OverloadedException.class, () -> limiter.call(() -> "scored"));
+
+        // Assert
+        assertEquals(1000L, exception.getRetryAfterMillis());
+        assertEquals(1.0, registry.get("risk.admission.requests").tag("result", "rejected").functionCounter().count());
+        assertEquals(2, limiter.inflight());
+    }
+
+    @Test
+    @DisplayName("Should back off multiplicatively, once per window, when calls slow down relative to the baseline")
+    void testBackOffOnSlowCalls() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        sample(limiter, FAST);
+
+        // Act - the 18 slow samples after the first backoff were already in flight when it happened
+        for (int i = 0; i < 19; i++) {
+            sample(limiter, FAST * 5);
+        }
+        int afterBurst = limiter.limit();
+        sample(limiter, FAST * 5);
+
+        // Assert - 20 * 0.9, then 20 * 0.9 * 0.9, reported whole
+        assertEquals(18, afterBurst);
+        assertEquals(16, limiter.limit());
+        assertEquals(16.0, registry.get("risk.admission.limit").gauge().value(), 0.01);
+    }
+
+    @Test
+    @DisplayName("Should back off when a call fails and not count bad input or shedding against the limit")
+    void testFailureClassification() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        // Act
+        assertThrows(BadRequestException.class, () -> limiter.call(() -> {
+            throw new BadRequestException("Unsupported currency");
+        }));
+        assertThrows(OverloadedException.class, () -> limiter.call(() -> {
+            throw new OverloadedException("Scoring lane is full, retry shortly", 1000L);
+        }));
+        int afterBadInput = limiter.limit();
+        assertThrows(IllegalStateException.class, () -> limiter.call(() -> {
+            throw new IllegalStateException("Connection is not available, request timed out");
+        }));
+
+        // Assert
+        assertEquals(10, afterBadInput);
+        assertEquals(9, limiter.limit());
+        assertEquals(0, limiter.inflight());
+    }
+
+    @Test
+    @DisplayName("Should grow additively only while the limit is being used")
+    void testGrowWhenSaturated() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+
+        // Act - one call at a time never uses half of the limit
+        for (int i = 0; i < 50; i++) {
+            sample(limiter, FAST);
+        }
+        int idle = limiter.limit();
+        for (int i = 0; i < 50; i++) {
+            int held = limiter.limit() / 2;
+            for (int j = 0; j < held; j++) {
+                assertTrue(limiter.tryAcquire());
+            }
+            sample(limiter, FAST);
+            for (int j = 0; j < held; j++) {
+                limiter.onSample(FAST, false);
+            }
+        }
+
+        // Assert
+        assertEquals(4, idle);
+        assertTrue(limiter.limit() > 8);
+        assertEquals(0, limiter.inflight());
+    }
+
+    @Test
+    @DisplayName("Should hold the slot from before the work is queued until its future completes")
+    void testAsyncSlotHeldWhileQueued() {
+        // Arrange - the future stands in for work still waiting on a lane
+        AdaptiveConcurrencyLimiter limiter = limiter(1);
+        CompletableFuture<String> queued = new CompletableFuture<>();
+
+        // Act
+        CompletableFuture<String> admitted = limiter.callAsync(() -> queued);
+
+        // Assert - a second call is shed before it can join the queue
+        assertEquals(1, limiter.inflight());
+        assertThrows(OverloadedException.class, () -> limiter.callAsync(() -> {
+            fail("Work must not be queued beyond the limit");
+            return null;
+        }));
+        queued.complete("scored");
+        assertEquals("scored", admitted.join());
+        assertEquals(0, limiter.inflight());
+    }
+
+    @Test
+    @DisplayName("Should release the slot when the work fails with an Error")
+    void testReleaseOnError() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+
+        // Act
+        assertThrows(StackOverflowError.class, () -> limiter.call(() -> {
+            throw new StackOverflowError();
+        }));
+        CompletableFuture<String> failed = limiter.callAsync(
+                () -> CompletableFuture.failedFuture(new OutOfMemoryError("Java heap space")));
+
+        // Assert - both count as failures in one backoff window, and neither leaks an in-flight slot
+        assertThrows(CompletionException.class, failed::join);
+        assertEquals(0, limiter.inflight());
+        assertEquals(9, limiter.limit());
+    }
+
+    private static void sample(AdaptiveConcurrencyLimiter limiter, long latencyNanos) {
+        assertTrue(limiter.tryAcquire());
+        limiter.onSample(latencyNanos, false);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(true, initialLimit, 2, 200, 0.9, 2.0,
+                Duration.ofSeconds(2), Duration.ofSeconds(1), registry);
+    }
+}
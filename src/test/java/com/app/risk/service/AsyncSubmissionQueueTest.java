@@ -0,0 +1,193 @@
+package com.app.risk.service;
+
+import com.app.risk.dto.SubmissionTicket;
+import com.app.risk.dto.TransactionInput;
+import com.app.risk.dto.TransactionResult;
+import com.app.risk.exception.NotFoundException;
+import com.app.risk.exception.OverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AsyncSubmissionQueue Unit Tests")
+class AsyncSubmissionQueueTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    private final IdempotencyWindow idempotencyWindow =
+            new IdempotencyWindow(true, 100, Duration.ofHours(1), new SimpleMeterRegistry());
+
+    private AsyncSubmissionQueue queue;
+
+    @AfterEach
+    void tearDown() {
+        if (queue != null && queue.isRunning()) {
+            queue.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should return a ticket that resolves once a worker scores the batch")
+    void testTicketResolvesAfterProcessing() throws InterruptedException {
+        // Arrange
+        queue = queue(10);
+        when(transactionService.submitBatch(any())).thenAnswer(invocation -> {
+            List<QueuedSubmission> batch = invocation.getArgument(0);
+            return batch.stream().map(submission -> completed(submission.ticket())).toList();
+        });
+        queue.start();
+
+        // Act
+        SubmissionTicket ticket = queue.submit(input());
+
+        // Assert
+        assertEquals(TransactionResult.QUEUED, ticket.getState());
+        TransactionResult result = awaitState(ticket.getTicket(), TransactionResult.COMPLETED);
+        assertEquals(TransactionResult.COMPLETED, result.getState());
+    }
+
+    @Test
+    @DisplayName("Should reject with a retryable error when the queue is full")
+    void testRejectWhenFull() throws InterruptedException {
+        // Arrange - the single worker blocks on the first batch, the queue holds one more
+        queue = queue(1);
+        CountDownLatch processing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionService.submitBatch(any())).thenAnswer(invocation -> {
+            processing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            List<QueuedSubmission> batch = invocation.getArgument(0);
+            return batch.stream().map(submission -> completed(submission.ticket())).toList();
+        });
+        queue.start();
+        queue.submit(input());
+        assertTrue(processing.await(5, TimeUnit.SECONDS));
+        queue.submit(input());
+
+        // Act & Assert
+        OverloadedException rejected = assertThrows(OverloadedException.class, () -> queue.submit(input()));
+        assertEquals(1000L, rejected.getRetryAfterMillis());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should reject submissions once stopped")
+    void testRejectWhenStopped() {
+        // Arrange
+        queue = queue(10);
+        queue.start();
+        queue.stop();
+
+        // Act & Assert
+        assertThrows(OverloadedException.class, () -> queue.submit(input()));
+    }
+
+    @Test
+    @DisplayName("Should retry a failed batch one submission at a time")
+    void testFailedBatchRetriedIndividually() {
+        // Arrange
+        queue = queue(10);
+        QueuedSubmission good = new QueuedSubmission("good", input(), LocalDateTime.now(), System.nanoTime());
+        QueuedSubmission bad = new QueuedSubmission("bad", input(), LocalDateTime.now(), System.nanoTime());
+        when(transactionService.submitBatch(List.of(good, bad))).thenThrow(new IllegalStateException("boom"));
+        when(transactionService.submitBatch(List.of(good))).thenReturn(List.of(completed("good")));
+        when(transactionService.submitBatch(List.of(bad))).thenThrow(new IllegalStateException("bad row"));
+
+        // Act
+        queue.process(List.of(good, bad));
+
+        // Assert
+        assertEquals(TransactionResult.COMPLETED, queue.result("good").getState());
+        assertEquals(TransactionResult.FAILED, queue.result("bad").getState());
+        assertEquals("bad row", queue.result("bad").getError());
+        verify(transactionService, times(1)).submitBatch(argThat(batch -> batch.size() == 2));
+    }
+
+    @Test
+    @DisplayName("Should run a retry with the same idempotency key again once the queued work failed")
+    void testRetryAfterFailureQueuedAgain() throws InterruptedException {
+        // Arrange - the first attempt fails in the worker, after its ticket was handed out
+        queue = queue(10);
+        when(transactionService.submitBatch(any()))
+                .thenThrow(new IllegalStateException("database down"))
+                .thenAnswer(invocation -> {
+                    List<QueuedSubmission> batch = invocation.getArgument(0);
+                    return batch.stream().map(submission -> completed(submission.ticket())).toList();
+                });
+        queue.start();
+        TransactionInput input = input();
+        input.setIdempotencyKey("gateway-7");
+        SubmissionTicket failed = submitAsync(input);
+        assertEquals(TransactionResult.FAILED, awaitState(failed.getTicket(), TransactionResult.FAILED).getState());
+
+        // Act
+        SubmissionTicket retry = submitAsync(input);
+
+        // Assert
+        assertNotEquals(failed.getTicket(), retry.getTicket());
+        assertEquals(TransactionResult.COMPLETED, awaitState(retry.getTicket(), TransactionResult.COMPLETED).getState());
+        assertEquals(retry.getTicket(), submitAsync(input).getTicket());
+    }
+
+    @Test
+    @DisplayName("Should report unknown tickets as not found")
+    void testUnknownTicket() {
+        queue = queue(10);
+
+        assertThrows(NotFoundException.class, () -> queue.result("missing"));
+    }
+
+    private AsyncSubmissionQueue queue(int capacity) {
+        return new AsyncSubmissionQueue(transactionService, idempotencyWindow, capacity, 1, 10, Duration.ofMinutes(1),
+                Duration.ofSeconds(1), new SimpleMeterRegistry());
+    }
+
+    private SubmissionTicket submitAsync(TransactionInput input) {
+        return idempotencyWindow.submit("submitTransactionAsync", input,
+                () -> CompletableFuture.completedFuture(queue.submit(input))).join();
+    }
+
+    private TransactionResult awaitState(String ticket, String state) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        TransactionResult result = queue.result(ticket);
+        while (!state.equals(result.getState()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            result = queue.result(ticket);
+        }
+        return result;
+    }
+
+    private static TransactionResult completed(String ticket) {
+        return TransactionResult.builder().ticket(ticket).state(TransactionResult.COMPLETED).build();
+    }
+
+    private static TransactionInput input() {
+        return TransactionInput.builder()
+                .customerId(1L)
+                .amount(new BigDecimal("50.00"))
+                .currency("USD")
+                .merchantCategory("RETAIL")
+                .build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.app.risk.service;
+
+import com.app.risk.exception.OverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CustomerLocks Unit Tests")
+class CustomerLocksTest {
+
+    private SimpleMeterRegistry registry;
+    private CustomerLocks locks;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        locks = new CustomerLocks(true, 1024, Duration.ofSeconds(5), Duration.ofMillis(100), registry);
+        executor = Executors.newFixedThreadPool(32);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should let different customers hold their locks at the same time")
+    void testDifferentCustomersNotSerialized() throws Exception {
+        // Arrange - customers on distinct stripes all hold their lock until every one has it
+        List<Long> customerIds = LongStream.rangeClosed(1, 200).boxed()
+                .collect(Collectors.toMap(locks::stripe, id -> id, (first, second) -> first))
+                .values().stream().limit(16).toList();
+        CyclicBarrier allHolding = new CyclicBarrier(customerIds.size());
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // Act
+        for (Long customerId : customerIds) {
+            results.add(executor.submit(() -> inTransaction(() -> {
+                locks.lockUntilCompletion(customerId);
+                allHolding.await(5, TimeUnit.SECONDS);
+                return true;
+            })));
+        }
+
+        // Assert - a barrier timeout would mean one customer waited for another
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get(10, TimeUnit.SECONDS));
+        }
+        assertEquals(0.0, registry.get("risk.customer.lock.contended").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should release the lock when the transaction rolls back")
+    void testReleasedOnRollback() throws Exception {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            locks.lockUntilCompletion(List.of(3L, 1L, 2L));
+        } finally {
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        // Act
+        boolean acquired = executor.submit(() -> locks.withLock(2L, () -> true)).get(1, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(acquired);
+    }
+
+    @Test
+    @DisplayName("Should fail as overloaded when a customer's lock is held too long")
+    void testTimeoutIsOverloaded() throws Exception {
+        // Arrange
+        SimpleMeterRegistry shortWaitRegistry = new SimpleMeterRegistry();
+        CustomerLocks shortWait = new CustomerLocks(true, 16, Duration.ofMillis(50), Duration.ofMillis(100),
+                shortWaitRegistry);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> shortWait.withLock(7L, () -> {
+            holding.countDown();
+            await(release);
+            return null;
+        }));
+        holding.await(5, TimeUnit.SECONDS);
+
+        // Act & Assert
+        OverloadedException e = assertThrows(OverloadedException.class, () -> shortWait.withLock(7L, () -> null));
+        assertEquals(100L, e.getRetryAfterMillis());
+        assertEquals(1.0, shortWaitRegistry.get("risk.customer.lock.timeouts").functionCounter().count());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should refuse to lock until completion outside a transaction")
+    void testNeedsTransaction() {
+        assertThrows(IllegalStateException.class, () -> locks.lockUntilCompletion(1L));
+        assertTrue(locks.withLock(1L, () -> true));
+    }
+
+    private interface Work<T> {
+        T run() throws Exception;
+    }
+
+    private static <T> T inTransaction(Work<T> work) throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            T result = work.run();
+            complete(TransactionSynchronization.STATUS_COMMITTED);
+            return result;
+        } catch (Exception e) {
+            complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+            throw e;
+        }
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations, status);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.app.risk.service;
+
+import com.app.risk.audit.AuditLogService;
+import com.app.risk.config.QueryLimitsProperties;
+import com.app.risk.dto.CustomerConnection;
+import com.app.risk.engine.RiskProfile;
+import com.app.risk.entity.Customer;
+import com.app.risk.exception.BadRequestException;
+import com.app.risk.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CustomerService Unit Tests")
+class CustomerServiceTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private AuditLogService auditLogService;
+
+    private CustomerService customerService;
+
+    @BeforeEach
+    void setUp() {
+        customerService = new CustomerService(customerRepository, auditLogService, new QueryLimitsProperties());
+    }
+
+    @Test
+    @DisplayName("Should return a page with a next cursor when more rows exist")
+    void testFirstPageHasNext() {
+        // Arrange
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(customers(1, 3));
+
+        // Act
+        CustomerConnection connection = customerService.findConnection(2, null, null, null);
+
+        // Assert
+        assertEquals(2, connection.getEdges().size());
+        assertTrue(connection.getPageInfo().getHasNextPage());
+        assertEquals(connection.getEdges().get(1).getCursor(), connection.getPageInfo().getEndCursor());
+        assertEquals(2L, CustomerService.decodeCursor(connection.getPageInfo().getEndCursor()));
+    }
+
+    @Test
+    @DisplayName("Should seek after the cursor using the index for both filters")
+    void testSeekWithFilters() {
+        // Arrange
+        String after = CustomerService.encodeCursor(41L);
+        when(customerRepository.findByCountryAndRiskProfileAndIdGreaterThanOrderByIdAsc(
+                "USA", RiskProfile.HIGH, 41L, Limit.of(11))).thenReturn(customers(42, 43));
+
+        // Act
+        CustomerConnection connection = customerService.findConnection(null, after, "HIGH", "USA");
+
+        // Assert
+        assertEquals(2, connection.getEdges().size());
+        assertFalse(connection.getPageInfo().getHasNextPage());
+        assertEquals(42L, connection.getEdges().get(0).getNode().getId());
+        verify(customerRepository, never()).findByIdGreaterThanOrderByIdAsc(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should clamp the page size to the configured maximum")
+    void testPageSizeClamped() {
+        // Arrange
+        when(customerRepository.findByRiskProfileAndIdGreaterThanOrderByIdAsc(RiskProfile.LOW, 0L, Limit.of(101)))
+                .thenReturn(List.of());
+
+        // Act
+        CustomerConnection connection = customerService.findConnection(100000, null, "LOW", null);
+
+        // Assert
+        assertTrue(connection.getEdges().isEmpty());
+        assertNull(connection.getPageInfo().getEndCursor());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors and unknown risk profiles")
+    void testInvalidArguments() {
+        assertThrows(BadRequestException.class, () -> customerService.findConnection(10, "not-a-cursor", null, null));
+        assertThrows(BadRequestException.class, () -> customerService.findConnection(10, null, "EXTREME", null));
+    }
+
+    @Test
+    @DisplayName("Should cap the deprecated unpaginated listing")
+    void testFindAllCapped() {
+        // Arrange
+        when(customerRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(100))).thenReturn(customers(1, 100));
+
+        // Act
+        List<Customer> customers = customerService.findAll();
+
+        // Assert
+        assertEquals(100, customers.size());
+        verify(customerRepository, never()).findAll();
+    }
+
+    private List<Customer> customers(long fromId, long toId) {
+        return LongStream.rangeClosed(fromId, toId)
+                .mapToObj(id -> Customer.builder()
+                        .id(id)
+                        .name("Customer " + id)
+                        .email("customer" + id + "@example.com")
+                        .riskProfile(RiskProfile.LOW)
+                        .country("USA")
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,245 @@
+package com.app.risk.service;
+
+import com.app.risk.bulkhead.LaneRoutingDataSource;
+import com.app.risk.engine.FeatureUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GuardedFeatureLoader Unit Tests")
+class GuardedFeatureLoaderTest {
+
+    @Mock
+    private RepositoryFeatureLoader delegate;
+
+    private SimpleMeterRegistry registry;
+    private GuardedFeatureLoader loader;
+    private LocalDateTime cutoff;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        loader = new GuardedFeatureLoader(delegate, true, Duration.ofMillis(50), 2, 4, 0.5,
+                Duration.ofMinutes(1), registry);
+        cutoff = LocalDateTime.of(2026, 1, 1, 12, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loader.destroy();
+    }
+
+    @Test
+    @DisplayName("Should return the delegate's answer when it is within budget")
+    void testLookupWithinBudget() {
+        // Arrange
+        when(delegate.countSince(1L, cutoff)).thenReturn(3L);
+
+        // Act & Assert
+        assertEquals(3L, loader.countSince(1L, cutoff));
+        assertEquals(1.0, registry.get("risk.features.lookups").tag("result", "success").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should give up on a lookup that exceeds its budget")
+    void testLookupTimesOut() {
+        // Arrange
+        when(delegate.sumSince(1L, cutoff)).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return 0L;
+        });
+
+        // Act
+        long start = System.nanoTime();
+        assertThrows(FeatureUnavailableException.class, () -> loader.sumSince(1L, cutoff));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Assert
+        assertTrue(elapsedMillis < 500, "waited " + elapsedMillis + "ms");
+        assertEquals(1.0, registry.get("risk.features.lookups").tag("result", "timeout").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should short-circuit lookups once the failure rate opens the circuit")
+    void testCircuitOpensOnFailures() {
+        // Arrange
+        when(delegate.lastTransactionTime(anyLong())).thenThrow(new IllegalStateException("connection refused"));
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            assertThrows(FeatureUnavailableException.class, () -> loader.lastTransactionTime(1L));
+        }
+        assertThrows(FeatureUnavailableException.class, () -> loader.countSince(1L, cutoff));
+
+        // Assert
+        verify(delegate, times(4)).lastTransactionTime(anyLong());
+        verify(delegate, never()).countSince(anyLong(), any());
+        assertEquals(1.0, registry.get("risk.features.circuit.state").gauge().value());
+        assertEquals(1.0, registry.get("risk.features.lookups").tag("result", "short_circuited")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should shed lookups while every lookup thread is busy without opening the circuit")
+    void testSaturationShedsWithoutOpeningCircuit() throws Exception {
+        // Arrange - a budget long enough that the blocked lookups do not time out
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        GuardedFeatureLoader saturated = new GuardedFeatureLoader(delegate, true, Duration.ofSeconds(5), 2, 4, 0.5,
+                Duration.ofMinutes(1), meters);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.countSince(anyLong(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return 1L;
+        });
+        List<CompletableFuture<Long>> holders = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            holders.add(CompletableFuture.supplyAsync(() -> saturated.countSince(1L, cutoff)));
+        }
+        assertTrue(started.await(2, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (meters.get("risk.features.lookups.queued").gauge().value() < 2) {
+            assertTrue(System.nanoTime() < deadline, "lookup queue did not fill");
+            Thread.sleep(5);
+        }
+
+        // Act - more than a full window of lookups arrive while both threads and the queue are taken
+        for (int i = 0; i < 8; i++) {
+            assertThrows(FeatureUnavailableException.class, () -> saturated.countSince(1L, cutoff));
+        }
+        release.countDown();
+
+        // Assert
+        for (CompletableFuture<Long> holder : holders) {
+            assertEquals(1L, holder.get(2, TimeUnit.SECONDS));
+        }
+        assertEquals(0.0, meters.get("risk.features.circuit.state").gauge().value());
+        assertEquals(8.0, meters.get("risk.features.lookups").tag("result", "shed").functionCounter().count());
+        assertEquals(0.0, meters.get("risk.features.lookups").tag("result", "failure").functionCounter().count());
+        assertEquals(1L, saturated.countSince(1L, cutoff));
+        saturated.destroy();
+    }
+
+    @Test
+    @DisplayName("Should take lookup connections from the lookup pool rather than the caller's")
+    void testLookupThreadsUseLookupPool() {
+        // Arrange
+        DataSource scoringPool = mock(DataSource.class);
+        DataSource lookupPool = mock(DataSource.class);
+        LaneRoutingDataSource routing = new LaneRoutingDataSource();
+        routing.setTargetDataSources(Map.of(LaneRoutingDataSource.LOOKUPS, lookupPool));
+        routing.setDefaultTargetDataSource(scoringPool);
+        routing.afterPropertiesSet();
+        when(delegate.countSince(1L, cutoff)).thenAnswer(invocation -> {
+            try (Connection ignored = routing.getConnection()) {
+                return 1L;
+            }
+        });
+
+        // Act
+        loader.countSince(1L, cutoff);
+
+        // Assert
+        verifyNoInteractions(scoringPool);
+        assertDoesNotThrow(() -> verify(lookupPool).getConnection());
+    }
+
+    @Test
+    @DisplayName("Should call the delegate directly when disabled")
+    void testDisabledPassesThrough() {
+        // Arrange
+        GuardedFeatureLoader disabled = new GuardedFeatureLoader(delegate, false, Duration.ofMillis(50), 2, 4, 0.5,
+                Duration.ofMinutes(1), new SimpleMeterRegistry());
+        when(delegate.countSince(1L, cutoff)).thenThrow(new IllegalStateException("connection refused"));
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> disabled.countSince(1L, cutoff));
+        disabled.destroy();
+    }
+
+    @Test
+    @DisplayName("Should let one trial through after the open period and close on success")
+    void testCircuitRecoversThroughHalfOpen() {
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker circuit = new CircuitBreaker(4, 0.5, 100L, now::get);
+        circuit.onSuccess();
+        circuit.onSuccess();
+        circuit.onFailure();
+        circuit.onFailure();
+
+        // Act & Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuit.state());
+        assertFalse(circuit.tryAcquire());
+        now.set(100L);
+        assertTrue(circuit.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuit.state());
+        assertFalse(circuit.tryAcquire());
+        circuit.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, circuit.state());
+        assertTrue(circuit.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should free the half-open trial when its call is shed")
+    void testReleasedTrialLetsNextThrough() {
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker circuit = new CircuitBreaker(2, 0.5, 100L, now::get);
+        circuit.onFailure();
+        circuit.onFailure();
+        now.set(100L);
+        assertTrue(circuit.tryAcquire());
+
+        // Act
+        circuit.release();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuit.state());
+        assertTrue(circuit.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Should reopen when the half-open trial fails")
+    void testCircuitReopensOnFailedTrial() {
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker circuit = new CircuitBreaker(2, 0.5, 100L, now::get);
+        circuit.onFailure();
+        circuit.onFailure();
+        now.set(100L);
+        assertTrue(circuit.tryAcquire());
+
+        // Act
+        circuit.onFailure();
+
+        // Assert
+        assertEquals(CircuitBreaker.State.OPEN, circuit.state());
+        now.set(150L);
+        assertFalse(circuit.tryAcquire());
+    }
+}
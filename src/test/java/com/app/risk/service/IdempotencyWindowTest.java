@@ -0,0 +1,126 @@
+package com.app.risk.service;
+
+import com.app.risk.dto.TransactionInput;
+import com.app.risk.exception.BadRequestException;
+import com.app.risk.exception.OverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IdempotencyWindow Unit Tests")
+class IdempotencyWindowTest {
+
+    private SimpleMeterRegistry registry;
+    private IdempotencyWindow window;
+    private AtomicInteger runs;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        window = new IdempotencyWindow(true, 100, Duration.ofHours(1), registry);
+        runs = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("Should return the original result for a repeated key without running again")
+    void testRepeatReturnsOriginal() {
+        // Act
+        String first = window.submit("submit", input("key-1", "50.00"), this::run).join();
+        String repeat = window.submit("submit", input("key-1", "50.0"), this::run).join();
+
+        // Assert
+        assertEquals("result-1", first);
+        assertEquals("result-1", repeat);
+        assertEquals(1, runs.get());
+        assertEquals(1.0, registry.get("risk.idempotency.requests").tag("result", "replayed")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should hand a repeat the in-flight original")
+    void testRepeatWhileInFlight() {
+        // Arrange
+        CompletableFuture<String> original = new CompletableFuture<>();
+        window.submit("submit", input("key-1", "50.00"), () -> original);
+
+        // Act
+        CompletableFuture<String> repeat = window.submit("submit", input("key-1", "50.00"), this::run);
+        boolean doneBefore = repeat.isDone();
+        original.complete("original");
+
+        // Assert
+        assertFalse(doneBefore);
+        assertEquals("original", repeat.join());
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    @DisplayName("Should run a retry again when the original failed")
+    void testFailureIsForgotten() {
+        // Arrange
+        assertThrows(OverloadedException.class, () -> window.submit("submit", input("key-1", "50.00"),
+                () -> { throw new OverloadedException("busy", 100L); }));
+        CompletableFuture<String> failed = window.submit("submit", input("key-2", "50.00"),
+                () -> CompletableFuture.failedFuture(new IllegalStateException("rolled back")));
+
+        // Act
+        String retried = window.submit("submit", input("key-1", "50.00"), this::run).join();
+        String retriedAfterFailedFuture = window.submit("submit", input("key-2", "50.00"), this::run).join();
+
+        // Assert
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals("result-1", retried);
+        assertEquals("result-2", retriedAfterFailedFuture);
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different transaction")
+    void testConflictingPayloadRejected() {
+        // Arrange
+        window.submit("submit", input("key-1", "50.00"), this::run).join();
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> window.submit("submit", input("key-1", "75.00"), this::run));
+        assertEquals(1, runs.get());
+        assertEquals(1.0, registry.get("risk.idempotency.requests").tag("result", "conflict")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should share keys across operations and ignore submissions without a key")
+    void testSharedNamespaceAndMissingKey() {
+        // Act
+        window.submit("submit", input("key-1", "50.00"), this::run).join();
+        assertThrows(BadRequestException.class, () -> window.submit("score", input("key-1", "50.00"), this::run));
+        window.submit("submit", input(null, "50.00"), this::run).join();
+        window.submit("submit", input(null, "50.00"), this::run).join();
+
+        // Assert
+        assertEquals(3, runs.get());
+        assertEquals(1.0, registry.get("risk.idempotency.keys").gauge().value());
+        assertEquals(1.0, registry.get("risk.idempotency.requests").tag("result", "conflict")
+                .functionCounter().count());
+    }
+
+    private CompletableFuture<String> run() {
+        return CompletableFuture.completedFuture("result-" + runs.incrementAndGet());
+    }
+
+    private TransactionInput input(String idempotencyKey, String amount) {
+        return TransactionInput.builder()
+                .customerId(1L)
+                .amount(new BigDecimal(amount))
+                .currency("USD")
+                .merchantCategory("RETAIL")
+                .idempotencyKey(idempotencyKey)
+                .build();
+    }
+}
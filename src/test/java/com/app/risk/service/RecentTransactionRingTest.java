@@ -0,0 +1,150 @@
+package com.app.risk.service;
+
+import com.app.risk.dto.MatchedRule;
+import com.app.risk.dto.TransactionDTO;
+import com.app.risk.dto.TransactionPage;
+import com.app.risk.entity.TransactionStatus;
+import com.app.risk.metrics.ScoringMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RecentTransactionRing Unit Tests")
+class RecentTransactionRingTest {
+
+    private final LocalDateTime now = LocalDateTime.of(2026, 1, 1, 12, 0, 0, 123_456_000);
+    private RecentTransactionRing ring;
+
+    @BeforeEach
+    void setUp() {
+        ring = new RecentTransactionRing(true, 4, new ScoringMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @DisplayName("Should not answer before it is warmed")
+    void testColdRingFallsBack() {
+        assertNull(ring.firstPage(null, 10));
+    }
+
+    @Test
+    @DisplayName("Should answer the first page newest first with running totals")
+    void testFirstPageNewestFirst() {
+        // Arrange
+        ring.warm(() -> List.of(dto(2L, "FLAGGED"), dto(1L, "APPROVED")), () -> new long[]{1L, 1L});
+        ring.append(dto(3L, "APPROVED"));
+
+        // Act
+        TransactionPage page = ring.firstPage(null, 2);
+
+        // Assert
+        assertEquals(List.of(3L, 2L), page.getContent().stream().map(TransactionDTO::getId).toList());
+        assertEquals(3L, page.getTotalElements());
+        assertEquals(2, page.getTotalPages());
+        TransactionDTO newest = page.getContent().get(0);
+        assertEquals(0, new BigDecimal("103.50").compareTo(newest.getAmount()));
+        assertEquals(now.plusSeconds(3), newest.getTimestamp());
+        assertEquals("RETAIL", newest.getMerchantCategory());
+        assertEquals("High Amount", newest.getMatchedRules().get(0).getRuleName());
+    }
+
+    @Test
+    @DisplayName("Should filter by status and fall back when the page reaches beyond the ring")
+    void testStatusFilterAndFallback() {
+        // Arrange - the database holds 3 flagged transactions, only one of them is in the ring
+        ring.warm(() -> List.of(dto(5L, "APPROVED"), dto(4L, "APPROVED"), dto(3L, "FLAGGED"), dto(2L, "APPROVED")),
+                () -> new long[]{5L, 3L});
+
+        // Act
+        TransactionPage approved = ring.firstPage(TransactionStatus.APPROVED, 2);
+        TransactionPage flagged = ring.firstPage(TransactionStatus.FLAGGED, 2);
+
+        // Assert
+        assertEquals(List.of(5L, 4L), approved.getContent().stream().map(TransactionDTO::getId).toList());
+        assertEquals(5L, approved.getTotalElements());
+        assertNull(flagged);
+    }
+
+    @Test
+    @DisplayName("Should overwrite the oldest slot and ignore duplicate appends")
+    void testWrapAroundAndDuplicates() {
+        // Arrange
+        ring.warm(List::of, () -> new long[]{0L, 0L});
+
+        // Act
+        for (long id = 1; id <= 6; id++) {
+            ring.append(dto(id, "APPROVED"));
+        }
+        ring.append(dto(5L, "APPROVED"));
+
+        // Assert
+        assertEquals(4, ring.size());
+        TransactionPage page = ring.firstPage(null, 4);
+        assertEquals(List.of(6L, 5L, 4L, 3L), page.getContent().stream().map(TransactionDTO::getId).toList());
+        assertEquals(6L, page.getTotalElements());
+        assertNull(ring.firstPage(null, 5));
+    }
+
+    @Test
+    @DisplayName("Should keep timestamp order when a row commits after newer ones")
+    void testOutOfOrderAppend() {
+        // Arrange
+        ring.warm(() -> List.of(dto(6L, "APPROVED"), dto(4L, "APPROVED"), dto(3L, "APPROVED")),
+                () -> new long[]{3L, 0L});
+
+        // Act - a write-behind row stored after id 6 but decided between 4 and 6
+        ring.append(dto(7L, "FLAGGED", now.plusSeconds(5)));
+
+        // Assert
+        TransactionPage page = ring.firstPage(null, 4);
+        assertEquals(List.of(6L, 7L, 4L, 3L), page.getContent().stream().map(TransactionDTO::getId).toList());
+        assertEquals(4L, page.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Should count but not hold a row older than a full ring")
+    void testAppendOlderThanFullRing() {
+        // Arrange
+        ring.warm(() -> List.of(dto(6L, "APPROVED"), dto(5L, "APPROVED"), dto(4L, "APPROVED"), dto(3L, "APPROVED")),
+                () -> new long[]{4L, 0L});
+
+        // Act
+        ring.append(dto(8L, "FLAGGED", now.plusSeconds(1)));
+
+        // Assert
+        TransactionPage page = ring.firstPage(null, 4);
+        assertEquals(List.of(6L, 5L, 4L, 3L), page.getContent().stream().map(TransactionDTO::getId).toList());
+        assertEquals(5L, page.getTotalElements());
+        assertNull(ring.firstPage(TransactionStatus.FLAGGED, 4));
+    }
+
+    private TransactionDTO dto(Long id, String status) {
+        return dto(id, status, now.plusSeconds(id));
+    }
+
+    private TransactionDTO dto(Long id, String status, LocalDateTime timestamp) {
+        List<MatchedRule> matchedRules = new ArrayList<>();
+        matchedRules.add(MatchedRule.builder().ruleId(1L).ruleName("High Amount").ruleType("AMOUNT_THRESHOLD")
+                .points(50).reason("Transaction amount over threshold").build());
+        return TransactionDTO.builder()
+                .id(id)
+                .customerId(7L)
+                .customerName("Test Customer")
+                .customerEmail("test@example.com")
+                .amount(new BigDecimal("100.5").add(BigDecimal.valueOf(id)))
+                .currency("USD")
+                .timestamp(timestamp)
+                .merchantCategory("RETAIL")
+                .riskScore(50)
+                .status(status)
+                .matchedRules(matchedRules)
+                .build();
+    }
+}
@@ -1,17 +1,28 @@
 package com.app.risk.service;
 
 import com.app.risk.audit.AuditLogService;
+import com.app.risk.config.QueryLimitsProperties;
 import com.app.risk.dto.MatchedRule;
 import com.app.risk.dto.TransactionDTO;
 import com.app.risk.dto.TransactionInput;
 import com.app.risk.engine.AmountThresholdEvaluator;
+import com.app.risk.engine.EvaluationContext;
 import com.app.risk.engine.FrequencyEvaluator;
+import com.app.risk.engine.MerchantCategory;
 import com.app.risk.engine.MerchantCategoryEvaluator;
-import com.app.risk.engine.RiskRuleEvaluator;
+import com.app.risk.engine.RecentActivity;
+import com.app.risk.engine.RiskProfile;
+import com.app.risk.engine.RuleEvaluator;
+import com.app.risk.engine.RuleType;
+import com.app.risk.engine.ScoringEngine;
+import com.app.risk.engine.ScoringResult;
 import com.app.risk.entity.*;
 import com.app.risk.exception.BadRequestException;
+import com.app.risk.metrics.LatencyRecorders;
+import com.app.risk.metrics.ScoringMetrics;
 import com.app.risk.repository.TransactionRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -19,8 +30,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
@@ -29,6 +43,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
@@ -59,7 +74,7 @@ class RiskScoringIntegrationTest {
     void setUp() {
         objectMapper = new ObjectMapper();
 
-        List<RiskRuleEvaluator> evaluators = Arrays.asList(
+        List<RuleEvaluator> evaluators = Arrays.asList(
                 new AmountThresholdEvaluator(),
                 new MerchantCategoryEvaluator(),
                 frequencyEvaluator
@@ -69,9 +84,19 @@ class RiskScoringIntegrationTest {
                 transactionRepository,
                 customerService,
                 riskRuleService,
-                evaluators,
+                new ScoringEngine(evaluators, List.of(), new RepositoryFeatureLoader(transactionRepository), List.of()),
                 objectMapper,
-                auditLogService
+                auditLogService,
+                new ScoringMetrics(new SimpleMeterRegistry()),
+                new LatencyRecorders(Duration.ofSeconds(10), Duration.ofMinutes(5)),
+                new QueryLimitsProperties(),
+                new TransactionDtoCache(1000, new ScoringMetrics(new SimpleMeterRegistry())),
+                new RecentTransactionRing(true, 1000, new ScoringMetrics(new SimpleMeterRegistry())),
+                new TransactionScoredPublisher(16, TransactionScoredPublisher.OverflowPolicy.DROP_OLDEST,
+                        new SimpleMeterRegistry()),
+                new CustomerLocks(false, 16, Duration.ofSeconds(1), Duration.ofMillis(100), new SimpleMeterRegistry()),
+                new RecentActivity(1000, 64, Duration.ofHours(24)),
+                mock(PlatformTransactionManager.class)
         );
 
         testCustomer = Customer.builder()
@@ -98,7 +123,7 @@ class RiskScoringIntegrationTest {
         when(customerService.findById(1L)).thenReturn(testCustomer);
         when(riskRuleService.getActiveRules()).thenReturn(getStandardRules());
         when(frequencyEvaluator.supports(RuleType.FREQUENCY)).thenReturn(true);
-        when(frequencyEvaluator.evaluate(any(), any(), any(), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(frequencyEvaluator.evaluate(any(EvaluationContext.class), any(), anyInt(), any())).thenReturn(false);
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction t = invocation.getArgument(0);
             t.setId(1L);
@@ -137,7 +162,7 @@ class RiskScoringIntegrationTest {
         when(customerService.findById(1L)).thenReturn(testCustomer);
         when(riskRuleService.getActiveRules()).thenReturn(getStandardRules());
         when(frequencyEvaluator.supports(RuleType.FREQUENCY)).thenReturn(true);
-        when(frequencyEvaluator.evaluate(any(), any(), any(), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(frequencyEvaluator.evaluate(any(EvaluationContext.class), any(), anyInt(), any())).thenReturn(false);
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction t = invocation.getArgument(0);
             t.setId(2L);
@@ -171,7 +196,7 @@ class RiskScoringIntegrationTest {
         when(customerService.findById(1L)).thenReturn(testCustomer);
         when(riskRuleService.getActiveRules()).thenReturn(getStandardRules());
         when(frequencyEvaluator.supports(RuleType.FREQUENCY)).thenReturn(true);
-        when(frequencyEvaluator.evaluate(any(), any(), any(), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(frequencyEvaluator.evaluate(any(EvaluationContext.class), any(), anyInt(), any())).thenReturn(false);
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction t = invocation.getArgument(0);
             t.setId(3L);
@@ -204,7 +229,7 @@ class RiskScoringIntegrationTest {
         when(customerService.findById(1L)).thenReturn(testCustomer);
         when(riskRuleService.getActiveRules()).thenReturn(getStandardRules());
         when(frequencyEvaluator.supports(RuleType.FREQUENCY)).thenReturn(true);
-        when(frequencyEvaluator.evaluate(any(), any(), any(), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(frequencyEvaluator.evaluate(any(EvaluationContext.class), any(), anyInt(), any())).thenReturn(false);
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction t = invocation.getArgument(0);
             t.setId(4L);
@@ -244,7 +269,7 @@ class RiskScoringIntegrationTest {
         when(customerService.findById(1L)).thenReturn(testCustomer);
         when(riskRuleService.getActiveRules()).thenReturn(getStandardRules());
         when(frequencyEvaluator.supports(RuleType.FREQUENCY)).thenReturn(true);
-        when(frequencyEvaluator.evaluate(any(), any(), any(), any(LocalDateTime.class))).thenReturn(Optional.of(frequencyMatch));
+        when(frequencyEvaluator.evaluate(any(EvaluationContext.class), any(), anyInt(), any())).thenAnswer(recordMatch(frequencyMatch));
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction t = invocation.getArgument(0);
             t.setId(5L);
@@ -276,7 +301,7 @@ class RiskScoringIntegrationTest {
         when(customerService.findById(1L)).thenReturn(testCustomer);
         when(riskRuleService.getActiveRules()).thenReturn(getStandardRules());
         when(frequencyEvaluator.supports(RuleType.FREQUENCY)).thenReturn(true);
-        when(frequencyEvaluator.evaluate(any(), any(), any(), any(LocalDateTime.class))).thenReturn(Optional.empty());
+        when(frequencyEvaluator.evaluate(any(EvaluationContext.class), any(), anyInt(), any())).thenReturn(false);
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction t = invocation.getArgument(0);
             t.setId(6L);
@@ -368,7 +393,7 @@ class RiskScoringIntegrationTest {
         when(customerService.findById(1L)).thenReturn(testCustomer);
         when(riskRuleService.getActiveRules()).thenReturn(getStandardRules());
         when(frequencyEvaluator.supports(RuleType.FREQUENCY)).thenReturn(true);
-        when(frequencyEvaluator.evaluate(any(), any(), any(), any(LocalDateTime.class))).thenReturn(Optional.of(frequencyMatch));
+        when(frequencyEvaluator.evaluate(any(EvaluationContext.class), any(), anyInt(), any())).thenAnswer(recordMatch(frequencyMatch));
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction t = invocation.getArgument(0);
             t.setId(7L);
@@ -437,7 +462,7 @@ class RiskScoringIntegrationTest {
         when(customerService.findById(1L)).thenReturn(testCustomer);
         when(riskRuleService.getActiveRules()).thenReturn(getStandardRules());
         when(frequencyEvaluator.supports(RuleType.FREQUENCY)).thenReturn(true);
-        when(frequencyEvaluator.evaluate(any(), any(), any(), any(LocalDateTime.class))).thenReturn(Optional.of(frequencyMatch));
+        when(frequencyEvaluator.evaluate(any(EvaluationContext.class), any(), anyInt(), any())).thenAnswer(recordMatch(frequencyMatch));
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction t = invocation.getArgument(0);
             t.setId(9L);
@@ -497,5 +522,12 @@ class RiskScoringIntegrationTest {
                         .build()
         );
     }
-}
 
+    private static Answer<Boolean> recordMatch(MatchedRule matchedRule) {
+        return invocation -> {
+            ScoringResult result = invocation.getArgument(3);
+            result.recordExternal(invocation.getArgument(2), matchedRule);
+            return true;
+        };
+    }
+}
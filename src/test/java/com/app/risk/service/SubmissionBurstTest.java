@@ -0,0 +1,190 @@
+package com.app.risk.service;
+
+import com.app.risk.dto.MatchedRule;
+import com.app.risk.dto.RiskRuleDTO;
+import com.app.risk.dto.RiskRuleInput;
+import com.app.risk.dto.TransactionDTO;
+import com.app.risk.dto.TransactionInput;
+import com.app.risk.engine.RiskProfile;
+import com.app.risk.entity.Customer;
+import com.app.risk.exception.BadRequestException;
+import com.app.risk.repository.CustomerRepository;
+import com.app.risk.repository.TransactionRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrent submitTransaction calls against a real database. The pool defaults to
+ * REPEATABLE READ, as MySQL does, and history lookups run on the caller's own transaction.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.datasource.url=jdbc:h2:mem:submission-burst;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.hikari.transaction-isolation=TRANSACTION_REPEATABLE_READ",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.globally_quoted_identifiers=true",
+        "spring.jpa.properties.hibernate.globally_quoted_identifiers_skip_column_definitions=true",
+        "app.admission.enabled=false",
+        "app.degraded-scoring.enabled=false",
+        "logging.level.com.app.risk=WARN"
+})
+@ActiveProfiles("test")
+@DisplayName("Submission burst Integration Tests")
+class SubmissionBurstTest {
+
+    private static final Pattern COUNT = Pattern.compile("exceeded: (\\d+) transactions");
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private RiskRuleService riskRuleService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    @DisplayName("Should give every submission in a concurrent burst for one customer an exact count")
+    void testBurstCountsExact() throws Exception {
+        // Arrange - a frequency rule that matches on any earlier transaction and reports the count
+        Customer customer = customerRepository.save(Customer.builder()
+                .name("Burst Customer")
+                .email("burst-" + UUID.randomUUID() + "@example.com")
+                .riskProfile(RiskProfile.LOW)
+                .country("Sri Lanka")
+                .build());
+        RiskRuleDTO rule = riskRuleService.createRule(RiskRuleInput.builder()
+                .ruleName("Any Recent Activity")
+                .ruleType("FREQUENCY")
+                .frequencyCount(0)
+                .frequencyWindowMinutes(60)
+                .riskPoints(1)
+                .active(true)
+                .build());
+        int burst = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<TransactionDTO>> submitted = new ArrayList<>();
+
+        // Act
+        try {
+            for (int i = 0; i < burst; i++) {
+                submitted.add(executor.submit(() -> {
+                    start.await();
+                    return transactionService.submitTransaction(TransactionInput.builder()
+                            .customerId(customer.getId())
+                            .amount(new BigDecimal("25.00"))
+                            .currency("USD")
+                            .merchantCategory("RETAIL")
+                            .build());
+                }));
+            }
+            start.countDown();
+            Set<Long> counts = new HashSet<>();
+            for (Future<TransactionDTO> future : submitted) {
+                counts.add(count(future.get(30, TimeUnit.SECONDS), rule.getId()));
+            }
+
+            // Assert - each saw every row committed before it, so no two saw the same count
+            assertEquals(expectedCounts(burst), counts);
+            assertEquals(burst, transactionRepository.countByCustomerIdAndTimestampAfter(customer.getId(),
+                    LocalDateTime.now().minusDays(1)));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should store one row for an idempotency key raced by several customers and refuse the rest")
+    void testRacedIdempotencyKeyRefusedNotFailed() throws Exception {
+        // Arrange - different customers take different locks, so their inserts race on the unique key
+        int racers = 8;
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < racers; i++) {
+            customers.add(customerRepository.save(Customer.builder()
+                    .name("Racing Customer " + i)
+                    .email("race-" + UUID.randomUUID() + "@example.com")
+                    .riskProfile(RiskProfile.LOW)
+                    .country("Sri Lanka")
+                    .build()));
+        }
+        String idempotencyKey = "race-" + UUID.randomUUID();
+        ExecutorService executor = Executors.newFixedThreadPool(racers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<TransactionDTO>> submitted = new ArrayList<>();
+
+        // Act
+        try {
+            for (Customer customer : customers) {
+                submitted.add(executor.submit(() -> {
+                    start.await();
+                    return transactionService.submitTransaction(TransactionInput.builder()
+                            .customerId(customer.getId())
+                            .amount(new BigDecimal("25.00"))
+                            .currency("USD")
+                            .merchantCategory("RETAIL")
+                            .idempotencyKey(idempotencyKey)
+                            .build());
+                }));
+            }
+            start.countDown();
+            int stored = 0;
+            for (Future<TransactionDTO> future : submitted) {
+                try {
+                    future.get(30, TimeUnit.SECONDS);
+                    stored++;
+                } catch (ExecutionException e) {
+                    // Assert - losers are told the key belongs to another transaction
+                    assertInstanceOf(BadRequestException.class, e.getCause());
+                }
+            }
+
+            // Assert
+            assertEquals(1, stored);
+            assertEquals(1, transactionRepository.findByIdempotencyKeyIn(List.of(idempotencyKey)).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Set<Long> expectedCounts(int burst) {
+        return IntStream.range(0, burst).mapToObj(i -> (long) i).collect(Collectors.toSet());
+    }
+
+    private static long count(TransactionDTO transaction, Long ruleId) {
+        for (MatchedRule matchedRule : transaction.getMatchedRules()) {
+            if (ruleId.equals(matchedRule.getRuleId())) {
+                Matcher matcher = COUNT.matcher(matchedRule.getReason());
+                assertTrue(matcher.find(), matchedRule.getReason());
+                return Long.parseLong(matcher.group(1));
+            }
+        }
+        return 0L;
+    }
+}
@@ -0,0 +1,100 @@
+package com.app.risk.service;
+
+import com.app.risk.dto.TransactionDTO;
+import com.app.risk.exception.NotFoundException;
+import com.app.risk.metrics.ScoringMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TransactionDtoCache Unit Tests")
+class TransactionDtoCacheTest {
+
+    private TransactionDtoCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TransactionDtoCache(100, new ScoringMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    @DisplayName("Should load concurrent misses for the same id once")
+    void testSingleFlightLoad() throws Exception {
+        // Arrange
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // Act
+            Future<TransactionDTO> first = executor.submit(() -> cache.get(1L, id -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return dto(id, 7L);
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            List<Future<TransactionDTO>> others = List.of(
+                    executor.submit(() -> cache.get(1L, id -> { loads.incrementAndGet(); return dto(id, 7L); })),
+                    executor.submit(() -> cache.get(1L, id -> { loads.incrementAndGet(); return dto(id, 7L); })));
+            Thread.sleep(50);
+            release.countDown();
+
+            // Assert
+            TransactionDTO loaded = first.get(5, TimeUnit.SECONDS);
+            for (Future<TransactionDTO> other : others) {
+                assertSame(loaded, other.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not cache a failed load")
+    void testFailedLoadNotCached() {
+        // Act
+        assertThrows(NotFoundException.class, () -> cache.get(2L, id -> {
+            throw new NotFoundException("Transaction not found with id: " + id);
+        }));
+
+        // Assert
+        assertEquals(0, cache.size());
+        assertEquals(2L, cache.get(2L, id -> dto(id, 7L)).getId());
+    }
+
+    @Test
+    @DisplayName("Should cache written DTOs straight away outside a transaction")
+    void testPutAfterCommitWithoutTransaction() {
+        // Act
+        cache.putAfterCommit(dto(4L, 7L));
+
+        // Assert
+        assertEquals(4L, cache.get(4L, id -> fail("should be cached")).getId());
+    }
+
+    private static TransactionDTO dto(Long id, Long customerId) {
+        return TransactionDTO.builder().id(id).customerId(customerId).status("APPROVED").build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
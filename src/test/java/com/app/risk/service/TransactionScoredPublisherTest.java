@@ -0,0 +1,137 @@
+package com.app.risk.service;
+
+import com.app.risk.dto.TransactionDTO;
+import com.app.risk.entity.TransactionStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TransactionScoredPublisher Unit Tests")
+class TransactionScoredPublisherTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Should fan out to every subscriber whose status filter matches")
+    void testFanOutWithStatusFilter() {
+        // Arrange
+        TransactionScoredPublisher publisher = publisher(TransactionScoredPublisher.OverflowPolicy.DROP_OLDEST);
+        Collector all = new Collector(Long.MAX_VALUE);
+        Collector flagged = new Collector(Long.MAX_VALUE);
+        publisher.subscribe(null).subscribe(all);
+        publisher.subscribe(TransactionStatus.FLAGGED).subscribe(flagged);
+
+        // Act
+        publisher.publish(dto(1L, "APPROVED"));
+        publisher.publish(dto(2L, "FLAGGED"));
+
+        // Assert
+        assertEquals(List.of(1L, 2L), all.ids());
+        assertEquals(List.of(2L), flagged.ids());
+    }
+
+    @Test
+    @DisplayName("Should keep the newest events for a slow subscriber when dropping the oldest")
+    void testDropOldestForSlowSubscriber() {
+        // Arrange
+        TransactionScoredPublisher publisher = publisher(TransactionScoredPublisher.OverflowPolicy.DROP_OLDEST);
+        Collector slow = new Collector(0);
+        publisher.subscribe(null).subscribe(slow);
+
+        // Act - buffer holds 2 events
+        for (long id = 1; id <= 5; id++) {
+            publisher.publish(dto(id, "APPROVED"));
+        }
+        slow.request(10);
+
+        // Assert
+        assertEquals(List.of(4L, 5L), slow.ids());
+        assertEquals(3.0, registry.get("risk.subscriptions.events").tag("result", "dropped")
+                .functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should end a slow subscription under the disconnect policy without affecting others")
+    void testDisconnectSlowSubscriber() {
+        // Arrange
+        TransactionScoredPublisher publisher = publisher(TransactionScoredPublisher.OverflowPolicy.DISCONNECT);
+        Collector slow = new Collector(0);
+        Collector fast = new Collector(Long.MAX_VALUE);
+        publisher.subscribe(null).subscribe(slow);
+        publisher.subscribe(null).subscribe(fast);
+
+        // Act
+        for (long id = 1; id <= 3; id++) {
+            publisher.publish(dto(id, "APPROVED"));
+        }
+        int subscribersAfterOverflow = publisher.subscriberCount();
+        slow.request(10);
+
+        // Assert - the slow subscriber drains what was buffered, then sees the overflow error
+        assertEquals(1, subscribersAfterOverflow);
+        assertEquals(List.of(1L, 2L), slow.ids());
+        assertNotNull(slow.error);
+        assertEquals(List.of(1L, 2L, 3L), fast.ids());
+    }
+
+    @Test
+    @DisplayName("Should unregister cancelled subscribers")
+    void testCancelUnregisters() {
+        // Arrange
+        TransactionScoredPublisher publisher = publisher(TransactionScoredPublisher.OverflowPolicy.DROP_OLDEST);
+        Collector collector = new Collector(Long.MAX_VALUE);
+        publisher.subscribe(null).subscribe(collector);
+
+        // Act
+        collector.dispose();
+
+        // Assert
+        assertEquals(0, publisher.subscriberCount());
+    }
+
+    private TransactionScoredPublisher publisher(TransactionScoredPublisher.OverflowPolicy policy) {
+        return new TransactionScoredPublisher(2, policy, registry);
+    }
+
+    private static TransactionDTO dto(Long id, String status) {
+        return TransactionDTO.builder().id(id).customerId(1L).status(status).build();
+    }
+
+    private static final class Collector extends BaseSubscriber<TransactionDTO> {
+        private final long initialDemand;
+        private final List<TransactionDTO> received = new ArrayList<>();
+        private Throwable error;
+
+        Collector(long initialDemand) {
+            this.initialDemand = initialDemand;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            if (initialDemand > 0) {
+                subscription.request(initialDemand);
+            }
+        }
+
+        @Override
+        protected void hookOnNext(TransactionDTO value) {
+            received.add(value);
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            error = throwable;
+        }
+
+        List<Long> ids() {
+            return received.stream().map(TransactionDTO::getId).toList();
+        }
+    }
+}
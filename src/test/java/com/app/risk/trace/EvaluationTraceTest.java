@@ -0,0 +1,83 @@
+package com.app.risk.trace;
+
+import com.app.risk.engine.AmountThresholdEvaluator;
+import com.app.risk.engine.CompiledRuleSet;
+import com.app.risk.engine.RuleDefinition;
+import com.app.risk.engine.RuleType;
+import com.app.risk.engine.ScoringEngine;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EvaluationTrace Unit Tests")
+class EvaluationTraceTest {
+
+    @Test
+    @DisplayName("Should ignore everything on the shared disabled trace")
+    void testDisabledTraceIsNoOp() {
+        // Arrange
+        EvaluationTrace trace = EvaluationTrace.orDisabled(null);
+
+        // Act
+        trace.record(TracePhase.INSERT, 1_000_000L);
+        trace.stop(TracePhase.QUERY, trace.start());
+
+        // Assert
+        assertSame(EvaluationTrace.disabled(), trace);
+        assertFalse(trace.isEnabled());
+        assertEquals(0L, trace.start());
+        assertTrue(((Map<?, ?>) trace.toExtension().get("phasesMs")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should accumulate repeated phases")
+    void testPhasesAccumulate() {
+        // Arrange
+        EvaluationTrace trace = EvaluationTrace.enabled();
+
+        // Act
+        trace.record(TracePhase.DTO_MAPPING, 1_500_000L);
+        trace.record(TracePhase.DTO_MAPPING, 500_000L);
+
+        // Assert
+        Map<?, ?> phases = (Map<?, ?>) trace.toExtension().get("phasesMs");
+        assertEquals(2.0, phases.get("dtoMapping"));
+        assertFalse(phases.containsKey("insert"));
+    }
+
+    @Test
+    @DisplayName("Should keep per-rule timings beyond the preallocated capacity")
+    void testRuleTimingsGrow() {
+        // Arrange
+        List<RuleDefinition> rules = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            rules.add(RuleDefinition.builder()
+                    .id(id)
+                    .ruleName("Amount " + id)
+                    .ruleType(RuleType.AMOUNT_THRESHOLD)
+                    .amountThreshold(new BigDecimal(id * 100))
+                    .riskPoints(1)
+                    .build());
+        }
+        ScoringEngine engine = new ScoringEngine(List.of(new AmountThresholdEvaluator()), List.of(), null, List.of());
+        CompiledRuleSet compiled = engine.compile(rules);
+        EvaluationTrace trace = EvaluationTrace.enabled();
+
+        // Act
+        for (int i = 0; i < compiled.size(); i++) {
+            trace.ruleEvaluated(compiled, i, i % 2 == 0, 1_000L);
+        }
+
+        // Assert
+        List<?> ruleTimings = (List<?>) trace.toExtension().get("rules");
+        assertEquals(40, ruleTimings.size());
+        assertEquals(40L, ((Map<?, ?>) ruleTimings.get(39)).get("ruleId"));
+        assertEquals("AMOUNT_THRESHOLD", ((Map<?, ?>) ruleTimings.get(39)).get("ruleType"));
+    }
+}
@@ -1,34 +1,79 @@
 package com.app.risk.transaction;
 
 import com.app.risk.audit.AuditLogService;
+import com.app.risk.config.QueryLimitsProperties;
 import com.app.risk.dto.MatchedRule;
 import com.app.risk.dto.TransactionDTO;
 import com.app.risk.dto.TransactionInput;
+import com.app.risk.dto.TransactionPage;
+import com.app.risk.dto.TransactionResult;
 import com.app.risk.engine.AmountThresholdEvaluator;
+import com.app.risk.engine.EvaluationContext;
 import com.app.risk.engine.FrequencyEvaluator;
+import com.app.risk.engine.MerchantCategory;
 import com.app.risk.engine.MerchantCategoryEvaluator;
-import com.app.risk.engine.RiskRuleEvaluator;
+import com.app.risk.engine.RecentActivity;
+import com.app.risk.engine.RiskProfile;
+import com.app.risk.engine.RuleEvaluator;
+import com.app.risk.engine.RuleType;
+import com.app.risk.engine.ScoringEngine;
+import com.app.risk.engine.ScoringResult;
 import com.app.risk.entity.*;
+import com.app.risk.exception.BadRequestException;
+import com.app.risk.metrics.LatencyRecorders;
+import com.app.risk.metrics.ScoringMetrics;
+import com.app.risk.repository.TransactionListItem;
 import com.app.risk.repository.TransactionRepository;
+import com.app.risk.service.CustomerLocks;
 import com.app.risk.service.CustomerService;
+import com.app.risk.service.QueuedSubmission;
+import com.app.risk.service.RecentTransactionRing;
+import com.app.risk.service.RepositoryFeatureLoader;
 import com.app.risk.service.RiskRuleService;
+import com.app.risk.service.TransactionDtoCache;
+import com.app.risk.service.TransactionScoredPublisher;
 import com.app.risk.service.TransactionService;
+import com.app.risk.trace.EvaluationTrace;
+import com.app.risk.writebehind.ScoredDecision;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.stubbing.Answer;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -57,7 +102,7 @@ class TransactionServiceTest {
     void setUp() {
         objectMapper = new ObjectMapper();
 
-        List<RiskRuleEvaluator> evaluators = Arrays.asList(
+        List<RuleEvaluator> evaluators = Arrays.asList(
                 new AmountThresholdEvaluator(),
                 new MerchantCategoryEvaluator(),
                 frequencyEvaluator
@@ -67,9 +112,19 @@ class TransactionServiceTest {
                 transactionRepository,
                 customerService,
                 riskRuleService,
-                evaluators,
+                new ScoringEngine(evaluators, List.of(), new RepositoryFeatureLoader(transactionRepository), List.of()),
                 objectMapper,
-                auditLogService
+                auditLogService,
+                new ScoringMetrics(new SimpleMeterRegistry()),
+                new LatencyRecorders(Duration.ofSeconds(10), Duration.ofMinutes(5)),
+                new QueryLimitsProperties(),
+                new TransactionDtoCache(1000, new ScoringMetrics(new SimpleMeterRegistry())),
+                new RecentTransactionRing(true, 1000, new ScoringMetrics(new SimpleMeterRegistry())),
+                new TransactionScoredPublisher(16, TransactionScoredPublisher.OverflowPolicy.DROP_OLDEST,
+                        new SimpleMeterRegistry()),
+                new CustomerLocks(false, 16, Duration.ofSeconds(1), Duration.ofMillis(100), new SimpleMeterRegistry()),
+                new RecentActivity(1000, 64, Duration.ofHours(24)),
+                mock(PlatformTransactionManager.class)
         );
 
         testCustomer = Customer.builder()
@@ -163,7 +218,7 @@ class TransactionServiceTest {
         when(customerService.findById(1L)).thenReturn(testCustomer);
         when(riskRuleService.getActiveRules()).thenReturn(getActiveRules());
         when(frequencyEvaluator.supports(RuleType.FREQUENCY)).thenReturn(true);
-        when(frequencyEvaluator.evaluate(any(), any(), any(), any(LocalDateTime.class))).thenReturn(java.util.Optional.of(frequencyMatch));
+        when(frequencyEvaluator.evaluate(any(EvaluationContext.class), any(), anyInt(), any())).thenAnswer(recordMatch(frequencyMatch));
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction t = invocation.getArgument(0);
             t.setId(3L);
@@ -195,7 +250,7 @@ class TransactionServiceTest {
         when(customerService.findById(1L)).thenReturn(testCustomer);
         when(riskRuleService.getActiveRules()).thenReturn(getActiveRules());
         when(frequencyEvaluator.supports(RuleType.FREQUENCY)).thenReturn(true);
-        when(frequencyEvaluator.evaluate(any(), any(), any(), any(LocalDateTime.class))).thenReturn(java.util.Optional.empty());
+        when(frequencyEvaluator.evaluate(any(EvaluationContext.class), any(), anyInt(), any())).thenReturn(false);
         when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
             Transaction t = invocation.getArgument(0);
             t.setId(4L);
@@ -212,6 +267,364 @@ class TransactionServiceTest {
         // Frequency rule should not be in matched rules since we're exactly at threshold
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void testEvaluationTrace_CollectsPhasesAndRules() {
+        // Arrange
+        TransactionInput input = TransactionInput.builder()
+                .customerId(1L)
+                .amount(new BigDecimal("12000.00"))
+                .currency("USD")
+                .merchantCategory("RETAIL")
+                .build();
+        EvaluationTrace trace = EvaluationTrace.enabled();
+
+        when(customerService.findById(1L)).thenReturn(testCustomer);
+        when(riskRuleService.getActiveRules()).thenReturn(getActiveRules());
+        when(frequencyEvaluator.supports(RuleType.FREQUENCY)).thenReturn(true);
+        when(frequencyEvaluator.evaluate(any(EvaluationContext.class), any(), anyInt(), any())).thenReturn(false);
+        when(transactionRepository.save(any(Transaction.class))).thenAnswer(invocation -> {
+            Transaction t = invocation.getArgument(0);
+            t.setId(5L);
+            return t;
+        });
+
+        // Act
+        transactionService.submitTransaction(input, trace);
+        Map<String, Object> extension = trace.toExtension();
+
+        // Assert
+        Map<String, Object> phases = (Map<String, Object>) extension.get("phasesMs");
+        assertTrue(phases.keySet().containsAll(List.of("customerLookup", "ruleSnapshot", "ruleEvaluation",
+                "jsonEncoding", "insert", "audit", "dtoMapping")));
+        List<Map<String, Object>> rules = (List<Map<String, Object>>) extension.get("rules");
+        assertEquals(3, rules.size());
+        assertEquals(1L, rules.get(0).get("ruleId"));
+        assertEquals(true, rules.get(0).get("matched"));
+        assertEquals(false, rules.get(2).get("matched"));
+    }
+
+    @Test
+    void testGetTransactions_PageSizeClamped() {
+        // Arrange
+        when(transactionRepository.findListItemsByStatusAndCustomerSearch(isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(Page.empty());
+
+        // Act
+        transactionService.getTransactions(-3, 5000, null, null);
+
+        // Assert
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(transactionRepository).findListItemsByStatusAndCustomerSearch(isNull(), isNull(), pageable.capture());
+        assertEquals(0, pageable.getValue().getPageNumber());
+        assertEquals(100, pageable.getValue().getPageSize());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetTransactionsByIds_InputOrderWithNullsAndOneAudit() {
+        // Arrange
+        when(transactionRepository.findListItemsByIdIn(any())).thenReturn(List.of(
+                listItem(30L), listItem(10L)));
+
+        // Act
+        List<TransactionDTO> results = transactionService.getTransactionsByIds(List.of(10L, 20L, 30L, 10L));
+
+        // Assert
+        assertEquals(4, results.size());
+        assertEquals(10L, results.get(0).getId());
+        assertNull(results.get(1));
+        assertEquals(30L, results.get(2).getId());
+        assertEquals(10L, results.get(3).getId());
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(transactionRepository).findListItemsByIdIn(ids.capture());
+        assertEquals(List.of(10L, 20L, 30L), List.copyOf(ids.getValue()));
+        verify(auditLogService, times(1)).logCustomEvent(eq("TRANSACTIONS_RETRIEVED"),
+                eq("GET_TRANSACTIONS_BY_IDS"), eq("Transaction"), isNull(), eq("SUCCESS"), anyMap());
+    }
+
+    @Test
+    void testGetTransactionsByIds_RepeatedIdsCountTowardsTheLimit() {
+        // Arrange - one distinct id, repeated past the maximum page size
+        List<Long> ids = Collections.nCopies(101, 10L);
+
+        // Act & Assert
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> transactionService.getTransactionsByIds(ids));
+        assertEquals("At most 100 ids can be requested at once, got 101", exception.getMessage());
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void testGetTransaction_SecondLookupServedFromCache() {
+        // Arrange
+        when(transactionRepository.findListItemById(5L)).thenReturn(Optional.of(listItem(5L)));
+
+        // Act
+        TransactionDTO first = transactionService.getTransaction(5L);
+        TransactionDTO second = transactionService.getTransaction(5L);
+
+        // Assert
+        assertSame(first, second);
+        verify(transactionRepository, times(1)).findListItemById(5L);
+        verify(auditLogService, times(2)).logCustomEvent(eq("TRANSACTION_RETRIEVED"), eq("GET_TRANSACTION"),
+                eq("Transaction"), eq(5L), eq("SUCCESS"), anyMap());
+    }
+
+    @Test
+    void testGetTransactions_FirstPageServedFromRecentRing() {
+        // Arrange
+        when(transactionRepository.findListItemsByStatusAndCustomerSearch(isNull(), isNull(), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(listItem(2L), listItem(1L))));
+        when(transactionRepository.countByStatus(any())).thenReturn(2L, 0L);
+        transactionService.warmRecentTransactions();
+
+        // Act
+        TransactionPage page = transactionService.getTransactions(0, 10, "APPROVED", null);
+
+        // Assert
+        assertEquals(List.of(2L, 1L), page.getContent().stream().map(TransactionDTO::getId).toList());
+        assertEquals(2L, page.getTotalElements());
+        verify(transactionRepository, times(1))
+                .findListItemsByStatusAndCustomerSearch(isNull(), isNull(), any(Pageable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSubmitBatch_OneInsertAndFailedResultForUnknownCustomer() {
+        // Arrange
+        when(customerService.findAllById(any())).thenReturn(Map.of(1L, testCustomer));
+        when(riskRuleService.getActiveRules()).thenReturn(getActiveRules());
+        when(transactionRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Transaction> transactions = invocation.getArgument(0);
+            long id = 100L;
+            for (Transaction transaction : transactions) {
+                transaction.setId(id++);
+            }
+            return transactions;
+        });
+        List<QueuedSubmission> submissions = List.of(
+                queued("a", 1L, "50.00", "RETAIL"),
+                queued("b", 2L, "50.00", "RETAIL"),
+                queued("c", 1L, "12000.00", "GAMBLING"));
+
+        // Act
+        List<TransactionResult> results = transactionService.submitBatch(submissions);
+
+        // Assert
+        assertEquals(List.of("a", "b", "c"), results.stream().map(TransactionResult::getTicket).toList());
+        assertEquals(TransactionResult.COMPLETED, results.get(0).getState());
+        assertEquals(100L, results.get(0).getTransaction().getId());
+        assertEquals(TransactionResult.FAILED, results.get(1).getState());
+        assertEquals("Customer not found with id: 2", results.get(1).getError());
+        assertEquals(101L, results.get(2).getTransaction().getId());
+        assertEquals(90, results.get(2).getTransaction().getRiskScore());
+        ArgumentCaptor<List<Transaction>> saved = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository, times(1)).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        verify(transactionRepository, never()).save(any());
+    }
+
+    @Test
+    void testSubmitTransaction_StoredIdempotencyKeyReturnsOriginal() {
+        // Arrange
+        TransactionInput input = TransactionInput.builder()
+                .customerId(1L)
+                .amount(new BigDecimal("12000.00"))
+                .currency("USD")
+                .merchantCategory("RETAIL")
+                .idempotencyKey("gateway-42")
+                .build();
+        Transaction original = Transaction.builder()
+                .id(9L)
+                .customer(testCustomer)
+                .amount(new BigDecimal("12000.0"))
+                .currency("USD")
+                .timestamp(LocalDateTime.of(2026, 1, 1, 12, 0))
+                .merchantCategory(MerchantCategory.RETAIL)
+                .riskScore(50)
+                .status(TransactionStatus.APPROVED)
+                .matchedRulesJson("[]")
+                .idempotencyKey("gateway-42")
+                .build();
+        when(customerService.findById(1L)).thenReturn(testCustomer);
+        when(transactionRepository.findByIdempotencyKeyIn(List.of("gateway-42"))).thenReturn(List.of(original));
+
+        // Act
+        TransactionDTO result = transactionService.submitTransaction(input);
+
+        // Assert - no rules run, no insert, no audit
+        assertEquals(9L, result.getId());
+        assertEquals(50, result.getRiskScore());
+        verify(riskRuleService, never()).getActiveRules();
+        verify(transactionRepository, never()).save(any());
+        verifyNoInteractions(auditLogService);
+    }
+
+    @Test
+    void testSubmitBatch_StoredIdempotencyKeyForDifferentTransactionFails() {
+        // Arrange
+        Transaction original = Transaction.builder()
+                .id(9L)
+                .customer(testCustomer)
+                .amount(new BigDecimal("75.00"))
+                .currency("USD")
+                .merchantCategory(MerchantCategory.RETAIL)
+                .idempotencyKey("gateway-42")
+                .build();
+        when(customerService.findAllById(any())).thenReturn(Map.of(1L, testCustomer));
+        when(riskRuleService.getActiveRules()).thenReturn(getActiveRules());
+        when(transactionRepository.findByIdempotencyKeyIn(List.of("gateway-42"))).thenReturn(List.of(original));
+        when(transactionRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        QueuedSubmission reused = new QueuedSubmission("a", TransactionInput.builder()
+                .customerId(1L)
+                .amount(new BigDecimal("50.00"))
+                .currency("USD")
+                .merchantCategory("RETAIL")
+                .idempotencyKey("gateway-42")
+                .build(), LocalDateTime.now(), System.nanoTime());
+
+        // Act
+        List<TransactionResult> results = transactionService.submitBatch(List.of(reused));
+
+        // Assert
+        assertEquals(TransactionResult.FAILED, results.get(0).getState());
+        assertEquals("Idempotency key was already used for a different transaction", results.get(0).getError());
+    }
+
+    @Test
+    void testSubmitTransaction_ConcurrentIdempotencyKeyReturnsStoredRow() {
+        // Arrange - the key is not stored when checked, but a concurrent submission inserts it first
+        TransactionInput input = TransactionInput.builder()
+                .customerId(1L)
+                .amount(new BigDecimal("75.00"))
+                .currency("USD")
+                .merchantCategory("RETAIL")
+                .idempotencyKey("gateway-42")
+                .build();
+        Transaction stored = Transaction.builder()
+                .id(9L)
+                .customer(testCustomer)
+                .amount(new BigDecimal("75.00"))
+                .currency("USD")
+                .timestamp(LocalDateTime.of(2026, 1, 1, 12, 0))
+                .merchantCategory(MerchantCategory.RETAIL)
+                .riskScore(0)
+                .status(TransactionStatus.APPROVED)
+                .matchedRulesJson("[]")
+                .idempotencyKey("gateway-42")
+                .build();
+        when(customerService.findById(1L)).thenReturn(testCustomer);
+        when(riskRuleService.getActiveRules()).thenReturn(getActiveRules());
+        when(transactionRepository.findByIdempotencyKeyIn(List.of("gateway-42")))
+                .thenReturn(List.of())
+                .thenReturn(List.of(stored));
+        when(transactionRepository.save(any(Transaction.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'gateway-42'"));
+
+        // Act
+        TransactionDTO result = transactionService.submitTransaction(input);
+
+        // Assert - the stored row is answered, not an unexpected-error audit
+        assertEquals(9L, result.getId());
+        verify(auditLogService, never()).logError(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testSubmitBatch_ConcurrentIdempotencyKeyRetriesWithoutRollingBackOthers() {
+        // Arrange - the first saveAll loses the race on the key, the retry finds it stored
+        Transaction stored = Transaction.builder()
+                .id(9L)
+                .customer(testCustomer)
+                .amount(new BigDecimal("75.00"))
+                .currency("USD")
+                .timestamp(LocalDateTime.of(2026, 1, 1, 12, 0))
+                .merchantCategory(MerchantCategory.RETAIL)
+                .riskScore(0)
+                .status(TransactionStatus.APPROVED)
+                .matchedRulesJson("[]")
+                .idempotencyKey("gateway-42")
+                .build();
+        when(customerService.findAllById(any())).thenReturn(Map.of(1L, testCustomer));
+        when(riskRuleService.getActiveRules()).thenReturn(getActiveRules());
+        when(transactionRepository.findByIdempotencyKeyIn(List.of("gateway-42")))
+                .thenReturn(List.of())
+                .thenReturn(List.of(stored));
+        when(transactionRepository.saveAll(any()))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'gateway-42'"))
+                .thenAnswer(invocation -> {
+                    List<Transaction> transactions = invocation.getArgument(0);
+                    transactions.forEach(transaction -> transaction.setId(100L));
+                    return transactions;
+                });
+        QueuedSubmission keyed = new QueuedSubmission("a", TransactionInput.builder()
+                .customerId(1L)
+                .amount(new BigDecimal("75.00"))
+                .currency("USD")
+                .merchantCategory("RETAIL")
+                .idempotencyKey("gateway-42")
+                .build(), LocalDateTime.now(), System.nanoTime());
+
+        // Act
+        List<TransactionResult> results = transactionService.submitBatch(
+                List.of(keyed, queued("b", 1L, "50.00", "RETAIL")));
+
+        // Assert
+        assertEquals(TransactionResult.COMPLETED, results.get(0).getState());
+        assertEquals(9L, results.get(0).getTransaction().getId());
+        assertEquals(TransactionResult.COMPLETED, results.get(1).getState());
+        assertEquals(100L, results.get(1).getTransaction().getId());
+    }
+
+    @Test
+    void testPersistDecisions_StoresIdempotencyKeyAndSkipsStoredKeys() {
+        // Arrange - another instance already stored gateway-41
+        Transaction stored = Transaction.builder()
+                .id(9L)
+                .customer(testCustomer)
+                .idempotencyKey("gateway-41")
+                .build();
+        when(customerService.findAllById(any())).thenReturn(Map.of(1L, testCustomer));
+        when(transactionRepository.findByIdempotencyKeyIn(any())).thenReturn(List.of(stored));
+        when(transactionRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Transaction> transactions = invocation.getArgument(0);
+            transactions.forEach(transaction -> transaction.setId(100L));
+            return transactions;
+        });
+
+        // Act
+        List<TransactionDTO> persisted = transactionService.persistDecisions(List.of(
+                decision("gateway-41"), decision("gateway-42"), decision("gateway-42")));
+
+        // Assert
+        ArgumentCaptor<List<Transaction>> saved = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals("gateway-42", saved.getValue().get(0).getIdempotencyKey());
+        assertEquals(1, persisted.size());
+    }
+
+    private static ScoredDecision decision(String idempotencyKey) {
+        return new ScoredDecision(UUID.randomUUID().toString(), 1L, new BigDecimal("75.00"), "USD",
+                MerchantCategory.RETAIL, LocalDateTime.of(2026, 1, 1, 12, 0), 0, TransactionStatus.APPROVED,
+                List.of(), List.of(), 3, idempotencyKey);
+    }
+
+    private QueuedSubmission queued(String ticket, Long customerId, String amount, String merchantCategory) {
+        return new QueuedSubmission(ticket, TransactionInput.builder()
+                .customerId(customerId)
+                .amount(new BigDecimal(amount))
+                .currency("USD")
+                .merchantCategory(merchantCategory)
+                .build(), LocalDateTime.now(), System.nanoTime());
+    }
+
+    private TransactionListItem listItem(Long id) {
+        return new TransactionListItem(id, testCustomer.getId(), testCustomer.getName(), testCustomer.getEmail(),
+                new BigDecimal("50.00"), "USD", LocalDateTime.of(2026, 1, 1, 12, 0), MerchantCategory.RETAIL,
+                0, TransactionStatus.APPROVED, "[]", null);
+    }
+
     private List<RiskRule> getActiveRules() {
         return Arrays.asList(
                 RiskRule.builder()
@@ -241,5 +654,12 @@ class TransactionServiceTest {
                         .build()
         );
     }
-}
 
+    private static Answer<Boolean> recordMatch(MatchedRule matchedRule) {
+        return invocation -> {
+            ScoringResult result = invocation.getArgument(3);
+            result.recordExternal(invocation.getArgument(2), matchedRule);
+            return true;
+        };
+    }
+}
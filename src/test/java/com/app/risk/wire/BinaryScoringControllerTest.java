@@ -0,0 +1,219 @@
+package com.app.risk.wire;
+
+import com.app.risk.bulkhead.BulkheadProperties;
+import com.app.risk.bulkhead.LaneExecutors;
+import com.app.risk.dto.TransactionDTO;
+import com.app.risk.dto.TransactionInput;
+import com.app.risk.exception.NotFoundException;
+import com.app.risk.ratelimit.RateLimitInterceptor;
+import com.app.risk.ratelimit.RateLimitProperties;
+import com.app.risk.service.AdaptiveConcurrencyLimiter;
+import com.app.risk.service.IdempotencyWindow;
+import com.app.risk.service.TransactionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BinaryScoringController Unit Tests")
+class BinaryScoringControllerTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    private SimpleMeterRegistry registry;
+    private RateLimitProperties rateLimitProperties;
+    private BinaryScoringController controller;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        rateLimitProperties = new RateLimitProperties();
+        controller = controller();
+    }
+
+    private BinaryScoringController controller() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(false, 20, 2, 200, 0.9, 2.0,
+                Duration.ofSeconds(2), Duration.ofSeconds(1), registry);
+        LaneExecutors lanes = new LaneExecutors(new BulkheadProperties(), Duration.ofSeconds(1), registry);
+        IdempotencyWindow idempotencyWindow = new IdempotencyWindow(true, 100, Duration.ofHours(1), registry);
+        RateLimitInterceptor rateLimits = new RateLimitInterceptor(rateLimitProperties, registry);
+        return new BinaryScoringController(transactionService, limiter, lanes, idempotencyWindow, rateLimits,
+                Validation.buildDefaultValidatorFactory().getValidator(), 4, 256, registry);
+    }
+
+    @Test
+    @DisplayName("Should answer pipelined frames in order through the submitTransaction path")
+    void testPipelinedFramesAnsweredInOrder() throws IOException {
+        // Arrange
+        when(transactionService.submitTransaction(any(TransactionInput.class))).thenAnswer(invocation -> {
+            TransactionInput input = invocation.getArgument(0);
+            return TransactionDTO.builder()
+                    .id(input.getCustomerId() * 100)
+                    .riskScore(input.getAmount().intValue())
+                    .status("APPROVED")
+                    .matchedRules(List.of())
+                    .build();
+        });
+        when(transactionService.submitTransaction(argThat((TransactionInput input) -> input.getCustomerId() == 99L)))
+                .thenThrow(new NotFoundException("Customer not found with id: 99"));
+        List<byte[]> frames = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            frames.add(ScoringFrames.request(i, input(i == 6 ? 99L : i, "" + i, null)));
+        }
+
+        // Act
+        List<ScoringFrames.Response> responses = post(frames);
+
+        // Assert
+        assertEquals(10, responses.size());
+        for (int i = 1; i <= 10; i++) {
+            ScoringFrames.Response response = responses.get(i - 1);
+            assertEquals(i, response.correlationId());
+            if (i == 6) {
+                assertEquals(ScoringFrames.Outcome.NOT_FOUND, response.outcome());
+                assertEquals("Customer not found with id: 99", response.message());
+            } else {
+                assertEquals(ScoringFrames.Outcome.SCORED, response.outcome());
+                assertEquals(i * 100L, response.transactionId());
+                assertEquals(i, response.riskScore());
+            }
+        }
+        assertEquals(9.0, registry.get("risk.binary.frames").tag("outcome", "scored").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Should reject invalid input per frame and replay a repeated idempotency key")
+    void testValidationAndIdempotency() throws IOException {
+        // Arrange
+        when(transactionService.submitTransaction(any(TransactionInput.class))).thenReturn(TransactionDTO.builder()
+                .id(1L).riskScore(0).status("APPROVED").matchedRules(List.of()).build());
+
+        // Act
+        List<ScoringFrames.Response> responses = post(List.of(
+                ScoringFrames.request(1, input(7L, "-5", null)),
+                ScoringFrames.request(2, input(7L, "10", "order-1")),
+                ScoringFrames.request(3, input(7L, "10", "order-1"))));
+
+        // Assert
+        assertEquals(ScoringFrames.Outcome.BAD_REQUEST, responses.get(0).outcome());
+        assertEquals("amount: must be greater than 0", responses.get(0).message());
+        assertEquals(1L, responses.get(1).transactionId());
+        assertEquals(1L, responses.get(2).transactionId());
+        verify(transactionService, times(1)).submitTransaction(any(TransactionInput.class));
+    }
+
+    @Test
+    @DisplayName("Should answer what was read and end the stream at an oversized frame")
+    void testOversizedFrameEndsStream() throws IOException {
+        // Arrange
+        when(transactionService.submitTransaction(any(TransactionInput.class))).thenReturn(TransactionDTO.builder()
+                .id(1L).riskScore(0).status("APPROVED").matchedRules(List.of()).build());
+
+        // Act
+        List<ScoringFrames.Response> responses = post(List.of(
+                ScoringFrames.request(1, input(7L, "10", null)),
+                ScoringFrames.request(2, input(7L, "10", "k".repeat(250))),
+                ScoringFrames.request(3, input(7L, "10", null))));
+
+        // Assert
+        assertEquals(2, responses.size());
+        assertEquals(ScoringFrames.Outcome.SCORED, responses.get(0).outcome());
+        assertEquals(ScoringFrames.Outcome.ERROR, responses.get(1).outcome());
+        assertEquals(-1, responses.get(1).correlationId());
+        verify(transactionService, times(1)).submitTransaction(any(TransactionInput.class));
+    }
+
+    @Test
+    @DisplayName("Should charge every frame to the client's and the customer's rate limits")
+    void testFramesRateLimited() throws IOException {
+        // Arrange
+        rateLimitProperties.setEnabled(true);
+        rateLimitProperties.setRequestsPerMinute(60);
+        rateLimitProperties.setBurst(2);
+        rateLimitProperties.setTrustedProxies(List.of("127.0.0.1"));
+        registry = new SimpleMeterRegistry();
+        controller = controller();
+        when(transactionService.submitTransaction(any(TransactionInput.class))).thenReturn(TransactionDTO.builder()
+                .id(1L).riskScore(0).status("APPROVED").matchedRules(List.of()).build());
+
+        // Act - gateway-a spends its burst, and customer 7's, on two frames of one request
+        List<ScoringFrames.Response> first = post("gateway-a", List.of(
+                ScoringFrames.request(1, input(7L, "10", null)),
+                ScoringFrames.request(2, input(7L, "10", null))));
+        List<ScoringFrames.Response> otherClient = post("gateway-b", List.of(
+                ScoringFrames.request(3, input(7L, "10", null)),
+                ScoringFrames.request(4, input(8L, "10", null))));
+        List<ScoringFrames.Response> sameClient = post("gateway-a", List.of(
+                ScoringFrames.request(5, input(8L, "10", null))));
+
+        // Assert
+        assertEquals(ScoringFrames.Outcome.SCORED, first.get(1).outcome());
+        assertEquals(ScoringFrames.Outcome.RATE_LIMITED, otherClient.get(0).outcome());
+        assertEquals("Rate limit exceeded for customer 7", otherClient.get(0).message());
+        assertTrue(otherClient.get(0).retryAfterMillis() > 0);
+        assertEquals(ScoringFrames.Outcome.SCORED, otherClient.get(1).outcome());
+        assertEquals(ScoringFrames.Outcome.RATE_LIMITED, sameClient.get(0).outcome());
+        assertEquals("Rate limit exceeded for this client", sameClient.get(0).message());
+        verify(transactionService, times(3)).submitTransaction(any(TransactionInput.class));
+        assertEquals(2.0, registry.get("risk.binary.frames").tag("outcome", "rate_limited").functionCounter().count());
+    }
+
+    private List<ScoringFrames.Response> post(List<byte[]> frames) throws IOException {
+        return post(null, frames);
+    }
+
+    private List<ScoringFrames.Response> post(String clientId, List<byte[]> frames) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        frames.forEach(body::writeBytes);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/score/frames");
+        request.setContentType(ScoringFrames.CONTENT_TYPE);
+        request.setContent(body.toByteArray());
+        if (clientId != null) {
+            request.addHeader("X-Client-Id", clientId);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.score(request, response);
+
+        assertEquals(ScoringFrames.CONTENT_TYPE, response.getContentType());
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(response.getContentAsByteArray()));
+        List<ScoringFrames.Response> responses = new ArrayList<>();
+        for (ScoringFrames.Response next = ScoringFrames.readResponse(in); next != null;
+             next = ScoringFrames.readResponse(in)) {
+            responses.add(next);
+        }
+        return responses;
+    }
+
+    private static TransactionInput input(Long customerId, String amount, String idempotencyKey) {
+        return TransactionInput.builder()
+                .customerId(customerId)
+                .amount(new BigDecimal(amount))
+                .currency("USD")
+                .merchantCategory("RETAIL")
+                .idempotencyKey(idempotencyKey)
+                .build();
+    }
+}
@@ -0,0 +1,165 @@
+package com.app.risk.wire;
+
+import com.app.risk.dto.TransactionInput;
+import com.app.risk.entity.Customer;
+import com.app.risk.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares CPU per scored transaction between {@code submitTransaction} over GraphQL, one
+ * request per transaction, and {@code /score/frames} with pipelined frames, both running the
+ * full application on H2. CPU is the whole process's less the calling thread, which only
+ * encodes requests and decodes responses.
+ * Excluded from the default build; run with
+ * {@code mvn test -Dsurefire.excludedGroups= -Dtest=ScoringEndpointBenchmark}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:scoring-benchmark;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.globally_quoted_identifiers=true",
+        "spring.jpa.properties.hibernate.globally_quoted_identifiers_skip_column_definitions=true",
+        "app.binary-scoring.enabled=true",
+        "app.admission.enabled=false",
+        "logging.level.com.app.risk=WARN"
+})
+@ActiveProfiles("test")
+@Tag("benchmark")
+@DisplayName("Scoring endpoint benchmark")
+class ScoringEndpointBenchmark {
+
+    private static final int WARMUP = 500;
+    private static final int TRANSACTIONS = 2000;
+    private static final int FRAMES_PER_REQUEST = 100;
+    private static final String SUBMIT = "mutation($input: TransactionInput!) { submitTransaction(input: $input) "
+            + "{ id riskScore status matchedRules { ruleId } degradedRuleIds } }";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private List<Long> customerIds;
+
+    @BeforeEach
+    void setUp() {
+        customerIds = customerRepository.findAll().stream().map(Customer::getId).toList();
+    }
+
+    @Test
+    void compareCpuPerTransaction() throws IOException {
+        graphQl(WARMUP);
+        binary(WARMUP);
+
+        Result graphQl = measure(() -> graphQl(TRANSACTIONS));
+        Result binary = measure(() -> binary(TRANSACTIONS));
+
+        assertEquals(TRANSACTIONS, graphQl.scored);
+        assertEquals(TRANSACTIONS, binary.scored);
+        System.out.printf("graphql: %8.1f us cpu/tx %8.1f us wall/tx | binary: %8.1f us cpu/tx %8.1f us wall/tx"
+                        + " | cpu ratio %.2f%n",
+                graphQl.cpuMicrosPerTx, graphQl.wallMicrosPerTx, binary.cpuMicrosPerTx, binary.wallMicrosPerTx,
+                graphQl.cpuMicrosPerTx / binary.cpuMicrosPerTx);
+    }
+
+    private int graphQl(int transactions) throws IOException {
+        int scored = 0;
+        for (int i = 0; i < transactions; i++) {
+            TransactionInput input = input(i);
+            String body = "{\"query\":\"" + SUBMIT + "\",\"variables\":{\"input\":{\"customerId\":" + input.getCustomerId()
+                    + ",\"amount\":" + input.getAmount() + ",\"currency\":\"USD\",\"merchantCategory\":\"RETAIL\"}}}";
+            String response = new String(post("/graphql", "application/json",
+                    body.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+            if (response.contains("\"riskScore\"") && !response.contains("\"errors\"")) {
+                scored++;
+            }
+        }
+        return scored;
+    }
+
+    private int binary(int transactions) throws IOException {
+        int scored = 0;
+        for (int sent = 0; sent < transactions; sent += FRAMES_PER_REQUEST) {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            for (int i = sent; i < Math.min(transactions, sent + FRAMES_PER_REQUEST); i++) {
+                body.writeBytes(ScoringFrames.request(i, input(i)));
+            }
+            DataInputStream in = new DataInputStream(new java.io.ByteArrayInputStream(
+                    post("/score/frames", ScoringFrames.CONTENT_TYPE, body.toByteArray())));
+            for (ScoringFrames.Response next = ScoringFrames.readResponse(in); next != null;
+                 next = ScoringFrames.readResponse(in)) {
+                if (next.outcome() == ScoringFrames.Outcome.SCORED) {
+                    scored++;
+                }
+            }
+        }
+        return scored;
+    }
+
+    private byte[] post(String path, String contentType, byte[] body) throws IOException {
+        HttpURLConnection connection =
+                (HttpURLConnection) URI.create("http://localhost:" + port + path).toURL().openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        connection.setRequestProperty("Content-Type", contentType);
+        connection.setFixedLengthStreamingMode(body.length);
+        try (OutputStream out = connection.getOutputStream()) {
+            out.write(body);
+        }
+        try (InputStream in = connection.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private TransactionInput input(int i) {
+        return TransactionInput.builder()
+                .customerId(customerIds.get(i % customerIds.size()))
+                .amount(BigDecimal.valueOf(50 + (i % 40) * 250L, 2))
+                .currency("USD")
+                .merchantCategory("RETAIL")
+                .build();
+    }
+
+    private Result measure(Run run) throws IOException {
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long processBefore = os.getProcessCpuTime();
+        long clientBefore = threads.getCurrentThreadCpuTime();
+        long start = System.nanoTime();
+        int scored = run.run();
+        long elapsed = System.nanoTime() - start;
+        long client = threads.getCurrentThreadCpuTime() - clientBefore;
+        long server = os.getProcessCpuTime() - processBefore - client;
+        return new Result(scored, server / 1_000.0 / TRANSACTIONS, elapsed / 1_000.0 / TRANSACTIONS);
+    }
+
+    private interface Run {
+        int run() throws IOException;
+    }
+
+    private record Result(int scored, double cpuMicrosPerTx, double wallMicrosPerTx) {
+    }
+}
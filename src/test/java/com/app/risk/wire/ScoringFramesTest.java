@@ -0,0 +1,121 @@
+package com.app.risk.wire;
+
+import com.app.risk.dto.MatchedRule;
+import com.app.risk.dto.TransactionDTO;
+import com.app.risk.dto.TransactionInput;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ScoringFrames Unit Tests")
+class ScoringFramesTest {
+
+    @Test
+    @DisplayName("Should round-trip a request, keeping the amount's scale and an absent idempotency key")
+    void testRequestRoundTrip() throws IOException {
+        // Arrange
+        TransactionInput keyed = input(7L, "1250.50", "order-81");
+        TransactionInput unkeyed = input(8L, "3", null);
+
+        // Act
+        DataInputStream in = stream(ScoringFrames.request(1, keyed), ScoringFrames.request(2, unkeyed));
+        ScoringFrames.Request first = ScoringFrames.readRequest(in, 1024);
+        ScoringFrames.Request second = ScoringFrames.readRequest(in, 1024);
+
+        // Assert
+        assertEquals(1, first.correlationId());
+        assertEquals(keyed, first.input());
+        assertEquals(new BigDecimal("1250.50"), first.input().getAmount());
+        assertEquals(2, second.correlationId());
+        assertNull(second.input().getIdempotencyKey());
+        assertNull(ScoringFrames.readRequest(in, 1024));
+    }
+
+    @Test
+    @DisplayName("Should round-trip scored and failed responses")
+    void testResponseRoundTrip() throws IOException {
+        // Arrange
+        TransactionDTO transaction = TransactionDTO.builder()
+                .id(42L)
+                .riskScore(70)
+                .status("FLAGGED")
+                .matchedRules(List.of(MatchedRule.builder().ruleId(3L).build(), MatchedRule.builder().ruleId(9L).build()))
+                .degradedRuleIds(List.of(9L))
+                .build();
+
+        // Act
+        DataInputStream in = stream(ScoringFrames.scored(5, transaction),
+                ScoringFrames.failed(6, ScoringFrames.Outcome.OVERLOADED, 1000L, "Too many transactions in flight"));
+        ScoringFrames.Response scored = ScoringFrames.readResponse(in);
+        ScoringFrames.Response overloaded = ScoringFrames.readResponse(in);
+
+        // Assert
+        assertEquals(new ScoringFrames.Response(5, ScoringFrames.Outcome.SCORED, 42L, 70, "FLAGGED",
+                List.of(3L, 9L), List.of(9L), 0L, null), scored);
+        assertEquals(ScoringFrames.Outcome.OVERLOADED, overloaded.outcome());
+        assertEquals(6, overloaded.correlationId());
+        assertEquals(1000L, overloaded.retryAfterMillis());
+        assertEquals("Too many transactions in flight", overloaded.message());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed payload and carry on with the next frame")
+    void testMalformedPayloadKeepsFraming() throws IOException {
+        // Arrange - cut the last byte from the payload but keep the length prefix consistent
+        byte[] valid = ScoringFrames.request(11, input(7L, "10", null));
+        byte[] truncated = Arrays.copyOf(valid, valid.length - 1);
+        truncated[3]--;
+        DataInputStream in = stream(truncated, ScoringFrames.request(12, input(7L, "10", null)));
+
+        // Act
+        ScoringFrames.MalformedFrameException error = assertThrows(ScoringFrames.MalformedFrameException.class,
+                () -> ScoringFrames.readRequest(in, 1024));
+        ScoringFrames.Request next = ScoringFrames.readRequest(in, 1024);
+
+        // Assert
+        assertEquals(11, error.getCorrelationId());
+        assertEquals("Request frame is truncated", error.getMessage());
+        assertEquals(12, next.correlationId());
+    }
+
+    @Test
+    @DisplayName("Should fail the stream on an oversized frame or a body ending inside a frame")
+    void testFramingErrors() {
+        // Arrange
+        byte[] frame = ScoringFrames.request(1, input(7L, "10", "a".repeat(100)));
+
+        // Act & Assert
+        IOException oversized = assertThrows(IOException.class, () -> ScoringFrames.readRequest(stream(frame), 64));
+        assertTrue(oversized.getMessage().contains("exceeds the limit of 64"));
+        assertThrows(EOFException.class,
+                () -> ScoringFrames.readRequest(stream(Arrays.copyOf(frame, frame.length - 5)), 1024));
+    }
+
+    private static TransactionInput input(Long customerId, String amount, String idempotencyKey) {
+        return TransactionInput.builder()
+                .customerId(customerId)
+                .amount(new BigDecimal(amount))
+                .currency("USD")
+                .merchantCategory("RETAIL")
+                .idempotencyKey(idempotencyKey)
+                .build();
+    }
+
+    private static DataInputStream stream(byte[]... frames) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (byte[] frame : frames) {
+            bytes.writeBytes(frame);
+        }
+        return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+}
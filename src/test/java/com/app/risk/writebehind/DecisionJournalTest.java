@@ -0,0 +1,129 @@
+package com.app.risk.writebehind;
+
+import com.app.risk.config.JacksonConfig;
+import com.app.risk.dto.MatchedRule;
+import com.app.risk.engine.MerchantCategory;
+import com.app.risk.entity.TransactionStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DecisionJournal Unit Tests")
+class DecisionJournalTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Should recover appended decisions that were never marked persisted")
+    void testRecoverUnpersisted() throws IOException {
+        // Arrange
+        Path path = dir.resolve("journal.log");
+        ScoredDecision first = decision();
+        ScoredDecision second = decision();
+        ScoredDecision third = decision();
+        try (DecisionJournal journal = new DecisionJournal(path, objectMapper, Long.MAX_VALUE)) {
+            journal.recover();
+            journal.append(first);
+            journal.append(second);
+            journal.append(third);
+            journal.markPersisted(List.of(second.decisionId()));
+        }
+
+        // Act
+        List<ScoredDecision> recovered;
+        try (DecisionJournal journal = new DecisionJournal(path, objectMapper, Long.MAX_VALUE)) {
+            recovered = journal.recover();
+            assertEquals(2, journal.outstanding());
+        }
+
+        // Assert
+        assertEquals(List.of(first, third), recovered);
+    }
+
+    @Test
+    @DisplayName("Should drop a torn record at the tail and keep appending after it")
+    void testTornTail() throws IOException {
+        // Arrange
+        Path path = dir.resolve("journal.log");
+        ScoredDecision kept = decision();
+        try (DecisionJournal journal = new DecisionJournal(path, objectMapper, Long.MAX_VALUE)) {
+            journal.recover();
+            journal.append(kept);
+        }
+        long intact = Files.size(path);
+        // A crash mid-write leaves a header promising more bytes than follow
+        Files.write(path, new byte[]{0, 0, 1, 0, 1, 2, 3, 4, 1, '{'}, StandardOpenOption.APPEND);
+
+        // Act
+        ScoredDecision appended = decision();
+        try (DecisionJournal journal = new DecisionJournal(path, objectMapper, Long.MAX_VALUE)) {
+            assertEquals(List.of(kept), journal.recover());
+            assertEquals(intact, journal.sizeBytes());
+            journal.append(appended);
+        }
+
+        // Assert
+        try (DecisionJournal journal = new DecisionJournal(path, objectMapper, Long.MAX_VALUE)) {
+            assertEquals(List.of(kept, appended), journal.recover());
+        }
+    }
+
+    @Test
+    @DisplayName("Should truncate the file once nothing is outstanding and it has reached the compaction size")
+    void testCompaction() throws IOException {
+        // Arrange
+        Path path = dir.resolve("journal.log");
+        ScoredDecision first = decision();
+        ScoredDecision second = decision();
+        try (DecisionJournal journal = new DecisionJournal(path, objectMapper, 1L)) {
+            journal.recover();
+            journal.append(first);
+            journal.append(second);
+
+            // Act
+            journal.markPersisted(List.of(first.decisionId()));
+            long whileOutstanding = journal.sizeBytes();
+            journal.markPersisted(List.of(second.decisionId()));
+
+            // Assert
+            assertTrue(whileOutstanding > 0);
+            assertEquals(0, journal.outstanding());
+            assertTrue(journal.sizeBytes() < whileOutstanding);
+        }
+        try (DecisionJournal journal = new DecisionJournal(path, objectMapper, 1L)) {
+            assertTrue(journal.recover().isEmpty());
+        }
+    }
+
+    static ScoredDecision decision() {
+        return decision(null);
+    }
+
+    static ScoredDecision decision(String idempotencyKey) {
+        MatchedRule rule = MatchedRule.builder()
+                .ruleId(1L)
+                .ruleName("High amount")
+                .ruleType("AMOUNT_THRESHOLD")
+                .points(40)
+                .reason("Amount above threshold")
+                .build();
+        return new ScoredDecision(UUID.randomUUID().toString(), 7L, new BigDecimal("1250.00"), "USD",
+                MerchantCategory.values()[0], LocalDateTime.of(2026, 1, 15, 10, 30), 40,
+                TransactionStatus.values()[0], List.of(rule), List.of(), 3, idempotencyKey);
+    }
+}
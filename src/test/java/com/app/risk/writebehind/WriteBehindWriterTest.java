@@ -0,0 +1,277 @@
+package com.app.risk.writebehind;
+
+import com.app.risk.config.JacksonConfig;
+import com.app.risk.dto.TransactionDecision;
+import com.app.risk.dto.TransactionInput;
+import com.app.risk.exception.OverloadedException;
+import com.app.risk.service.CustomerLocks;
+import com.app.risk.service.GuardedFeatureLoader;
+import com.app.risk.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WriteBehindWriter Unit Tests")
+class WriteBehindWriterTest {
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private GuardedFeatureLoader featureLoader;
+
+    @TempDir
+    Path dir;
+
+    private PendingDecisions pendingDecisions;
+    private WriteBehindWriter writer;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        pendingDecisions = new PendingDecisions(featureLoader);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null && writer.isRunning()) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should acknowledge before storing and drop the decision from pending once stored")
+    void testAcknowledgeThenStore() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        ScoredDecision scored = DecisionJournalTest.decision();
+        List<ScoredDecision> stored = new CopyOnWriteArrayList<>();
+        when(transactionService.scoreDecision(any())).thenReturn(scored);
+        when(transactionService.persistDecisions(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            stored.addAll(invocation.getArgument(0));
+            return List.of();
+        });
+        writer = writer(10);
+        writer.start();
+
+        // Act
+        TransactionDecision decision = writer.submit(input());
+
+        // Assert - visible to frequency features while the insert is blocked
+        assertEquals(scored.decisionId(), decision.getDecisionId());
+        assertEquals(1, pendingDecisions.size());
+        release.countDown();
+        awaitPending(0);
+        assertEquals(List.of(scored), stored);
+    }
+
+    @Test
+    @DisplayName("Should keep the journal open for a flush still running when stop gives up waiting")
+    void testStopLeavesJournalToRunningFlush() throws IOException, InterruptedException {
+        // Arrange - the insert outlasts the stop timeout
+        CountDownLatch storing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionService.scoreDecision(any())).thenReturn(DecisionJournalTest.decision());
+        when(transactionService.persistDecisions(any())).thenAnswer(invocation -> {
+            storing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        writer = writer(10, Duration.ofMillis(50));
+        writer.start();
+        writer.submit(input());
+        assertTrue(storing.await(5, TimeUnit.SECONDS));
+
+        // Act
+        writer.stop();
+        release.countDown();
+        awaitPending(0);
+
+        // Assert - the committed decision was marked, so nothing is replayed
+        try (DecisionJournal journal = new DecisionJournal(dir.resolve("journal.log"), objectMapper, Long.MAX_VALUE)) {
+            assertTrue(journal.recover().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer a repeated idempotency key from the pending decision without scoring again")
+    void testRepeatAnsweredFromPending() {
+        // Arrange - the database refuses every batch, so the first decision stays pending
+        ScoredDecision scored = DecisionJournalTest.decision("gateway-42");
+        when(transactionService.scoreDecision(any())).thenReturn(scored);
+        when(transactionService.persistDecisions(any())).thenThrow(new CannotCreateTransactionException("database down"));
+        writer = writer(10);
+        writer.start();
+        TransactionInput input = input();
+        input.setIdempotencyKey("gateway-42");
+
+        // Act
+        TransactionDecision first = writer.submit(input);
+        TransactionDecision repeat = writer.submit(input);
+
+        // Assert
+        assertEquals(scored.decisionId(), first.getDecisionId());
+        assertEquals(scored.decisionId(), repeat.getDecisionId());
+        assertEquals(1, pendingDecisions.size());
+        verify(transactionService, times(1)).scoreDecision(any());
+    }
+
+    @Test
+    @DisplayName("Should reject with a retryable error once max-pending decisions are unstored")
+    void testRejectWhenBacklogFull() {
+        // Arrange - the database refuses every batch, so nothing drains
+        when(transactionService.scoreDecision(any())).thenAnswer(invocation -> DecisionJournalTest.decision());
+        when(transactionService.persistDecisions(any())).thenThrow(new CannotCreateTransactionException("database down"));
+        writer = writer(2);
+        writer.start();
+        writer.submit(input());
+        writer.submit(input());
+
+        // Act & Assert
+        OverloadedException exception = assertThrows(OverloadedException.class, () -> writer.submit(input()));
+        assertEquals(1000L, exception.getRetryAfterMillis());
+    }
+
+    @Test
+    @DisplayName("Should replay journaled decisions on start, skipping those already stored")
+    void testReplayOnStart() throws IOException, InterruptedException {
+        // Arrange - a previous run acknowledged two decisions; one reached the database before the crash
+        ScoredDecision stored = DecisionJournalTest.decision();
+        ScoredDecision lost = DecisionJournalTest.decision();
+        List<ScoredDecision> replayed = new CopyOnWriteArrayList<>();
+        try (DecisionJournal journal = new DecisionJournal(dir.resolve("journal.log"), objectMapper, Long.MAX_VALUE)) {
+            journal.recover();
+            journal.append(stored);
+            journal.append(lost);
+        }
+        when(transactionService.findPersistedDecisionIds(anyCollection())).thenReturn(Set.of(stored.decisionId()));
+        when(transactionService.persistDecisions(any())).thenAnswer(invocation -> {
+            replayed.addAll(invocation.getArgument(0));
+            return List.of();
+        });
+        writer = writer(10);
+
+        // Act
+        writer.start();
+        awaitPending(0);
+        writer.stop();
+
+        // Assert
+        assertEquals(List.of(lost), replayed);
+        try (DecisionJournal journal = new DecisionJournal(dir.resolve("journal.log"), objectMapper, Long.MAX_VALUE)) {
+            assertTrue(journal.recover().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("Should store the rest of a batch and dead-letter the decision the database refuses")
+    void testPoisonDecisionDeadLettered() throws IOException, InterruptedException {
+        // Arrange - three decisions replayed as one batch; the customer of the second was deleted
+        ScoredDecision first = DecisionJournalTest.decision();
+        ScoredDecision poison = DecisionJournalTest.decision();
+        ScoredDecision third = DecisionJournalTest.decision();
+        List<ScoredDecision> stored = new CopyOnWriteArrayList<>();
+        try (DecisionJournal journal = new DecisionJournal(dir.resolve("journal.log"), objectMapper, Long.MAX_VALUE)) {
+            journal.recover();
+            journal.append(first);
+            journal.append(poison);
+            journal.append(third);
+        }
+        when(transactionService.findPersistedDecisionIds(anyCollection())).thenReturn(Set.of());
+        when(transactionService.persistDecisions(any())).thenAnswer(invocation -> {
+            List<ScoredDecision> batch = invocation.getArgument(0);
+            if (batch.contains(poison)) {
+                throw new IllegalStateException("Customer 7 of decision " + poison.decisionId() + " no longer exists");
+            }
+            stored.addAll(batch);
+            return List.of();
+        });
+        when(transactionService.scoreDecision(any())).thenAnswer(invocation -> DecisionJournalTest.decision());
+        writer = writer(3);
+
+        // Act
+        writer.start();
+        awaitPending(0);
+
+        // Assert - the rest is stored, and the backlog has room again for max-pending decisions
+        assertEquals(List.of(first, third), stored);
+        assertEquals(1.0, registry.get("risk.writebehind.decisions").tag("result", "dead-lettered")
+                .functionCounter().count());
+        List<String> deadLetters = Files.readAllLines(dir.resolve("dead-letters.log"));
+        assertEquals(1, deadLetters.size());
+        assertTrue(deadLetters.get(0).contains(poison.decisionId()));
+        assertTrue(deadLetters.get(0).contains("no longer exists"));
+        for (int i = 0; i < 3; i++) {
+            writer.submit(input());
+        }
+        awaitPending(0);
+        writer.stop();
+        try (DecisionJournal journal = new DecisionJournal(dir.resolve("journal.log"), objectMapper, Long.MAX_VALUE)) {
+            assertTrue(journal.recover().isEmpty());
+        }
+    }
+
+    private WriteBehindWriter writer(int maxPending) {
+        return writer(maxPending, Duration.ofSeconds(30));
+    }
+
+    private WriteBehindWriter writer(int maxPending, Duration stopTimeout) {
+        registry = new SimpleMeterRegistry();
+        return new WriteBehindWriter(transactionService, pendingDecisions,
+                new CustomerLocks(true, 16, Duration.ofSeconds(1), Duration.ofMillis(100), new SimpleMeterRegistry()),
+                objectMapper, registry,
+                true, dir.resolve("journal.log"), dir.resolve("dead-letters.log"), DataSize.ofMegabytes(1),
+                maxPending, 10,
+                Duration.ofMillis(50), Duration.ofSeconds(1), stopTimeout);
+    }
+
+    private void awaitPending(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (writer.pending() != expected || pendingDecisions.size() != expected) {
+            if (System.nanoTime() > deadline) {
+                fail("Pending decisions did not reach " + expected);
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static TransactionInput input() {
+        TransactionInput input = new TransactionInput();
+        input.setCustomerId(7L);
+        input.setAmount(new BigDecimal("1250.00"));
+        input.setCurrency("USD");
+        input.setMerchantCategory("RETAIL");
+        return input;
+    }
+}